@@ -26,9 +26,9 @@ import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
 @Configuration
 public class GraphQLConfiguration {
-    // Allows us to use `Object` in the GraphQL schema
+    // Allows us to use `Object` and `Long` in the GraphQL schema
     @Bean
     public RuntimeWiringConfigurer runtimeWiringConfigurer() {
-        return wiringBuilder -> wiringBuilder.scalar(ExtendedScalars.Object);
+        return wiringBuilder -> wiringBuilder.scalar(ExtendedScalars.Object).scalar(ExtendedScalars.GraphQLLong);
     }
 }
@@ -21,21 +21,30 @@ package com.ciphertool.zenith.api.graphql;
 
 import com.ciphertool.zenith.api.model.SolutionRequest;
 import com.ciphertool.zenith.api.model.SolutionRequestFitnessFunction;
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.Ciphertext;
 import com.ciphertool.zenith.inference.entities.config.GeneticAlgorithmConfiguration;
 import com.ciphertool.zenith.inference.entities.config.SimulatedAnnealingConfiguration;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.cache.CachingPlaintextEvaluator;
+import com.ciphertool.zenith.inference.optimizer.AbstractSolutionOptimizer;
 import com.ciphertool.zenith.inference.optimizer.GeneticAlgorithmSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.MoveGenerator;
+import com.ciphertool.zenith.inference.optimizer.MultiChainSimulatedAnnealingSolutionOptimizer;
 import com.ciphertool.zenith.inference.optimizer.OnEpochComplete;
+import com.ciphertool.zenith.inference.optimizer.ParallelTemperingSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.ProposalBatcher;
 import com.ciphertool.zenith.inference.optimizer.SimulatedAnnealingSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.StoppingCriteria;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -53,9 +62,18 @@ public abstract class AbstractSolutionController {
     @Value("${features.simulated-annealing.max-iterations:100000}")
     private int simulatedAnnealingMaxIterations;
 
+    @Value("${features.checkpoint.directory:}")
+    private String checkpointDirectory;
+
     @Autowired
     private SimulatedAnnealingSolutionOptimizer simulatedAnnealingOptimizer;
 
+    @Autowired
+    private ParallelTemperingSolutionOptimizer parallelTemperingOptimizer;
+
+    @Autowired
+    private MultiChainSimulatedAnnealingSolutionOptimizer multiChainOptimizer;
+
     @Autowired
     private GeneticAlgorithmSolutionOptimizer geneticAlgorithmOptimizer;
 
@@ -81,6 +99,16 @@ public abstract class AbstractSolutionController {
 
         CipherSolution cipherSolution;
         Map<String, Object> configuration = new HashMap<>();
+        configuration.put(AbstractSolutionOptimizer.SEED, request.getSeed());
+
+        if (request.getCheckpointName() != null) {
+            if (checkpointDirectory == null || checkpointDirectory.isBlank()) {
+                throw new IllegalArgumentException("Checkpoints are disabled.  Set features.checkpoint.directory to enable them.");
+            }
+
+            // The name is validated on the request, so it cannot reach outside of the directory
+            configuration.put(CheckpointStore.CHECKPOINT_FILE, Paths.get(checkpointDirectory).resolve(request.getCheckpointName() + ".ckpt").toString());
+        }
 
         if (request.getSimulatedAnnealingConfiguration() != null) {
             SimulatedAnnealingConfiguration simulatedAnnealingConfiguration = request.getSimulatedAnnealingConfiguration();
@@ -92,8 +120,35 @@ public abstract class AbstractSolutionController {
             configuration.put(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS, simulatedAnnealingConfiguration.getSamplerIterations());
             configuration.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MIN, simulatedAnnealingConfiguration.getAnnealingTemperatureMin());
             configuration.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MAX, simulatedAnnealingConfiguration.getAnnealingTemperatureMax());
-
-            cipherSolution = simulatedAnnealingOptimizer.optimize(cipher, request.getEpochs(), configuration, steps, plaintextEvaluator, getCallback(request));
+            configuration.put(SimulatedAnnealingSolutionOptimizer.COOLING_SCHEDULE_NAME, simulatedAnnealingConfiguration.getCoolingScheduleName());
+            configuration.put(SimulatedAnnealingSolutionOptimizer.PARALLEL_EPOCHS, simulatedAnnealingConfiguration.getParallelEpochs());
+            configuration.put(CheckpointStore.CHECKPOINT_ITERATIONS, simulatedAnnealingConfiguration.getCheckpointIterations());
+            configuration.put(StoppingCriteria.STAGNATION_ITERATIONS, simulatedAnnealingConfiguration.getStagnationIterations());
+            configuration.put(StoppingCriteria.MIN_IMPROVEMENT, simulatedAnnealingConfiguration.getMinImprovement());
+            configuration.put(StoppingCriteria.MAX_EPOCH_MILLIS, simulatedAnnealingConfiguration.getMaxEpochMillis());
+            configuration.put(StoppingCriteria.TARGET_SCORE, simulatedAnnealingConfiguration.getTargetScore());
+            configuration.put(StoppingCriteria.STOP_ON_KNOWN_SOLUTION, simulatedAnnealingConfiguration.getStopOnKnownSolution());
+            configuration.put(MoveGenerator.SWAP_MOVE_PROBABILITY, simulatedAnnealingConfiguration.getSwapMoveProbability());
+            configuration.put(MoveGenerator.BLOCK_MOVE_PROBABILITY, simulatedAnnealingConfiguration.getBlockMoveProbability());
+            configuration.put(MoveGenerator.BLOCK_MOVE_SIZE, simulatedAnnealingConfiguration.getBlockMoveSize());
+            configuration.put(MoveGenerator.AVOID_NO_OP_MOVES, simulatedAnnealingConfiguration.getAvoidNoOpMoves());
+            configuration.put(ProposalBatcher.PROPOSAL_BATCH_SIZE, simulatedAnnealingConfiguration.getProposalBatchSize());
+            configuration.put(ProposalBatcher.PIPELINE_PROPOSAL_BATCHES, simulatedAnnealingConfiguration.getPipelineProposalBatches());
+
+            if (simulatedAnnealingConfiguration.getTemperingReplicas() != null) {
+                // Asking for replicas switches the sampler from a single annealed chain to parallel tempering
+                configuration.put(ParallelTemperingSolutionOptimizer.REPLICAS, simulatedAnnealingConfiguration.getTemperingReplicas());
+                configuration.put(ParallelTemperingSolutionOptimizer.SWAP_INTERVAL, simulatedAnnealingConfiguration.getTemperingSwapInterval());
+
+                cipherSolution = parallelTemperingOptimizer.optimize(cipher, request.getEpochs(), configuration, steps, plaintextEvaluator, getCallback(request));
+            } else if (simulatedAnnealingConfiguration.getLockstepChains() != null) {
+                // Likewise, asking for lockstep chains switches to the multi-chain sampler
+                configuration.put(MultiChainSimulatedAnnealingSolutionOptimizer.CHAINS, simulatedAnnealingConfiguration.getLockstepChains());
+
+                cipherSolution = multiChainOptimizer.optimize(cipher, request.getEpochs(), configuration, steps, plaintextEvaluator, getCallback(request));
+            } else {
+                cipherSolution = simulatedAnnealingOptimizer.optimize(cipher, request.getEpochs(), configuration, steps, plaintextEvaluator, getCallback(request));
+            }
         } else if (request.getGeneticAlgorithmConfiguration() != null) {
             if (!geneticAlgorithmEnabled) {
                 throw new IllegalArgumentException("Genetic Algorithm Optimizer is currently disabled.");
@@ -141,7 +196,7 @@ public abstract class AbstractSolutionController {
 
         for (PlaintextEvaluator evaluator : plaintextEvaluators) {
             if (evaluator.getClass().getSimpleName().replace(PlaintextEvaluator.class.getSimpleName(), "").equals(plaintextEvaluatorName)) {
-                plaintextEvaluator = evaluator.getInstance(requestFitnessFunction.getData());
+                plaintextEvaluator = CachingPlaintextEvaluator.getInstance(evaluator, requestFitnessFunction.getData());
                 break;
             }
         }
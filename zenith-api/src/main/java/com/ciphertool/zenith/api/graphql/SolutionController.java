@@ -56,8 +56,8 @@ public class SolutionController extends AbstractSolutionController {
 
     @Override
     public OnEpochComplete getCallback(SolutionRequest request) {
-        return (epoch, epochBestSolution) -> {
-            EpochCompleteResponse epochResponse = new EpochCompleteResponse(epoch, request.getEpochs());
+        return (epoch, epochBestSolution, terminationReason) -> {
+            EpochCompleteResponse epochResponse = new EpochCompleteResponse(epoch, request.getEpochs(), terminationReason);
             SolutionUpdate update = new SolutionUpdate();
             update.setRequestId(request.getRequestId());
             update.setType(WebSocketResponseType.EPOCH_COMPLETE);
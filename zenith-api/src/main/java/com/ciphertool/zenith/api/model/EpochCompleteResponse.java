@@ -19,6 +19,7 @@
 
 package com.ciphertool.zenith.api.model;
 
+import com.ciphertool.zenith.inference.optimizer.EpochTerminationReason;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -29,4 +30,5 @@ import lombok.Setter;
 public class EpochCompleteResponse {
     public int epochsCompleted;
     public int epochsTotal;
+    public EpochTerminationReason terminationReason;
 }
@@ -50,6 +50,12 @@ public class SolutionRequest {
     @Min(1)
     private int epochs = 1;
 
+    private Long seed;
+
+    // Names a checkpoint in the server's checkpoint directory, so that a solve which is cut short can be requested again and resume
+    @Pattern(regexp = "[A-Za-z0-9_-]{1,64}", message = "The checkpoint name may only contain letters, digits, underscores and hyphens.")
+    private String checkpointName;
+
     @Valid
     private List<TransformationStep> plaintextTransformers;
 
@@ -30,8 +30,11 @@ import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
 import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.optimizer.GeneticAlgorithmSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.MultiChainSimulatedAnnealingSolutionOptimizer;
 import com.ciphertool.zenith.inference.optimizer.OnEpochComplete;
+import com.ciphertool.zenith.inference.optimizer.ParallelTemperingSolutionOptimizer;
 import com.ciphertool.zenith.inference.optimizer.SimulatedAnnealingSolutionOptimizer;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -51,6 +54,12 @@ class AbstractSolutionControllerTest {
     @Mock
     private SimulatedAnnealingSolutionOptimizer simulatedAnnealingOptimizer;
 
+    @Mock
+    private ParallelTemperingSolutionOptimizer parallelTemperingOptimizer;
+
+    @Mock
+    private MultiChainSimulatedAnnealingSolutionOptimizer multiChainOptimizer;
+
     @Mock
     private GeneticAlgorithmSolutionOptimizer geneticAlgorithmOptimizer;
 
@@ -63,6 +72,8 @@ class AbstractSolutionControllerTest {
         testEvaluator = new TestPlaintextEvaluator();
 
         ReflectionTestUtils.setField(controller, "simulatedAnnealingOptimizer", simulatedAnnealingOptimizer);
+        ReflectionTestUtils.setField(controller, "parallelTemperingOptimizer", parallelTemperingOptimizer);
+        ReflectionTestUtils.setField(controller, "multiChainOptimizer", multiChainOptimizer);
         ReflectionTestUtils.setField(controller, "geneticAlgorithmOptimizer", geneticAlgorithmOptimizer);
         ReflectionTestUtils.setField(controller, "geneticAlgorithmEnabled", true);
         ReflectionTestUtils.setField(controller, "maxEpochs", 100);
@@ -90,6 +101,63 @@ class AbstractSolutionControllerTest {
         verifyNoInteractions(geneticAlgorithmOptimizer);
     }
 
+    @Test
+    void given_temperingReplicas_when_doSolveWithSimulatedAnnealing_then_callsParallelTemperingOptimizer() {
+        SolutionRequest request = createBasicRequest();
+        SimulatedAnnealingConfiguration saConfig = new SimulatedAnnealingConfiguration();
+        saConfig.setSamplerIterations(1000);
+        saConfig.setAnnealingTemperatureMin(1.0f);
+        saConfig.setAnnealingTemperatureMax(100.0f);
+        saConfig.setTemperingReplicas(4);
+        saConfig.setTemperingSwapInterval(5);
+        request.setSimulatedAnnealingConfiguration(saConfig);
+
+        CipherSolution expectedSolution = createMockSolution();
+        when(parallelTemperingOptimizer.optimize(any(), eq(1), any(), any(), any(), any()))
+                .thenReturn(expectedSolution);
+
+        CipherSolution result = controller.doSolve(request);
+
+        assertSame(expectedSolution, result);
+        verify(parallelTemperingOptimizer).optimize(any(), eq(1), any(), any(), any(), any());
+        verifyNoInteractions(simulatedAnnealingOptimizer);
+    }
+
+    @Test
+    void given_lockstepChains_when_doSolveWithSimulatedAnnealing_then_callsMultiChainOptimizer() {
+        SolutionRequest request = createBasicRequest();
+        SimulatedAnnealingConfiguration saConfig = new SimulatedAnnealingConfiguration();
+        saConfig.setSamplerIterations(1000);
+        saConfig.setAnnealingTemperatureMin(1.0f);
+        saConfig.setAnnealingTemperatureMax(100.0f);
+        saConfig.setLockstepChains(16);
+        request.setSimulatedAnnealingConfiguration(saConfig);
+
+        CipherSolution expectedSolution = createMockSolution();
+        when(multiChainOptimizer.optimize(any(), eq(1), any(), any(), any(), any()))
+                .thenReturn(expectedSolution);
+
+        CipherSolution result = controller.doSolve(request);
+
+        assertSame(expectedSolution, result);
+        verify(multiChainOptimizer).optimize(any(), eq(1), any(), any(), any(), any());
+        verifyNoInteractions(simulatedAnnealingOptimizer);
+    }
+
+    @Test
+    void given_checkpointNameWithoutDirectory_when_doSolve_then_throwsIllegalArgumentException() {
+        SolutionRequest request = createBasicRequest();
+        SimulatedAnnealingConfiguration saConfig = new SimulatedAnnealingConfiguration();
+        saConfig.setSamplerIterations(1000);
+        saConfig.setAnnealingTemperatureMin(1.0f);
+        saConfig.setAnnealingTemperatureMax(100.0f);
+        request.setSimulatedAnnealingConfiguration(saConfig);
+        request.setCheckpointName("z340");
+
+        assertThrows(IllegalArgumentException.class, () -> controller.doSolve(request));
+        verifyNoInteractions(simulatedAnnealingOptimizer);
+    }
+
     @Test
     void given_validInput_when_doSolveWithGeneticAlgorithmCallsGeneticAlgorithmOptimizer_then_returnsSameInstance() {
         SolutionRequest request = createBasicRequest();
@@ -231,7 +299,7 @@ class AbstractSolutionControllerTest {
     private static class TestSolutionController extends AbstractSolutionController {
         @Override
         public OnEpochComplete getCallback(SolutionRequest request) {
-            return (epoch, solution) -> {};
+            return (epoch, solution, terminationReason) -> {};
         }
     }
 
@@ -243,12 +311,12 @@ class AbstractSolutionControllerTest {
         }
 
         @Override
-        public SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+        public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
             return new SolutionScore(null, new MaximizingFitness[]{new MaximizingFitness(1.0)});
         }
 
         @Override
-        public Map<String, Object> getPrecomputedCounterweightData(Cipher cipher) {
+        public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
             return null;
         }
 
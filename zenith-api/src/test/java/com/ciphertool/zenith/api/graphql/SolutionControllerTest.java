@@ -25,6 +25,7 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.Ciphertext;
 import com.ciphertool.zenith.inference.entities.config.SimulatedAnnealingConfiguration;
+import com.ciphertool.zenith.inference.optimizer.EpochTerminationReason;
 import com.ciphertool.zenith.inference.optimizer.OnEpochComplete;
 import com.ciphertool.zenith.inference.optimizer.SimulatedAnnealingSolutionOptimizer;
 import org.junit.jupiter.api.BeforeEach;
@@ -124,12 +125,13 @@ class SolutionControllerTest {
         CipherSolution solution = createMockSolution();
 
         StepVerifier.create(flux.take(1))
-                .then(() -> callback.fire(1, solution))
+                .then(() -> callback.fire(1, solution, EpochTerminationReason.STAGNATION))
                 .assertNext(update -> {
                     assertEquals("callback-test-id", update.getRequestId());
                     assertEquals(WebSocketResponseType.EPOCH_COMPLETE, update.getType());
                     assertEquals(1, update.getEpochData().getEpochsCompleted());
                     assertEquals(5, update.getEpochData().getEpochsTotal());
+                    assertEquals(EpochTerminationReason.STAGNATION, update.getEpochData().getTerminationReason());
                     assertNotNull(update.getSolutionData());
                 })
                 .verifyComplete();
@@ -146,7 +148,7 @@ class SolutionControllerTest {
         OnEpochComplete callback = controller.getCallback(request);
 
         StepVerifier.create(flux.take(1))
-                .then(() -> callback.fire(1, null))
+                .then(() -> callback.fire(1, null, EpochTerminationReason.COMPLETED))
                 .assertNext(update -> {
                     assertEquals(WebSocketResponseType.EPOCH_COMPLETE, update.getType());
                     assertNull(update.getSolutionData());
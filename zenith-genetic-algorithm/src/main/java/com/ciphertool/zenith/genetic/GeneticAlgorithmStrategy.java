@@ -29,10 +29,14 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.core.task.TaskExecutor;
 
+import java.util.concurrent.ForkJoinPool;
+
 @Getter
 @Builder
 public class GeneticAlgorithmStrategy {
     private TaskExecutor taskExecutor;
+    // Breeds each generation's children.  The common pool is used when this is not set
+    private ForkJoinPool forkJoinPool;
     private Integer populationSize;
     private Integer numberOfGenerations;
     private Integer elitism;
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.genetic.operators.algorithm;
+
+import com.ciphertool.zenith.genetic.GeneticAlgorithmStrategy;
+import com.ciphertool.zenith.genetic.entities.Genome;
+import com.ciphertool.zenith.genetic.entities.Parents;
+import com.ciphertool.zenith.genetic.population.Population;
+import com.ciphertool.zenith.genetic.statistics.GenerationStatistics;
+import com.ciphertool.zenith.genetic.statistics.PerformanceStatistics;
+import com.ciphertool.zenith.math.random.RandomSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Breeds a generation's children in a single pass.  Each child is selected, crossed over, mutated and evaluated by the
+ * same worker, so a generation costs one fork-join task per chunk of children rather than a task per child for each
+ * stage, with every child waited on between stages.
+ *
+ * The chunks are fixed in size and each is given a generator split on the calling thread in chunk order, so a seeded
+ * run breeds the same children however the chunks are scheduled or stolen.
+ */
+class GenerationPipeline {
+    static final int CHUNK_SIZE = 16;
+
+    private final GeneticAlgorithmStrategy strategy;
+    private final Population population;
+    private final Genome[] children;
+    private final Runnable[] chunks;
+
+    // Written by one chunk each, and read once the pool has joined them all
+    private final int[] mutations;
+    private final int[] evaluations;
+    private final long[] selectionNanos;
+    private final long[] crossoverNanos;
+    private final long[] mutationNanos;
+    private final long[] evaluationNanos;
+
+    GenerationPipeline(GeneticAlgorithmStrategy strategy, int numberOfChildren) {
+        this.strategy = strategy;
+        this.population = strategy.getPopulation();
+        this.children = new Genome[numberOfChildren];
+
+        int chunkCount = (numberOfChildren + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new Runnable[chunkCount];
+        this.mutations = new int[chunkCount];
+        this.evaluations = new int[chunkCount];
+        this.selectionNanos = new long[chunkCount];
+        this.crossoverNanos = new long[chunkCount];
+        this.mutationNanos = new long[chunkCount];
+        this.evaluationNanos = new long[chunkCount];
+
+        for (int i = 0; i < chunkCount; i ++) {
+            final int chunk = i;
+            chunks[i] = RandomSource.forTask(() -> breedChunk(chunk));
+        }
+    }
+
+    /*
+     * Breeds the children and records how many crossovers and mutations it took, and how the time was spent, on the
+     * given statistics.  The time is divided between the stages in proportion to the time the workers spent in each.
+     */
+    List<Genome> breed(GenerationStatistics generationStatistics) {
+        long start = System.currentTimeMillis();
+
+        if (chunks.length > 0) {
+            population.reIndexSelector();
+
+            ForkJoinPool pool = strategy.getForkJoinPool() != null ? strategy.getForkJoinPool() : ForkJoinPool.commonPool();
+            pool.invoke(new BreedingAction(0, chunks.length));
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+
+        generationStatistics.setNumberOfCrossovers(children.length);
+        generationStatistics.setNumberOfMutations(Arrays.stream(mutations).sum());
+
+        long selection = Arrays.stream(selectionNanos).sum();
+        long crossover = Arrays.stream(crossoverNanos).sum();
+        long mutation = Arrays.stream(mutationNanos).sum();
+        long evaluation = Arrays.stream(evaluationNanos).sum();
+        double total = selection + crossover + mutation + evaluation;
+
+        if (total > 0) {
+            PerformanceStatistics performanceStats = generationStatistics.getPerformanceStatistics();
+            performanceStats.setSelectionMillis(Math.round(elapsed * (selection / total)));
+            performanceStats.setCrossoverMillis(Math.round(elapsed * (crossover / total)));
+            performanceStats.setMutationMillis(Math.round(elapsed * (mutation / total)));
+            performanceStats.setEvaluationMillis(Math.round(elapsed * (evaluation / total)));
+        }
+
+        return Arrays.asList(children);
+    }
+
+    int getEvaluations() {
+        return Arrays.stream(evaluations).sum();
+    }
+
+    private void breedChunk(int chunk) {
+        int end = Math.min(children.length, (chunk + 1) * CHUNK_SIZE);
+
+        for (int i = chunk * CHUNK_SIZE; i < end; i ++) {
+            long startSelection = System.nanoTime();
+            Parents parents = population.selectParents();
+
+            long startCrossover = System.nanoTime();
+            Genome child = strategy.getCrossoverOperator().crossover(parents.getMom(), parents.getDad());
+
+            long startMutation = System.nanoTime();
+            if (strategy.getMutationOperator().mutateChromosomes(child, strategy)) {
+                mutations[chunk] ++;
+            }
+
+            long startEvaluation = System.nanoTime();
+            if (child.isEvaluationNeeded()) {
+                child.setFitnesses(strategy.getFitnessEvaluator().evaluate(child));
+                evaluations[chunk] ++;
+            }
+
+            long finish = System.nanoTime();
+
+            selectionNanos[chunk] += startCrossover - startSelection;
+            crossoverNanos[chunk] += startMutation - startCrossover;
+            mutationNanos[chunk] += startEvaluation - startMutation;
+            evaluationNanos[chunk] += finish - startEvaluation;
+
+            children[i] = child;
+        }
+    }
+
+    /*
+     * Halves its range of chunks until it holds a single chunk, which it breeds.  Idle workers steal the larger halves.
+     */
+    private class BreedingAction extends RecursiveAction {
+        private final int firstChunk;
+        private final int lastChunk;
+
+        BreedingAction(int firstChunk, int lastChunk) {
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastChunk - firstChunk == 1) {
+                chunks[firstChunk].run();
+
+                return;
+            }
+
+            int middle = (firstChunk + lastChunk) >>> 1;
+            invokeAll(new BreedingAction(firstChunk, middle), new BreedingAction(middle, lastChunk));
+        }
+    }
+}
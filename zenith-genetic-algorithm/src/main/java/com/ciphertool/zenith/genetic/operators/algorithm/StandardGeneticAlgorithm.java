@@ -21,12 +21,10 @@ package com.ciphertool.zenith.genetic.operators.algorithm;
 
 import com.ciphertool.zenith.genetic.GeneticAlgorithmStrategy;
 import com.ciphertool.zenith.genetic.entities.Genome;
-import com.ciphertool.zenith.genetic.entities.Parents;
 import com.ciphertool.zenith.genetic.population.Population;
 import com.ciphertool.zenith.genetic.statistics.ExecutionStatistics;
 import com.ciphertool.zenith.genetic.statistics.GenerationStatistics;
 import com.ciphertool.zenith.genetic.statistics.PerformanceStatistics;
-import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -36,9 +34,6 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.FutureTask;
 
 @Component
 public class StandardGeneticAlgorithm {
@@ -99,18 +94,7 @@ public class StandardGeneticAlgorithm {
 
         Population population = strategy.getPopulation();
 
-        long startSelection = System.currentTimeMillis();
-        List<Parents> allParents = population.select();
-        performanceStats.setSelectionMillis(System.currentTimeMillis() - startSelection);
-
-        long startCrossover = System.currentTimeMillis();
-        List<Genome> children = crossover(strategy, allParents);
-        generationStatistics.setNumberOfCrossovers(children.size());
-        performanceStats.setCrossoverMillis(System.currentTimeMillis() - startCrossover);
-
-        long startMutation = System.currentTimeMillis();
-        generationStatistics.setNumberOfMutations(mutate(strategy, children));
-        performanceStats.setMutationMillis(System.currentTimeMillis() - startMutation);
+        List<Genome> children = breed(strategy, generationStatistics);
 
         replacePopulation(strategy, children);
 
@@ -120,9 +104,10 @@ public class StandardGeneticAlgorithm {
             performanceStats.setEntropyMillis(System.currentTimeMillis() - startEntropyCalculation);
         }
 
+        // The children were evaluated as they were bred, which leaves only the elite to evaluate, if any have changed
         long startEvaluation = System.currentTimeMillis();
         population.evaluateFitness(generationStatistics);
-        performanceStats.setEvaluationMillis(System.currentTimeMillis() - startEvaluation);
+        performanceStats.setEvaluationMillis(performanceStats.getEvaluationMillis() + (System.currentTimeMillis() - startEvaluation));
 
         performanceStats.setTotalMillis(System.currentTimeMillis() - generationStart);
 
@@ -131,85 +116,25 @@ public class StandardGeneticAlgorithm {
         executionStatistics.addGenerationStatistics(generationStatistics);
     }
 
-    public List<Genome> crossover(GeneticAlgorithmStrategy strategy, List<Parents> allParents) {
+    /*
+     * Breeds the children which will replace the population, evaluating each as it is bred.
+     */
+    public List<Genome> breed(GeneticAlgorithmStrategy strategy, GenerationStatistics generationStatistics) {
         if (strategy.getPopulation().size() < 2) {
             log.info("Unable to perform crossover because there is only 1 individual in the population. Returning.");
 
             return Collections.emptyList();
         }
 
-        log.debug("Pairs to crossover: {}", allParents.size());
-
-        List<Genome> crossoverResults = doConcurrentCrossovers(strategy, allParents);
-        List<Genome> childrenToAdd = new ArrayList<>();
-
-        if (CollectionUtils.isNotEmpty(crossoverResults)) {
-            childrenToAdd.addAll(crossoverResults);
-        }
-
-        if (childrenToAdd.size() + strategy.getElitism() < strategy.getPopulationSize()) {
-            throw new IllegalStateException(childrenToAdd.size() +
-                    " children produced from concurrent crossover execution.  Expected " + (strategy.getPopulationSize() - strategy.getElitism()) + " children.");
-        }
-
-        return childrenToAdd;
-    }
-
-    protected List<Genome> doConcurrentCrossovers(GeneticAlgorithmStrategy strategy, List<Parents> allParents) {
-        List<FutureTask<Genome>> futureTasks = new ArrayList<>();
-        FutureTask<Genome> futureTask;
-
-        /*
-         * Execute each crossover concurrently. Parents should produce two children, but this is not necessarily always
-         * guaranteed.
-         */
-        for (Parents nextParents : allParents) {
-            futureTask = new FutureTask<>(new CrossoverTask(strategy, nextParents));
-            futureTasks.add(futureTask);
-            strategy.getTaskExecutor().execute(futureTask);
-        }
+        int childrenToBreed = Math.max(0, strategy.getPopulationSize() - strategy.getElitism());
 
-        List<Genome> childrenToAdd = new ArrayList<>();
+        log.debug("Children to breed: {}", childrenToBreed);
 
-        // Add the result of each FutureTask to the population since it represents a new child Chromosome.
-        for (FutureTask<Genome> future : futureTasks) {
-            try {
-                childrenToAdd.add(future.get());
-            } catch (InterruptedException ie) {
-                log.error("Caught InterruptedException while waiting for CrossoverTask ", ie);
-            } catch (ExecutionException ee) {
-                log.error("Caught ExecutionException while waiting for CrossoverTask ", ee);
-            }
-        }
+        GenerationPipeline pipeline = new GenerationPipeline(strategy, childrenToBreed);
+        List<Genome> children = pipeline.breed(generationStatistics);
+        generationStatistics.setNumberOfEvaluations(pipeline.getEvaluations());
 
-        return childrenToAdd;
-    }
-
-    public int mutate(GeneticAlgorithmStrategy strategy, List<Genome> children) {
-        int mutations = 0;
-        List<FutureTask<Integer>> futureTasks = new ArrayList<>();
-        FutureTask<Integer> futureTask;
-
-        /*
-         * Execute each mutation concurrently.
-         */
-        for (Genome child : children) {
-            futureTask = new FutureTask<>(new MutationTask(strategy, child));
-            futureTasks.add(futureTask);
-            strategy.getTaskExecutor().execute(futureTask);
-        }
-
-        for (FutureTask<Integer> future : futureTasks) {
-            try {
-                mutations += future.get();
-            } catch (InterruptedException ie) {
-                log.error("Caught InterruptedException while waiting for MutationTask ", ie);
-            } catch (ExecutionException ee) {
-                log.error("Caught ExecutionException while waiting for MutationTask ", ee);
-            }
-        }
-
-        return mutations;
+        return children;
     }
 
     protected void replacePopulation(GeneticAlgorithmStrategy strategy, List<Genome> children) {
@@ -262,49 +187,4 @@ public class StandardGeneticAlgorithm {
 
         executionStatistics.setEndDateTime(LocalDateTime.now());
     }
-
-    /**
-     * A concurrent task for performing a crossover of two parent Chromosomes, producing one child Chromosome.
-     */
-    protected class CrossoverTask implements Callable<Genome> {
-        private GeneticAlgorithmStrategy strategy;
-        private Parents parents;
-
-        public CrossoverTask(GeneticAlgorithmStrategy strategy, Parents parents) {
-            this.strategy = strategy;
-            this.parents = parents;
-        }
-
-        @SuppressWarnings("unchecked")
-        @Override
-        public Genome call() {
-            return strategy.getCrossoverOperator().crossover(parents.getMom(), parents.getDad());
-        }
-    }
-
-    /**
-     * A concurrent task for performing a crossover of two parent Chromosomes, producing one child Chromosome.
-     */
-    protected class MutationTask implements Callable<Integer> {
-        private GeneticAlgorithmStrategy strategy;
-        private Genome genome;
-
-        public MutationTask(GeneticAlgorithmStrategy strategy, Genome genome) {
-            this.strategy = strategy;
-            this.genome = genome;
-        }
-
-        @SuppressWarnings("unchecked")
-        @Override
-        public Integer call() {
-            /*
-             * Mutate a gene within the Chromosome. The original Chromosome has been cloned.
-             */
-            if (strategy.getMutationOperator().mutateChromosomes(genome, strategy)) {
-                return 1;
-            }
-
-            return 0;
-        }
-    }
 }
@@ -22,11 +22,11 @@ package com.ciphertool.zenith.genetic.operators.crossover;
 import com.ciphertool.zenith.genetic.entities.Chromosome;
 import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.util.Coin;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.springframework.stereotype.Component;
 
-import java.util.Random;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Component
 public class SinglePointCrossoverOperator implements CrossoverOperator {
@@ -34,11 +34,13 @@ public class SinglePointCrossoverOperator implements CrossoverOperator {
 
     @Override
     public Genome crossover(Genome firstGenome, Genome secondGenome) {
-        return crossover(firstGenome, secondGenome, ThreadLocalRandom.current().nextDouble(), ThreadLocalRandom.current());
+        RandomGenerator random = RandomSource.current();
+
+        return crossover(firstGenome, secondGenome, random.nextDouble(), random);
     }
 
     // Separate method purely to support testability since we can't rely on randomness during tests
-    protected Genome crossover(Genome firstGenome, Genome secondGenome, double coinFlip, Random random) {
+    protected Genome crossover(Genome firstGenome, Genome secondGenome, double coinFlip, RandomGenerator random) {
         Genome dadGenome = coin.flip(coinFlip) ? firstGenome : secondGenome;
         Genome momGenome = (dadGenome == firstGenome) ? secondGenome : firstGenome;
 
@@ -24,6 +24,7 @@ import com.ciphertool.zenith.genetic.dao.GeneDao;
 import com.ciphertool.zenith.genetic.entities.Chromosome;
 import com.ciphertool.zenith.genetic.entities.Gene;
 import com.ciphertool.zenith.genetic.entities.Genome;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -31,7 +32,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class MultipleMutationOperator implements MutationOperator {
@@ -53,7 +53,7 @@ public class MultipleMutationOperator implements MutationOperator {
                 // Nothing to mutate (no genes or mutations disabled), so skip to avoid nextInt(0).
                 continue;
             }
-            numMutations = ThreadLocalRandom.current().nextInt(maxPossibleMutations) + 1;
+            numMutations = RandomSource.current().nextInt(maxPossibleMutations) + 1;
 
             List<Object> availableKeys = new ArrayList<>(chromosome.getGenes().keySet());
             Map<Object, Gene> originalGenes = new HashMap<>(numMutations);
@@ -62,7 +62,7 @@ public class MultipleMutationOperator implements MutationOperator {
                 /*
                  * We don't want to reuse an index, so we get one from the List of indices which are still available
                  */
-                int randomIndex = (int) (ThreadLocalRandom.current().nextDouble() * availableKeys.size());
+                int randomIndex = (int) (RandomSource.current().nextDouble() * availableKeys.size());
                 Object randomKey = availableKeys.get(randomIndex);
                 originalGenes.put(randomKey, chromosome.getGenes().get(randomKey));
                 availableKeys.remove(randomIndex);
@@ -24,12 +24,12 @@ import com.ciphertool.zenith.genetic.dao.GeneDao;
 import com.ciphertool.zenith.genetic.entities.Chromosome;
 import com.ciphertool.zenith.genetic.entities.Gene;
 import com.ciphertool.zenith.genetic.entities.Genome;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Set;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class PointMutationOperator implements MutationOperator {
@@ -45,7 +45,7 @@ public class PointMutationOperator implements MutationOperator {
             Set<Object> keys = chromosome.getGenes().keySet();
 
             for (Object key : new ArrayList<>(keys)) {
-                if (ThreadLocalRandom.current().nextDouble() <= mutationRate) {
+                if (RandomSource.current().nextDouble() <= mutationRate) {
                     Gene next = geneDao.findRandomGene(chromosome);
 
                     if (!next.equals(chromosome.getGenes().get(key))) {
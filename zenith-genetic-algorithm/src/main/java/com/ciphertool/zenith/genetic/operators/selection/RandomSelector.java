@@ -20,13 +20,13 @@ package com.ciphertool.zenith.genetic.operators.selection;
 
 import com.ciphertool.zenith.genetic.GeneticAlgorithmStrategy;
 import com.ciphertool.zenith.genetic.entities.Genome;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class RandomSelector implements Selector {
@@ -50,6 +50,6 @@ public class RandomSelector implements Selector {
             return -1;
         }
 
-        return (int) (ThreadLocalRandom.current().nextDouble() * individuals.size());
+        return (int) (RandomSource.current().nextDouble() * individuals.size());
     }
 }
\ No newline at end of file
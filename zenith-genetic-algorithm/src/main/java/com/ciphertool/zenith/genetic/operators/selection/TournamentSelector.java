@@ -21,6 +21,7 @@ package com.ciphertool.zenith.genetic.operators.selection;
 import com.ciphertool.zenith.genetic.GeneticAlgorithmStrategy;
 import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.operators.sort.ParetoSorter;
+import com.ciphertool.zenith.math.random.RandomSource;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.apache.commons.collections.CollectionUtils;
@@ -31,7 +32,6 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Component
@@ -89,7 +89,7 @@ public class TournamentSelector implements Selector {
         }
 
         for (int i = sortedIndexedCompetitors.size() - 1; i >= 0; i --) {
-            if (ThreadLocalRandom.current().nextDouble() <= selectionAccuracy) {
+            if (RandomSource.current().nextDouble() <= selectionAccuracy) {
                 return sortedIndexedCompetitors.get(i).getIndex();
             }
         }
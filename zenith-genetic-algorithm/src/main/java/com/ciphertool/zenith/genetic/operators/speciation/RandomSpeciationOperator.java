@@ -22,12 +22,12 @@ package com.ciphertool.zenith.genetic.operators.speciation;
 import com.ciphertool.zenith.genetic.GeneticAlgorithmStrategy;
 import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.population.Population;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A speciation operator that randomly partitions the population into sub-populations.
@@ -53,7 +53,7 @@ public class RandomSpeciationOperator implements SpeciationOperator {
         }
 
         List<Genome> individuals = new ArrayList<>(population.getIndividuals());
-        Collections.shuffle(individuals, ThreadLocalRandom.current());
+        Collections.shuffle(individuals, RandomSource.current());
 
         List<Population> populations = new ArrayList<>(speciationFactor);
         int sliceSize = individuals.size() / speciationFactor;
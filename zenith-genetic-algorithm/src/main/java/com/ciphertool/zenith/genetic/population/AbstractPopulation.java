@@ -24,6 +24,7 @@ import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.entities.Parents;
 import com.ciphertool.zenith.genetic.fitness.FitnessEvaluator;
 import com.ciphertool.zenith.genetic.statistics.GenerationStatistics;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,7 +58,7 @@ public abstract class AbstractPopulation implements Population {
 
         List<Genome> individualsAdded = new ArrayList<>(numberToBreed);
         for (int i = 0; i < numberToBreed; i++) {
-            futureTask = new FutureTask<>(new GeneratorTask());
+            futureTask = new FutureTask<>(RandomSource.forTask(new GeneratorTask()));
             futureTasks.add(futureTask);
 
             strategy.getTaskExecutor().execute(futureTask);
@@ -105,7 +106,7 @@ public abstract class AbstractPopulation implements Population {
          * guaranteed.
          */
         for (int i = 0; i < Math.max(0, pairsToCrossover); i++) {
-            futureTask = new FutureTask<>(newSelectionTask());
+            futureTask = new FutureTask<>(RandomSource.forTask(newSelectionTask()));
             futureTasks.add(futureTask);
             strategy.getTaskExecutor().execute(futureTask);
         }
@@ -128,7 +129,9 @@ public abstract class AbstractPopulation implements Population {
 
     @Override
     public Genome evaluateFitness(GenerationStatistics generationStatistics) {
-        generationStatistics.setNumberOfEvaluations(this.doConcurrentFitnessEvaluations(this.strategy.getFitnessEvaluator(), getIndividuals()));
+        // Adds to any evaluations already counted, such as those of children evaluated as they were bred
+        int evaluations = this.doConcurrentFitnessEvaluations(this.strategy.getFitnessEvaluator(), getIndividuals());
+        generationStatistics.setNumberOfEvaluations(generationStatistics.getNumberOfEvaluations() + evaluations);
 
         this.totalFitness = 0d;
         this.totalProbability = 0d;
@@ -225,9 +228,9 @@ public abstract class AbstractPopulation implements Population {
         return totalProbability;
     }
 
-    abstract void reIndexSelector();
-
-    abstract Callable newSelectionTask();
+    public Callable<Parents> newSelectionTask() {
+        return this::selectParents;
+    }
 
     public static Double convertFromLogProbability(Double logProbability) {
         if (logProbability < 0) {
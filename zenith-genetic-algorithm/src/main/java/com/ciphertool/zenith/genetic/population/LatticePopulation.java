@@ -24,14 +24,13 @@ import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.entities.Parents;
 import com.ciphertool.zenith.genetic.operators.selection.Selector;
 import com.ciphertool.zenith.genetic.operators.sort.ParetoSorter;
+import com.ciphertool.zenith.math.random.RandomSource;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @NoArgsConstructor
@@ -85,89 +84,80 @@ public class LatticePopulation extends AbstractPopulation {
     }
 
     @Override
-    public Callable newSelectionTask(){
-        return new SelectionTask();
-    }
-
-    private class SelectionTask implements Callable<Parents> {
-        public SelectionTask() {}
-
-        @Override
-        public Parents call() {
-            int row = ThreadLocalRandom.current().nextInt(latticeRows);
-            int column = ThreadLocalRandom.current().nextInt(latticeColumns);
-
-            List<LatticeIndividual> nearbyLatticeIndividuals = new ArrayList<>();
-            Set<Integer> visitedCoordinates = new HashSet<>();
-
-            // center
-            nearbyLatticeIndividuals.add(new LatticeIndividual(individuals[row][column], row, column));
-            visitedCoordinates.add(row * latticeColumns + column);
-
-            for (int r = 1; r <= selectionRadius; r ++) {
-                // top edge
-                for (int j = 0 - r; j < r; j ++) {
-                    int rowIndex = row - r;
-                    int columnIndex = column + j;
-                    addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
-                }
+    public Parents selectParents() {
+        int row = RandomSource.current().nextInt(latticeRows);
+        int column = RandomSource.current().nextInt(latticeColumns);
+
+        List<LatticeIndividual> nearbyLatticeIndividuals = new ArrayList<>();
+        Set<Integer> visitedCoordinates = new HashSet<>();
+
+        // center
+        nearbyLatticeIndividuals.add(new LatticeIndividual(individuals[row][column], row, column));
+        visitedCoordinates.add(row * latticeColumns + column);
+
+        for (int r = 1; r <= selectionRadius; r ++) {
+            // top edge
+            for (int j = 0 - r; j < r; j ++) {
+                int rowIndex = row - r;
+                int columnIndex = column + j;
+                addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
+            }
 
-                // right edge
-                for (int j = 0 - r; j < r; j ++) {
-                    int rowIndex = row + j;
-                    int columnIndex = column + r;
-                    addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
-                }
+            // right edge
+            for (int j = 0 - r; j < r; j ++) {
+                int rowIndex = row + j;
+                int columnIndex = column + r;
+                addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
+            }
 
-                // bottom edge
-                for (int j = r; j > 0 - r; j --) {
-                    int rowIndex = row + r;
-                    int columnIndex = column + j;
-                    addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
-                }
+            // bottom edge
+            for (int j = r; j > 0 - r; j --) {
+                int rowIndex = row + r;
+                int columnIndex = column + j;
+                addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
+            }
 
-                // left edge
-                for (int j = r; j > 0 - r; j --) {
-                    int rowIndex = row + j;
-                    int columnIndex = column - r;
-                    addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
-                }
+            // left edge
+            for (int j = r; j > 0 - r; j --) {
+                int rowIndex = row + j;
+                int columnIndex = column - r;
+                addNeighborIfValid(rowIndex, columnIndex, nearbyLatticeIndividuals, visitedCoordinates);
             }
+        }
 
-            List<Genome> nearbyIndividuals = new ArrayList<>();
+        List<Genome> nearbyIndividuals = new ArrayList<>();
 
-            nearbyIndividuals.addAll(nearbyLatticeIndividuals.stream()
-                    .map(LatticeIndividual::getIndividual)
-                    .collect(Collectors.toList()));
+        nearbyIndividuals.addAll(nearbyLatticeIndividuals.stream()
+                .map(LatticeIndividual::getIndividual)
+                .collect(Collectors.toList()));
 
-            ParetoSorter.sort(nearbyIndividuals);
-            List<LatticeIndividual> sortedLatticeIndividuals = new ArrayList<>(nearbyLatticeIndividuals.size());
-            for (Genome individual : nearbyIndividuals) {
-                for (LatticeIndividual latticeIndividual : nearbyLatticeIndividuals) {
-                    if (individual == latticeIndividual.getIndividual()) {
-                        sortedLatticeIndividuals.add(latticeIndividual);
-                        break;
-                    }
+        ParetoSorter.sort(nearbyIndividuals);
+        List<LatticeIndividual> sortedLatticeIndividuals = new ArrayList<>(nearbyLatticeIndividuals.size());
+        for (Genome individual : nearbyIndividuals) {
+            for (LatticeIndividual latticeIndividual : nearbyLatticeIndividuals) {
+                if (individual == latticeIndividual.getIndividual()) {
+                    sortedLatticeIndividuals.add(latticeIndividual);
+                    break;
                 }
             }
+        }
 
-            Selector newSelector = strategy.getSelector().getInstance();
-            newSelector.reIndex(nearbyIndividuals);
+        Selector newSelector = strategy.getSelector().getInstance();
+        newSelector.reIndex(nearbyIndividuals);
 
-            int momIndex = newSelector.getNextIndex(nearbyIndividuals, strategy);
-            LatticeIndividual momCoordinates = sortedLatticeIndividuals.get(momIndex);
-            Genome mom = individuals[momCoordinates.getRow()][momCoordinates.getColumn()];
+        int momIndex = newSelector.getNextIndex(nearbyIndividuals, strategy);
+        LatticeIndividual momCoordinates = sortedLatticeIndividuals.get(momIndex);
+        Genome mom = individuals[momCoordinates.getRow()][momCoordinates.getColumn()];
 
-            // Ensure that dadIndex is different from momIndex
-            nearbyIndividuals.remove(momIndex);
-            sortedLatticeIndividuals.remove(momIndex);
-            newSelector.reIndex(nearbyIndividuals);
-            int dadIndex = newSelector.getNextIndex(nearbyIndividuals, strategy);
-            LatticeIndividual dadCoordinates = sortedLatticeIndividuals.get(dadIndex);
-            Genome dad = individuals[dadCoordinates.getRow()][dadCoordinates.getColumn()];
+        // Ensure that dadIndex is different from momIndex
+        nearbyIndividuals.remove(momIndex);
+        sortedLatticeIndividuals.remove(momIndex);
+        newSelector.reIndex(nearbyIndividuals);
+        int dadIndex = newSelector.getNextIndex(nearbyIndividuals, strategy);
+        LatticeIndividual dadCoordinates = sortedLatticeIndividuals.get(dadIndex);
+        Genome dad = individuals[dadCoordinates.getRow()][dadCoordinates.getColumn()];
 
-            return new Parents(mom, dad);
-        }
+        return new Parents(mom, dad);
     }
 
     private boolean outOfBounds(int rowIndex, int columnIndex) {
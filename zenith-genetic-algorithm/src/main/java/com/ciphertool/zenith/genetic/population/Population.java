@@ -45,6 +45,14 @@ public interface Population {
 
     List<Parents> select();
 
+    /*
+     * Prepares the selector for a round of selections.  Once it returns, selectParents() may be called from any number
+     * of threads until the individuals change.
+     */
+    void reIndexSelector();
+
+    Parents selectParents();
+
     void clearIndividuals();
 
     int size();
@@ -31,7 +31,6 @@ import org.springframework.stereotype.Component;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.Callable;
 
 @NoArgsConstructor
 @Component
@@ -51,23 +50,14 @@ public class StandardPopulation extends AbstractPopulation {
     }
 
     @Override
-    public Callable newSelectionTask(){
-        return new SelectionTask();
-    }
-
-    private class SelectionTask implements Callable<Parents> {
-        public SelectionTask() {}
+    public Parents selectParents() {
+        int momIndex = strategy.getSelector().getNextIndex(individuals, strategy);
+        Genome mom = getIndividuals().get(momIndex);
 
-        @Override
-        public Parents call() {
-            int momIndex = strategy.getSelector().getNextIndex(individuals, strategy);
-            Genome mom = getIndividuals().get(momIndex);
+        int dadIndex = strategy.getSelector().getNextIndex(individuals, strategy);
+        Genome dad = getIndividuals().get(dadIndex);
 
-            int dadIndex = strategy.getSelector().getNextIndex(individuals, strategy);
-            Genome dad = getIndividuals().get(dadIndex);
-
-            return new Parents(mom, dad);
-        }
+        return new Parents(mom, dad);
     }
 
     @Override
@@ -19,14 +19,14 @@
 
 package com.ciphertool.zenith.genetic.util;
 
-import java.util.concurrent.ThreadLocalRandom;
+import com.ciphertool.zenith.math.random.RandomSource;
 
 public class Coin {
     /**
      * @return a random boolean representing the result a coin flip
      */
     public Boolean flip() {
-        return flip(ThreadLocalRandom.current().nextDouble());
+        return flip(RandomSource.current().nextDouble());
     }
 
     // Separate method purely to support testability since we can't rely on randomness during tests
@@ -19,8 +19,9 @@
 
 package com.ciphertool.zenith.genetic.util;
 
+import com.ciphertool.zenith.math.random.RandomSource;
+
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class RandomListElementSelector {
     /**
@@ -28,6 +29,6 @@ public class RandomListElementSelector {
      * @return a random element from the supplied List.
      */
     public Integer selectRandomListElement(List<? extends Object> list) {
-        return (int) (ThreadLocalRandom.current().nextDouble() * list.size());
+        return (int) (RandomSource.current().nextDouble() * list.size());
     }
 }
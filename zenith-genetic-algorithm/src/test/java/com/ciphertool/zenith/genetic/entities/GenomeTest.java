@@ -141,6 +141,15 @@ public class GenomeTest {
             return Collections.emptyList();
         }
 
+        @Override
+        public void reIndexSelector() {
+        }
+
+        @Override
+        public Parents selectParents() {
+            return null;
+        }
+
         @Override
         public void clearIndividuals() {
         }
@@ -23,6 +23,7 @@ import com.ciphertool.zenith.genetic.GeneticAlgorithmStrategy;
 import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.entities.Parents;
 import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.genetic.fitness.FitnessEvaluator;
 import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
 import com.ciphertool.zenith.genetic.operators.algorithm.StandardGeneticAlgorithm;
 import com.ciphertool.zenith.genetic.operators.crossover.CrossoverOperator;
@@ -30,15 +31,18 @@ import com.ciphertool.zenith.genetic.operators.mutation.MutationOperator;
 import com.ciphertool.zenith.genetic.population.StandardPopulation;
 import com.ciphertool.zenith.genetic.statistics.ExecutionStatistics;
 import com.ciphertool.zenith.genetic.statistics.GenerationStatistics;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.junit.jupiter.api.Test;
-import org.springframework.core.task.TaskExecutor;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.ForkJoinPool;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -72,39 +76,27 @@ public class StandardGeneticAlgorithmTest {
             individuals.add(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock));
         }
 
-        List<Parents> allParents = new ArrayList<>(initialPopulationSize);
-
-        for (int i = 0; i < initialPopulationSize; i ++) {
-            allParents.add(new Parents(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock), new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock)));
-        }
-
-        when(populationMock.select()).thenReturn(allParents);
+        when(populationMock.selectParents()).thenReturn(new Parents(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock), new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock)));
         when(populationMock.getIndividuals()).thenReturn(individuals);
         when(populationMock.removeIndividual(anyInt())).thenReturn(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock));
         when(populationMock.size()).thenReturn(initialPopulationSize);
 
         MutationOperator mutationOperatorMock = mock(MutationOperator.class);
         CrossoverOperator crossoverOperatorMock = mock(CrossoverOperator.class);
-
-        TaskExecutor taskExecutorMock = mock(TaskExecutor.class);
-        doAnswer(invocation -> {
-            ((FutureTask) invocation.getArguments()[0]).run();
-
-            return null;
-        }).when(taskExecutorMock).execute(any(FutureTask.class));
+        FitnessEvaluator fitnessEvaluatorMock = mock(FitnessEvaluator.class);
 
         GeneticAlgorithmStrategy strategyToSet = GeneticAlgorithmStrategy.builder()
-                .taskExecutor(taskExecutorMock)
                 .population(populationMock)
                 .populationSize(populationSize)
                 .mutationRate(mutationRate)
                 .mutationOperator(mutationOperatorMock)
                 .crossoverOperator(crossoverOperatorMock)
+                .fitnessEvaluator(fitnessEvaluatorMock)
                 .elitism(0)
                 .build();
 
-        Genome genomeToReturn = new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock);
-        when(crossoverOperatorMock.crossover(any(Genome.class), any(Genome.class))).thenReturn(genomeToReturn);
+        when(crossoverOperatorMock.crossover(any(Genome.class), any(Genome.class))).thenAnswer(invocation -> new Genome(true, null, populationMock));
+        when(fitnessEvaluatorMock.evaluate(any(Genome.class))).thenReturn(new Fitness[] { new MaximizingFitness(0d) });
 
         ExecutionStatistics executionStatistics = new ExecutionStatistics();
 
@@ -119,7 +111,8 @@ public class StandardGeneticAlgorithmTest {
          */
         assertEquals(100, populationMock.size());
 
-        verify(populationMock, times(1)).select();
+        verify(populationMock, times(1)).reIndexSelector();
+        verify(populationMock, times(100)).selectParents();
         verify(populationMock, times(2)).size();
         verify(populationMock, never()).breed(anyInt());
         verify(populationMock, times(1)).evaluateFitness(any(GenerationStatistics.class));
@@ -134,11 +127,15 @@ public class StandardGeneticAlgorithmTest {
 
         verify(crossoverOperatorMock, times(100)).crossover(any(Genome.class), any(Genome.class));
         verifyNoMoreInteractions(crossoverOperatorMock);
+
+        verify(fitnessEvaluatorMock, times(100)).evaluate(any(Genome.class));
+        verifyNoMoreInteractions(fitnessEvaluatorMock);
+
+        assertEquals(100, executionStatistics.getGenerationStatisticsList().get(0).getNumberOfEvaluations());
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Test
-    public void given_validInput_when_crossover_then_returnsExpectedValue() {
+    public void given_validInput_when_breed_then_returnsExpectedValue() {
         StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
 
         int initialPopulationSize = 50;
@@ -146,57 +143,60 @@ public class StandardGeneticAlgorithmTest {
         StandardPopulation populationMock = mock(StandardPopulation.class);
         when(populationMock.size()).thenReturn(initialPopulationSize);
 
-        List<Genome> individuals = new ArrayList<>();
-        for (int i = 0; i < initialPopulationSize; i++) {
-            individuals.add(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock));
-        }
-
-        TaskExecutor taskExecutorMock = mock(TaskExecutor.class);
-        doAnswer(invocation -> {
-            ((FutureTask) invocation.getArguments()[0]).run();
-
-            return null;
-        }).when(taskExecutorMock).execute(any(FutureTask.class));
+        Genome parent = new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock);
+        when(populationMock.selectParents()).thenReturn(new Parents(parent, parent));
 
         CrossoverOperator crossoverOperatorMock = mock(CrossoverOperator.class);
+        when(crossoverOperatorMock.crossover(any(Genome.class), any(Genome.class))).thenAnswer(invocation -> new Genome(true, null, populationMock));
+
+        MutationOperator mutationOperatorMock = mock(MutationOperator.class);
+        when(mutationOperatorMock.mutateChromosomes(any(Genome.class), any(GeneticAlgorithmStrategy.class))).thenReturn(true, false);
 
-        Genome genomeToReturn = new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock);
-        when(crossoverOperatorMock.crossover(any(Genome.class), any(Genome.class))).thenReturn(genomeToReturn);
+        FitnessEvaluator fitnessEvaluatorMock = mock(FitnessEvaluator.class);
+        when(fitnessEvaluatorMock.evaluate(any(Genome.class))).thenReturn(new Fitness[] { new MaximizingFitness(1d) });
 
         GeneticAlgorithmStrategy strategy = GeneticAlgorithmStrategy.builder()
-                .taskExecutor(taskExecutorMock)
                 .population(populationMock)
                 .crossoverOperator(crossoverOperatorMock)
-                .elitism(0)
+                .mutationOperator(mutationOperatorMock)
+                .fitnessEvaluator(fitnessEvaluatorMock)
+                .elitism(2)
                 .populationSize(initialPopulationSize)
                 .build();
 
-        List<Parents> allParents = new ArrayList<>();
+        GenerationStatistics generationStatistics = new GenerationStatistics(1);
 
-        for (int i = 0; i < initialPopulationSize; i++) {
-            allParents.add(new Parents(individuals.get(i), individuals.get(i)));
-        }
+        List<Genome> children = standardGeneticAlgorithm.breed(strategy, generationStatistics);
 
-        List<Genome> children = standardGeneticAlgorithm.crossover(strategy, allParents);
+        assertEquals(48, children.size());
 
-        assertEquals(50, children.size());
+        for (Genome child : children) {
+            assertFalse(child.isEvaluationNeeded());
+            assertEquals(1d, child.getFitnesses()[0].getValue());
+        }
+
+        assertEquals(48, generationStatistics.getNumberOfCrossovers());
+        assertEquals(1, generationStatistics.getNumberOfMutations());
+        assertEquals(48, generationStatistics.getNumberOfEvaluations());
 
         verify(populationMock, times(1)).size();
+        verify(populationMock, times(1)).reIndexSelector();
+        verify(populationMock, times(48)).selectParents();
         verifyNoMoreInteractions(populationMock);
 
-        verify(crossoverOperatorMock, times(50)).crossover(any(Genome.class), any(Genome.class));
+        verify(crossoverOperatorMock, times(48)).crossover(same(parent), same(parent));
         verifyNoMoreInteractions(crossoverOperatorMock);
+
+        verify(mutationOperatorMock, times(48)).mutateChromosomes(any(Genome.class), same(strategy));
+        verifyNoMoreInteractions(mutationOperatorMock);
     }
 
-    @SuppressWarnings({"rawtypes"})
     @Test
-    public void given_validInput_when_crossoverSmallPopulation_then_returnsExpectedValue() {
+    public void given_validInput_when_breedSmallPopulation_then_returnsExpectedValue() {
         StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
 
         StandardPopulation population = new StandardPopulation();
 
-        int initialPopulationSize = 10;
-
         Genome genome = new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, population);
         population.addIndividual(genome);
 
@@ -205,15 +205,11 @@ public class StandardGeneticAlgorithmTest {
         GeneticAlgorithmStrategy strategyToSet = GeneticAlgorithmStrategy.builder()
                 .crossoverOperator(crossoverOperatorMock)
                 .population(population)
+                .populationSize(10)
+                .elitism(0)
                 .build();
 
-        List<Parents> allParents = new ArrayList<>();
-
-        for (int i = initialPopulationSize / 2; i < initialPopulationSize; i++) {
-            allParents.add(new Parents(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, population), new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, population)));
-        }
-
-        List<Genome> children = standardGeneticAlgorithm.crossover(strategyToSet, allParents);
+        List<Genome> children = standardGeneticAlgorithm.breed(strategyToSet, new GenerationStatistics(1));
 
         assertEquals(1, population.size());
 
@@ -222,84 +218,48 @@ public class StandardGeneticAlgorithmTest {
         verifyNoInteractions(crossoverOperatorMock);
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Test
-    public void given_validInput_when_mutate_then_matchesExpectations() {
-        int initialPopulationSize = 100;
-
-        StandardPopulation populationMock = mock(StandardPopulation.class);
-
-        List<Genome> individuals = new ArrayList<>();
-        for (int i = 0; i < initialPopulationSize; i++) {
-            individuals.add(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock));
-        }
-
-        StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
-
-        TaskExecutor taskExecutorMock = mock(TaskExecutor.class);
-        doAnswer(invocation -> {
-            ((FutureTask) invocation.getArguments()[0]).run();
-
-            return null;
-        }).when(taskExecutorMock).execute(any(FutureTask.class));
-
-        double mutationRate = 0.5;
-
-        MutationOperator mutationOperatorMock = mock(MutationOperator.class);
+    public void given_seed_when_breedingOnPoolsOfDifferentSizes_then_breedsSameChildren() {
+        List<Double> singleWorker = breedSeeded(new ForkJoinPool(1));
+        List<Double> manyWorkers = breedSeeded(new ForkJoinPool(4));
 
-        GeneticAlgorithmStrategy strategyToSet = GeneticAlgorithmStrategy.builder()
-                .taskExecutor(taskExecutorMock)
-                .population(populationMock)
-                .mutationRate(mutationRate)
-                .mutationOperator(mutationOperatorMock)
-                .elitism(0)
-                .build();
-
-        standardGeneticAlgorithm.mutate(strategyToSet, individuals);
-
-        verifyNoInteractions(populationMock);
-        verify(mutationOperatorMock, times(100)).mutateChromosomes(any(Genome.class), same(strategyToSet));
-        verifyNoMoreInteractions(mutationOperatorMock);
+        assertEquals(100, singleWorker.size());
+        assertEquals(singleWorker, manyWorkers);
     }
 
-    @SuppressWarnings({"rawtypes", "unchecked"})
-    @Test
-    public void given_validInput_when_mutateSmallPopulation_then_matchesExpectations() {
-        int initialPopulationSize = 100;
-
+    private List<Double> breedSeeded(ForkJoinPool pool) {
         StandardPopulation populationMock = mock(StandardPopulation.class);
+        when(populationMock.size()).thenReturn(100);
 
-        List<Genome> individuals = new ArrayList<>();
-        for (int i = 0; i < initialPopulationSize; i++) {
-            individuals.add(new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock));
-        }
-
-        StandardGeneticAlgorithm standardGeneticAlgorithm = new StandardGeneticAlgorithm();
-
-        TaskExecutor taskExecutorMock = mock(TaskExecutor.class);
-        doAnswer(invocation -> {
-            ((FutureTask) invocation.getArguments()[0]).run();
-
-            return null;
-        }).when(taskExecutorMock).execute(any(FutureTask.class));
+        Genome parent = new Genome(true, new Fitness[] { new MaximizingFitness(0d) }, populationMock);
+        when(populationMock.selectParents()).thenReturn(new Parents(parent, parent));
 
-        double mutationRate = 0.5;
+        CrossoverOperator crossoverOperatorMock = mock(CrossoverOperator.class);
+        when(crossoverOperatorMock.crossover(any(Genome.class), any(Genome.class))).thenAnswer(invocation -> new Genome(true, null, populationMock));
 
-        MutationOperator mutationOperatorMock = mock(MutationOperator.class);
+        // Scores each child with the next number from whichever generator it was bred with
+        FitnessEvaluator fitnessEvaluator = genome -> new Fitness[] { new MaximizingFitness(RandomSource.current().nextDouble()) };
 
-        GeneticAlgorithmStrategy strategyToSet = GeneticAlgorithmStrategy.builder()
-                .taskExecutor(taskExecutorMock)
+        GeneticAlgorithmStrategy strategy = GeneticAlgorithmStrategy.builder()
+                .forkJoinPool(pool)
                 .population(populationMock)
-                .mutationRate(mutationRate)
-                .mutationOperator(mutationOperatorMock)
+                .crossoverOperator(crossoverOperatorMock)
+                .mutationOperator(mock(MutationOperator.class))
+                .fitnessEvaluator(fitnessEvaluator)
                 .elitism(0)
+                .populationSize(100)
                 .build();
 
-        standardGeneticAlgorithm.mutate(strategyToSet, individuals);
+        SplittableGenerator previous = RandomSource.begin(42L);
 
-        verifyNoInteractions(populationMock);
-        verify(mutationOperatorMock, times(initialPopulationSize)).mutateChromosomes(any(Genome.class), same(strategyToSet));
-        verifyNoMoreInteractions(mutationOperatorMock);
+        try {
+            return new StandardGeneticAlgorithm().breed(strategy, new GenerationStatistics(1)).stream()
+                    .map(child -> child.getFitnesses()[0].getValue())
+                    .collect(Collectors.toList());
+        } finally {
+            RandomSource.end(previous);
+            pool.shutdown();
+        }
     }
 
     @Test
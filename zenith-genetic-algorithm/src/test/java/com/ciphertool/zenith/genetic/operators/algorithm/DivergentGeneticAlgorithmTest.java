@@ -10,6 +10,7 @@ import com.ciphertool.zenith.genetic.operators.speciation.SpeciationOperator;
 import com.ciphertool.zenith.genetic.population.Population;
 import com.ciphertool.zenith.genetic.population.StandardPopulation;
 import com.ciphertool.zenith.genetic.statistics.ExecutionStatistics;
+import com.ciphertool.zenith.genetic.statistics.GenerationStatistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.task.SyncTaskExecutor;
@@ -44,11 +45,7 @@ public class DivergentGeneticAlgorithmTest {
     public void given_validInput_when_proceedWithNextGeneration_then_matchesExpectations() {
         ExecutionStatistics executionStatistics = mock(ExecutionStatistics.class);
         
-        List<Parents> parentsList = new ArrayList<>();
-        for (int i = 0; i < 8; i++) {
-            parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        }
-        when(population.select()).thenReturn(parentsList);
+        when(population.selectParents()).thenReturn(new Parents(mock(Genome.class), mock(Genome.class)));
         when(population.size()).thenReturn(10);
         List<Genome> individuals = new ArrayList<>();
         for (int i = 0; i < 10; i++) individuals.add(mock(Genome.class));
@@ -64,7 +61,8 @@ public class DivergentGeneticAlgorithmTest {
 
         divergentGeneticAlgorithm.proceedWithNextGeneration(strategy, executionStatistics, 1);
 
-        verify(population).select();
+        verify(population).reIndexSelector();
+        verify(population, times(8)).selectParents();
         verify(crossoverOperator, times(8)).crossover(any(), any());
         verify(mutationOperator, times(8)).mutateChromosomes(any(), any());
         verify(population).evaluateFitness(any());
@@ -72,38 +70,30 @@ public class DivergentGeneticAlgorithmTest {
     }
 
     @Test
-    public void given_validInput_when_crossover_then_returnsExpectedValue() {
-        List<Parents> parentsList = new ArrayList<>();
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
+    public void given_validInput_when_breed_then_returnsExpectedValue() {
+        when(population.selectParents()).thenReturn(new Parents(mock(Genome.class), mock(Genome.class)));
 
         CrossoverOperator crossoverOperator = mock(CrossoverOperator.class);
         when(strategy.getCrossoverOperator()).thenReturn(crossoverOperator);
         when(crossoverOperator.crossover(any(), any())).thenReturn(mock(Genome.class));
+        when(strategy.getMutationOperator()).thenReturn(mock(MutationOperator.class));
         when(population.size()).thenReturn(10);
 
-        List<Genome> children = divergentGeneticAlgorithm.crossover(strategy, parentsList);
+        List<Genome> children = divergentGeneticAlgorithm.breed(strategy, new GenerationStatistics(1));
 
         assertEquals(8, children.size());
     }
 
     @Test
-    public void given_validInput_when_crossoverFailure_then_throwsIllegalStateException() {
-        List<Parents> parentsList = new ArrayList<>();
-        parentsList.add(new Parents(mock(Genome.class), mock(Genome.class)));
+    public void given_crossoverFailure_when_breed_then_throwsSameException() {
+        when(population.selectParents()).thenReturn(new Parents(mock(Genome.class), mock(Genome.class)));
 
         CrossoverOperator crossoverOperator = mock(CrossoverOperator.class);
         when(strategy.getCrossoverOperator()).thenReturn(crossoverOperator);
-        when(crossoverOperator.crossover(any(), any())).thenReturn(mock(Genome.class));
+        when(crossoverOperator.crossover(any(), any())).thenThrow(new IllegalStateException("Unable to cross over"));
         when(population.size()).thenReturn(10);
 
-        assertThrows(IllegalStateException.class, () -> divergentGeneticAlgorithm.crossover(strategy, parentsList));
+        assertThrows(IllegalStateException.class, () -> divergentGeneticAlgorithm.breed(strategy, new GenerationStatistics(1)));
     }
 
     @Test
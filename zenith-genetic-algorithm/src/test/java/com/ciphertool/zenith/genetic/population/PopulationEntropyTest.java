@@ -93,6 +93,15 @@ public class PopulationEntropyTest {
             return Collections.emptyList();
         }
 
+        @Override
+        public void reIndexSelector() {
+        }
+
+        @Override
+        public Parents selectParents() {
+            return null;
+        }
+
         @Override
         public void clearIndividuals() {
         }
@@ -19,22 +19,34 @@
 
 package com.ciphertool.zenith.inference;
 
+import com.ciphertool.zenith.inference.benchmark.BenchmarkHarness;
+import com.ciphertool.zenith.inference.benchmark.BenchmarkResult;
 import com.ciphertool.zenith.inference.configuration.ConfigurationResolver;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.config.ApplicationConfiguration;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.cache.CachingPlaintextEvaluator;
 import com.ciphertool.zenith.inference.optimizer.SolutionOptimizer;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import com.ciphertool.zenith.model.markov.LogProbabilityQuantization;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
 @SpringBootApplication
 public class InferenceApplication implements CommandLineRunner {
+    private Logger log = LoggerFactory.getLogger(getClass());
+
     @Autowired
     private Cipher cipher;
 
@@ -50,6 +62,24 @@ public class InferenceApplication implements CommandLineRunner {
     @Autowired
     private List<PlaintextEvaluator> plaintextEvaluators;
 
+    @Autowired
+    private BenchmarkHarness benchmarkHarness;
+
+    @Value("${benchmark.cipher-names:}")
+    private List<String> benchmarkCipherNames;
+
+    @Value("${benchmark.seeds:1,2,3}")
+    private List<Long> benchmarkSeeds;
+
+    @Value("${benchmark.results-file:}")
+    private String benchmarkResultsFile;
+
+    @Value("${benchmark.quantizations:}")
+    private List<LogProbabilityQuantization> benchmarkQuantizations;
+
+    @Autowired
+    private ArrayMarkovModel letterMarkovModel;
+
     public static void main(String[] args) {
         SpringApplication.run(InferenceApplication.class, args).close();
     }
@@ -60,6 +90,37 @@ public class InferenceApplication implements CommandLineRunner {
         SolutionOptimizer solutionOptimizer = ConfigurationResolver.resolveSolutionOptimizer(applicationConfiguration, optimizers);
         PlaintextEvaluator plaintextEvaluator = ConfigurationResolver.resolvePlaintextEvaluator(applicationConfiguration, plaintextEvaluators);
 
+        if (!benchmarkCipherNames.isEmpty() && !benchmarkQuantizations.isEmpty()) {
+            Map<LogProbabilityQuantization, List<BenchmarkResult>> resultsByQuantization = benchmarkHarness.compareQuantizations(benchmarkQuantizations, letterMarkovModel, benchmarkCipherNames, benchmarkSeeds, applicationConfiguration.getEpochs(), solutionOptimizer, configuration, plaintextTransformationSteps, plaintextEvaluator);
+
+            if (StringUtils.isNotBlank(benchmarkResultsFile)) {
+                // One file per quantization, e.g. results-CODEBOOK_8.csv
+                for (Map.Entry<LogProbabilityQuantization, List<BenchmarkResult>> entry : resultsByQuantization.entrySet()) {
+                    String suffix = "-" + entry.getKey();
+                    int extension = benchmarkResultsFile.lastIndexOf('.');
+                    String file = extension > 0 ? benchmarkResultsFile.substring(0, extension) + suffix + benchmarkResultsFile.substring(extension) : benchmarkResultsFile + suffix;
+
+                    benchmarkHarness.write(Paths.get(file), entry.getValue());
+                }
+            }
+
+            return;
+        }
+
+        if (!benchmarkCipherNames.isEmpty()) {
+            List<BenchmarkResult> results = benchmarkHarness.run(benchmarkCipherNames, benchmarkSeeds, applicationConfiguration.getEpochs(), solutionOptimizer, configuration, plaintextTransformationSteps, plaintextEvaluator);
+
+            if (StringUtils.isNotBlank(benchmarkResultsFile)) {
+                benchmarkHarness.write(Paths.get(benchmarkResultsFile), results);
+            }
+
+            return;
+        }
+
         solutionOptimizer.optimize(cipher, applicationConfiguration.getEpochs(), configuration, plaintextTransformationSteps, plaintextEvaluator, null);
+
+        if (plaintextEvaluator instanceof CachingPlaintextEvaluator) {
+            log.info("Evaluation cache: {}", ((CachingPlaintextEvaluator) plaintextEvaluator).getStatistics());
+        }
     }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.benchmark;
+
+import com.ciphertool.zenith.inference.dao.CipherDao;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.cache.CachingPlaintextEvaluator;
+import com.ciphertool.zenith.inference.optimizer.AbstractSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.SolutionOptimizer;
+import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import com.ciphertool.zenith.model.markov.LogProbabilityQuantization;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Replays a fixed set of ciphers with fixed seeds, so that the same search runs before and after a change to the
+ * optimizers or evaluators.  Since seeded runs make the same proposals every time, the final scores should match
+ * exactly unless the search itself has changed, and the wall time and evaluation rate can be compared directly.
+ */
+@Component
+public class BenchmarkHarness {
+    private static final String CSV_HEADER = "cipherName,seed,elapsedMillis,evaluations,evaluationsPerSecond,score,knownSolutionProportion";
+
+    private Logger log = LoggerFactory.getLogger(getClass());
+
+    @Autowired
+    private CipherDao cipherDao;
+
+    @Value("${decipherment.known-solution.correctness-threshold-percentage:0.9}")
+    private double knownSolutionCorrectnessThreshold;
+
+    public List<BenchmarkResult> run(List<String> cipherNames, List<Long> seeds, int epochs, SolutionOptimizer optimizer, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        List<BenchmarkResult> results = new ArrayList<>(cipherNames.size() * seeds.size());
+
+        for (String cipherName : cipherNames) {
+            Cipher cipher = cipherDao.findByCipherName(cipherName);
+
+            if (cipher == null) {
+                throw new IllegalArgumentException("No cipher found with name=" + cipherName + " to benchmark.");
+            }
+
+            for (Long seed : seeds) {
+                results.add(runOnce(cipher, seed, epochs, optimizer, configuration, plaintextTransformationSteps, plaintextEvaluator));
+            }
+        }
+
+        log.info("Benchmark results:\n{}", toCsv(results));
+
+        return results;
+    }
+
+    /*
+     * Replays the benchmark once per quantization of the model's table, switching the model in place so that the
+     * optimizer and evaluator score with each table in turn, and logs the solve rate of each.  The model is switched
+     * back to full precision afterwards.
+     */
+    public Map<LogProbabilityQuantization, List<BenchmarkResult>> compareQuantizations(List<LogProbabilityQuantization> quantizations, ArrayMarkovModel model, List<String> cipherNames, List<Long> seeds, int epochs, SolutionOptimizer optimizer, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        Map<LogProbabilityQuantization, List<BenchmarkResult>> resultsByQuantization = new LinkedHashMap<>();
+
+        try {
+            for (LogProbabilityQuantization quantization : quantizations) {
+                log.info("Benchmarking with quantization={}.", quantization);
+
+                model.useQuantization(quantization);
+                resultsByQuantization.put(quantization, run(cipherNames, seeds, epochs, optimizer, configuration, plaintextTransformationSteps, plaintextEvaluator));
+            }
+        } finally {
+            model.useQuantization(LogProbabilityQuantization.NONE);
+        }
+
+        StringBuilder sb = new StringBuilder();
+
+        for (Map.Entry<LogProbabilityQuantization, List<BenchmarkResult>> entry : resultsByQuantization.entrySet()) {
+            sb.append('\n').append("quantization=").append(entry.getKey()).append(", ").append(summarize(entry.getValue()));
+        }
+
+        log.info("Solve rates by quantization:{}", sb);
+
+        return resultsByQuantization;
+    }
+
+    /*
+     * A run counts as solved when it reaches the same share of the known solution as the optimizers require of a
+     * correct solution.  Runs on ciphers without a known solution only count towards the mean score.
+     */
+    protected String summarize(List<BenchmarkResult> results) {
+        int runsWithKnownSolution = 0;
+        int solved = 0;
+        double totalProportion = 0d;
+        double totalScore = 0d;
+
+        for (BenchmarkResult result : results) {
+            totalScore += result.getScore();
+
+            if (result.getKnownSolutionProportion() != null) {
+                runsWithKnownSolution ++;
+                totalProportion += result.getKnownSolutionProportion();
+
+                if (result.getKnownSolutionProportion() >= knownSolutionCorrectnessThreshold) {
+                    solved ++;
+                }
+            }
+        }
+
+        return String.format("solved=%d of %d (%.2f%%), meanKnownSolutionProportion=%.4f, meanScore=%.4f",
+                solved, runsWithKnownSolution, runsWithKnownSolution == 0 ? 0d : (solved * 100d) / runsWithKnownSolution,
+                runsWithKnownSolution == 0 ? 0d : totalProportion / runsWithKnownSolution,
+                results.isEmpty() ? 0d : totalScore / results.size());
+    }
+
+    private BenchmarkResult runOnce(Cipher cipher, long seed, int epochs, SolutionOptimizer optimizer, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        Map<String, Object> seededConfiguration = new HashMap<>(configuration);
+        seededConfiguration.put(AbstractSolutionOptimizer.SEED, seed);
+
+        // Every run starts cold, or later seeds would be scored partly from the cache filled by earlier ones
+        CachingPlaintextEvaluator cachingEvaluator = plaintextEvaluator instanceof CachingPlaintextEvaluator ? ((CachingPlaintextEvaluator) plaintextEvaluator).withEmptyCache() : null;
+        CountingPlaintextEvaluator countingEvaluator = CountingPlaintextEvaluator.wrap(cachingEvaluator != null ? cachingEvaluator : plaintextEvaluator);
+
+        long start = System.nanoTime();
+        CipherSolution solution = optimizer.optimize(cipher, epochs, seededConfiguration, plaintextTransformationSteps, countingEvaluator, null);
+        long elapsedNanos = System.nanoTime() - start;
+
+        long evaluations = countingEvaluator.getEvaluations();
+        double evaluationsPerSecond = elapsedNanos > 0L ? evaluations / (elapsedNanos / 1_000_000_000d) : 0d;
+
+        // Multi-objective evaluators produce several scores, in which case the first is reported
+        double score = solution != null && solution.getScores() != null && solution.getScores().length > 0 ? solution.getScores()[0].getValue() : Double.NaN;
+        Float knownSolutionProportion = solution != null && cipher.hasKnownSolution() ? solution.evaluateKnownSolution() : null;
+
+        BenchmarkResult result = new BenchmarkResult(cipher.getName(), seed, elapsedNanos / 1_000_000L, evaluations, evaluationsPerSecond, score, knownSolutionProportion);
+
+        log.info("Benchmarked cipher={} with seed={} in {}ms: evaluations={}, evaluationsPerSecond={}, score={}, knownSolutionProportion={}",
+                result.getCipherName(), seed, result.getElapsedMillis(), evaluations, String.format("%1$,.0f", evaluationsPerSecond), score, knownSolutionProportion);
+
+        if (cachingEvaluator != null) {
+            log.info("Evaluation cache for cipher={} with seed={}: {}", result.getCipherName(), seed, cachingEvaluator.getStatistics());
+        }
+
+        return result;
+    }
+
+    public void write(Path file, List<BenchmarkResult> results) {
+        try {
+            Files.writeString(file, toCsv(results));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write benchmark results to file=" + file, e);
+        }
+    }
+
+    protected String toCsv(List<BenchmarkResult> results) {
+        StringBuilder sb = new StringBuilder(CSV_HEADER).append('\n');
+
+        for (BenchmarkResult result : results) {
+            sb.append(result.getCipherName()).append(',')
+                    .append(result.getSeed()).append(',')
+                    .append(result.getElapsedMillis()).append(',')
+                    .append(result.getEvaluations()).append(',')
+                    .append(result.getEvaluationsPerSecond()).append(',')
+                    .append(result.getScore()).append(',')
+                    .append(result.getKnownSolutionProportion() != null ? result.getKnownSolutionProportion() : "")
+                    .append('\n');
+        }
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.benchmark;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Each proposal in a batch counts as one evaluation, so batched and unbatched runs can be compared directly.
+ */
+public class CountingBatchPlaintextEvaluator extends CountingPlaintextEvaluator implements BatchPlaintextEvaluator {
+    private final BatchPlaintextEvaluator batchDelegate;
+
+    public CountingBatchPlaintextEvaluator(BatchPlaintextEvaluator delegate) {
+        this(delegate, new LongAdder());
+    }
+
+    protected CountingBatchPlaintextEvaluator(BatchPlaintextEvaluator delegate, LongAdder evaluations) {
+        super(delegate, evaluations);
+
+        this.batchDelegate = delegate;
+    }
+
+    @Override
+    public List<ProposalScore> evaluateBatch(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+        evaluations.add(solutionStrings.size());
+        return batchDelegate.evaluateBatch(precomputedData, cipher, solutionStrings);
+    }
+
+    @Override
+    public CompletableFuture<List<ProposalScore>> evaluateBatchAsync(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+        evaluations.add(solutionStrings.size());
+        return batchDelegate.evaluateBatchAsync(precomputedData, cipher, solutionStrings);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.benchmark;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.entities.FormlyForm;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.DelegatingPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.ScoringSession;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Counts the evaluations made by a run, including those made through the instances it hands out, which share the same
+ * counter.
+ */
+public class CountingPlaintextEvaluator implements DelegatingPlaintextEvaluator {
+    private final PlaintextEvaluator delegate;
+    protected final LongAdder evaluations;
+
+    public CountingPlaintextEvaluator(PlaintextEvaluator delegate) {
+        this(delegate, new LongAdder());
+    }
+
+    protected CountingPlaintextEvaluator(PlaintextEvaluator delegate, LongAdder evaluations) {
+        this.delegate = delegate;
+        this.evaluations = evaluations;
+    }
+
+    /*
+     * Returns a counter which can still score batches if the evaluator can, so that optimizers which batch their
+     * proposals do the same when counted.
+     */
+    public static CountingPlaintextEvaluator wrap(PlaintextEvaluator plaintextEvaluator) {
+        return wrap(plaintextEvaluator, new LongAdder());
+    }
+
+    private static CountingPlaintextEvaluator wrap(PlaintextEvaluator plaintextEvaluator, LongAdder evaluations) {
+        if (plaintextEvaluator instanceof BatchPlaintextEvaluator) {
+            return new CountingBatchPlaintextEvaluator((BatchPlaintextEvaluator) plaintextEvaluator, evaluations);
+        }
+
+        return new CountingPlaintextEvaluator(plaintextEvaluator, evaluations);
+    }
+
+    @Override
+    public PlaintextEvaluator getDelegate() {
+        return delegate;
+    }
+
+    public long getEvaluations() {
+        return evaluations.sum();
+    }
+
+    @Override
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+        evaluations.increment();
+        return delegate.evaluate(precomputedData, cipher, solution, solutionString, ciphertextKey);
+    }
+
+    @Override
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        evaluations.increment();
+        return delegate.evaluate(precomputedData, cipher, solution, solutionLetters, ciphertextKey);
+    }
+
+    @Override
+    public Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+        evaluations.increment();
+        return delegate.evaluate(precomputedData, cipher, solution, solutionLetters, symbolId, session);
+    }
+
+    @Override
+    public Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, int symbolId, ScoringSession session) {
+        evaluations.increment();
+        return delegate.evaluate(precomputedData, cipher, solution, solutionString, symbolId, session);
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
+        return delegate.getPrecomputedCounterweightData(cipher);
+    }
+
+    @Override
+    public PlaintextEvaluator getInstance(Map<String, Object> data) {
+        return wrap(delegate.getInstance(data), evaluations);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return delegate.getDisplayName();
+    }
+
+    @Override
+    public FormlyForm getForm() {
+        return delegate.getForm();
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+
+    @Override
+    public String getHelpText() {
+        return delegate.getHelpText();
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.checkpoint;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.cache.PlaintextHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.Map;
+
+/*
+ * Saves a run's progress to a small binary file, and loads it back when the same run is started again.  Each save
+ * writes a sibling file and moves it into place, so a process killed part way through a save leaves the previous
+ * checkpoint intact.  The file is removed once the run completes.
+ */
+public class CheckpointStore {
+    private static Logger log = LoggerFactory.getLogger(CheckpointStore.class);
+
+    public static final String CHECKPOINT_FILE = "checkpointFile";
+    public static final String CHECKPOINT_ITERATIONS = "checkpointIterations";
+
+    private static final int MAGIC = 0x5A434B50;
+    private static final int VERSION = 3;
+
+    private final Path file;
+    private final int checkpointIterations;
+
+    public CheckpointStore(Path file, int checkpointIterations) {
+        this.file = file;
+        this.checkpointIterations = checkpointIterations;
+    }
+
+    /*
+     * Returns null unless the configuration names a checkpoint file.
+     */
+    public static CheckpointStore fromConfiguration(Map<String, Object> configuration) {
+        String checkpointFile = (String) configuration.get(CHECKPOINT_FILE);
+
+        if (checkpointFile == null || checkpointFile.isBlank()) {
+            return null;
+        }
+
+        Integer checkpointIterations = (Integer) configuration.get(CHECKPOINT_ITERATIONS);
+
+        if (checkpointIterations != null && checkpointIterations < 0) {
+            throw new IllegalArgumentException("The checkpoint interval must not be negative, but was " + checkpointIterations + ".");
+        }
+
+        return new CheckpointStore(Paths.get(checkpointFile), checkpointIterations == null ? 0 : checkpointIterations);
+    }
+
+    /*
+     * Whether a checkpoint is due after the given number of iterations of an epoch.  Zero means only between epochs.
+     */
+    public boolean isDue(int iterations) {
+        return checkpointIterations > 0 && iterations % checkpointIterations == 0;
+    }
+
+    /*
+     * Returns the saved progress of a run of this optimizer on this cipher, or null if there is none.
+     */
+    public SolveCheckpoint load(String optimizerName, Cipher cipher) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        SolveCheckpoint checkpoint;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            checkpoint = read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read checkpoint from file=" + file, e);
+        }
+
+        if (!checkpoint.getOptimizerName().equals(optimizerName) || checkpoint.getCipherFingerprint() != fingerprint(cipher)) {
+            throw new IllegalArgumentException("The checkpoint in file=" + file + " was taken by " + checkpoint.getOptimizerName() + " on a different run, and cannot be resumed by " + optimizerName + " on this cipher.");
+        }
+
+        log.info("Resuming from checkpoint file={} after {} completed epochs.", file, checkpoint.getCompletedEpochs().cardinality());
+
+        return checkpoint;
+    }
+
+    public void save(SolveCheckpoint checkpoint) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                write(out, checkpoint);
+            }
+
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write checkpoint to file=" + file, e);
+        }
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to delete checkpoint file=" + file, e);
+        }
+    }
+
+    public static long fingerprint(Cipher cipher) {
+        StringBuilder sb = new StringBuilder();
+
+        cipher.getCiphertextCharacters().forEach(ciphertext -> sb.append(ciphertext.getValue()).append(' '));
+
+        return PlaintextHash.hash(sb.toString());
+    }
+
+    public static byte[] toMappings(Cipher cipher, CipherSolution solution) {
+        byte[] mappings = new byte[cipher.getSymbolCount()];
+
+        for (int symbolId = 0; symbolId < mappings.length; symbolId ++) {
+            mappings[symbolId] = (byte) solution.getMapping(symbolId);
+        }
+
+        return mappings;
+    }
+
+    public static CipherSolution toSolution(Cipher cipher, int cipherKeySize, byte[] mappings) {
+        CipherSolution solution = new CipherSolution(cipher, cipherKeySize);
+
+        for (int symbolId = 0; symbolId < mappings.length; symbolId ++) {
+            if (mappings[symbolId] != 0) {
+                solution.putMapping(cipher.getSymbol(symbolId), (char) mappings[symbolId]);
+            }
+        }
+
+        return solution;
+    }
+
+    static void write(DataOutputStream out, SolveCheckpoint checkpoint) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(checkpoint.getOptimizerName());
+        out.writeLong(checkpoint.getCipherFingerprint());
+        writeBytes(out, checkpoint.getCompletedEpochs().toByteArray());
+        out.writeInt(checkpoint.getCorrectSolutions());
+        out.writeLong(checkpoint.getTotalElapsed());
+        writeBytes(out, checkpoint.getBestMappings());
+
+        EpochProgress progress = checkpoint.getEpochInProgress();
+        out.writeBoolean(progress != null);
+
+        if (progress != null) {
+            out.writeInt(progress.getIteration());
+            writeBytes(out, progress.getMappings());
+            out.writeFloat(progress.getBestScore());
+            out.writeInt(progress.getIterationsWithoutImprovement());
+            out.writeLong(progress.getElapsed());
+            out.writeLong(progress.getRandomSeed());
+            writeDoubles(out, progress.getCoolingScheduleState());
+        }
+    }
+
+    static SolveCheckpoint read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a checkpoint file.");
+        }
+
+        int version = in.readInt();
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version=" + version + ".");
+        }
+
+        String optimizerName = in.readUTF();
+        long cipherFingerprint = in.readLong();
+        BitSet completedEpochs = BitSet.valueOf(readBytes(in));
+        int correctSolutions = in.readInt();
+        long totalElapsed = in.readLong();
+        byte[] bestMappings = readBytes(in);
+        EpochProgress progress = null;
+
+        if (in.readBoolean()) {
+            progress = new EpochProgress(in.readInt(), readBytes(in), in.readFloat(), in.readInt(), in.readLong(), in.readLong(), readDoubles(in));
+        }
+
+        return new SolveCheckpoint(optimizerName, cipherFingerprint, completedEpochs, correctSolutions, totalElapsed, bestMappings, progress);
+    }
+
+    // A length of -1 stands for null
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes == null ? -1 : bytes.length);
+
+        if (bytes != null) {
+            out.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return bytes;
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        out.writeInt(values == null ? -1 : values.length);
+
+        if (values != null) {
+            for (double value : values) {
+                out.writeDouble(value);
+            }
+        }
+    }
+
+    private static double[] readDoubles(DataInputStream in) throws IOException {
+        int length = in.readInt();
+
+        if (length < 0) {
+            return null;
+        }
+
+        double[] values = new double[length];
+
+        for (int i = 0; i < length; i ++) {
+            values[i] = in.readDouble();
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.checkpoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * The state of a simulated annealing epoch part way through.  The epoch's random generator is reseeded from its own
+ * output whenever a checkpoint is taken, so the seed is enough to carry on with exactly the numbers it would have drawn.
+ */
+@Getter
+@AllArgsConstructor
+public class EpochProgress {
+    private int iteration;
+    private byte[] mappings;
+    private float bestScore;
+    private int iterationsWithoutImprovement;
+    private long elapsed;
+    private long randomSeed;
+
+    // Null when the cooling schedule keeps no state of its own
+    private double[] coolingScheduleState;
+}
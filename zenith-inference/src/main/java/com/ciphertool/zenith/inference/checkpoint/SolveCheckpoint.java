@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.checkpoint;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.BitSet;
+
+/*
+ * Where a run stood when it was checkpointed.  Mappings are indexed by the cipher's symbol IDs and hold the plaintext
+ * character, or zero where a symbol is unmapped, as in CipherSolution.
+ */
+@Getter
+@AllArgsConstructor
+public class SolveCheckpoint {
+    private String optimizerName;
+    private long cipherFingerprint;
+
+    // Indexed by epoch, since epochs which run concurrently can complete out of order
+    private BitSet completedEpochs;
+
+    private int correctSolutions;
+    private long totalElapsed;
+
+    // Null until an epoch has completed
+    private byte[] bestMappings;
+
+    // Null when the checkpoint was taken between epochs
+    private EpochProgress epochInProgress;
+
+    // Epochs which run one at a time complete in order, so every epoch before this one has
+    public int getFirstIncompleteEpoch() {
+        return completedEpochs.nextClearBit(0);
+    }
+
+    public SolveCheckpoint withEpochInProgress(EpochProgress epochInProgress) {
+        return new SolveCheckpoint(optimizerName, cipherFingerprint, completedEpochs, correctSolutions, totalElapsed, bestMappings, epochInProgress);
+    }
+}
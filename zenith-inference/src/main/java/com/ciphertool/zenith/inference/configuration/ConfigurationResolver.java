@@ -19,14 +19,22 @@
 
 package com.ciphertool.zenith.inference.configuration;
 
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
 import com.ciphertool.zenith.inference.entities.FormlyForm;
 import com.ciphertool.zenith.inference.entities.config.ApplicationConfiguration;
 import com.ciphertool.zenith.inference.entities.config.GeneticAlgorithmConfiguration;
 import com.ciphertool.zenith.inference.entities.config.SimulatedAnnealingConfiguration;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.cache.CachingPlaintextEvaluator;
+import com.ciphertool.zenith.inference.optimizer.AbstractSolutionOptimizer;
 import com.ciphertool.zenith.inference.optimizer.GeneticAlgorithmSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.MoveGenerator;
+import com.ciphertool.zenith.inference.optimizer.MultiChainSimulatedAnnealingSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.ParallelTemperingSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.ProposalBatcher;
 import com.ciphertool.zenith.inference.optimizer.SimulatedAnnealingSolutionOptimizer;
 import com.ciphertool.zenith.inference.optimizer.SolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.StoppingCriteria;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,11 +49,31 @@ public class ConfigurationResolver {
     public static Map<String, Object> resolveConfiguration(ApplicationConfiguration applicationConfiguration) {
         Map<String, Object> configuration = new HashMap<>();
 
+        configuration.put(AbstractSolutionOptimizer.SEED, applicationConfiguration.getSeed());
+        configuration.put(CheckpointStore.CHECKPOINT_FILE, applicationConfiguration.getCheckpointFile());
+
         SimulatedAnnealingConfiguration simulatedAnnealingConfiguration = applicationConfiguration.getSimulatedAnnealingConfiguration();
 
         configuration.put(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS, simulatedAnnealingConfiguration.getSamplerIterations());
         configuration.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MIN, simulatedAnnealingConfiguration.getAnnealingTemperatureMin());
         configuration.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MAX, simulatedAnnealingConfiguration.getAnnealingTemperatureMax());
+        configuration.put(SimulatedAnnealingSolutionOptimizer.COOLING_SCHEDULE_NAME, simulatedAnnealingConfiguration.getCoolingScheduleName());
+        configuration.put(SimulatedAnnealingSolutionOptimizer.PARALLEL_EPOCHS, simulatedAnnealingConfiguration.getParallelEpochs());
+        configuration.put(CheckpointStore.CHECKPOINT_ITERATIONS, simulatedAnnealingConfiguration.getCheckpointIterations());
+        configuration.put(StoppingCriteria.STAGNATION_ITERATIONS, simulatedAnnealingConfiguration.getStagnationIterations());
+        configuration.put(StoppingCriteria.MIN_IMPROVEMENT, simulatedAnnealingConfiguration.getMinImprovement());
+        configuration.put(StoppingCriteria.MAX_EPOCH_MILLIS, simulatedAnnealingConfiguration.getMaxEpochMillis());
+        configuration.put(StoppingCriteria.TARGET_SCORE, simulatedAnnealingConfiguration.getTargetScore());
+        configuration.put(StoppingCriteria.STOP_ON_KNOWN_SOLUTION, simulatedAnnealingConfiguration.getStopOnKnownSolution());
+        configuration.put(MoveGenerator.SWAP_MOVE_PROBABILITY, simulatedAnnealingConfiguration.getSwapMoveProbability());
+        configuration.put(MoveGenerator.BLOCK_MOVE_PROBABILITY, simulatedAnnealingConfiguration.getBlockMoveProbability());
+        configuration.put(MoveGenerator.BLOCK_MOVE_SIZE, simulatedAnnealingConfiguration.getBlockMoveSize());
+        configuration.put(MoveGenerator.AVOID_NO_OP_MOVES, simulatedAnnealingConfiguration.getAvoidNoOpMoves());
+        configuration.put(ProposalBatcher.PROPOSAL_BATCH_SIZE, simulatedAnnealingConfiguration.getProposalBatchSize());
+        configuration.put(ProposalBatcher.PIPELINE_PROPOSAL_BATCHES, simulatedAnnealingConfiguration.getPipelineProposalBatches());
+        configuration.put(ParallelTemperingSolutionOptimizer.REPLICAS, simulatedAnnealingConfiguration.getTemperingReplicas());
+        configuration.put(ParallelTemperingSolutionOptimizer.SWAP_INTERVAL, simulatedAnnealingConfiguration.getTemperingSwapInterval());
+        configuration.put(MultiChainSimulatedAnnealingSolutionOptimizer.CHAINS, simulatedAnnealingConfiguration.getLockstepChains());
 
         GeneticAlgorithmConfiguration geneticAlgorithmConfiguration = applicationConfiguration.getGeneticAlgorithmConfiguration();
 
@@ -101,7 +129,7 @@ public class ConfigurationResolver {
 
         for (PlaintextEvaluator evaluator : plaintextEvaluators) {
             if (evaluator.getClass().getSimpleName().replace(PlaintextEvaluator.class.getSimpleName(), "").equals(plaintextEvaluatorName)) {
-                return evaluator.getInstance(form != null ? form.getModel() : null);
+                return CachingPlaintextEvaluator.getInstance(evaluator, form != null ? form.getModel() : null);
             }
         }
 
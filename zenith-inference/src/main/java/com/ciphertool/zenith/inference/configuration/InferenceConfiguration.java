@@ -34,6 +34,9 @@ import com.ciphertool.zenith.model.entities.TreeNGram;
 import com.ciphertool.zenith.model.entities.WordNGram;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModelCache;
+import com.ciphertool.zenith.model.markov.LogProbabilityQuantization;
+import com.ciphertool.zenith.model.markov.LogProbabilityStorage;
+import com.ciphertool.zenith.model.markov.QuantizationReport;
 import com.ciphertool.zenith.model.markov.WordNGramModel;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -75,6 +78,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 @Configuration
@@ -116,6 +120,15 @@ public class InferenceConfiguration {
     @Value("${language-model.cache.filename:#{null}}")
     private String languageModelCacheFilename;
 
+    @Value("${language-model.storage:MAPPED}")
+    private LogProbabilityStorage languageModelStorage;
+
+    @Value("${language-model.quantization:NONE}")
+    private LogProbabilityQuantization languageModelQuantization;
+
+    @Value("${language-model.vectorized:false}")
+    private boolean languageModelVectorized;
+
     @Value("${application.configuration.file-path}")
     private String configurationFilePath;
 
@@ -202,14 +215,34 @@ public class InferenceConfiguration {
 
     @Bean
     public ArrayMarkovModel letterMarkovModel(LetterNGramDao letterNGramDao) {
+        ArrayMarkovModel letterMarkovModel = buildLetterMarkovModel(letterNGramDao);
+
+        if (languageModelVectorized) {
+            if (letterMarkovModel.vectorize()) {
+                log.info("Scoring full n-gram re-scores with the Vector API.");
+            } else {
+                log.warn("Ignoring language-model.vectorized=true, which requires a build with -Pvector, the JVM option --add-modules jdk.incubator.vector and language-model.storage=HEAP with no quantization, for an order up to {}.", ArrayMarkovModel.MAX_DENSE_ORDER);
+            }
+        }
+
+        return letterMarkovModel;
+    }
+
+    private ArrayMarkovModel buildLetterMarkovModel(LetterNGramDao letterNGramDao) {
         Path cachePath = resolveLanguageModelCachePath();
 
+        LogProbabilityQuantization quantization = languageModelQuantization;
+        if (quantization != LogProbabilityQuantization.NONE && !ArrayMarkovModel.isDense(markovOrder)) {
+            log.warn("Quantization is only supported for Markov orders up to {}. Ignoring language-model.quantization={} for order {}.", ArrayMarkovModel.MAX_DENSE_ORDER, quantization, markovOrder);
+            quantization = LogProbabilityQuantization.NONE;
+        }
+
         if (cachePath != null) {
             long cacheStart = System.currentTimeMillis();
             try {
-                ArrayMarkovModel cachedModel = ArrayMarkovModelCache.readIfValid(cachePath, markovOrder, maxNGramsToKeep);
+                ArrayMarkovModel cachedModel = ArrayMarkovModelCache.readIfValid(cachePath, markovOrder, maxNGramsToKeep, languageModelStorage, quantization);
                 if (cachedModel != null) {
-                    log.info("Loaded cached letter n-gram model from {} in {}ms.", cachePath.toAbsolutePath(), (System.currentTimeMillis() - cacheStart));
+                    log.info("Loaded cached letter n-gram model from {} with {} storage and {} quantization in {}ms.", cachePath.toAbsolutePath(), languageModelStorage, quantization, (System.currentTimeMillis() - cacheStart));
                     return cachedModel;
                 }
 
@@ -238,7 +271,7 @@ public class InferenceConfiguration {
                 .mapToLong(TreeNGram::getCount)
                 .sum();
 
-        ArrayMarkovModel letterMarkovModel = new ArrayMarkovModel(markovOrder, 1f / (float) totalNGramCount);
+        ArrayMarkovModel letterMarkovModel = new ArrayMarkovModel(markovOrder, 1f / (float) totalNGramCount, languageModelStorage, maxNGramsToKeep);
 
         long startAdding = System.currentTimeMillis();
         log.info("Adding nodes to the model.");
@@ -255,11 +288,31 @@ public class InferenceConfiguration {
 
         log.info("Finished adding {} nodes to the letter n-gram model in {}ms.", letterMarkovModel.getMapSize(), (System.currentTimeMillis() - startAdding));
 
+        if (quantization != LogProbabilityQuantization.NONE) {
+            long startQuantizing = System.currentTimeMillis();
+
+            ArrayMarkovModel quantizedModel = letterMarkovModel.quantize(quantization);
+
+            log.info("Quantized the letter n-gram model in {}ms: {}", (System.currentTimeMillis() - startQuantizing), QuantizationReport.compare(letterMarkovModel, quantizedModel));
+
+            letterMarkovModel.close();
+            letterMarkovModel = quantizedModel;
+        }
+
         if (cachePath != null) {
             long cacheWriteStart = System.currentTimeMillis();
             try {
                 ArrayMarkovModelCache.write(cachePath, letterMarkovModel, maxNGramsToKeep);
                 log.info("Saved cached letter n-gram model to {} in {}ms.", cachePath.toAbsolutePath(), (System.currentTimeMillis() - cacheWriteStart));
+
+                if (languageModelStorage == LogProbabilityStorage.MAPPED && quantization == LogProbabilityQuantization.NONE && !letterMarkovModel.isSparse()) {
+                    // Swap the freshly built model for the mapped copy so that the heap array can be collected
+                    ArrayMarkovModel mappedModel = ArrayMarkovModelCache.readIfValid(cachePath, markovOrder, maxNGramsToKeep, languageModelStorage);
+
+                    if (mappedModel != null) {
+                        return mappedModel;
+                    }
+                }
             } catch (IOException e) {
                 log.warn("Unable to write cached letter n-gram model to {}.", cachePath.toAbsolutePath(), e);
             }
@@ -406,6 +459,12 @@ public class InferenceConfiguration {
         return taskExecutor;
     }
 
+    // Breeds genetic algorithm generations, with as many workers as the task executor
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool geneticAlgorithmForkJoinPool() {
+        return new ForkJoinPool(corePoolSize);
+    }
+
     @Bean("nestedGeneticAlgorithmTaskExecutor")
     public ThreadPoolTaskExecutor nestedGeneticAlgorithmTaskExecutor() {
         ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -56,6 +57,30 @@ public class Cipher {
     @JsonIgnore
     private Map<String, int[]> cipherSymbolIndicesMap = new HashMap<>();
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private CipherWindowIndex windowIndex;
+
+    /*
+     * Symbols are interned to dense IDs in order of first appearance.  IDs are never reassigned, even if the ciphertext
+     * later changes, so that solutions indexed by them stay valid.
+     */
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Map<String, Integer> symbolIds = new HashMap<>();
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private List<String> symbols = new ArrayList<>();
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private int[][] cipherSymbolIndicesById;
+
     public Cipher(String name, int rows, int columns) {
         this.name = name;
         this.rows = rows;
@@ -73,10 +98,13 @@ public class Cipher {
         this.ciphertext = (ciphertext == null) ? new ArrayList<>() : ciphertext;
         this.ciphertextCharacters.clear();
         this.cipherSymbolIndicesMap.clear();
+        this.windowIndex = null;
+        this.cipherSymbolIndicesById = null;
 
         if (CollectionUtils.isNotEmpty(ciphertext)) {
             for (String next : ciphertext) {
                 ciphertextCharacters.add(new Ciphertext(next));
+                internSymbol(next);
             }
         }
     }
@@ -121,20 +149,88 @@ public class Cipher {
         return cipherSymbolIndicesMap;
     }
 
+    private void internSymbol(String symbol) {
+        if (!symbolIds.containsKey(symbol)) {
+            symbolIds.put(symbol, symbols.size());
+            symbols.add(symbol);
+        }
+    }
+
+    /*
+     * Returns the dense ID of the symbol, or -1 if it has never appeared in this cipher.
+     */
+    public int getSymbolId(String symbol) {
+        Integer symbolId = symbolIds.get(symbol);
+
+        return symbolId == null ? -1 : symbolId;
+    }
+
+    public String getSymbol(int symbolId) {
+        return symbols.get(symbolId);
+    }
+
+    /*
+     * The number of IDs handed out, which includes any symbols since removed from the ciphertext.
+     */
+    public int getSymbolCount() {
+        return symbols.size();
+    }
+
+    /*
+     * Same as getCipherSymbolIndicesMap(), but indexed by symbol ID.  Symbols no longer in the ciphertext have no
+     * indices.
+     */
+    public int[] getCipherSymbolIndices(int symbolId) {
+        int[][] current = cipherSymbolIndicesById;
+
+        if (current == null) {
+            current = new int[symbols.size()][];
+
+            Map<String, int[]> indicesMap = getCipherSymbolIndicesMap();
+            for (int i = 0; i < current.length; i ++) {
+                int[] indices = indicesMap.get(symbols.get(i));
+                current[i] = indices == null ? new int[0] : indices;
+            }
+
+            cipherSymbolIndicesById = current;
+        }
+
+        return current[symbolId];
+    }
+
+    /*
+     * Built on first use and cached until the ciphertext changes, or a different order or step size is asked for.
+     */
+    public CipherWindowIndex getWindowIndex(int order, int stepSize) {
+        CipherWindowIndex current = windowIndex;
+
+        if (current == null || current.getOrder() != order || current.getStepSize() != stepSize) {
+            current = new CipherWindowIndex(this, order, stepSize);
+            windowIndex = current;
+        }
+
+        return current;
+    }
+
     public List<Ciphertext> getCiphertextCharacters() {
         return Collections.unmodifiableList(ciphertextCharacters);
     }
 
     public void addCiphertextCharacter(Ciphertext ciphertext) {
         this.ciphertextCharacters.add(ciphertext);
+        internSymbol(ciphertext.getValue());
         this.ciphertext.add(ciphertext.getValue());
         this.cipherSymbolIndicesMap.clear();
+        this.windowIndex = null;
+        this.cipherSymbolIndicesById = null;
     }
 
     public void removeCiphertextCharacter(int i) {
         this.ciphertextCharacters.remove(i);
         this.ciphertext.remove(i);
         this.cipherSymbolIndicesMap.clear();
+        this.windowIndex = null;
+        this.cipherSymbolIndicesById = null;
     }
 
     public void replaceCiphertextCharacter(int index, Ciphertext ciphertext) {
@@ -142,8 +238,11 @@ public class Cipher {
 
         toReplace.setValue(ciphertext.getValue());
         this.ciphertextCharacters.set(index, ciphertext);
+        internSymbol(ciphertext.getValue());
         this.ciphertext.set(index, ciphertext.getValue());
         this.cipherSymbolIndicesMap.clear();
+        this.windowIndex = null;
+        this.cipherSymbolIndicesById = null;
     }
 
     public Map<String, String> getKnownSolutionKey() {
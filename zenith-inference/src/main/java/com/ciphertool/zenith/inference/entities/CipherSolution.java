@@ -36,7 +36,9 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
     private float probability = 0f;
     private float logProbability = 0f;
 
-    private Map<String, Character> mappings;
+    // Indexed by the cipher's symbol IDs, holding the plaintext character, or zero where a symbol is unmapped
+    private byte[] mappings;
+    private int mappingCount;
 
     private float[] logProbabilities;
 
@@ -49,7 +51,7 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
 
         this.cipher = cipher;
 
-        mappings = new HashMap<>(numCiphertextKeys);
+        mappings = new byte[cipher.getSymbolCount()];
         logProbabilities = new float[cipher.getCiphertextCharacters().size()];
         Arrays.fill(this.logProbabilities, 0f);
     }
@@ -80,8 +82,37 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
         return logProbability;
     }
 
+    /*
+     * Builds a copy keyed by symbol, so it should be kept off hot paths, which should use getMapping(int) instead.
+     */
     public Map<String, Character> getMappings() {
-        return Collections.unmodifiableMap(mappings);
+        Map<String, Character> mappingsBySymbol = new HashMap<>(mappingCount);
+
+        for (int i = 0; i < mappings.length; i ++) {
+            if (mappings[i] != 0) {
+                mappingsBySymbol.put(cipher.getSymbol(i), (char) mappings[i]);
+            }
+        }
+
+        return Collections.unmodifiableMap(mappingsBySymbol);
+    }
+
+    public int getMappingCount() {
+        return mappingCount;
+    }
+
+    /*
+     * Returns the plaintext character for the symbol ID, or zero if it is unmapped.
+     */
+    public char getMapping(int symbolId) {
+        return symbolId >= 0 && symbolId < mappings.length ? (char) mappings[symbolId] : 0;
+    }
+
+    /*
+     * Replaces the mapping for a symbol ID which is already mapped, without the checks done by replaceMapping().
+     */
+    public void setMapping(int symbolId, char plaintext) {
+        mappings[symbolId] = (byte) plaintext;
     }
 
     public void putMapping(String key, Character plaintext) {
@@ -91,7 +122,20 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
             return;
         }
 
-        if (this.mappings.get(key) != null) {
+        int symbolId = cipher.getSymbolId(key);
+
+        if (symbolId < 0) {
+            log.warn("Attempted to insert a mapping to CipherSolution with key " + key
+                    + ", but the key is not a symbol of the cipher.  Returning. " + this);
+
+            return;
+        }
+
+        if (plaintext == 0 || plaintext > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Mappings must be non-zero ASCII characters, but found=" + (int) plaintext.charValue());
+        }
+
+        if (getMapping(symbolId) != 0) {
             log.warn("Attempted to insert a mapping to CipherSolution with key " + key
                     + ", but the key already exists.  If this was intentional, please use replaceMapping() instead.  Returning. "
                     + this);
@@ -99,7 +143,13 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
             return;
         }
 
-        this.mappings.put(key, plaintext);
+        if (symbolId >= mappings.length) {
+            // The cipher has gained symbols since this solution was created
+            mappings = Arrays.copyOf(mappings, cipher.getSymbolCount());
+        }
+
+        mappings[symbolId] = (byte) plaintext.charValue();
+        mappingCount ++;
     }
 
     public float[] getLogProbabilities() {
@@ -120,6 +170,13 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
         this.logProbability += logProbability;
     }
 
+    /*
+     * For bulk scorers which have written the log probabilities directly into getLogProbabilities() and summed them.
+     */
+    public void setLogProbability(float logProbability) {
+        this.logProbability = logProbability;
+    }
+
     public void replaceLogProbability(int i, float newLogProbability) {
         float oldLogProbability = this.logProbabilities[i];
         this.logProbabilities[i] = newLogProbability;
@@ -139,23 +196,27 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
             return;
         }
 
-        if (null == this.mappings || null == this.mappings.get(key)) {
+        int symbolId = cipher.getSymbolId(key);
+
+        if (symbolId < 0 || getMapping(symbolId) == 0) {
             log.warn("Attempted to replace a mapping from CipherSolution with key " + key
                     + ", but this key does not exist.  Cannot continue.");
 
             return;
         }
 
-        this.mappings.put(key, newPlaintext);
+        if (newPlaintext == 0 || newPlaintext > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Mappings must be non-zero ASCII characters, but found=" + (int) newPlaintext.charValue());
+        }
+
+        this.mappings[symbolId] = (byte) newPlaintext.charValue();
     }
 
     @Override
     public CipherSolution clone() {
-        CipherSolution copySolution = new CipherSolution(this.cipher, this.mappings.size());
-
-        for (Map.Entry<String, Character> entry : this.mappings.entrySet()) {
-            copySolution.putMapping(entry.getKey(), entry.getValue());
-        }
+        CipherSolution copySolution = new CipherSolution(this.cipher, this.mappingCount);
+        copySolution.mappings = this.mappings.clone();
+        copySolution.mappingCount = this.mappingCount;
 
         copySolution.logProbability = 0f;
         for (int i = 0; i < this.logProbabilities.length; i ++) {
@@ -193,19 +254,19 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
 
         float total = 0f;
 
-        if (cipher.getKnownSolutionKey().size() != mappings.size()) {
-            log.error("Current solution size of " + mappings.size()
+        if (cipher.getKnownSolutionKey().size() != mappingCount) {
+            log.error("Current solution size of " + mappingCount
                     + " does not match the known solution size of " + cipher.getKnownSolutionKey().size()
                     + ".  This will cause inaccurate fitness calculations.  Solution: " + this);
         }
 
         for (String key : cipher.getKnownSolutionKey().keySet()) {
-            if (cipher.getKnownSolutionKey().get(key).equals(String.valueOf(mappings.get(key)))) {
+            if (cipher.getKnownSolutionKey().get(key).equals(String.valueOf(getMapping(cipher.getSymbolId(key))))) {
                 total++;
             }
         }
 
-        float proximityToKnownSolution = (total / (float) mappings.size());
+        float proximityToKnownSolution = (total / (float) mappingCount);
 
         if (log.isDebugEnabled()) {
             log.debug("Solution has a confidence level of: " + proximityToKnownSolution);
@@ -223,7 +284,14 @@ public class CipherSolution implements Comparable<CipherSolution>, Cloneable {
         }
 
         for (Ciphertext ciphertext : this.getCipher().getCiphertextCharacters()) {
-            sb.append(this.mappings.get(ciphertext.getValue()));
+            char mapping = getMapping(cipher.getSymbolId(ciphertext.getValue()));
+
+            // An unmapped symbol has always been rendered this way, from appending a null Character
+            if (mapping == 0) {
+                sb.append("null");
+            } else {
+                sb.append(mapping);
+            }
         }
 
         return sb.toString();
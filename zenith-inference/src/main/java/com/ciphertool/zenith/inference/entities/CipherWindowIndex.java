@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.entities;
+
+/*
+ * For each cipher symbol ID, the start positions of the n-gram windows which contain at least one of its occurrences, in
+ * ascending order and without duplicates.  Only windows starting at a multiple of stepSize and before length - order are
+ * included, which are the windows scored by a full evaluation, so rescoring a remapped symbol is a straight loop over
+ * its list.
+ */
+public class CipherWindowIndex {
+    private final int order;
+    private final int stepSize;
+    private final int[][] windowStartsBySymbolId;
+
+    public CipherWindowIndex(Cipher cipher, int order, int stepSize) {
+        this.order = order;
+        this.stepSize = stepSize;
+
+        int lengthMinusOrder = cipher.getCiphertextCharacters().size() - order;
+
+        windowStartsBySymbolId = new int[cipher.getSymbolCount()][];
+
+        for (int symbolId = 0; symbolId < windowStartsBySymbolId.length; symbolId ++) {
+            int[] cipherSymbolIndices = cipher.getCipherSymbolIndices(symbolId);
+            int[] windowStarts = new int[cipherSymbolIndices.length * ((order + stepSize - 1) / stepSize)];
+
+            int count = 0;
+            int lastStart = -1;
+            for (int ciphertextIndex : cipherSymbolIndices) {
+                // The first multiple of stepSize whose window reaches ciphertextIndex
+                int firstStart = Math.max(0, ciphertextIndex - order + 1);
+                firstStart = ((firstStart + stepSize - 1) / stepSize) * stepSize;
+
+                // Skip the windows already added for the previous occurrence
+                int start = lastStart < 0 ? firstStart : Math.max(firstStart, lastStart + stepSize);
+
+                for (; start <= ciphertextIndex && start < lengthMinusOrder; start += stepSize) {
+                    windowStarts[count] = start;
+                    count ++;
+                    lastStart = start;
+                }
+            }
+
+            int[] trimmed = new int[count];
+            System.arraycopy(windowStarts, 0, trimmed, 0, count);
+            windowStartsBySymbolId[symbolId] = trimmed;
+        }
+    }
+
+    /*
+     * Symbols no longer in the ciphertext have no windows.
+     */
+    public int[] getWindowStarts(int symbolId) {
+        return windowStartsBySymbolId[symbolId];
+    }
+
+    public int getOrder() {
+        return order;
+    }
+
+    public int getStepSize() {
+        return stepSize;
+    }
+}
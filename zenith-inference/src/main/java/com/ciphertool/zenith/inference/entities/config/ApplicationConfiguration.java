@@ -30,6 +30,8 @@ import java.util.List;
 public class ApplicationConfiguration {
     private String selectedCipher;
     private int epochs;
+    private Long seed;
+    private String checkpointFile;
     private List<CipherConfiguration> cipherConfigurations;
     private SelectOption selectedOptimizer;
     private FormComponentDto selectedFitnessFunction;
@@ -22,6 +22,7 @@ package com.ciphertool.zenith.inference.entities.config;
 import lombok.Getter;
 import lombok.Setter;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -40,4 +41,62 @@ public class SimulatedAnnealingConfiguration {
     @NotNull
     @DecimalMin("0.0")
     private Float annealingTemperatureMax;
+
+    // Defaults to LinearCoolingSchedule when unset
+    private String coolingScheduleName;
+
+    // Optional stopping criteria, any of which ends an epoch before samplerIterations
+    @Min(1)
+    private Integer stagnationIterations;
+
+    @DecimalMin("0.0")
+    private Float minImprovement;
+
+    @Min(1)
+    private Long maxEpochMillis;
+
+    private Float targetScore;
+
+    private Boolean stopOnKnownSolution;
+
+    // Optional move types for the letter sampler; whatever probability remains goes to remapping a single symbol
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private Float swapMoveProbability;
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private Float blockMoveProbability;
+
+    @Min(2)
+    private Integer blockMoveSize;
+
+    private Boolean avoidNoOpMoves;
+
+    // Proposals scored per call by evaluators which support batches, such as the RestService evaluator; unset or 1 scores them one at a time
+    @Min(1)
+    private Integer proposalBatchSize;
+
+    // Whether the next batch is sent while the current one is judged
+    private Boolean pipelineProposalBatches;
+
+    // How many epochs may run at once; unset or 1 runs them one after another
+    @Min(1)
+    private Integer parallelEpochs;
+
+    // Sampler iterations between checkpoints within an epoch when a checkpoint file is set; unset only checkpoints between epochs
+    @Min(1)
+    private Integer checkpointIterations;
+
+    // Only read by the ParallelTempering optimizer, which samples with this many replicas spread between the min and max temperatures
+    @Min(2)
+    private Integer temperingReplicas;
+
+    // Sampler iterations each replica runs between attempts to swap neighbouring replicas
+    @Min(1)
+    private Integer temperingSwapInterval;
+
+    // Only read by the MultiChainSimulatedAnnealing optimizer, which anneals this many chains in lockstep
+    @Min(1)
+    private Integer lockstepChains;
 }
@@ -21,6 +21,7 @@ package com.ciphertool.zenith.inference.evaluator;
 
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.util.LetterUtils;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -29,7 +30,6 @@ import jakarta.annotation.PostConstruct;
 public class AbstractNgramEvaluator {
     private int order;
     private int stepSize;
-    private int doubleStepSize;
 
     @Autowired
     protected ArrayMarkovModel letterMarkovModel;
@@ -38,66 +38,82 @@ public class AbstractNgramEvaluator {
     public void init() {
         order = letterMarkovModel.getOrder();
         stepSize = order / 2;
-        doubleStepSize = stepSize * 2;
+    }
+
+    public int getStepSize() {
+        return stepSize;
     }
 
     protected float[][] evaluateLetterNGrams(Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
-        int stringLengthMinusOrder = solutionString.length() - order;
+        return evaluateLetterNGrams(cipher, solution, LetterUtils.toLetterCodes(solutionString), ciphertextKey);
+    }
 
+    protected float[][] evaluateLetterNGrams(Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        int symbolId = ciphertextKey == null ? -1 : cipher.getSymbolId(ciphertextKey);
         float[][] logProbabilitiesUpdated;
-        int lastIndex = -1;
 
-        if (ciphertextKey != null) {
-            int[] cipherSymbolIndices = cipher.getCipherSymbolIndicesMap().get(ciphertextKey);
-            logProbabilitiesUpdated = new float[2][cipherSymbolIndices.length * (stepSize + 1)];
+        if (symbolId >= 0) {
+            logProbabilitiesUpdated = new float[2][getWindowStarts(cipher, symbolId).length];
+        } else {
+            logProbabilitiesUpdated = new float[2][solution.getLogProbabilities().length];
+        }
 
-            int k = 0;
-            for (int i = 0; i < cipherSymbolIndices.length; i ++) {
-                int ciphertextIndex = cipherSymbolIndices[i];
+        evaluateLetterNGrams(cipher, solution, solutionLetters, symbolId, logProbabilitiesUpdated, null);
 
-                int wayBack = ciphertextIndex - (ciphertextIndex % stepSize) - doubleStepSize;
-                if (wayBack + order <= ciphertextIndex) {
-                    wayBack += stepSize;
-                }
+        return logProbabilitiesUpdated;
+    }
 
-                int start = Math.max(0, wayBack);
-                int end = Math.min(stringLengthMinusOrder, ciphertextIndex + 1);
+    /*
+     * Records each overwritten slot in the session's undo buffer instead of allocating an array of updates.  A negative
+     * symbolId re-scores every window.
+     */
+    protected void evaluateLetterNGrams(Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+        evaluateLetterNGrams(cipher, solution, solutionLetters, symbolId, null, session);
+    }
 
-                if (lastIndex >= 0 && start < lastIndex) {
-                    continue;
-                }
+    /*
+     * The windows re-scored when the given symbol is remapped.
+     */
+    public int[] getWindowStarts(Cipher cipher, int symbolId) {
+        return cipher.getWindowIndex(order, stepSize).getWindowStarts(symbolId);
+    }
+
+    // Exactly one of logProbabilitiesUpdated and session is expected to be non-null
+    private void evaluateLetterNGrams(Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, float[][] logProbabilitiesUpdated, ScoringSession session) {
+        if (symbolId >= 0) {
+            int[] windowStarts = getWindowStarts(cipher, symbolId);
+
+            int previousStart = 0;
+            long arrayIndex = -1L;
+            for (int k = 0; k < windowStarts.length; k ++) {
+                int start = windowStarts[k];
+                int index = start / stepSize;
 
-                int index;
-                for (int j = start; j < end; j += stepSize) {
-                    index = j / stepSize;
+                if (session != null) {
+                    session.record(index, solution.getLogProbability(index));
+                } else {
                     logProbabilitiesUpdated[0][k] = index;
                     logProbabilitiesUpdated[1][k] = solution.getLogProbability(index);
-
-                    solution.replaceLogProbability(index, letterMarkovModel.findExact(solutionString.substring(j, j + order)));
-                    k++;
                 }
 
-                lastIndex = end;
+                arrayIndex = k == 0 ? letterMarkovModel.computeArrayIndex(solutionLetters, start) : letterMarkovModel.rollArrayIndex(arrayIndex, solutionLetters, start, start - previousStart);
+                solution.replaceLogProbability(index, letterMarkovModel.findByArrayIndex(arrayIndex));
+                previousStart = start;
             }
         } else {
             float[] logProbabilities = solution.getLogProbabilities();
 
-            logProbabilitiesUpdated = new float[2][logProbabilities.length];
-
             for (int i = 0; i < logProbabilities.length; i ++) {
-                logProbabilitiesUpdated[0][i] = i;
-                logProbabilitiesUpdated[1][i] = logProbabilities[i];
+                if (session != null) {
+                    session.record(i, logProbabilities[i]);
+                } else {
+                    logProbabilitiesUpdated[0][i] = i;
+                    logProbabilitiesUpdated[1][i] = logProbabilities[i];
+                }
             }
 
             solution.clearLogProbabilities();
-
-            int k = 0;
-            for (int i = 0; i < solutionString.length() - order; i += stepSize) {
-                solution.addLogProbability(k, letterMarkovModel.findExact(solutionString.substring(i, i + order)));
-                k ++;
-            }
+            solution.setLogProbability(letterMarkovModel.scoreWindows(solutionLetters, stepSize, logProbabilities));
         }
-
-        return logProbabilitiesUpdated;
     }
 }
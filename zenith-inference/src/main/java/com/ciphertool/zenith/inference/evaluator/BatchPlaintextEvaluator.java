@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * For evaluators whose cost is dominated by a round trip, such as a remote scoring service, so that several proposals
+ * can be scored at once.  Each proposal is scored as a whole plaintext, without reference to any solution, and the
+ * results come back in the order the proposals were given.
+ */
+public interface BatchPlaintextEvaluator extends PlaintextEvaluator {
+    List<ProposalScore> evaluateBatch(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings);
+
+    /*
+     * Lets the caller carry on while a batch is in flight.  The default scores the batch on the calling thread.
+     */
+    default CompletableFuture<List<ProposalScore>> evaluateBatchAsync(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+        return CompletableFuture.completedFuture(evaluateBatch(precomputedData, cipher, solutionStrings));
+    }
+}
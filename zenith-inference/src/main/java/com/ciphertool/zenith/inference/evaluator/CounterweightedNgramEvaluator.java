@@ -0,0 +1,36 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator;
+
+import com.ciphertool.zenith.inference.util.CounterweightEvaluator;
+
+/*
+ * Implemented by the single-objective evaluators whose score is the mean of the letter n-gram log probabilities,
+ * adjusted by a counterweight.  Exposing the two halves lets a sampler keep the n-gram windows and letter counts itself
+ * and still arrive at the same score as evaluate().
+ */
+public interface CounterweightedNgramEvaluator {
+    CounterweightEvaluator getCounterweightEvaluator();
+
+    // Windows are scored at every multiple of this many letters
+    int getStepSize();
+
+    float combine(float meanLogProbability, float counterweight);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator;
+
+/*
+ * An evaluator which wraps another, such as a cache or a counter, and passes scoring through to it.  Optimizers which
+ * need something only the wrapped evaluator can do look for it with unwrap(), so that it is found however many
+ * wrappers are in front.
+ */
+public interface DelegatingPlaintextEvaluator extends PlaintextEvaluator {
+    PlaintextEvaluator getDelegate();
+
+    static PlaintextEvaluator unwrap(PlaintextEvaluator plaintextEvaluator) {
+        PlaintextEvaluator unwrapped = plaintextEvaluator;
+
+        while (unwrapped instanceof DelegatingPlaintextEvaluator) {
+            unwrapped = ((DelegatingPlaintextEvaluator) unwrapped).getDelegate();
+        }
+
+        return unwrapped;
+    }
+}
@@ -27,6 +27,7 @@ import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.FormlyForm;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.util.ChiSquaredEvaluator;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import lombok.NoArgsConstructor;
 import org.slf4j.Logger;
@@ -51,7 +52,7 @@ public class NgramAndChiSquaredMultiObjectivePlaintextEvaluator extends Abstract
     }
 
     @Override
-    public SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
         long startLetter = System.currentTimeMillis();
 
         float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionString, ciphertextKey);
@@ -64,7 +65,27 @@ public class NgramAndChiSquaredMultiObjectivePlaintextEvaluator extends Abstract
     }
 
     @Override
-    public Map<String, Object> getPrecomputedCounterweightData(Cipher cipher) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        long startLetter = System.currentTimeMillis();
+
+        float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionLetters, ciphertextKey);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Letter N-Grams took {}ms.", (System.currentTimeMillis() - startLetter));
+        }
+
+        return new SolutionScore(logProbabilitiesUpdated, new Fitness[]{new MaximizingFitness(solution.getLogProbability()), new MinimizingFitness(chiSquaredEvaluator.evaluate(precomputedData, cipher, solutionLetters), 40d)});
+    }
+
+    @Override
+    public Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+        evaluateLetterNGrams(cipher, solution, solutionLetters, symbolId, session);
+
+        return new Fitness[]{new MaximizingFitness(solution.getLogProbability()), new MinimizingFitness(session.evaluateCounterweight(chiSquaredEvaluator, solutionLetters, symbolId), 40d)};
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
         return chiSquaredEvaluator.precompute(cipher);
     }
 
@@ -26,6 +26,8 @@ import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.FormlyForm;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.util.ChiSquaredEvaluator;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.CounterweightEvaluator;
 import com.ciphertool.zenith.inference.util.MathUtils;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import lombok.NoArgsConstructor;
@@ -38,7 +40,7 @@ import java.util.Map;
 
 @NoArgsConstructor
 @Component
-public class NgramAndChiSquaredPlaintextEvaluator extends AbstractNgramEvaluator implements PlaintextEvaluator {
+public class NgramAndChiSquaredPlaintextEvaluator extends AbstractNgramEvaluator implements PlaintextEvaluator, CounterweightedNgramEvaluator {
     private Logger log = LoggerFactory.getLogger(getClass());
 
     @Autowired
@@ -51,7 +53,7 @@ public class NgramAndChiSquaredPlaintextEvaluator extends AbstractNgramEvaluator
     }
 
     @Override
-    public SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
         long startLetter = System.currentTimeMillis();
 
         float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionString, ciphertextKey);
@@ -60,15 +62,49 @@ public class NgramAndChiSquaredPlaintextEvaluator extends AbstractNgramEvaluator
             log.debug("Letter N-Grams took {}ms.", (System.currentTimeMillis() - startLetter));
         }
 
-        // Scaling down the chi squared value by its eighth root seems to be the optimal amount to penalize the sum of log probabilities by
-        // This has been determined through haphazard experimentation
-        float score = (solution.getLogProbability() / (float) solution.getLogProbabilities().length) - MathUtils.powRoot(chiSquaredEvaluator.evaluate(precomputedData, cipher, solutionString), 8f);
+        float score = combine(solution.getLogProbability() / (float) solution.getLogProbabilities().length, chiSquaredEvaluator.evaluate(precomputedData, cipher, solutionString));
 
         return new SolutionScore(logProbabilitiesUpdated, new Fitness[] { new MaximizingFitness(score) });
     }
 
     @Override
-    public Map<String, Object> getPrecomputedCounterweightData(Cipher cipher) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        long startLetter = System.currentTimeMillis();
+
+        float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionLetters, ciphertextKey);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Letter N-Grams took {}ms.", (System.currentTimeMillis() - startLetter));
+        }
+
+        float score = combine(solution.getLogProbability() / (float) solution.getLogProbabilities().length, chiSquaredEvaluator.evaluate(precomputedData, cipher, solutionLetters));
+
+        return new SolutionScore(logProbabilitiesUpdated, new Fitness[] { new MaximizingFitness(score) });
+    }
+
+    @Override
+    public Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+        evaluateLetterNGrams(cipher, solution, solutionLetters, symbolId, session);
+
+        float score = combine(solution.getLogProbability() / (float) solution.getLogProbabilities().length, session.evaluateCounterweight(chiSquaredEvaluator, solutionLetters, symbolId));
+
+        return new Fitness[] { new MaximizingFitness(score) };
+    }
+
+    @Override
+    public CounterweightEvaluator getCounterweightEvaluator() {
+        return chiSquaredEvaluator;
+    }
+
+    @Override
+    // Scaling down the chi squared value by its eighth root seems to be the optimal amount to penalize the sum of log probabilities by
+    // This has been determined through haphazard experimentation
+    public float combine(float meanLogProbability, float counterweight) {
+        return meanLogProbability - MathUtils.powRoot(counterweight, 8f);
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
         return chiSquaredEvaluator.precompute(cipher);
     }
 
@@ -25,6 +25,7 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.FormlyForm;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.inference.util.EntropyEvaluator;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import lombok.NoArgsConstructor;
@@ -50,7 +51,7 @@ public class NgramAndEntropyMultiObjectivePlaintextEvaluator extends AbstractNgr
     }
 
     @Override
-    public SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
         long startLetter = System.currentTimeMillis();
 
         float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionString, ciphertextKey);
@@ -63,7 +64,27 @@ public class NgramAndEntropyMultiObjectivePlaintextEvaluator extends AbstractNgr
     }
 
     @Override
-    public Map<String, Object> getPrecomputedCounterweightData(Cipher cipher) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        long startLetter = System.currentTimeMillis();
+
+        float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionLetters, ciphertextKey);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Letter N-Grams took {}ms.", (System.currentTimeMillis() - startLetter));
+        }
+
+        return new SolutionScore(logProbabilitiesUpdated, new Fitness[]{new MaximizingFitness(solution.getLogProbability()), new MaximizingFitness(entropyEvaluator.evaluate(precomputedData, cipher, solutionLetters))});
+    }
+
+    @Override
+    public Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+        evaluateLetterNGrams(cipher, solution, solutionLetters, symbolId, session);
+
+        return new Fitness[]{new MaximizingFitness(solution.getLogProbability()), new MaximizingFitness(session.evaluateCounterweight(entropyEvaluator, solutionLetters, symbolId))};
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
         return entropyEvaluator.precompute(cipher);
     }
 
@@ -25,6 +25,8 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.FormlyForm;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.CounterweightEvaluator;
 import com.ciphertool.zenith.inference.util.EntropyEvaluator;
 import com.ciphertool.zenith.inference.util.MathUtils;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
@@ -38,7 +40,7 @@ import java.util.Map;
 
 @NoArgsConstructor
 @Component
-public class NgramAndEntropyPlaintextEvaluator extends AbstractNgramEvaluator implements PlaintextEvaluator {
+public class NgramAndEntropyPlaintextEvaluator extends AbstractNgramEvaluator implements PlaintextEvaluator, CounterweightedNgramEvaluator {
     private Logger log = LoggerFactory.getLogger(getClass());
 
     @Autowired
@@ -51,7 +53,7 @@ public class NgramAndEntropyPlaintextEvaluator extends AbstractNgramEvaluator im
     }
 
     @Override
-    public SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
         long startLetter = System.currentTimeMillis();
 
         float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionString, ciphertextKey);
@@ -60,15 +62,49 @@ public class NgramAndEntropyPlaintextEvaluator extends AbstractNgramEvaluator im
             log.debug("Letter N-Grams took {}ms.", (System.currentTimeMillis() - startLetter));
         }
 
-        // Scaling down the entropy by its 2.75th root seems to be the optimal amount to penalize the sum of log probabilities by
-        // This has been determined through haphazard experimentation
-        float score = (solution.getLogProbability() / (float) solution.getLogProbabilities().length) / MathUtils.powRoot(entropyEvaluator.evaluate(precomputedData, cipher, solutionString), 2.75f);
+        float score = combine(solution.getLogProbability() / (float) solution.getLogProbabilities().length, entropyEvaluator.evaluate(precomputedData, cipher, solutionString));
 
         return new SolutionScore(logProbabilitiesUpdated, new Fitness[] { new MaximizingFitness(score) });
     }
 
     @Override
-    public Map<String, Object> getPrecomputedCounterweightData(Cipher cipher) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        long startLetter = System.currentTimeMillis();
+
+        float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionLetters, ciphertextKey);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Letter N-Grams took {}ms.", (System.currentTimeMillis() - startLetter));
+        }
+
+        float score = combine(solution.getLogProbability() / (float) solution.getLogProbabilities().length, entropyEvaluator.evaluate(precomputedData, cipher, solutionLetters));
+
+        return new SolutionScore(logProbabilitiesUpdated, new Fitness[] { new MaximizingFitness(score) });
+    }
+
+    @Override
+    public Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+        evaluateLetterNGrams(cipher, solution, solutionLetters, symbolId, session);
+
+        float score = combine(solution.getLogProbability() / (float) solution.getLogProbabilities().length, session.evaluateCounterweight(entropyEvaluator, solutionLetters, symbolId));
+
+        return new Fitness[] { new MaximizingFitness(score) };
+    }
+
+    @Override
+    public CounterweightEvaluator getCounterweightEvaluator() {
+        return entropyEvaluator;
+    }
+
+    @Override
+    // Scaling down the entropy by its 2.75th root seems to be the optimal amount to penalize the sum of log probabilities by
+    // This has been determined through haphazard experimentation
+    public float combine(float meanLogProbability, float counterweight) {
+        return meanLogProbability / MathUtils.powRoot(counterweight, 2.75f);
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
         return entropyEvaluator.precompute(cipher);
     }
 
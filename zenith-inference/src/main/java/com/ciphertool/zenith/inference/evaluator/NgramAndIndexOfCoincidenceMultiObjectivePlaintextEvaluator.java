@@ -26,6 +26,7 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.FormlyForm;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import lombok.NoArgsConstructor;
@@ -51,7 +52,7 @@ public class NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluator extends
     }
 
     @Override
-    public SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
         long startLetter = System.currentTimeMillis();
 
         float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionString, ciphertextKey);
@@ -64,7 +65,27 @@ public class NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluator extends
     }
 
     @Override
-    public Map<String, Object> getPrecomputedCounterweightData(Cipher cipher) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        long startLetter = System.currentTimeMillis();
+
+        float[][] logProbabilitiesUpdated = evaluateLetterNGrams(cipher, solution, solutionLetters, ciphertextKey);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Letter N-Grams took {}ms.", (System.currentTimeMillis() - startLetter));
+        }
+
+        return new SolutionScore(logProbabilitiesUpdated, new Fitness[] { new MaximizingFitness(solution.getLogProbability()), new MinimizingFitness(indexOfCoincidenceEvaluator.evaluate(precomputedData, cipher, solutionLetters), 0.07d) });
+    }
+
+    @Override
+    public Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+        evaluateLetterNGrams(cipher, solution, solutionLetters, symbolId, session);
+
+        return new Fitness[] { new MaximizingFitness(solution.getLogProbability()), new MinimizingFitness(session.evaluateCounterweight(indexOfCoincidenceEvaluator, solutionLetters, symbolId), 0.07d) };
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
         return indexOfCoincidenceEvaluator.precompute(cipher);
     }
 
@@ -19,17 +19,47 @@
 
 package com.ciphertool.zenith.inference.evaluator;
 
+import com.ciphertool.zenith.genetic.fitness.Fitness;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.transformer.FormComponent;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterUtils;
 
 import java.util.Map;
 
 public interface PlaintextEvaluator extends FormComponent {
-   SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey);
+   SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey);
 
-   Map<String, Object> getPrecomputedCounterweightData(Cipher cipher);
+   /*
+    * Scores plaintext held as letter codes, where 'a' is 0 and 'z' is 25, so that callers can mutate a single buffer in
+    * place rather than building a String per proposal.  Implementations which can read the codes directly should
+    * override this, as the default decodes the buffer to a String.
+    */
+   default SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+      return evaluate(precomputedData, cipher, solution, LetterUtils.fromLetterCodes(solutionLetters), ciphertextKey);
+   }
+
+   /*
+    * Session-aware variants used by ScoringSession.  Rather than returning every updated slot in a newly allocated
+    * array, implementations call session.record() before overwriting each n-gram slot on the solution.  The remapped
+    * symbol is given by its ID, or a negative ID to re-score everything.  The defaults fall back to the allocating API
+    * above.
+    */
+   default Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, ScoringSession session) {
+      SolutionScore score = evaluate(precomputedData, cipher, solution, solutionLetters, symbolId < 0 ? null : cipher.getSymbol(symbolId));
+      session.recordAll(score.getNgramProbabilitiesUpdated());
+      return score.getScores();
+   }
+
+   default Fitness[] evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, int symbolId, ScoringSession session) {
+      SolutionScore score = evaluate(precomputedData, cipher, solution, solutionString, symbolId < 0 ? null : cipher.getSymbol(symbolId));
+      session.recordAll(score.getNgramProbabilitiesUpdated());
+      return score.getScores();
+   }
+
+   CounterweightContext getPrecomputedCounterweightData(Cipher cipher);
 
    PlaintextEvaluator getInstance(Map<String, Object> data);
 }
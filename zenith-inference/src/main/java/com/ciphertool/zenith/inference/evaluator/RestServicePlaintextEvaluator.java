@@ -23,8 +23,10 @@ import com.ciphertool.zenith.genetic.fitness.Fitness;
 import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
 import com.ciphertool.zenith.inference.entities.*;
 import com.ciphertool.zenith.inference.evaluator.model.RestServiceEvaluation;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
 import com.ciphertool.zenith.inference.evaluator.model.RestServiceEvaluationRequest;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import lombok.NoArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,16 +36,28 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
+/*
+ * A batch is posted to the same URL as a single proposal, with one entry in sequences per proposal, and the service is
+ * expected to answer it with a JSON array holding one evaluation per sequence, in the same order.
+ */
 @NoArgsConstructor
 @Component
-public class RestServicePlaintextEvaluator implements PlaintextEvaluator {
+public class RestServicePlaintextEvaluator implements BatchPlaintextEvaluator {
     private Logger log = LoggerFactory.getLogger(getClass());
 
     public static final String REST_SERVICE_URL = "restServiceUrl";
 
+    // Requests spend nearly all of their time waiting on the service, so each in-flight batch gets a virtual thread
+    private static final Executor ASYNC_EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
     @Autowired
     private RestTemplate restTemplate;
 
@@ -58,7 +72,7 @@ public class RestServicePlaintextEvaluator implements PlaintextEvaluator {
     }
 
     @Override
-    public SolutionScore evaluate(Map<String, Object> precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
         long startEvaluation = System.currentTimeMillis();
 
         RestServiceEvaluationRequest request = new RestServiceEvaluationRequest();
@@ -88,7 +102,46 @@ public class RestServicePlaintextEvaluator implements PlaintextEvaluator {
     }
 
     @Override
-    public Map<String, Object> getPrecomputedCounterweightData(Cipher cipher) {
+    public List<ProposalScore> evaluateBatch(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+        long startEvaluation = System.currentTimeMillis();
+
+        RestServiceEvaluationRequest request = new RestServiceEvaluationRequest();
+
+        request.setSequences(solutionStrings);
+
+        RestServiceEvaluation[] response = restTemplate.postForObject(evaluationRestServiceEndpoint, request, RestServiceEvaluation[].class);
+
+        log.debug("Rest service evaluation of {} proposals took {}ms.", solutionStrings.size(), (System.currentTimeMillis() - startEvaluation));
+
+        if (response == null || response.length != solutionStrings.size()) {
+            throw new IllegalStateException("Expected " + solutionStrings.size() + " evaluations from the rest service, but received " + (response == null ? 0 : response.length) + ".");
+        }
+
+        List<ProposalScore> scores = new ArrayList<>(response.length);
+
+        for (RestServiceEvaluation evaluation : response) {
+            float[] logProbabilities = new float[evaluation.getProbabilities().size()];
+            float logProbability = 0f;
+
+            // Summed in the same order as CipherSolution does, so that a batched score matches a single evaluation
+            for (int i = 0; i < logProbabilities.length; i ++) {
+                logProbabilities[i] = evaluation.getProbabilities().get(i).getLogProbability();
+                logProbability += logProbabilities[i];
+            }
+
+            scores.add(new ProposalScore(logProbabilities, new Fitness[] { new MaximizingFitness(logProbability) }));
+        }
+
+        return scores;
+    }
+
+    @Override
+    public CompletableFuture<List<ProposalScore>> evaluateBatchAsync(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+        return CompletableFuture.supplyAsync(() -> evaluateBatch(precomputedData, cipher, solutionStrings), ASYNC_EXECUTOR);
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
         return null;
     }
 
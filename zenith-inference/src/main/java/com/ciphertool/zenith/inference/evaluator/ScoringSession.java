@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.CounterweightEvaluator;
+import com.ciphertool.zenith.inference.util.LetterFrequencies;
+
+import java.util.Arrays;
+
+/*
+ * Propose/commit/rollback scoring for a single CipherSolution.  Each proposal records only the n-gram slots it
+ * touches, along with their previous log probabilities, in an undo buffer which is reused across proposals, so that
+ * rejecting a proposal costs O(changed windows) and allocates nothing once the buffer has grown to its working size.
+ *
+ * The session also carries the solution's letter frequencies, so that counterweights are updated per remapped symbol
+ * rather than recomputed over the whole plaintext.
+ *
+ * A session is not thread-safe; each optimizer thread should open its own.
+ */
+public class ScoringSession {
+    private static final int INITIAL_UNDO_CAPACITY = 64;
+
+    private final PlaintextEvaluator plaintextEvaluator;
+    private final CounterweightContext precomputedData;
+    private final Cipher cipher;
+    private final CipherSolution solution;
+
+    private int[] undoIndices = new int[INITIAL_UNDO_CAPACITY];
+    private float[] undoLogProbabilities = new float[INITIAL_UNDO_CAPACITY];
+    private int undoSize;
+    private Fitness[] previousScores;
+    private boolean pending;
+    private LetterFrequencies letterFrequencies;
+    private boolean letterFrequenciesStale;
+    private long proposalCount;
+    private long rollbackCount;
+
+    public ScoringSession(PlaintextEvaluator plaintextEvaluator, CounterweightContext precomputedData, Cipher cipher, CipherSolution solution) {
+        this.plaintextEvaluator = plaintextEvaluator;
+        this.precomputedData = precomputedData;
+        this.cipher = cipher;
+        this.solution = solution;
+    }
+
+    /*
+     * Scores a proposal which remaps the symbol with the given ID, or which may have changed anything if the ID is
+     * negative.
+     */
+    public Fitness[] propose(byte[] solutionLetters, int symbolId) {
+        begin();
+
+        Fitness[] scores = plaintextEvaluator.evaluate(precomputedData, cipher, solution, solutionLetters, symbolId, this);
+        solution.setScores(scores);
+
+        return scores;
+    }
+
+    /*
+     * For plaintext which has been through transformation steps, and so is only available as a String.
+     */
+    public Fitness[] propose(String solutionString, int symbolId) {
+        begin();
+
+        Fitness[] scores = plaintextEvaluator.evaluate(precomputedData, cipher, solution, solutionString, symbolId, this);
+        solution.setScores(scores);
+
+        return scores;
+    }
+
+    /*
+     * For moves which remap several symbols at once.  Each symbol's windows are re-scored in turn against the fully
+     * updated plaintext, so windows shared between symbols are simply scored more than once, and a single rollback
+     * undoes the lot.
+     */
+    public Fitness[] propose(byte[] solutionLetters, int[] symbolIds, int symbolCount) {
+        begin();
+
+        Fitness[] scores = null;
+        for (int i = 0; i < symbolCount; i++) {
+            scores = plaintextEvaluator.evaluate(precomputedData, cipher, solution, solutionLetters, symbolIds[i], this);
+        }
+
+        solution.setScores(scores);
+
+        return scores;
+    }
+
+    public Fitness[] propose(String solutionString, int[] symbolIds, int symbolCount) {
+        begin();
+
+        Fitness[] scores = null;
+        for (int i = 0; i < symbolCount; i++) {
+            scores = plaintextEvaluator.evaluate(precomputedData, cipher, solution, solutionString, symbolIds[i], this);
+        }
+
+        solution.setScores(scores);
+
+        return scores;
+    }
+
+    private void begin() {
+        if (pending) {
+            throw new IllegalStateException("The previous proposal must be committed or rolled back before proposing another.");
+        }
+
+        previousScores = solution.getScores();
+        undoSize = 0;
+        pending = true;
+        proposalCount ++;
+    }
+
+    public void commit() {
+        if (letterFrequencies != null) {
+            letterFrequencies.commit();
+        }
+
+        letterFrequenciesStale = false;
+        undoSize = 0;
+        previousScores = null;
+        pending = false;
+    }
+
+    public void rollback() {
+        if (!pending) {
+            throw new IllegalStateException("There is no proposal to roll back.");
+        }
+
+        rollbackCount ++;
+
+        // Undo in reverse so that a slot touched more than once ends up with its oldest value
+        for (int i = undoSize - 1; i >= 0; i--) {
+            solution.replaceLogProbability(undoIndices[i], undoLogProbabilities[i]);
+        }
+
+        solution.setScores(previousScores);
+
+        if (letterFrequencies != null) {
+            if (letterFrequenciesStale) {
+                letterFrequencies = null;
+            } else {
+                letterFrequencies.rollback();
+            }
+        }
+
+        commit();
+    }
+
+    /*
+     * For proposals which were scored as whole plaintexts outside of the session, such as in a batch.  Accepting one
+     * replaces the solution's log probabilities and scores outright, so there is nothing to roll back, while rejecting
+     * one only counts it.
+     */
+    public void accept(ProposalScore proposalScore) {
+        if (pending) {
+            throw new IllegalStateException("The previous proposal must be committed or rolled back before accepting another.");
+        }
+
+        proposalCount ++;
+
+        solution.clearLogProbabilities();
+
+        float[] logProbabilities = proposalScore.getLogProbabilities();
+        for (int i = 0; i < logProbabilities.length; i++) {
+            solution.addLogProbability(i, logProbabilities[i]);
+        }
+
+        solution.setScores(proposalScore.getScores());
+
+        // The frequencies can't follow a change they weren't told about, so they are recounted on next use
+        letterFrequencies = null;
+    }
+
+    public void reject() {
+        proposalCount ++;
+        rollbackCount ++;
+    }
+
+    /*
+     * Evaluates a counterweight against the proposed letters.  For each remapped symbol, the letter frequencies are
+     * updated in O(1); otherwise they are recounted from the plaintext.  Frequencies recounted during
+     * a proposal hold no prior state to restore, so they are discarded if that proposal is rolled back.
+     */
+    public float evaluateCounterweight(CounterweightEvaluator counterweightEvaluator, byte[] solutionLetters, int symbolId) {
+        if (letterFrequencies == null) {
+            letterFrequencies = new LetterFrequencies(counterweightEvaluator, precomputedData, cipher, solutionLetters);
+            letterFrequenciesStale = true;
+        } else if (symbolId < 0) {
+            letterFrequencies.recount(solutionLetters);
+            letterFrequenciesStale = true;
+        } else {
+            letterFrequencies.update(solutionLetters, cipher.getCipherSymbolIndices(symbolId));
+        }
+
+        return letterFrequencies.evaluate();
+    }
+
+    /*
+     * Called by evaluators before they overwrite a log probability slot on the solution.
+     */
+    public void record(int index, float previousLogProbability) {
+        if (undoSize == undoIndices.length) {
+            undoIndices = Arrays.copyOf(undoIndices, undoSize * 2);
+            undoLogProbabilities = Arrays.copyOf(undoLogProbabilities, undoSize * 2);
+        }
+
+        undoIndices[undoSize] = index;
+        undoLogProbabilities[undoSize] = previousLogProbability;
+        undoSize++;
+    }
+
+    /*
+     * Records the updates from a SolutionScore, for evaluators which only implement the allocating API.  As with the
+     * optimizers, a previous log probability of zero marks the end of the populated part of the array.
+     */
+    void recordAll(float[][] ngramProbabilitiesUpdated) {
+        for (int i = 0; i < ngramProbabilitiesUpdated[0].length; i++) {
+            if (ngramProbabilitiesUpdated[1][i] == 0f) {
+                break;
+            }
+
+            record((int) ngramProbabilitiesUpdated[0][i], ngramProbabilitiesUpdated[1][i]);
+        }
+    }
+
+    public int getUndoSize() {
+        return undoSize;
+    }
+
+    public long getProposalCount() {
+        return proposalCount;
+    }
+
+    public long getRollbackCount() {
+        return rollbackCount;
+    }
+
+    public CipherSolution getSolution() {
+        return solution;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/*
+ * Only the proposals in a batch which miss the cache are passed on, so a batch which hits entirely never leaves the
+ * process.
+ */
+public class CachingBatchPlaintextEvaluator extends CachingPlaintextEvaluator implements BatchPlaintextEvaluator {
+    private final BatchPlaintextEvaluator batchDelegate;
+
+    public CachingBatchPlaintextEvaluator(BatchPlaintextEvaluator delegate, long maxWeightBytes) {
+        super(delegate, maxWeightBytes);
+
+        this.batchDelegate = delegate;
+    }
+
+    @Override
+    public List<ProposalScore> evaluateBatch(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+        Lookup lookup = lookUp(solutionStrings);
+
+        if (lookup.misses.isEmpty()) {
+            return lookup.results;
+        }
+
+        return lookup.complete(batchDelegate.evaluateBatch(precomputedData, cipher, lookup.misses));
+    }
+
+    @Override
+    public CompletableFuture<List<ProposalScore>> evaluateBatchAsync(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+        Lookup lookup = lookUp(solutionStrings);
+
+        if (lookup.misses.isEmpty()) {
+            return CompletableFuture.completedFuture(lookup.results);
+        }
+
+        return batchDelegate.evaluateBatchAsync(precomputedData, cipher, lookup.misses).thenApply(lookup::complete);
+    }
+
+    private Lookup lookUp(List<String> solutionStrings) {
+        Lookup lookup = new Lookup(solutionStrings.size());
+
+        for (int i = 0; i < solutionStrings.size(); i++) {
+            long key = PlaintextHash.hash(solutionStrings.get(i));
+            ProposalScore cached = cache.get(key);
+
+            lookup.results.add(cached);
+
+            if (cached == null) {
+                lookup.missIndices.add(i);
+                lookup.missKeys.add(key);
+                lookup.misses.add(solutionStrings.get(i));
+            }
+        }
+
+        return lookup;
+    }
+
+    private class Lookup {
+        private final List<ProposalScore> results;
+        private final List<Integer> missIndices = new ArrayList<>();
+        private final List<Long> missKeys = new ArrayList<>();
+        private final List<String> misses = new ArrayList<>();
+
+        private Lookup(int size) {
+            results = new ArrayList<>(size);
+        }
+
+        private List<ProposalScore> complete(List<ProposalScore> scores) {
+            for (int i = 0; i < scores.size(); i++) {
+                results.set(missIndices.get(i), scores.get(i));
+                cache.put(missKeys.get(i), scores.get(i));
+            }
+
+            return results;
+        }
+    }
+}
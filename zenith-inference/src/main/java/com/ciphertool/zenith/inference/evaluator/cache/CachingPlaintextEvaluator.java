@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.entities.FormlyForm;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.DelegatingPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+
+import java.util.Map;
+
+/*
+ * Remembers the evaluations of an expensive evaluator, so that a plaintext the optimizer comes back to, such as a
+ * proposal it rejected before or a duplicate in a population, isn't scored twice.  A hit replays the cached log
+ * probabilities onto the solution and reports every slot as updated, which is how full re-scores are reported anyway.
+ *
+ * It wraps any evaluator when the fitness function's data sets EVALUATION_CACHE_MEGABYTES.  A lookup costs a hash of
+ * the whole plaintext, so it only pays off for evaluators slower than that, and not for the n-gram evaluators'
+ * incremental scoring.
+ */
+public class CachingPlaintextEvaluator implements DelegatingPlaintextEvaluator {
+    public static final String EVALUATION_CACHE_MEGABYTES = "evaluationCacheMegabytes";
+
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+
+    protected final PlaintextEvaluator delegate;
+    protected final EvaluationCache cache;
+    private final long maxWeightBytes;
+
+    public CachingPlaintextEvaluator(PlaintextEvaluator delegate, long maxWeightBytes) {
+        this.delegate = delegate;
+        this.maxWeightBytes = maxWeightBytes;
+        this.cache = new EvaluationCache(maxWeightBytes);
+    }
+
+    /*
+     * Returns the evaluator's instance for the given data, wrapped in a cache of its own if the data asks for one.
+     */
+    public static PlaintextEvaluator getInstance(PlaintextEvaluator plaintextEvaluator, Map<String, Object> data) {
+        PlaintextEvaluator instance = plaintextEvaluator.getInstance(data);
+        Number megabytes = data == null ? null : (Number) data.get(EVALUATION_CACHE_MEGABYTES);
+
+        if (megabytes == null || megabytes.longValue() <= 0L) {
+            return instance;
+        }
+
+        return wrap(instance, megabytes.longValue() * BYTES_PER_MEGABYTE);
+    }
+
+    private static CachingPlaintextEvaluator wrap(PlaintextEvaluator plaintextEvaluator, long maxWeightBytes) {
+        if (plaintextEvaluator instanceof BatchPlaintextEvaluator) {
+            return new CachingBatchPlaintextEvaluator((BatchPlaintextEvaluator) plaintextEvaluator, maxWeightBytes);
+        }
+
+        return new CachingPlaintextEvaluator(plaintextEvaluator, maxWeightBytes);
+    }
+
+    /*
+     * Returns a wrapper around the same evaluator instance with nothing cached yet, for runs which must not benefit
+     * from the ones before them.
+     */
+    public CachingPlaintextEvaluator withEmptyCache() {
+        return wrap(delegate, maxWeightBytes);
+    }
+
+    @Override
+    public PlaintextEvaluator getDelegate() {
+        return delegate;
+    }
+
+    public EvaluationCacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    @Override
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+        if (solution == null) {
+            return delegate.evaluate(precomputedData, cipher, null, solutionString, ciphertextKey);
+        }
+
+        long key = PlaintextHash.hash(solutionString);
+        ProposalScore cached = cache.get(key);
+
+        if (cached != null) {
+            return replay(solution, cached);
+        }
+
+        SolutionScore score = delegate.evaluate(precomputedData, cipher, solution, solutionString, ciphertextKey);
+        cache.put(key, new ProposalScore(solution.getLogProbabilities(), score.getScores()));
+
+        return score;
+    }
+
+    @Override
+    public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+        if (solution == null) {
+            return delegate.evaluate(precomputedData, cipher, null, solutionLetters, ciphertextKey);
+        }
+
+        long key = PlaintextHash.hash(solutionLetters);
+        ProposalScore cached = cache.get(key);
+
+        if (cached != null) {
+            return replay(solution, cached);
+        }
+
+        SolutionScore score = delegate.evaluate(precomputedData, cipher, solution, solutionLetters, ciphertextKey);
+        cache.put(key, new ProposalScore(solution.getLogProbabilities(), score.getScores()));
+
+        return score;
+    }
+
+    /*
+     * The session-aware overloads are deliberately left to their defaults, which go through the cached methods above.
+     * Delegating them would let the wrapped evaluator keep state in the session, such as letter frequencies, which a
+     * cache hit would then leave behind.
+     */
+
+    private SolutionScore replay(CipherSolution solution, ProposalScore cached) {
+        float[] logProbabilities = solution.getLogProbabilities();
+        float[][] logProbabilitiesUpdated = new float[2][logProbabilities.length];
+
+        for (int i = 0; i < logProbabilities.length; i ++) {
+            logProbabilitiesUpdated[0][i] = i;
+            logProbabilitiesUpdated[1][i] = logProbabilities[i];
+        }
+
+        solution.clearLogProbabilities();
+
+        float[] cachedLogProbabilities = cached.getLogProbabilities();
+        for (int i = 0; i < cachedLogProbabilities.length; i ++) {
+            solution.addLogProbability(i, cachedLogProbabilities[i]);
+        }
+
+        return new SolutionScore(logProbabilitiesUpdated, cached.getScores());
+    }
+
+    @Override
+    public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
+        return delegate.getPrecomputedCounterweightData(cipher);
+    }
+
+    /*
+     * Each instance gets a cache of its own, since a different configuration of the wrapped evaluator may score the
+     * same plaintext differently.
+     */
+    @Override
+    public PlaintextEvaluator getInstance(Map<String, Object> data) {
+        return wrap(delegate.getInstance(data), maxWeightBytes);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public String getDisplayName() {
+        return delegate.getDisplayName();
+    }
+
+    @Override
+    public FormlyForm getForm() {
+        return delegate.getForm();
+    }
+
+    @Override
+    public int getOrder() {
+        return delegate.getOrder();
+    }
+
+    @Override
+    public String getHelpText() {
+        return delegate.getHelpText();
+    }
+}
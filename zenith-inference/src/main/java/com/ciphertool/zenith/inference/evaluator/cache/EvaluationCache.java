@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * A bounded map from plaintext hash to the evaluation of that plaintext.  Entries are weighed by their approximate
+ * size in memory, and the least recently used are evicted once the total would exceed the bound.  A new entry only
+ * displaces an old one if it has been looked up more often, going by a TinyLFU frequency sketch.  That keeps plaintexts
+ * which are only ever seen once, which are the bulk of an optimizer's proposals, from flushing out the ones it keeps
+ * coming back to.
+ *
+ * The cache is shared by every thread of a run, so access is synchronized.  It is meant for evaluators whose cost
+ * dwarfs the lock, such as a remote service.
+ */
+public class EvaluationCache {
+    // Rough fixed cost of an entry: the map node, the boxed key, the score holder and the array headers
+    private static final long ENTRY_OVERHEAD_BYTES = 128L;
+    private static final long FITNESS_BYTES = 24L;
+    private static final long TYPICAL_ENTRY_BYTES = 2048L;
+
+    private final long maxWeight;
+    // In access order, so that iteration starts from the least recently used
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;
+
+    public EvaluationCache(long maxWeight) {
+        if (maxWeight <= 0L) {
+            throw new IllegalArgumentException("The evaluation cache size must be positive, but got " + maxWeight + " bytes.");
+        }
+
+        this.maxWeight = maxWeight;
+        this.sketch = new FrequencySketch((int) Math.min(1 << 22, Math.max(16L, maxWeight / TYPICAL_ENTRY_BYTES)));
+    }
+
+    /*
+     * Returns a copy of the cached evaluation, or null on a miss.
+     */
+    public synchronized ProposalScore get(long key) {
+        sketch.increment(key);
+
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            misses ++;
+            return null;
+        }
+
+        hits ++;
+        return copy(entry.score);
+    }
+
+    public synchronized void put(long key, ProposalScore score) {
+        long entryWeight = weigh(score);
+
+        if (entryWeight > maxWeight) {
+            rejections ++;
+            return;
+        }
+
+        // Looked up first, since touching the map reorders it, and the candidate replaces its own earlier entry in any case
+        Entry previous = entries.get(key);
+        long freed = previous == null ? 0L : previous.weight;
+
+        // Admission is decided before anything is evicted, so that a rejected candidate costs the cache nothing
+        int candidateFrequency = sketch.frequency(key);
+        List<Long> victims = new ArrayList<>();
+        Iterator<Map.Entry<Long, Entry>> leastRecentlyUsed = entries.entrySet().iterator();
+
+        while (weight - freed + entryWeight > maxWeight) {
+            Map.Entry<Long, Entry> victim = leastRecentlyUsed.next();
+
+            if (victim.getKey() == key) {
+                continue;
+            }
+
+            if (candidateFrequency <= sketch.frequency(victim.getKey())) {
+                rejections ++;
+                return;
+            }
+
+            victims.add(victim.getKey());
+            freed += victim.getValue().weight;
+        }
+
+        for (Long victim : victims) {
+            weight -= entries.remove(victim).weight;
+            evictions ++;
+        }
+
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+
+        entries.put(key, new Entry(copy(score), entryWeight));
+        weight += entryWeight;
+    }
+
+    public synchronized EvaluationCacheStatistics getStatistics() {
+        return new EvaluationCacheStatistics(hits, misses, evictions, rejections, entries.size(), weight, maxWeight);
+    }
+
+    private static long weigh(ProposalScore score) {
+        return ENTRY_OVERHEAD_BYTES + (4L * score.getLogProbabilities().length) + (FITNESS_BYTES * score.getScores().length);
+    }
+
+    // Callers mutate the scores they are given, so neither side may keep a reference to the other's
+    private static ProposalScore copy(ProposalScore score) {
+        Fitness[] scores = new Fitness[score.getScores().length];
+
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = score.getScores()[i].clone();
+        }
+
+        return new ProposalScore(score.getLogProbabilities().clone(), scores);
+    }
+
+    private static class Entry {
+        private final ProposalScore score;
+        private final long weight;
+
+        private Entry(ProposalScore score, long weight) {
+            this.score = score;
+            this.weight = weight;
+        }
+    }
+}
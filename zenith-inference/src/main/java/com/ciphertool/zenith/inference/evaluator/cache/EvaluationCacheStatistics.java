@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EvaluationCacheStatistics {
+    private long hits;
+    private long misses;
+    private long evictions;
+    // New entries turned away by the admission policy, or too large to fit at all
+    private long rejections;
+    private int size;
+    private long weightBytes;
+    private long maxWeightBytes;
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+
+        return lookups == 0L ? 0d : (double) hits / (double) lookups;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", hitRate=" + String.format("%1$,.2f", getHitRate() * 100d) + "%, evictions=" + evictions
+                + ", rejections=" + rejections + ", size=" + size + ", weightBytes=" + weightBytes + "/" + maxWeightBytes;
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+/*
+ * Approximate access counts for the cache's admission policy, as in TinyLFU.  A count-min sketch of four rows of 4-bit
+ * counters, packed sixteen to a long.  Every counter is halved once the number of increments reaches ten times the
+ * width, so that the counts follow recent popularity rather than all time.
+ */
+class FrequencySketch {
+    private static final int ROWS = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {0x97cb3127a7e3f9c1L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0x9e3779b97f4a7c15L};
+
+    private final long[][] table;
+    private final int widthMask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1);
+
+        // Each long holds sixteen counters
+        table = new long[ROWS][Math.max(1, width >>> 4)];
+        widthMask = width - 1;
+        sampleSize = width * 10;
+    }
+
+    void increment(long key) {
+        boolean added = false;
+
+        for (int row = 0; row < ROWS; row++) {
+            int index = index(key, row);
+            int slot = index >>> 4;
+            int shift = (index & 15) << 2;
+
+            if (((table[row][slot] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                table[row][slot] += 1L << shift;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(long key) {
+        int frequency = MAX_COUNT;
+
+        for (int row = 0; row < ROWS; row++) {
+            int index = index(key, row);
+            int count = (int) ((table[row][index >>> 4] >>> ((index & 15) << 2)) & MAX_COUNT);
+            frequency = Math.min(frequency, count);
+        }
+
+        return frequency;
+    }
+
+    private int index(long key, int row) {
+        return (int) PlaintextHash.mix(key ^ SEEDS[row]) & widthMask;
+    }
+
+    private void reset() {
+        for (long[] row : table) {
+            for (int i = 0; i < row.length; i++) {
+                // Halve all sixteen counters at once, masking off the bit shifted in from each neighbour
+                row[i] = (row[i] >>> 1) & 0x7777777777777777L;
+            }
+        }
+
+        additions /= 2;
+    }
+}
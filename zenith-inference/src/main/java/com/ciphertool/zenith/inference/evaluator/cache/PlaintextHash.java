@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+/*
+ * 64-bit hashes of plaintext, used as cache keys in place of the plaintext itself.  A String and the equivalent letter
+ * codes hash to the same value.  At 64 bits, the chance of two distinct plaintexts colliding within a single run is
+ * negligible, so a key is trusted without storing the plaintext alongside it.
+ */
+public class PlaintextHash {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private PlaintextHash() {
+    }
+
+    public static long hash(String plaintext) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < plaintext.length(); i++) {
+            hash ^= plaintext.charAt(i);
+            hash *= FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    /*
+     * Letter codes run from 0 for 'a' to 25 for 'z'.
+     */
+    public static long hash(byte[] letterCodes) {
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int i = 0; i < letterCodes.length; i++) {
+            hash ^= letterCodes[i] + 'a';
+            hash *= FNV_PRIME;
+        }
+
+        return mix(hash);
+    }
+
+    // The finalizer from MurmurHash3, since FNV alone leaves the low bits poorly mixed for short inputs
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
@@ -26,24 +26,22 @@ import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
 import com.ciphertool.zenith.inference.genetic.entities.CipherKeyChromosome;
 import com.ciphertool.zenith.inference.genetic.entities.CipherKeyGene;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
-import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import com.ciphertool.zenith.math.random.RandomSource;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 @Component
 public class BiasedCipherKeyBreeder extends AbstractCipherKeyBreeder {
     private Logger log = LoggerFactory.getLogger(getClass());
 
-    private static ThreadLocalRandom RANDOM = ThreadLocalRandom.current();
-
-    private char[] biasedLetterBucket;
+    private LetterSampler letterSampler;
 
     @Autowired
     private ArrayMarkovModel letterMarkovModel;
@@ -52,39 +50,18 @@ public class BiasedCipherKeyBreeder extends AbstractCipherKeyBreeder {
     public void init(Cipher cipher, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
         super.init(cipher, plaintextTransformationSteps, plaintextEvaluator);
 
-        List<Character> biasedCharacterBucket = new ArrayList<>();
-
-        // Instead of using a uniform distribution or one purely based on English, we flatten out the English letter unigram probabilities by the flatMassWeight
-        // This seems to be a good balance for the letter sampler so that it slightly prefers more likely characters while still allowing for novel characters to be sampled
-        float flatMassWeight = 0.8f;
-        float flatMass = (1f / (float) letterMarkovModel.getFirstOrderNodes().size()) * flatMassWeight;
-
-        for (TreeNGram node : letterMarkovModel.getFirstOrderNodes()) {
-            float letterProbability = (float) node.getCount() / (float) letterMarkovModel.getTotalNGramCount();
-
-            float scaledMass = letterProbability * (1f - flatMassWeight);
-
-            int letterBias = (int) (1000f * (scaledMass + flatMass));
-
-            for (int i = 0; i < letterBias; i ++) {
-                biasedCharacterBucket.add(node.getCumulativeString().charAt(0));
-            }
-        }
-
-        biasedLetterBucket = new char[biasedCharacterBucket.size()];
-        for (int i = 0; i < biasedCharacterBucket.size(); i ++) {
-            biasedLetterBucket[i] = biasedCharacterBucket.get(i);
-        }
+        letterSampler = LetterSampler.fromLanguageModel(letterMarkovModel, LetterSampler.DEFAULT_FLAT_MASS_WEIGHT);
     }
 
     @Override
     public Genome breed(Population population) {
         Genome genome = new Genome(true, null, population);
         CipherKeyChromosome chromosome = new CipherKeyChromosome(genome, cipher, keys.length);
+        RandomGenerator random = RandomSource.current();
 
         for (String ciphertext : keys) {
             // Pick a plaintext at random according to the language model
-            String nextPlaintext = String.valueOf(biasedLetterBucket[RANDOM.nextInt(biasedLetterBucket.length)]);
+            String nextPlaintext = String.valueOf(letterSampler.sample(cipher.getSymbolId(ciphertext), random));
 
             chromosome.putGene(ciphertext, new CipherKeyGene(chromosome, nextPlaintext));
         }
@@ -36,6 +36,14 @@ public class CipherKeyChromosome implements Chromosome<String> {
 
     private Map<String, Gene> genes;
 
+    /*
+     * The log probabilities from the last time this chromosome, or the one it was cloned from, was scored, and the
+     * original values of any genes replaced since, so that a lightly mutated child can re-score just the windows of
+     * the symbols which changed.  The array is never modified once set, so clones share it.
+     */
+    private float[] scoredLogProbabilities;
+    private final Map<String, String> changedGenes = new HashMap<>();
+
     public CipherKeyChromosome(Genome genome, Cipher cipher, int numGenes) {
         if (cipher == null) {
             throw new IllegalArgumentException("Cannot construct CipherKeyChromosome with null cipher.");
@@ -74,6 +82,8 @@ public class CipherKeyChromosome implements Chromosome<String> {
 
         this.genes.put(key, gene);
 
+        setScoredLogProbabilities(null);
+
         if (this.genome != null) {
             this.genome.setEvaluationNeeded(true);
         }
@@ -89,6 +99,8 @@ public class CipherKeyChromosome implements Chromosome<String> {
             this.genome.setEvaluationNeeded(true);
         }
 
+        setScoredLogProbabilities(null);
+
         return this.genes.remove(key);
     }
 
@@ -104,13 +116,43 @@ public class CipherKeyChromosome implements Chromosome<String> {
 
         newGene.setChromosome(this);
 
+        String oldValue = ((CipherKeyGene) this.genes.get(key)).getValue();
+        String newValue = ((CipherKeyGene) newGene).getValue();
+
         if (this.genome != null && !this.genome.isEvaluationNeeded()) {
-            this.genome.setEvaluationNeeded(!((CipherKeyGene) this.genes.get(key)).getValue().equals(((CipherKeyGene) newGene).getValue()));
+            this.genome.setEvaluationNeeded(!oldValue.equals(newValue));
+        }
+
+        if (scoredLogProbabilities != null && !oldValue.equals(newValue)) {
+            if (!changedGenes.containsKey(key)) {
+                changedGenes.put(key, oldValue);
+            } else if (changedGenes.get(key).equals(newValue)) {
+                changedGenes.remove(key);
+            }
         }
 
         this.genes.put(key, newGene);
     }
 
+    public float[] getScoredLogProbabilities() {
+        return scoredLogProbabilities;
+    }
+
+    /*
+     * Marks the current genes as the ones scored, or with null, forgets the last scoring.
+     */
+    public void setScoredLogProbabilities(float[] scoredLogProbabilities) {
+        this.scoredLogProbabilities = scoredLogProbabilities;
+        this.changedGenes.clear();
+    }
+
+    /*
+     * The replaced genes' values as of the last scoring, by key.
+     */
+    public Map<String, String> getChangedGenes() {
+        return Collections.unmodifiableMap(changedGenes);
+    }
+
     @Override
     public Integer actualSize() {
         return this.genes.size();
@@ -142,6 +184,9 @@ public class CipherKeyChromosome implements Chromosome<String> {
             copyChromosome.putGene(entry.getKey(), entry.getValue().clone());
         }
 
+        copyChromosome.scoredLogProbabilities = this.scoredLogProbabilities;
+        copyChromosome.changedGenes.putAll(this.changedGenes);
+
         return copyChromosome;
     }
 
@@ -66,6 +66,11 @@ public class CipherKeyGene implements Gene {
             this.chromosome.getGenome().setEvaluationNeeded(true);
         }
 
+        // The chromosome can't tell which key changed, so it forgets its last scoring altogether
+        if (changed && this.chromosome instanceof CipherKeyChromosome) {
+            ((CipherKeyChromosome) this.chromosome).setScoredLogProbabilities(null);
+        }
+
         this.value = value;
     }
 
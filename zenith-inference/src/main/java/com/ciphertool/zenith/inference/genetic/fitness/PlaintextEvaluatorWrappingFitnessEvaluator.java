@@ -19,18 +19,22 @@
 
 package com.ciphertool.zenith.inference.genetic.fitness;
 
-import com.ciphertool.zenith.genetic.entities.Chromosome;
 import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.fitness.Fitness;
 import com.ciphertool.zenith.genetic.fitness.FitnessEvaluator;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.AbstractNgramEvaluator;
+import com.ciphertool.zenith.inference.evaluator.DelegatingPlaintextEvaluator;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.ScoringSession;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.genetic.entities.CipherKeyChromosome;
 import com.ciphertool.zenith.inference.genetic.util.ChromosomeToCipherSolutionMapper;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
 import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterUtils;
 import org.apache.commons.collections.CollectionUtils;
 
 import java.util.List;
@@ -40,32 +44,108 @@ public class PlaintextEvaluatorWrappingFitnessEvaluator implements FitnessEvalua
     private PlaintextEvaluator plaintextEvaluator;
     private List<TransformationStep> plaintextTransformationSteps;
     private PlaintextTransformationManager plaintextTransformationManager;
-    private Map<String, Object> precomputedCounterweightData;
+    private CounterweightContext precomputedCounterweightData;
+    private AbstractNgramEvaluator ngramEvaluator;
 
-    public PlaintextEvaluatorWrappingFitnessEvaluator(Map<String, Object> precomputedCounterweightData, PlaintextEvaluator plaintextEvaluator, PlaintextTransformationManager plaintextTransformationManager, List<TransformationStep> plaintextTransformationSteps) {
+    public PlaintextEvaluatorWrappingFitnessEvaluator(CounterweightContext precomputedCounterweightData, PlaintextEvaluator plaintextEvaluator, PlaintextTransformationManager plaintextTransformationManager, List<TransformationStep> plaintextTransformationSteps) {
         this.precomputedCounterweightData = precomputedCounterweightData;
         this.plaintextEvaluator = plaintextEvaluator;
         this.plaintextTransformationManager = plaintextTransformationManager;
         this.plaintextTransformationSteps = plaintextTransformationSteps;
+
+        PlaintextEvaluator unwrapped = DelegatingPlaintextEvaluator.unwrap(plaintextEvaluator);
+        this.ngramEvaluator = unwrapped instanceof AbstractNgramEvaluator ? (AbstractNgramEvaluator) unwrapped : null;
     }
 
     @Override
     public Fitness[] evaluate(Genome genome) {
         // There's only one chromosome for this type of Genome
-        Chromosome chromosome = genome.getChromosomes().get(0);
+        CipherKeyChromosome chromosome = (CipherKeyChromosome) genome.getChromosomes().get(0);
+        Cipher cipher = chromosome.getCipher();
 
         CipherSolution proposal = ChromosomeToCipherSolutionMapper.map(chromosome);
 
-        String solutionString = proposal.asSingleLineString();
+        Fitness[] scores;
+
+        if (CollectionUtils.isEmpty(plaintextTransformationSteps) && canRescoreChangedGenes(cipher, chromosome)) {
+            scores = rescoreChangedGenes(cipher, proposal, chromosome);
+        } else {
+            String solutionString = proposal.asSingleLineString();
+
+            if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
+                solutionString = plaintextTransformationManager.transform(solutionString, plaintextTransformationSteps);
+            }
+
+            SolutionScore score = plaintextEvaluator.evaluate(precomputedCounterweightData, cipher, proposal, solutionString, null);
+            proposal.setScores(score.getScores());
+            scores = score.getScores();
+        }
+
+        // The proposal is discarded, so its array can be handed to the chromosome, and from there to its offspring
+        chromosome.setScoredLogProbabilities(proposal.getLogProbabilities());
+
+        return scores;
+    }
 
-        if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
-            solutionString = plaintextTransformationManager.transform(solutionString, plaintextTransformationSteps);
+    /*
+     * Only worthwhile while the changed symbols touch fewer windows than a full evaluation scores, which rules out most
+     * crossovers but not a child which differs from its first parent by a few mutations.
+     */
+    private boolean canRescoreChangedGenes(Cipher cipher, CipherKeyChromosome chromosome) {
+        if (ngramEvaluator == null || chromosome.getScoredLogProbabilities() == null || chromosome.getChangedGenes().isEmpty()) {
+            return false;
         }
 
-        Cipher cipher = ((CipherKeyChromosome) chromosome).getCipher();
-        SolutionScore score = plaintextEvaluator.evaluate(precomputedCounterweightData, cipher, proposal, solutionString, null);
-        proposal.setScores(score.getScores());
+        int windows = 0;
+        for (String key : chromosome.getChangedGenes().keySet()) {
+            int symbolId = cipher.getSymbolId(key);
+
+            if (symbolId < 0) {
+                return false;
+            }
+
+            windows += ngramEvaluator.getWindowStarts(cipher, symbolId).length;
+        }
+
+        return windows < cipher.getCiphertextCharacters().size() / ngramEvaluator.getStepSize();
+    }
+
+    /*
+     * Starts from the plaintext as it was last scored and brings in one changed symbol at a time, so that every proposal
+     * the evaluator sees is consistent with the log probabilities it is given.
+     */
+    private Fitness[] rescoreChangedGenes(Cipher cipher, CipherSolution proposal, CipherKeyChromosome chromosome) {
+        float[] scoredLogProbabilities = chromosome.getScoredLogProbabilities();
 
-        return score.getScores();
+        proposal.clearLogProbabilities();
+        for (int i = 0; i < scoredLogProbabilities.length; i++) {
+            proposal.addLogProbability(i, scoredLogProbabilities[i]);
+        }
+
+        byte[] solutionLetters = LetterUtils.toLetterCodes(proposal.asSingleLineString());
+
+        for (Map.Entry<String, String> changedGene : chromosome.getChangedGenes().entrySet()) {
+            fill(solutionLetters, cipher.getCipherSymbolIndices(cipher.getSymbolId(changedGene.getKey())), changedGene.getValue().charAt(0));
+        }
+
+        ScoringSession session = new ScoringSession(plaintextEvaluator, precomputedCounterweightData, cipher, proposal);
+
+        for (String key : chromosome.getChangedGenes().keySet()) {
+            int symbolId = cipher.getSymbolId(key);
+
+            fill(solutionLetters, cipher.getCipherSymbolIndices(symbolId), proposal.getMapping(symbolId));
+            session.propose(solutionLetters, symbolId);
+            session.commit();
+        }
+
+        return proposal.getScores();
+    }
+
+    private static void fill(byte[] solutionLetters, int[] cipherSymbolIndices, char letter) {
+        byte letterCode = (byte) LetterUtils.charToOrdinal(letter);
+
+        for (int cipherSymbolIndex : cipherSymbolIndices) {
+            solutionLetters[cipherSymbolIndex] = letterCode;
+        }
     }
 }
@@ -0,0 +1,304 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.ScoringSession;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.optimizer.cooling.CoolingSchedule;
+import com.ciphertool.zenith.inference.optimizer.cooling.LinearCoolingSchedule;
+import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import jakarta.annotation.PostConstruct;
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/*
+ * Shared by the optimizers which explore the key space one cipher symbol at a time with the Metropolis acceptance rule.
+ * Each chain passes its own random generator down through the sampler, so that chains never contend over one.
+ */
+public abstract class AbstractLetterSamplingSolutionOptimizer extends AbstractSolutionOptimizer {
+    private Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final String DEFAULT_COOLING_SCHEDULE_NAME = LinearCoolingSchedule.class.getSimpleName();
+
+    @Autowired
+    protected ArrayMarkovModel letterMarkovModel;
+
+    @Autowired
+    private List<CoolingSchedule> coolingSchedules;
+
+    private LetterSampler letterSampler;
+
+    @PostConstruct
+    public void init() {
+        letterSampler = LetterSampler.fromLanguageModel(letterMarkovModel, LetterSampler.DEFAULT_FLAT_MASS_WEIGHT);
+    }
+
+    /*
+     * Runs the epochs one after another, reporting on each as it completes, and returns the best solution across them.
+     * The runner is given the zero-based epoch and returns that epoch's best solution.
+     */
+    protected CipherSolution runEpochs(Cipher cipher, int epochs, List<TransformationStep> plaintextTransformationSteps, OnEpochComplete onEpochComplete, IntFunction<CipherSolution> epochRunner) {
+        long totalElapsed = 0;
+        int correctSolutions = 0;
+        CipherSolution overallBest = null;
+
+        int epoch = 0;
+        for (; epoch < epochs; epoch++) {
+            long start = System.currentTimeMillis();
+
+            CipherSolution best = epochRunner.apply(epoch);
+
+            long elapsed = System.currentTimeMillis() - start;
+            totalElapsed += elapsed;
+            log.info("Epoch completed in {}ms.", elapsed);
+
+            if (log.isInfoEnabled()) {
+                cipherSolutionPrinter.print(best, plaintextTransformationSteps);
+            }
+
+            if (cipher.hasKnownSolution() && knownSolutionCorrectnessThreshold <= best.evaluateKnownSolution()) {
+                correctSolutions ++;
+            }
+
+            overallBest = (overallBest == null) ? best : (best.compareTo(overallBest) > 0 ? best : overallBest);
+
+            if (onEpochComplete != null) {
+                onEpochComplete.fire(epoch + 1, best, EpochTerminationReason.COMPLETED);
+            }
+        }
+
+        if (cipher.hasKnownSolution()) {
+            log.info("{} out of {} epochs ({}%) produced the correct solution.", correctSolutions, epochs, String.format("%1$,.2f", (correctSolutions / (double) epochs) * 100.0));
+        }
+
+        log.info("Average epoch time={}ms", ((float) totalElapsed / (float) epoch));
+
+        return overallBest;
+    }
+
+    protected CipherSolution generateInitialSolutionProposal(Cipher cipher, int cipherKeySize, RandomGenerator random) {
+        CipherSolution solutionProposal = new CipherSolution(cipher, cipherKeySize);
+
+        cipher.getCiphertextCharacters().stream()
+                .map(ciphertext -> ciphertext.getValue())
+                .distinct()
+                .forEach(ciphertext -> {
+                    solutionProposal.putMapping(ciphertext, letterSampler.sample(cipher.getSymbolId(ciphertext), random));
+                });
+
+        return solutionProposal;
+    }
+
+    protected char sampleLetter(int symbolId, RandomGenerator random) {
+        return letterSampler.sample(symbolId, random);
+    }
+
+    protected int[] getMappingKeys(Cipher cipher, CipherSolution solution) {
+        int[] mappingKeys = new int[solution.getMappingCount()];
+
+        int mappingListIndex = 0;
+        for (int symbolId = 0; symbolId < cipher.getSymbolCount(); symbolId ++) {
+            if (solution.getMapping(symbolId) != 0) {
+                mappingKeys[mappingListIndex] = symbolId;
+                mappingListIndex ++;
+            }
+        }
+
+        return mappingKeys;
+    }
+
+    protected MoveGenerator newMoveGenerator(Map<String, Object> configuration) {
+        return MoveGenerator.fromConfiguration(configuration, letterSampler);
+    }
+
+    protected CoolingSchedule resolveCoolingSchedule(String coolingScheduleName) {
+        String name = coolingScheduleName == null ? DEFAULT_COOLING_SCHEDULE_NAME : coolingScheduleName;
+
+        for (CoolingSchedule coolingSchedule : coolingSchedules) {
+            if (coolingSchedule.getClass().getSimpleName().equals(name)) {
+                return coolingSchedule;
+            }
+        }
+
+        List<String> existentCoolingSchedules = coolingSchedules.stream()
+                .map(coolingSchedule -> coolingSchedule.getClass().getSimpleName())
+                .collect(Collectors.toList());
+
+        log.error("The CoolingSchedule with name {} does not exist.  Please use a name from the following: {}", name, existentCoolingSchedules);
+        throw new IllegalArgumentException("The CoolingSchedule with name " + name + " does not exist.");
+    }
+
+    protected CipherSolution runLetterSampler(ScoringSession session,
+                                              Cipher cipher,
+                                              float temperature,
+                                              CipherSolution solution,
+                                              byte[] solutionLetters,
+                                              int[] mappingKeys,
+                                              MoveGenerator moveGenerator,
+                                              RandomGenerator random,
+                                              List<TransformationStep> plaintextTransformationSteps) {
+        // For each cipher symbol type, run the letter sampling
+        for (int i = 0; i < mappingKeys.length; i++) {
+            int moveSize = moveGenerator.propose(solution, mappingKeys, mappingKeys[i], random);
+
+            if (moveSize == 0) {
+                continue;
+            }
+
+            // TODO: this needs to be refactored in order to support multi objective scoring functions
+            Fitness[] originalScores = solution.getScores();
+
+            for (int j = 0; j < moveSize; j++) {
+                applyMapping(cipher, solution, solutionLetters, moveGenerator.getSymbol(j), moveGenerator.getLetter(j));
+            }
+
+            if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
+                // Transformations operate on Strings, so only this path needs to materialize one
+                String proposalString = plaintextTransformationManager.transform(LetterUtils.fromLetterCodes(solutionLetters), plaintextTransformationSteps);
+                session.propose(proposalString, moveGenerator.getSymbols(), moveSize);
+            } else {
+                session.propose(solutionLetters, moveGenerator.getSymbols(), moveSize);
+            }
+
+            if (originalScores.length > 1) {
+                throw new IllegalStateException("SimulatedAnnealing currently only supports single-objective scoring functions.");
+            }
+
+            // TODO: these next few lines need to be refactored in order to support multi objective scoring functions
+            if (!selectNext(temperature, (float) originalScores[0].getValue(), (float) solution.getScores()[0].getValue(), random)) {
+                session.rollback();
+
+                for (int j = 0; j < moveSize; j++) {
+                    applyMapping(cipher, solution, solutionLetters, moveGenerator.getSymbol(j), moveGenerator.getOriginalLetter(j));
+                }
+            } else {
+                session.commit();
+            }
+        }
+
+        return solution;
+    }
+
+    /*
+     * The batched counterpart to runLetterSampler(), where each batch is scored in one call to the evaluator.  Moves are
+     * judged in the order they were drawn, with the same acceptance rule, so a sweep still visits every symbol.
+     */
+    protected CipherSolution runBatchedLetterSampler(ScoringSession session,
+                                                     ProposalBatcher proposalBatcher,
+                                                     CounterweightContext precomputedData,
+                                                     Cipher cipher,
+                                                     float temperature,
+                                                     CipherSolution solution,
+                                                     byte[] solutionLetters,
+                                                     int[] mappingKeys,
+                                                     MoveGenerator moveGenerator,
+                                                     RandomGenerator random,
+                                                     List<TransformationStep> plaintextTransformationSteps) {
+        ProposalBatcher.Batch batch = proposalBatcher.draw(0, precomputedData, cipher, solution, solutionLetters, mappingKeys, moveGenerator, random, plaintextTransformationManager, plaintextTransformationSteps);
+
+        while (batch != null) {
+            // Drawn before the current batch is judged, so the random numbers are consumed in the same order every time
+            ProposalBatcher.Batch following = proposalBatcher.isPipelined() ? proposalBatcher.draw(batch.getEnd(), precomputedData, cipher, solution, solutionLetters, mappingKeys, moveGenerator, random, plaintextTransformationManager, plaintextTransformationSteps) : null;
+
+            List<ProposalScore> proposalScores = batch.await();
+            int accepted = -1;
+
+            for (int i = 0; i < batch.size(); i++) {
+                Fitness[] originalScores = solution.getScores();
+                Fitness[] scores = proposalScores.get(i).getScores();
+
+                if (originalScores.length > 1 || scores.length > 1) {
+                    throw new IllegalStateException("SimulatedAnnealing currently only supports single-objective scoring functions.");
+                }
+
+                if (selectNext(temperature, (float) originalScores[0].getValue(), (float) scores[0].getValue(), random)) {
+                    for (int j = 0; j < batch.getMoveSize(i); j++) {
+                        applyMapping(cipher, solution, solutionLetters, batch.getSymbol(i, j), batch.getLetter(i, j));
+                    }
+
+                    session.accept(proposalScores.get(i));
+                    accepted = i;
+                    break;
+                }
+
+                session.reject();
+            }
+
+            if (accepted >= 0) {
+                if (following != null) {
+                    following.discard();
+                }
+
+                batch = proposalBatcher.draw(batch.getMappingIndex(accepted) + 1, precomputedData, cipher, solution, solutionLetters, mappingKeys, moveGenerator, random, plaintextTransformationManager, plaintextTransformationSteps);
+            } else if (following != null) {
+                batch = following;
+            } else {
+                batch = proposalBatcher.draw(batch.getEnd(), precomputedData, cipher, solution, solutionLetters, mappingKeys, moveGenerator, random, plaintextTransformationManager, plaintextTransformationSteps);
+            }
+        }
+
+        return solution;
+    }
+
+    private void applyMapping(Cipher cipher, CipherSolution solution, byte[] solutionLetters, int symbolId, char letter) {
+        solution.setMapping(symbolId, letter);
+
+        byte letterCode = (byte) LetterUtils.charToOrdinal(letter);
+        for (int cipherSymbolIndex : cipher.getCipherSymbolIndices(symbolId)) {
+            solutionLetters[cipherSymbolIndex] = letterCode;
+        }
+    }
+
+    protected boolean selectNext(float temperature, float solutionScore, float proposalScore, RandomGenerator random) {
+        if (proposalScore >= solutionScore) {
+            return true;
+        }
+
+        // Need to convert to log probabilities in order for the acceptance probability calculation to be useful
+        float acceptanceProbability = (float) Math.exp(((solutionScore - proposalScore) / temperature) * -1f);
+
+        log.debug("Acceptance probability: {}", acceptanceProbability);
+
+        if (acceptanceProbability < 0f) {
+            throw new IllegalStateException("Acceptance probability was calculated to be less than zero.  Please review the math as this should not happen.");
+        }
+
+        if (acceptanceProbability > 1f || (float) random.nextDouble() < acceptanceProbability) {
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -19,12 +19,28 @@
 
 package com.ciphertool.zenith.inference.optimizer;
 
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.checkpoint.SolveCheckpoint;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
 import com.ciphertool.zenith.inference.printer.CipherSolutionPrinter;
+import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
 import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.math.random.RandomSource;
+import org.apache.commons.collections.CollectionUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
 public abstract class AbstractSolutionOptimizer implements SolutionOptimizer {
+    public static final String SEED = "seed";
+
     @Value("${decipherment.known-solution.correctness-threshold-percentage:0.9}")
     protected double knownSolutionCorrectnessThreshold;
 
@@ -33,4 +49,48 @@ public abstract class AbstractSolutionOptimizer implements SolutionOptimizer {
 
     @Autowired
     protected CipherSolutionPrinter cipherSolutionPrinter;
+
+    /*
+     * Each run draws from its own random source, bound to the calling thread for the length of the run, so that
+     * concurrent solves never share a generator.  Given a seed, the run draws the same numbers every time.
+     */
+    @Override
+    public CipherSolution optimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete) {
+        Number seed = (Number) configuration.get(SEED);
+        SplittableGenerator previousRandom = RandomSource.begin(seed != null ? seed.longValue() : null);
+
+        try {
+            return doOptimize(cipher, epochs, configuration, plaintextTransformationSteps, plaintextEvaluator, onEpochComplete);
+        } finally {
+            RandomSource.end(previousRandom);
+        }
+    }
+
+    protected SolveCheckpoint newCheckpoint(Cipher cipher, int completedEpochs, int correctSolutions, long totalElapsed, CipherSolution overallBest) {
+        BitSet completed = new BitSet();
+        completed.set(0, completedEpochs);
+
+        return newCheckpoint(cipher, completed, correctSolutions, totalElapsed, overallBest);
+    }
+
+    protected SolveCheckpoint newCheckpoint(Cipher cipher, BitSet completedEpochs, int correctSolutions, long totalElapsed, CipherSolution overallBest) {
+        // Copied, as the caller carries on marking epochs complete after the checkpoint is taken
+        return new SolveCheckpoint(getClass().getSimpleName(), CheckpointStore.fingerprint(cipher), (BitSet) completedEpochs.clone(), correctSolutions, totalElapsed, overallBest == null ? null : CheckpointStore.toMappings(cipher, overallBest), null);
+    }
+
+    protected CipherSolution restoreSolution(CounterweightContext precomputedCounterweightData, Cipher cipher, int cipherKeySize, byte[] mappings, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        CipherSolution solution = CheckpointStore.toSolution(cipher, cipherKeySize, mappings);
+
+        String solutionString = solution.asSingleLineString();
+
+        if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
+            solutionString = plaintextTransformationManager.transform(solutionString, plaintextTransformationSteps);
+        }
+
+        solution.setScores(plaintextEvaluator.evaluate(precomputedCounterweightData, cipher, solution, solutionString, null).getScores());
+
+        return solution;
+    }
+
+    protected abstract CipherSolution doOptimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete);
 }
@@ -30,6 +30,8 @@ import com.ciphertool.zenith.genetic.operators.crossover.CrossoverOperator;
 import com.ciphertool.zenith.genetic.operators.mutation.MutationOperator;
 import com.ciphertool.zenith.genetic.operators.selection.Selector;
 import com.ciphertool.zenith.genetic.population.Population;
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.checkpoint.SolveCheckpoint;
 import com.ciphertool.zenith.inference.configuration.GeneticAlgorithmInitialization;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
@@ -40,6 +42,7 @@ import com.ciphertool.zenith.inference.genetic.entities.CipherKeyGene;
 import com.ciphertool.zenith.inference.genetic.fitness.PlaintextEvaluatorWrappingFitnessEvaluator;
 import com.ciphertool.zenith.inference.genetic.util.ChromosomeToCipherSolutionMapper;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,6 +51,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 @Component
@@ -79,6 +83,9 @@ public class GeneticAlgorithmSolutionOptimizer extends AbstractSolutionOptimizer
     @Autowired
     protected TaskExecutor taskExecutor;
 
+    @Autowired
+    protected ForkJoinPool geneticAlgorithmForkJoinPool;
+
     @Autowired
     private DivergentGeneticAlgorithm geneticAlgorithm;
 
@@ -210,7 +217,7 @@ public class GeneticAlgorithmSolutionOptimizer extends AbstractSolutionOptimizer
     }
 
     @Override
-    public CipherSolution optimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete) {
+    protected CipherSolution doOptimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete) {
         int populationSize = (int) configuration.get(POPULATION_SIZE);
         int numberOfGenerations = (int) configuration.get(NUMBER_OF_GENERATIONS);
         int elitism = (int) configuration.get(ELITISM);
@@ -232,6 +239,7 @@ public class GeneticAlgorithmSolutionOptimizer extends AbstractSolutionOptimizer
 
         GeneticAlgorithmStrategy geneticAlgorithmStrategy = GeneticAlgorithmStrategy.builder()
                 .taskExecutor(taskExecutor)
+                .forkJoinPool(geneticAlgorithmForkJoinPool)
                 .populationSize(populationSize)
                 .numberOfGenerations(numberOfGenerations)
                 .elitism(elitism)
@@ -263,13 +271,39 @@ public class GeneticAlgorithmSolutionOptimizer extends AbstractSolutionOptimizer
         int correctSolutions = 0;
         long totalElapsed = 0;
 
-        int epoch = 0;
+        // Every epoch evolves fresh populations, so the progress between epochs is all there is to save
+        CheckpointStore checkpointStore = CheckpointStore.fromConfiguration(configuration);
+        SolveCheckpoint checkpoint = checkpointStore == null ? null : checkpointStore.load(getClass().getSimpleName(), cipher);
+        int firstEpoch = 0;
+
+        if (checkpoint != null) {
+            firstEpoch = checkpoint.getFirstIncompleteEpoch();
+            correctSolutions = checkpoint.getCorrectSolutions();
+            totalElapsed = checkpoint.getTotalElapsed();
+
+            if (checkpoint.getBestMappings() != null) {
+                int cipherKeySize = (int) cipher.getCiphertextCharacters().stream()
+                        .map(c -> c.getValue())
+                        .distinct()
+                        .count();
+
+                overallBest = restoreSolution(plaintextEvaluator.getPrecomputedCounterweightData(cipher), cipher, cipherKeySize, checkpoint.getBestMappings(), plaintextTransformationSteps, plaintextEvaluator);
+            }
+
+            // Draw the splits which the completed epochs drew, so that the rest of a seeded run gets the same numbers
+            for (int i = 0; i < firstEpoch; i ++) {
+                RandomSource.split();
+            }
+        }
+
+        int epoch = firstEpoch;
         for (; epoch < epochs; epoch++) {
             log.info("Epoch {} of {}.  Evolving for {} generations.", (epoch + 1), epochs, numberOfGenerations);
 
             long start = System.currentTimeMillis();
 
-            geneticAlgorithm.evolve(geneticAlgorithmStrategy);
+            // Each epoch evolves with a generator of its own, so that a resumed run can skip the epochs already done
+            RandomSource.forTask(() -> geneticAlgorithm.evolve(geneticAlgorithmStrategy)).run();
 
             long elapsed = System.currentTimeMillis() - start;
             totalElapsed += elapsed;
@@ -309,8 +343,12 @@ public class GeneticAlgorithmSolutionOptimizer extends AbstractSolutionOptimizer
 
             overallBest = (overallBest == null) ? bestSolution : (bestSolution.compareTo(overallBest) > 0 ? bestSolution : overallBest);
 
+            if (checkpointStore != null) {
+                checkpointStore.save(newCheckpoint(cipher, epoch + 1, correctSolutions, totalElapsed, overallBest));
+            }
+
             if (onEpochComplete != null) {
-                onEpochComplete.fire(epoch + 1, bestSolution);
+                onEpochComplete.fire(epoch + 1, bestSolution, EpochTerminationReason.COMPLETED);
             }
         }
 
@@ -320,6 +358,10 @@ public class GeneticAlgorithmSolutionOptimizer extends AbstractSolutionOptimizer
 
         log.info("Average epoch time={}ms", ((float) totalElapsed / (float) epoch));
 
+        if (checkpointStore != null) {
+            checkpointStore.delete();
+        }
+
         return overallBest;
     }
 }
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.entities.CipherWindowIndex;
+import com.ciphertool.zenith.inference.evaluator.CounterweightedNgramEvaluator;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.CounterweightEvaluator;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+
+/*
+ * The state of many chains for one cipher, held as structure-of-arrays rather than as one CipherSolution per chain.
+ * Chain c owns the slice [c * stride, (c + 1) * stride) of each array, so a step which remaps the same symbol in every
+ * chain reads one symbol index and one window index and then walks contiguous memory.  The score is kept in the same
+ * way a ScoringSession keeps it, with the n-gram windows and letter counts updated for only the remapped symbol.
+ *
+ * Only one proposal may be outstanding at a time: propose() must be followed by either the next propose() or by
+ * rollback() for the same chain and symbol.  Not thread-safe.
+ */
+class LockstepChains {
+    private final CounterweightedNgramEvaluator evaluator;
+    private final CounterweightEvaluator counterweightEvaluator;
+    private final CounterweightContext precomputedData;
+    private final ArrayMarkovModel letterMarkovModel;
+    private final int order;
+    private final int stepSize;
+    private final int chains;
+    private final int length;
+    private final int symbolCount;
+
+    // Per symbol ID, the n-gram windows to rescore when it is remapped, shared by every chain
+    private final CipherWindowIndex windowIndex;
+
+    private final byte[] mappings;
+    private final byte[] letters;
+    private final float[] logProbabilities;
+    private final int[] letterCounts;
+    private final float[] logProbabilitySums;
+    private final double[] counterweightSums;
+    private final float[] scores;
+
+    // The outstanding proposal, enough to put the chain back the way it was
+    private final float[] undoLogProbabilities;
+    private int undoFrom;
+    private float undoLogProbabilitySum;
+    private double undoCounterweightSum;
+    private float undoScore;
+
+    LockstepChains(Cipher cipher, int chains, ArrayMarkovModel letterMarkovModel, CounterweightedNgramEvaluator evaluator, CounterweightContext precomputedData) {
+        this.evaluator = evaluator;
+        this.counterweightEvaluator = evaluator.getCounterweightEvaluator();
+        this.precomputedData = precomputedData != null ? precomputedData : counterweightEvaluator.precompute(cipher);
+        this.letterMarkovModel = letterMarkovModel;
+        this.order = letterMarkovModel.getOrder();
+        this.stepSize = evaluator.getStepSize();
+        this.chains = chains;
+        this.length = cipher.getCiphertextCharacters().size();
+        this.symbolCount = cipher.getSymbolCount();
+
+        windowIndex = cipher.getWindowIndex(order, stepSize);
+
+        int maxWindowStarts = 0;
+        for (int symbolId = 0; symbolId < symbolCount; symbolId ++) {
+            maxWindowStarts = Math.max(maxWindowStarts, windowIndex.getWindowStarts(symbolId).length);
+        }
+
+        mappings = new byte[chains * symbolCount];
+        letters = new byte[chains * length];
+        logProbabilities = new float[chains * length];
+        letterCounts = new int[chains * LetterUtils.NUMBER_OF_LETTERS];
+        logProbabilitySums = new float[chains];
+        counterweightSums = new double[chains];
+        scores = new float[chains];
+        undoLogProbabilities = new float[maxWindowStarts];
+    }
+
+    /*
+     * Loads a fully mapped solution into the chain and scores it from scratch.
+     */
+    void load(int chain, CipherSolution solution, int[] mappingKeys) {
+        for (int symbolId : mappingKeys) {
+            mappings[chain * symbolCount + symbolId] = (byte) LetterUtils.charToOrdinal(solution.getMapping(symbolId));
+        }
+
+        int base = chain * length;
+        byte[] solutionLetters = LetterUtils.toLetterCodes(solution.asSingleLineString());
+        System.arraycopy(solutionLetters, 0, letters, base, length);
+
+        float logProbabilitySum = 0f;
+        long arrayIndex = -1L;
+        for (int start = 0; start < length - order; start += stepSize) {
+            arrayIndex = arrayIndex < 0 ? letterMarkovModel.computeArrayIndex(letters, base + start) : letterMarkovModel.rollArrayIndex(arrayIndex, letters, base + start, stepSize);
+            logProbabilities[base + (start / stepSize)] = letterMarkovModel.findByArrayIndex(arrayIndex);
+            logProbabilitySum += logProbabilities[base + (start / stepSize)];
+        }
+
+        logProbabilitySums[chain] = logProbabilitySum;
+
+        int countsBase = chain * LetterUtils.NUMBER_OF_LETTERS;
+        for (int i = base; i < base + length; i ++) {
+            letterCounts[countsBase + letters[i]] ++;
+        }
+
+        double counterweightSum = 0d;
+        for (int letter = 0; letter < LetterUtils.NUMBER_OF_LETTERS; letter ++) {
+            counterweightSum += counterweightEvaluator.term(precomputedData, letter, letterCounts[countsBase + letter]);
+        }
+
+        counterweightSums[chain] = counterweightSum;
+        scores[chain] = computeScore(chain);
+    }
+
+    int getLetter(int chain, int symbolId) {
+        return mappings[chain * symbolCount + symbolId];
+    }
+
+    float getScore(int chain) {
+        return scores[chain];
+    }
+
+    /*
+     * Remaps the symbol to the letter code in the given chain and returns the chain's new score.  The symbol's
+     * occurrences are passed in so that a caller stepping every chain through the same symbol looks them up once.
+     */
+    float propose(int chain, int symbolId, int letter, int[] cipherSymbolIndices) {
+        int from = mappings[chain * symbolCount + symbolId];
+
+        undoFrom = from;
+        undoLogProbabilitySum = logProbabilitySums[chain];
+        undoCounterweightSum = counterweightSums[chain];
+        undoScore = scores[chain];
+
+        move(chain, symbolId, cipherSymbolIndices, from, letter);
+
+        int base = chain * length;
+        int[] windowStarts = windowIndex.getWindowStarts(symbolId);
+        float logProbabilitySum = logProbabilitySums[chain];
+
+        int previousStart = 0;
+        long arrayIndex = -1L;
+        for (int k = 0; k < windowStarts.length; k ++) {
+            int start = windowStarts[k];
+            int slot = base + (start / stepSize);
+
+            arrayIndex = k == 0 ? letterMarkovModel.computeArrayIndex(letters, base + start) : letterMarkovModel.rollArrayIndex(arrayIndex, letters, base + start, start - previousStart);
+
+            undoLogProbabilities[k] = logProbabilities[slot];
+            logProbabilities[slot] = letterMarkovModel.findByArrayIndex(arrayIndex);
+            logProbabilitySum += logProbabilities[slot] - undoLogProbabilities[k];
+            previousStart = start;
+        }
+
+        logProbabilitySums[chain] = logProbabilitySum;
+        scores[chain] = computeScore(chain);
+
+        return scores[chain];
+    }
+
+    void rollback(int chain, int symbolId, int[] cipherSymbolIndices) {
+        move(chain, symbolId, cipherSymbolIndices, mappings[chain * symbolCount + symbolId], undoFrom);
+
+        int base = chain * length;
+        int[] windowStarts = windowIndex.getWindowStarts(symbolId);
+
+        for (int k = 0; k < windowStarts.length; k ++) {
+            logProbabilities[base + (windowStarts[k] / stepSize)] = undoLogProbabilities[k];
+        }
+
+        // Restored rather than recomputed, so that accumulated rounding is the same as if the proposal never happened
+        logProbabilitySums[chain] = undoLogProbabilitySum;
+        counterweightSums[chain] = undoCounterweightSum;
+        scores[chain] = undoScore;
+    }
+
+    /*
+     * Writes the chain's mappings onto a copy of the solution it was loaded from.
+     */
+    CipherSolution toSolution(int chain, CipherSolution template, int[] mappingKeys) {
+        CipherSolution solution = template.clone();
+
+        for (int symbolId : mappingKeys) {
+            solution.setMapping(symbolId, LetterUtils.ordinalToChar(mappings[chain * symbolCount + symbolId]));
+        }
+
+        return solution;
+    }
+
+    int getChainCount() {
+        return chains;
+    }
+
+    private void move(int chain, int symbolId, int[] cipherSymbolIndices, int from, int to) {
+        int base = chain * length;
+
+        for (int cipherSymbolIndex : cipherSymbolIndices) {
+            letters[base + cipherSymbolIndex] = (byte) to;
+        }
+
+        mappings[chain * symbolCount + symbolId] = (byte) to;
+
+        adjust(chain, from, -cipherSymbolIndices.length);
+        adjust(chain, to, cipherSymbolIndices.length);
+    }
+
+    private void adjust(int chain, int letter, int delta) {
+        int slot = chain * LetterUtils.NUMBER_OF_LETTERS + letter;
+
+        counterweightSums[chain] -= counterweightEvaluator.term(precomputedData, letter, letterCounts[slot]);
+        letterCounts[slot] += delta;
+        counterweightSums[chain] += counterweightEvaluator.term(precomputedData, letter, letterCounts[slot]);
+    }
+
+    private float computeScore(int chain) {
+        // The same denominator as the evaluators, which divide by the length of the solution's log probability array
+        float meanLogProbability = logProbabilitySums[chain] / (float) length;
+
+        return evaluator.combine(meanLogProbability, counterweightEvaluator.finish(precomputedData, counterweightSums[chain]));
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/*
+ * Proposes the next move for the letter sampler, anchored at one cipher symbol.  Besides remapping that symbol alone,
+ * a move may swap its letter with another symbol's, or carry along other symbols which currently share its letter, so
+ * that homophones can move together instead of having to cross a valley one at a time.
+ *
+ * The moved symbols, their new letters and their original letters are held in scratch buffers which are overwritten by
+ * the next proposal, so an instance belongs to a single chain and is not thread-safe.
+ */
+public class MoveGenerator {
+    public static final String SWAP_MOVE_PROBABILITY = "swapMoveProbability";
+    public static final String BLOCK_MOVE_PROBABILITY = "blockMoveProbability";
+    public static final String BLOCK_MOVE_SIZE = "blockMoveSize";
+    public static final String AVOID_NO_OP_MOVES = "avoidNoOpMoves";
+
+    private static final int DEFAULT_BLOCK_MOVE_SIZE = 3;
+
+    // Bounds the redraws when avoiding no-op moves, so that a degenerate distribution can't stall the sampler
+    private static final int MAX_REDRAWS = 8;
+
+    private final LetterSampler letterSampler;
+    private final float swapMoveProbability;
+    private final float blockMoveProbability;
+    private final boolean avoidNoOpMoves;
+
+    private final int[] symbols;
+    private final char[] letters;
+    private final char[] originalLetters;
+
+    public MoveGenerator(LetterSampler letterSampler, float swapMoveProbability, float blockMoveProbability, int blockMoveSize, boolean avoidNoOpMoves) {
+        if (swapMoveProbability < 0f || blockMoveProbability < 0f || swapMoveProbability + blockMoveProbability > 1f) {
+            throw new IllegalArgumentException("The swap and block move probabilities must be non-negative and sum to at most 1, but got " + swapMoveProbability + " and " + blockMoveProbability + ".");
+        }
+
+        if (blockMoveSize < 2) {
+            throw new IllegalArgumentException("The block move size must be at least 2, but got " + blockMoveSize + ".");
+        }
+
+        this.letterSampler = letterSampler;
+        this.swapMoveProbability = swapMoveProbability;
+        this.blockMoveProbability = blockMoveProbability;
+        this.avoidNoOpMoves = avoidNoOpMoves;
+
+        this.symbols = new int[blockMoveSize];
+        this.letters = new char[blockMoveSize];
+        this.originalLetters = new char[blockMoveSize];
+    }
+
+    public static MoveGenerator fromConfiguration(Map<String, Object> configuration, LetterSampler letterSampler) {
+        Float swapMoveProbability = (Float) configuration.get(SWAP_MOVE_PROBABILITY);
+        Float blockMoveProbability = (Float) configuration.get(BLOCK_MOVE_PROBABILITY);
+        Integer blockMoveSize = (Integer) configuration.get(BLOCK_MOVE_SIZE);
+        Boolean avoidNoOpMoves = (Boolean) configuration.get(AVOID_NO_OP_MOVES);
+
+        return new MoveGenerator(letterSampler,
+                swapMoveProbability == null ? 0f : swapMoveProbability,
+                blockMoveProbability == null ? 0f : blockMoveProbability,
+                blockMoveSize == null ? DEFAULT_BLOCK_MOVE_SIZE : blockMoveSize,
+                avoidNoOpMoves != null && avoidNoOpMoves);
+    }
+
+    /*
+     * Returns a generator with the same settings and its own scratch buffers, for another chain.
+     */
+    public MoveGenerator getInstance() {
+        return new MoveGenerator(letterSampler, swapMoveProbability, blockMoveProbability, symbols.length, avoidNoOpMoves);
+    }
+
+    /*
+     * Fills the scratch buffers with a move anchored at symbolId, and returns the number of symbols it remaps.  Returns
+     * zero when the move would leave the solution unchanged, in which case there is nothing to score.
+     */
+    public int propose(CipherSolution solution, int[] mappingKeys, int symbolId, RandomGenerator random) {
+        int moveSize;
+
+        float moveType = (swapMoveProbability > 0f || blockMoveProbability > 0f) ? random.nextFloat() : 1f;
+
+        if (moveType < swapMoveProbability && mappingKeys.length > 1) {
+            moveSize = proposeSwap(solution, mappingKeys, symbolId, random);
+        } else if (moveType < swapMoveProbability + blockMoveProbability) {
+            moveSize = proposeBlock(solution, mappingKeys, symbolId, random);
+        } else {
+            moveSize = proposeSingle(solution, symbolId, random);
+        }
+
+        return moveSize;
+    }
+
+    private int proposeSingle(CipherSolution solution, int symbolId, RandomGenerator random) {
+        char originalLetter = solution.getMapping(symbolId);
+        char letter = sampleLetter(symbolId, originalLetter, random);
+
+        if (letter == originalLetter) {
+            return 0;
+        }
+
+        symbols[0] = symbolId;
+        letters[0] = letter;
+        originalLetters[0] = originalLetter;
+
+        return 1;
+    }
+
+    private int proposeSwap(CipherSolution solution, int[] mappingKeys, int symbolId, RandomGenerator random) {
+        char originalLetter = solution.getMapping(symbolId);
+
+        int attempts = avoidNoOpMoves ? MAX_REDRAWS : 1;
+
+        for (int i = 0; i < attempts; i++) {
+            int otherSymbolId = mappingKeys[random.nextInt(mappingKeys.length)];
+            char otherLetter = solution.getMapping(otherSymbolId);
+
+            // Swapping with itself, or with a symbol already mapped to the same letter, changes nothing
+            if (otherSymbolId == symbolId || otherLetter == originalLetter) {
+                continue;
+            }
+
+            symbols[0] = symbolId;
+            letters[0] = otherLetter;
+            originalLetters[0] = originalLetter;
+            symbols[1] = otherSymbolId;
+            letters[1] = originalLetter;
+            originalLetters[1] = otherLetter;
+
+            return 2;
+        }
+
+        return 0;
+    }
+
+    private int proposeBlock(CipherSolution solution, int[] mappingKeys, int symbolId, RandomGenerator random) {
+        int moveSize = proposeSingle(solution, symbolId, random);
+
+        if (moveSize == 0) {
+            return 0;
+        }
+
+        char sharedLetter = originalLetters[0];
+
+        // Start from a random offset so that the symbols with the lowest IDs aren't always the ones carried along
+        int offset = random.nextInt(mappingKeys.length);
+        for (int i = 0; i < mappingKeys.length && moveSize < symbols.length; i++) {
+            int otherSymbolId = mappingKeys[(offset + i) % mappingKeys.length];
+
+            if (otherSymbolId != symbolId && solution.getMapping(otherSymbolId) == sharedLetter) {
+                symbols[moveSize] = otherSymbolId;
+                letters[moveSize] = letters[0];
+                originalLetters[moveSize] = sharedLetter;
+                moveSize ++;
+            }
+        }
+
+        return moveSize;
+    }
+
+    private char sampleLetter(int symbolId, char originalLetter, RandomGenerator random) {
+        char letter = letterSampler.sample(symbolId, random);
+
+        if (avoidNoOpMoves) {
+            for (int i = 1; i < MAX_REDRAWS && letter == originalLetter; i++) {
+                letter = letterSampler.sample(symbolId, random);
+            }
+        }
+
+        return letter;
+    }
+
+    public int getMaxMoveSize() {
+        return symbols.length;
+    }
+
+    public int getSymbol(int i) {
+        return symbols[i];
+    }
+
+    public char getLetter(int i) {
+        return letters[i];
+    }
+
+    public char getOriginalLetter(int i) {
+        return originalLetters[i];
+    }
+
+    /*
+     * The IDs of the symbols moved by the last proposal, in the first moveSize slots.
+     */
+    public int[] getSymbols() {
+        return symbols;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.CounterweightedNgramEvaluator;
+import com.ciphertool.zenith.inference.evaluator.DelegatingPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.optimizer.cooling.CoolingSchedule;
+import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import com.ciphertool.zenith.math.random.RandomSource;
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/*
+ * Anneals many chains for the same cipher in lockstep on one thread.  Each step remaps one symbol in every chain before
+ * moving on to the next symbol, so the symbol's occurrences and n-gram windows are looked up once per step rather than
+ * once per chain, and the chains' state is laid out in contiguous arrays by LockstepChains.  All chains follow one
+ * cooling schedule, and the best of them at the end of an epoch is the epoch's result.
+ *
+ * The chains score themselves from the n-gram model and letter counts, which only works for evaluators implementing
+ * CounterweightedNgramEvaluator and without plaintext transformers.  Moves always remap a single symbol.
+ */
+@Component
+public class MultiChainSimulatedAnnealingSolutionOptimizer extends AbstractLetterSamplingSolutionOptimizer {
+    private Logger log = LoggerFactory.getLogger(getClass());
+
+    public static final String CHAINS = "lockstepChains";
+
+    private static final int DEFAULT_CHAINS = 8;
+
+    @Override
+    protected CipherSolution doOptimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete) {
+        int samplerIterations = (int) configuration.get(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS);
+        float annealingTemperatureMin = (float) configuration.get(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MIN);
+        float annealingTemperatureMax = (float) configuration.get(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MAX);
+        CoolingSchedule coolingSchedule = resolveCoolingSchedule((String) configuration.get(SimulatedAnnealingSolutionOptimizer.COOLING_SCHEDULE_NAME));
+        Integer chainsValue = (Integer) configuration.get(CHAINS);
+        int chains = chainsValue == null ? DEFAULT_CHAINS : chainsValue;
+
+        if (chains < 1) {
+            throw new IllegalArgumentException("The multi-chain sampler requires at least one chain, but " + chains + " were requested.");
+        }
+
+        if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
+            throw new IllegalArgumentException("The multi-chain sampler scores plaintext directly, so it does not support plaintext transformers.");
+        }
+
+        if (CheckpointStore.fromConfiguration(configuration) != null) {
+            throw new IllegalArgumentException("The multi-chain sampler does not support checkpoints, but " + CheckpointStore.CHECKPOINT_FILE + " was set.");
+        }
+
+        // Any wrappers in front of the evaluator, such as a cache, still score each epoch's result, but the chains bypass them
+        PlaintextEvaluator unwrapped = DelegatingPlaintextEvaluator.unwrap(plaintextEvaluator);
+
+        if (!(unwrapped instanceof CounterweightedNgramEvaluator)) {
+            throw new IllegalArgumentException("The multi-chain sampler requires an n-gram evaluator with a single counterweight, but got " + unwrapped.getClass().getSimpleName() + ".");
+        }
+
+        CounterweightedNgramEvaluator chainEvaluator = (CounterweightedNgramEvaluator) unwrapped;
+
+        int cipherKeySize = (int) cipher.getCiphertextCharacters().stream()
+                .map(c -> c.getValue())
+                .distinct()
+                .count();
+
+        CounterweightContext precomputedCounterweightData = plaintextEvaluator.getPrecomputedCounterweightData(cipher);
+
+        return runEpochs(cipher, epochs, plaintextTransformationSteps, onEpochComplete, epoch -> {
+            log.info("Epoch {} of {}.  Running {} chains for {} iterations.", (epoch + 1), epochs, chains, samplerIterations);
+
+            return performEpoch(precomputedCounterweightData, cipher, cipherKeySize, chains, samplerIterations, coolingSchedule.getInstance(samplerIterations, annealingTemperatureMin, annealingTemperatureMax), chainEvaluator, plaintextEvaluator);
+        });
+    }
+
+    private CipherSolution performEpoch(CounterweightContext precomputedCounterweightData, Cipher cipher, int cipherKeySize, int chainCount, int samplerIterations, CoolingSchedule coolingSchedule, CounterweightedNgramEvaluator chainEvaluator, PlaintextEvaluator plaintextEvaluator) {
+        LockstepChains chains = new LockstepChains(cipher, chainCount, letterMarkovModel, chainEvaluator, precomputedCounterweightData);
+        RandomGenerator[] randoms = new RandomGenerator[chainCount];
+        CipherSolution template = null;
+        int[] mappingKeys = null;
+
+        for (int chain = 0; chain < chainCount; chain ++) {
+            // Split one after another on the calling thread, so that each chain gets the same numbers on every seeded run
+            randoms[chain] = RandomSource.split();
+            CipherSolution initialSolution = generateInitialSolutionProposal(cipher, cipherKeySize, randoms[chain]);
+
+            if (template == null) {
+                template = initialSolution;
+                mappingKeys = getMappingKeys(cipher, initialSolution);
+            }
+
+            chains.load(chain, initialSolution, mappingKeys);
+        }
+
+        long proposals = 0;
+        long accepted = 0;
+
+        for (int i = 0; i < samplerIterations; i++) {
+            float temperature = coolingSchedule.getTemperature(i);
+            long proposalsBefore = proposals;
+            long acceptedBefore = accepted;
+
+            for (int symbolId : mappingKeys) {
+                int[] cipherSymbolIndices = cipher.getCipherSymbolIndices(symbolId);
+
+                for (int chain = 0; chain < chainCount; chain ++) {
+                    int letter = LetterUtils.charToOrdinal(sampleLetter(symbolId, randoms[chain]));
+
+                    if (letter == chains.getLetter(chain, symbolId)) {
+                        continue;
+                    }
+
+                    float originalScore = chains.getScore(chain);
+                    float proposalScore = chains.propose(chain, symbolId, letter, cipherSymbolIndices);
+                    proposals ++;
+
+                    if (selectNext(temperature, originalScore, proposalScore, randoms[chain])) {
+                        accepted ++;
+                    } else {
+                        chains.rollback(chain, symbolId, cipherSymbolIndices);
+                    }
+                }
+            }
+
+            long iterationProposals = proposals - proposalsBefore;
+            coolingSchedule.onIterationComplete(i, iterationProposals == 0 ? 0f : (float) (accepted - acceptedBefore) / (float) iterationProposals, chains.getScore(bestChain(chains)));
+
+            if (log.isDebugEnabled()) {
+                log.debug("Iteration {} complete.  [temp={}, best={}]", (i + 1), String.format("%1$,.4f", temperature), chains.getScore(bestChain(chains)));
+            }
+        }
+
+        log.info("Accepted {} of {} proposals across {} chains.", accepted, proposals, chainCount);
+
+        // Rescored by the evaluator itself, so that the result carries its log probabilities and scores as usual
+        CipherSolution best = chains.toSolution(bestChain(chains), template, mappingKeys);
+        SolutionScore score = plaintextEvaluator.evaluate(precomputedCounterweightData, cipher, best, best.asSingleLineString(), null);
+        best.setScores(score.getScores());
+
+        return best;
+    }
+
+    private int bestChain(LockstepChains chains) {
+        int best = 0;
+
+        for (int chain = 1; chain < chains.getChainCount(); chain ++) {
+            if (chains.getScore(chain) > chains.getScore(best)) {
+                best = chain;
+            }
+        }
+
+        return best;
+    }
+}
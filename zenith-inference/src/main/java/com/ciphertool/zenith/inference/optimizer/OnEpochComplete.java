@@ -22,5 +22,5 @@ package com.ciphertool.zenith.inference.optimizer;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 
 public interface OnEpochComplete {
-    void fire(int epoch, CipherSolution epochBestSolution);
+    void fire(int epoch, CipherSolution epochBestSolution, EpochTerminationReason terminationReason);
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.ScoringSession;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import com.ciphertool.zenith.math.random.RandomSource;
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.random.RandomGenerator;
+
+/*
+ * Runs a ladder of replicas, each sampling at its own fixed temperature, and periodically offers neighbouring replicas
+ * the chance to trade places.  Good keys found by the hot replicas can then work their way down to the cold ones, which
+ * refine them.  The sampler configuration is shared with simulated annealing, with the min and max temperatures giving
+ * the two ends of the ladder.
+ */
+@Component
+public class ParallelTemperingSolutionOptimizer extends AbstractLetterSamplingSolutionOptimizer {
+    private Logger log = LoggerFactory.getLogger(getClass());
+
+    public static final String REPLICAS = "temperingReplicas";
+    public static final String SWAP_INTERVAL = "temperingSwapInterval";
+
+    private static final int DEFAULT_REPLICAS = 8;
+    private static final int DEFAULT_SWAP_INTERVAL = 10;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Override
+    protected CipherSolution doOptimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete) {
+        int samplerIterations = (int) configuration.get(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS);
+        float annealingTemperatureMin = (float) configuration.get(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MIN);
+        float annealingTemperatureMax = (float) configuration.get(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MAX);
+        Integer replicasValue = (Integer) configuration.get(REPLICAS);
+        int replicas = replicasValue == null ? DEFAULT_REPLICAS : replicasValue;
+        Integer swapIntervalValue = (Integer) configuration.get(SWAP_INTERVAL);
+        int swapInterval = swapIntervalValue == null ? DEFAULT_SWAP_INTERVAL : swapIntervalValue;
+
+        if (replicas < 2) {
+            throw new IllegalArgumentException("Parallel tempering requires at least two replicas, but " + replicas + " were requested.");
+        }
+
+        if (swapInterval < 1) {
+            throw new IllegalArgumentException("The swap interval must be at least one, but was " + swapInterval + ".");
+        }
+
+        if (CheckpointStore.fromConfiguration(configuration) != null) {
+            throw new IllegalArgumentException("Parallel tempering does not support checkpoints, but " + CheckpointStore.CHECKPOINT_FILE + " was set.");
+        }
+
+        float[] temperatures = buildTemperatureLadder(replicas, annealingTemperatureMin, annealingTemperatureMax);
+        MoveGenerator moveGenerator = newMoveGenerator(configuration);
+
+        int cipherKeySize = (int) cipher.getCiphertextCharacters().stream()
+                .map(c -> c.getValue())
+                .distinct()
+                .count();
+
+        CounterweightContext precomputedCounterweightData = plaintextEvaluator.getPrecomputedCounterweightData(cipher);
+
+        // Build the lazily cached symbol lookups up front so that concurrent replicas only ever read them
+        if (cipher.getSymbolCount() > 0) {
+            cipher.getCipherSymbolIndices(0);
+        }
+
+        return runEpochs(cipher, epochs, plaintextTransformationSteps, onEpochComplete, epoch -> {
+            log.info("Epoch {} of {}.  Running {} replicas for {} iterations.", (epoch + 1), epochs, replicas, samplerIterations);
+
+            return performEpoch(precomputedCounterweightData, cipher, cipherKeySize, temperatures, samplerIterations, swapInterval, moveGenerator, plaintextTransformationSteps, plaintextEvaluator);
+        });
+    }
+
+    /*
+     * Geometric spacing gives every neighbouring pair roughly the same chance of swapping, since the acceptance depends on
+     * the ratio between their temperatures rather than the difference.
+     */
+    protected static float[] buildTemperatureLadder(int replicas, float temperatureMin, float temperatureMax) {
+        if (temperatureMin <= 0f || temperatureMax < temperatureMin) {
+            throw new IllegalArgumentException("Parallel tempering requires 0 < annealingTemperatureMin <= annealingTemperatureMax, but got min=" + temperatureMin + " and max=" + temperatureMax + ".");
+        }
+
+        float[] temperatures = new float[replicas];
+        double ratio = Math.pow(temperatureMax / temperatureMin, 1d / (replicas - 1));
+
+        for (int i = 0; i < replicas; i ++) {
+            temperatures[i] = (float) (temperatureMin * Math.pow(ratio, i));
+        }
+
+        // Pin the hottest rung so that rounding never overshoots the configured maximum
+        temperatures[replicas - 1] = temperatureMax;
+
+        return temperatures;
+    }
+
+    private CipherSolution performEpoch(CounterweightContext precomputedCounterweightData, Cipher cipher, int cipherKeySize, float[] temperatures, int samplerIterations, int swapInterval, MoveGenerator moveGenerator, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        // Position i of the ladder always samples at temperatures[i], and swaps move the replicas between positions
+        Replica[] ladder = new Replica[temperatures.length];
+
+        for (int i = 0; i < ladder.length; i ++) {
+            ladder[i] = newReplica(precomputedCounterweightData, cipher, cipherKeySize, moveGenerator.getInstance(), plaintextTransformationSteps, plaintextEvaluator);
+        }
+
+        CipherSolution best = null;
+        int swapAttempts = 0;
+        int swapsAccepted = 0;
+        int round = 0;
+
+        for (int completed = 0; completed < samplerIterations; completed += swapInterval) {
+            int sweeps = Math.min(swapInterval, samplerIterations - completed);
+
+            runSweeps(cipher, ladder, temperatures, sweeps, plaintextTransformationSteps);
+
+            for (Replica replica : ladder) {
+                if (best == null || replica.solution.compareTo(best) > 0) {
+                    best = replica.solution.clone();
+                }
+            }
+
+            // Alternate between the even and the odd pairs so that no replica is asked to swap twice in one round
+            for (int i = round % 2; i + 1 < ladder.length; i += 2) {
+                swapAttempts ++;
+
+                if (selectSwap(temperatures[i], temperatures[i + 1], ladder[i], ladder[i + 1])) {
+                    Replica colder = ladder[i];
+                    ladder[i] = ladder[i + 1];
+                    ladder[i + 1] = colder;
+                    swapsAccepted ++;
+                }
+            }
+
+            round ++;
+
+            if (log.isDebugEnabled()) {
+                log.debug("Iteration {} complete.  [coldest={}, hottest={}]", Math.min(completed + swapInterval, samplerIterations), ladder[0].solution.getScores()[0].getValue(), ladder[ladder.length - 1].solution.getScores()[0].getValue());
+            }
+        }
+
+        log.info("Accepted {} of {} replica swaps.", swapsAccepted, swapAttempts);
+
+        return best == null ? ladder[0].solution : best;
+    }
+
+    private Replica newReplica(CounterweightContext precomputedCounterweightData, Cipher cipher, int cipherKeySize, MoveGenerator moveGenerator, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        // Replicas are created one after another on the calling thread, so each gets the same split on every seeded run
+        RandomGenerator random = RandomSource.split();
+        CipherSolution initialSolution = generateInitialSolutionProposal(cipher, cipherKeySize, random);
+
+        String solutionString = initialSolution.asSingleLineString();
+
+        if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
+            solutionString = plaintextTransformationManager.transform(solutionString, plaintextTransformationSteps);
+        }
+
+        SolutionScore score = plaintextEvaluator.evaluate(precomputedCounterweightData, cipher, initialSolution, solutionString, null);
+        initialSolution.setScores(score.getScores());
+
+        if (initialSolution.getScores().length > 1) {
+            throw new IllegalStateException("ParallelTempering currently only supports single-objective scoring functions.");
+        }
+
+        byte[] solutionLetters = LetterUtils.toLetterCodes(initialSolution.asSingleLineString());
+        ScoringSession session = new ScoringSession(plaintextEvaluator, precomputedCounterweightData, cipher, initialSolution);
+
+        return new Replica(initialSolution, solutionLetters, getMappingKeys(cipher, initialSolution), moveGenerator, random, session);
+    }
+
+    private void runSweeps(Cipher cipher, Replica[] ladder, float[] temperatures, int sweeps, List<TransformationStep> plaintextTransformationSteps) {
+        List<FutureTask<Void>> futureTasks = new ArrayList<>(ladder.length);
+
+        for (int i = 0; i < ladder.length; i ++) {
+            Replica replica = ladder[i];
+            float temperature = temperatures[i];
+
+            FutureTask<Void> futureTask = new FutureTask<>(() -> {
+                for (int sweep = 0; sweep < sweeps; sweep ++) {
+                    replica.solution = runLetterSampler(replica.session, cipher, temperature, replica.solution, replica.solutionLetters, replica.mappingKeys, replica.moveGenerator, replica.random, plaintextTransformationSteps);
+                }
+
+                return null;
+            });
+
+            futureTasks.add(futureTask);
+            taskExecutor.execute(futureTask);
+        }
+
+        for (FutureTask<Void> futureTask : futureTasks) {
+            try {
+                futureTask.get();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a replica to complete.", ie);
+            } catch (ExecutionException ee) {
+                if (ee.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ee.getCause();
+                }
+
+                throw new IllegalStateException("Replica failed to complete.", ee.getCause());
+            }
+        }
+    }
+
+    private boolean selectSwap(float colderTemperature, float hotterTemperature, Replica colder, Replica hotter) {
+        float colderScore = (float) colder.solution.getScores()[0].getValue();
+        float hotterScore = (float) hotter.solution.getScores()[0].getValue();
+
+        // The usual replica exchange criterion, written in terms of scores which are maximized rather than energies
+        float exponent = ((1f / colderTemperature) - (1f / hotterTemperature)) * (hotterScore - colderScore);
+
+        if (exponent >= 0f) {
+            return true;
+        }
+
+        return (float) RandomSource.current().nextDouble() < (float) Math.exp(exponent);
+    }
+
+    private static class Replica {
+        private CipherSolution solution;
+        private final byte[] solutionLetters;
+        private final int[] mappingKeys;
+        private final MoveGenerator moveGenerator;
+        private final RandomGenerator random;
+        private final ScoringSession session;
+
+        private Replica(CipherSolution solution, byte[] solutionLetters, int[] mappingKeys, MoveGenerator moveGenerator, RandomGenerator random, ScoringSession session) {
+            this.solution = solution;
+            this.solutionLetters = solutionLetters;
+            this.mappingKeys = mappingKeys;
+            this.moveGenerator = moveGenerator;
+            this.random = random;
+            this.session = session;
+        }
+    }
+}
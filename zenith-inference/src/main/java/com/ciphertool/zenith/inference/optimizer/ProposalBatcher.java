@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.random.RandomGenerator;
+
+/*
+ * Draws the letter sampler's proposals in batches, for evaluators whose cost is dominated by a round trip.  A batch
+ * holds one move for each of the next few symbols, all drawn against the current solution, and the optimizer judges
+ * them in order.  Rejecting a move leaves the solution as it was, so the next move in the batch is still valid, but
+ * once a move is accepted the rest of the batch was drawn against a stale solution and is thrown away, and sampling
+ * resumes from the symbol after the accepted one.
+ *
+ * When pipelined, the following batch is sent before the current one is judged, on the bet that none of the current
+ * batch will be accepted.  That bet usually pays off once the temperature has fallen.
+ *
+ * Like MoveGenerator, an instance holds scratch buffers and belongs to a single chain.
+ */
+public class ProposalBatcher {
+    private static Logger log = LoggerFactory.getLogger(ProposalBatcher.class);
+
+    public static final String PROPOSAL_BATCH_SIZE = "proposalBatchSize";
+    public static final String PIPELINE_PROPOSAL_BATCHES = "pipelineProposalBatches";
+
+    private final BatchPlaintextEvaluator plaintextEvaluator;
+    private final int batchSize;
+    private final boolean pipelined;
+    private final int maxMoveSize;
+
+    // At most two batches are alive at once, the one being judged and the one in flight behind it
+    private final Batch[] batches = new Batch[2];
+    private int nextBatch;
+
+    public ProposalBatcher(BatchPlaintextEvaluator plaintextEvaluator, int batchSize, boolean pipelined, int maxMoveSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The proposal batch size must be at least 1, but got " + batchSize + ".");
+        }
+
+        this.plaintextEvaluator = plaintextEvaluator;
+        this.batchSize = batchSize;
+        this.pipelined = pipelined;
+        this.maxMoveSize = maxMoveSize;
+
+        for (int i = 0; i < batches.length; i++) {
+            batches[i] = new Batch(batchSize, maxMoveSize);
+        }
+    }
+
+    /*
+     * Returns null when batching isn't asked for, or when the evaluator can't score batches, in which case the optimizer
+     * scores one proposal at a time as usual.  Pipelining only applies to batches of more than one proposal.
+     */
+    public static ProposalBatcher fromConfiguration(Map<String, Object> configuration, PlaintextEvaluator plaintextEvaluator, MoveGenerator moveGenerator) {
+        Integer batchSize = (Integer) configuration.get(PROPOSAL_BATCH_SIZE);
+        Boolean pipelined = (Boolean) configuration.get(PIPELINE_PROPOSAL_BATCHES);
+
+        if (batchSize == null || batchSize <= 1) {
+            if (pipelined != null && pipelined) {
+                log.warn("Pipelined proposal batches were requested, but the proposal batch size is not greater than 1.  Proposals will be scored one at a time.");
+            }
+
+            return null;
+        }
+
+        if (!(plaintextEvaluator instanceof BatchPlaintextEvaluator)) {
+            log.warn("Proposal batching was requested, but the plaintext evaluator={} cannot score batches.  Proposals will be scored one at a time.", plaintextEvaluator.getClass().getSimpleName());
+
+            return null;
+        }
+
+        return new ProposalBatcher((BatchPlaintextEvaluator) plaintextEvaluator, batchSize, pipelined != null && pipelined, moveGenerator.getMaxMoveSize());
+    }
+
+    /*
+     * Returns a batcher with the same settings and its own scratch buffers, for another chain.
+     */
+    public ProposalBatcher getInstance() {
+        return new ProposalBatcher(plaintextEvaluator, batchSize, pipelined, maxMoveSize);
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /*
+     * Draws moves for the symbols from mappingKeys[start] onwards until the batch is full, and sends the batch to be
+     * scored.  The solution letters are changed to build each proposal, but are restored before returning.  Returns
+     * null once there are no symbols left in this sweep.
+     */
+    public Batch draw(int start,
+                      CounterweightContext precomputedData,
+                      Cipher cipher,
+                      CipherSolution solution,
+                      byte[] solutionLetters,
+                      int[] mappingKeys,
+                      MoveGenerator moveGenerator,
+                      RandomGenerator random,
+                      PlaintextTransformationManager plaintextTransformationManager,
+                      List<TransformationStep> plaintextTransformationSteps) {
+        if (start >= mappingKeys.length) {
+            return null;
+        }
+
+        Batch batch = batches[nextBatch];
+        nextBatch = (nextBatch + 1) % batches.length;
+
+        batch.size = 0;
+        // A new list each time, since a pipelined batch is still being read by the evaluator when the next is drawn
+        List<String> proposals = new ArrayList<>(batchSize);
+
+        int i = start;
+        for (; i < mappingKeys.length && batch.size < batchSize; i++) {
+            int moveSize = moveGenerator.propose(solution, mappingKeys, mappingKeys[i], random);
+
+            if (moveSize == 0) {
+                continue;
+            }
+
+            int proposal = batch.size;
+            batch.mappingIndices[proposal] = i;
+            batch.moveSizes[proposal] = moveSize;
+
+            for (int j = 0; j < moveSize; j++) {
+                batch.symbols[proposal][j] = moveGenerator.getSymbol(j);
+                batch.letters[proposal][j] = moveGenerator.getLetter(j);
+                setLetters(cipher, solutionLetters, moveGenerator.getSymbol(j), moveGenerator.getLetter(j));
+            }
+
+            String proposalString = LetterUtils.fromLetterCodes(solutionLetters);
+
+            if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
+                proposalString = plaintextTransformationManager.transform(proposalString, plaintextTransformationSteps);
+            }
+
+            proposals.add(proposalString);
+
+            for (int j = 0; j < moveSize; j++) {
+                setLetters(cipher, solutionLetters, moveGenerator.getSymbol(j), moveGenerator.getOriginalLetter(j));
+            }
+
+            batch.size ++;
+        }
+
+        batch.end = i;
+        batch.scores = proposals.isEmpty() ? CompletableFuture.completedFuture(Collections.emptyList()) : plaintextEvaluator.evaluateBatchAsync(precomputedData, cipher, proposals);
+
+        return batch;
+    }
+
+    private void setLetters(Cipher cipher, byte[] solutionLetters, int symbolId, char letter) {
+        byte letterCode = (byte) LetterUtils.charToOrdinal(letter);
+
+        for (int cipherSymbolIndex : cipher.getCipherSymbolIndices(symbolId)) {
+            solutionLetters[cipherSymbolIndex] = letterCode;
+        }
+    }
+
+    public static class Batch {
+        private final int[] mappingIndices;
+        private final int[] moveSizes;
+        private final int[][] symbols;
+        private final char[][] letters;
+        private int size;
+        private int end;
+        private CompletableFuture<List<ProposalScore>> scores;
+
+        private Batch(int batchSize, int maxMoveSize) {
+            mappingIndices = new int[batchSize];
+            moveSizes = new int[batchSize];
+            symbols = new int[batchSize][maxMoveSize];
+            letters = new char[batchSize][maxMoveSize];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /*
+         * The index into mappingKeys just past the last symbol this batch covers, where the following batch starts.
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /*
+         * The index into mappingKeys of the symbol the proposal's move is anchored at.
+         */
+        public int getMappingIndex(int proposal) {
+            return mappingIndices[proposal];
+        }
+
+        public int getMoveSize(int proposal) {
+            return moveSizes[proposal];
+        }
+
+        public int getSymbol(int proposal, int i) {
+            return symbols[proposal][i];
+        }
+
+        public char getLetter(int proposal, int i) {
+            return letters[proposal][i];
+        }
+
+        public List<ProposalScore> await() {
+            try {
+                return scores.join();
+            } catch (CompletionException ce) {
+                if (ce.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ce.getCause();
+                }
+
+                throw new IllegalStateException("Unable to score the batch of proposals.", ce.getCause());
+            }
+        }
+
+        /*
+         * Abandons a batch drawn against a solution which has since changed.
+         */
+        public void discard() {
+            scores.cancel(false);
+        }
+    }
+}
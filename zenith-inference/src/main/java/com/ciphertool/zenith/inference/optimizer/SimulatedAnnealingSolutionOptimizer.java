@@ -19,72 +19,59 @@
 
 package com.ciphertool.zenith.inference.optimizer;
 
-import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.checkpoint.EpochProgress;
+import com.ciphertool.zenith.inference.checkpoint.SolveCheckpoint;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.ScoringSession;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.optimizer.cooling.CoolingSchedule;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
-import com.ciphertool.zenith.model.entities.TreeNGram;
-import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
-import jakarta.annotation.PostConstruct;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.random.RandomGenerator;
 
 @Component
-public class SimulatedAnnealingSolutionOptimizer extends AbstractSolutionOptimizer {
+public class SimulatedAnnealingSolutionOptimizer extends AbstractLetterSamplingSolutionOptimizer {
     private Logger log = LoggerFactory.getLogger(getClass());
 
-    private static ThreadLocalRandom RANDOM = ThreadLocalRandom.current();
     public static final String SAMPLER_ITERATIONS = "samplerIterations";
     public static final String ANNEALING_TEMPERATURE_MIN = "annealingTemperatureMin";
     public static final String ANNEALING_TEMPERATURE_MAX = "annealingTemperatureMax";
+    public static final String PARALLEL_EPOCHS = "parallelEpochs";
+    public static final String COOLING_SCHEDULE_NAME = "coolingScheduleName";
 
     @Autowired
-    private ArrayMarkovModel letterMarkovModel;
-
-    private char[] biasedLetterBucket;
-
-    @PostConstruct
-    public void init() {
-        List<Character> biasedCharacterBucket = new ArrayList<>();
-
-        // Instead of using a uniform distribution or one purely based on English, we flatten out the English letter unigram probabilities by the flatMassWeight
-        // This seems to be a good balance for the letter sampler so that it slightly prefers more likely characters while still allowing for novel characters to be sampled
-        float flatMassWeight = 0.8f;
-        float flatMass = (1f / (float) letterMarkovModel.getFirstOrderNodes().size()) * flatMassWeight;
-
-        for (TreeNGram node : letterMarkovModel.getFirstOrderNodes()) {
-            float letterProbability = (float) node.getCount() / (float) letterMarkovModel.getTotalNGramCount();
-
-            float scaledMass = letterProbability * (1f - flatMassWeight);
-
-            int letterBias = (int) (1000f * (scaledMass + flatMass));
-
-            for (int i = 0; i < letterBias; i ++) {
-                biasedCharacterBucket.add(node.getCumulativeString().charAt(0));
-            }
-        }
-
-        biasedLetterBucket = new char[biasedCharacterBucket.size()];
-        for (int i = 0; i < biasedCharacterBucket.size(); i ++) {
-            biasedLetterBucket[i] = biasedCharacterBucket.get(i);
-        }
-    }
+    private TaskExecutor taskExecutor;
 
     @Override
-    public CipherSolution optimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete) {
+    protected CipherSolution doOptimize(Cipher cipher, int epochs, Map<String, Object> configuration, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator, OnEpochComplete onEpochComplete) {
         int samplerIterations = (int) configuration.get(SAMPLER_ITERATIONS);
         float annealingTemperatureMin = (float) configuration.get(ANNEALING_TEMPERATURE_MIN);
         float annealingTemperatureMax = (float) configuration.get(ANNEALING_TEMPERATURE_MAX);
+        Integer parallelEpochsValue = (Integer) configuration.get(PARALLEL_EPOCHS);
+        int parallelEpochs = parallelEpochsValue == null ? 1 : parallelEpochsValue;
+        CoolingSchedule coolingSchedule = resolveCoolingSchedule((String) configuration.get(COOLING_SCHEDULE_NAME));
+        StoppingCriteria stoppingCriteria = new StoppingCriteria(configuration, knownSolutionCorrectnessThreshold);
+        MoveGenerator moveGenerator = newMoveGenerator(configuration);
+        ProposalBatcher proposalBatcher = ProposalBatcher.fromConfiguration(configuration, plaintextEvaluator, moveGenerator);
 
         int cipherKeySize = (int) cipher.getCiphertextCharacters().stream()
                 .map(c -> c.getValue())
@@ -93,33 +80,72 @@ public class SimulatedAnnealingSolutionOptimizer extends AbstractSolutionOptimiz
 
         log.debug("unknownLetterNGramProbability: {}", letterMarkovModel.getUnknownLetterNGramProbability());
 
-        Map<String, Object> precomputedCounterweightData = plaintextEvaluator.getPrecomputedCounterweightData(cipher);
+        CounterweightContext precomputedCounterweightData = plaintextEvaluator.getPrecomputedCounterweightData(cipher);
 
         long totalElapsed = 0;
         int correctSolutions = 0;
         CipherSolution overallBest = null;
 
-        int epoch = 0;
-        for (; epoch < epochs; epoch++) {
-            CipherSolution initialSolution = generateInitialSolutionProposal(cipher, cipherKeySize);
+        CheckpointStore checkpointStore = CheckpointStore.fromConfiguration(configuration);
+        SolveCheckpoint checkpoint = checkpointStore == null ? null : checkpointStore.load(getClass().getSimpleName(), cipher);
+        BitSet completedEpochs = new BitSet();
+        EpochProgress resume = null;
 
-            log.info("Epoch {} of {}.  Running sampler for {} iterations.", (epoch + 1), epochs, samplerIterations);
+        if (checkpoint != null) {
+            completedEpochs = checkpoint.getCompletedEpochs();
+            correctSolutions = checkpoint.getCorrectSolutions();
+            totalElapsed = checkpoint.getTotalElapsed();
+            resume = checkpoint.getEpochInProgress();
+
+            if (checkpoint.getBestMappings() != null) {
+                overallBest = restoreSolution(precomputedCounterweightData, cipher, cipherKeySize, checkpoint.getBestMappings(), plaintextTransformationSteps, plaintextEvaluator);
+            }
+        }
 
-            String[] mappingKeys = new String[initialSolution.getMappings().size()];
+        // A checkpoint only has an epoch in progress when epochs ran one at a time, and then it is the first incomplete one
+        int firstEpoch = completedEpochs.nextClearBit(0);
+        int remainingEpochs = epochs - completedEpochs.get(0, epochs).cardinality();
+        int nextEpoch = skipCompletedEpochs(completedEpochs, 0, epochs);
 
-            int mappingListIndex = 0;
-            for (String key : initialSolution.getMappings().keySet()) {
-                mappingKeys[mappingListIndex] = key;
-                mappingListIndex ++;
+        ExecutorCompletionService<EpochResult> completionService = null;
+
+        if (parallelEpochs > 1 && remainingEpochs > 1) {
+            // Build the lazily cached symbol lookups up front so that concurrent epochs only ever read them
+            if (cipher.getSymbolCount() > 0) {
+                cipher.getCipherSymbolIndices(0);
             }
 
-            long start = System.currentTimeMillis();
+            completionService = new ExecutorCompletionService<>(taskExecutor);
+
+            // Only as many epochs as are allowed to run at once are submitted, and each completion frees up the next one
+            for (int running = 0; running < parallelEpochs && nextEpoch < epochs; running ++) {
+                completionService.submit(newEpochTask(nextEpoch, epochs, cipher, cipherKeySize, precomputedCounterweightData, samplerIterations, annealingTemperatureMin, annealingTemperatureMax, coolingSchedule, stoppingCriteria, moveGenerator, proposalBatcher, nextEpoch == firstEpoch ? resume : null, plaintextTransformationSteps, plaintextEvaluator));
+                nextEpoch = skipCompletedEpochs(completedEpochs, nextEpoch + 1, epochs);
+            }
+        }
+
+        for (; remainingEpochs > 0; remainingEpochs --) {
+            EpochResult result;
 
-            CipherSolution best = performEpoch(precomputedCounterweightData, cipher, initialSolution, mappingKeys, samplerIterations, annealingTemperatureMin, annealingTemperatureMax, plaintextTransformationSteps, plaintextEvaluator);
+            if (completionService == null) {
+                // Epochs which run one at a time can also be checkpointed part way through
+                SolveCheckpoint progress = checkpointStore == null ? null : newCheckpoint(cipher, completedEpochs, correctSolutions, totalElapsed, overallBest);
 
-            long elapsed = System.currentTimeMillis() - start;
-            totalElapsed += elapsed;
-            log.info("Epoch completed in {}ms.", elapsed);
+                result = runEpoch(nextEpoch, epochs, cipher, cipherKeySize, precomputedCounterweightData, samplerIterations, annealingTemperatureMin, annealingTemperatureMax, coolingSchedule, stoppingCriteria, moveGenerator, proposalBatcher, RandomSource.split(), checkpointStore, progress, nextEpoch == firstEpoch ? resume : null, plaintextTransformationSteps, plaintextEvaluator);
+                nextEpoch = skipCompletedEpochs(completedEpochs, nextEpoch + 1, epochs);
+            } else {
+                result = takeCompletedEpoch(completionService);
+
+                if (nextEpoch < epochs) {
+                    completionService.submit(newEpochTask(nextEpoch, epochs, cipher, cipherKeySize, precomputedCounterweightData, samplerIterations, annealingTemperatureMin, annealingTemperatureMax, coolingSchedule, stoppingCriteria, moveGenerator, proposalBatcher, null, plaintextTransformationSteps, plaintextEvaluator));
+                    nextEpoch = skipCompletedEpochs(completedEpochs, nextEpoch + 1, epochs);
+                }
+            }
+
+            completedEpochs.set(result.epoch);
+
+            CipherSolution best = result.best;
+            totalElapsed += result.elapsed;
 
             if (log.isInfoEnabled()) {
                 cipherSolutionPrinter.print(best, plaintextTransformationSteps);
@@ -131,8 +157,13 @@ public class SimulatedAnnealingSolutionOptimizer extends AbstractSolutionOptimiz
 
             overallBest = (overallBest == null) ? best : (best.compareTo(overallBest) > 0 ? best : overallBest);
 
+            if (checkpointStore != null) {
+                checkpointStore.save(newCheckpoint(cipher, completedEpochs, correctSolutions, totalElapsed, overallBest));
+            }
+
+            // When epochs run concurrently, this is fired in the order they complete rather than the order they started
             if (onEpochComplete != null) {
-                onEpochComplete.fire(epoch + 1, best);
+                onEpochComplete.fire(completedEpochs.cardinality(), best, result.terminationReason);
             }
         }
 
@@ -140,25 +171,77 @@ public class SimulatedAnnealingSolutionOptimizer extends AbstractSolutionOptimiz
             log.info("{} out of {} epochs ({}%) produced the correct solution.", correctSolutions, epochs, String.format("%1$,.2f", (correctSolutions / (double) epochs) * 100.0));
         }
 
-        log.info("Average epoch time={}ms", ((float) totalElapsed / (float) epoch));
+        log.info("Average epoch time={}ms", ((float) totalElapsed / (float) completedEpochs.cardinality()));
+
+        if (checkpointStore != null) {
+            checkpointStore.delete();
+        }
 
         return overallBest;
     }
 
-    private CipherSolution generateInitialSolutionProposal(Cipher cipher, int cipherKeySize) {
-        CipherSolution solutionProposal = new CipherSolution(cipher, cipherKeySize);
+    /*
+     * Returns the first epoch from the given one which has yet to complete.  The split of each completed epoch passed
+     * over is drawn all the same, so that a resumed seeded run gives every remaining epoch the numbers it would have had
+     * if the run had never stopped.
+     */
+    private int skipCompletedEpochs(BitSet completedEpochs, int epoch, int epochs) {
+        for (; epoch < epochs && completedEpochs.get(epoch); epoch ++) {
+            RandomSource.split();
+        }
 
-        cipher.getCiphertextCharacters().stream()
-                .map(ciphertext -> ciphertext.getValue())
-                .distinct()
-                .forEach(ciphertext -> {
-                    solutionProposal.putMapping(ciphertext, biasedLetterBucket[RANDOM.nextInt(biasedLetterBucket.length)]);
-                });
+        return epoch;
+    }
+
+    private Callable<EpochResult> newEpochTask(int epoch, int epochs, Cipher cipher, int cipherKeySize, CounterweightContext precomputedCounterweightData, int samplerIterations, float annealingTemperatureMin, float annealingTemperatureMax, CoolingSchedule coolingSchedule, StoppingCriteria stoppingCriteria, MoveGenerator moveGenerator, ProposalBatcher proposalBatcher, EpochProgress resume, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        // Split here on the submitting thread, in epoch order, so that an epoch's random numbers don't depend on scheduling
+        RandomGenerator random = RandomSource.split();
+
+        return () -> runEpoch(epoch, epochs, cipher, cipherKeySize, precomputedCounterweightData, samplerIterations, annealingTemperatureMin, annealingTemperatureMax, coolingSchedule, stoppingCriteria, moveGenerator, proposalBatcher, random, null, null, resume, plaintextTransformationSteps, plaintextEvaluator);
+    }
+
+    private EpochResult takeCompletedEpoch(ExecutorCompletionService<EpochResult> completionService) {
+        try {
+            return completionService.take().get();
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an epoch to complete.", ie);
+        } catch (ExecutionException ee) {
+            if (ee.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ee.getCause();
+            }
+
+            throw new IllegalStateException("Epoch failed to complete.", ee.getCause());
+        }
+    }
+
+    private EpochResult runEpoch(int epoch, int epochs, Cipher cipher, int cipherKeySize, CounterweightContext precomputedCounterweightData, int samplerIterations, float annealingTemperatureMin, float annealingTemperatureMax, CoolingSchedule coolingSchedule, StoppingCriteria stoppingCriteria, MoveGenerator moveGenerator, ProposalBatcher proposalBatcher, RandomGenerator random, CheckpointStore checkpointStore, SolveCheckpoint progress, EpochProgress resume, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+        CipherSolution initialSolution;
 
-        return solutionProposal;
+        if (resume == null) {
+            initialSolution = generateInitialSolutionProposal(cipher, cipherKeySize, random);
+
+            log.info("Epoch {} of {}.  Running sampler for {} iterations.", (epoch + 1), epochs, samplerIterations);
+        } else {
+            initialSolution = CheckpointStore.toSolution(cipher, cipherKeySize, resume.getMappings());
+            random = new SplittableRandom(resume.getRandomSeed());
+
+            log.info("Epoch {} of {}.  Resuming sampler at iteration {} of {}.", (epoch + 1), epochs, (resume.getIteration() + 1), samplerIterations);
+        }
+
+        int[] mappingKeys = getMappingKeys(cipher, initialSolution);
+
+        // A resumed epoch carries on the clock from where it stopped, so that maxEpochMillis still applies to the whole epoch
+        long start = System.currentTimeMillis() - (resume == null ? 0L : resume.getElapsed());
+
+        EpochResult result = performEpoch(epoch, start, precomputedCounterweightData, cipher, initialSolution, mappingKeys, samplerIterations, coolingSchedule.getInstance(samplerIterations, annealingTemperatureMin, annealingTemperatureMax), stoppingCriteria, moveGenerator.getInstance(), proposalBatcher == null ? null : proposalBatcher.getInstance(), random, checkpointStore, progress, resume, plaintextTransformationSteps, plaintextEvaluator);
+
+        log.info("Epoch {} completed in {}ms after {} iterations ({}).", (epoch + 1), result.elapsed, result.iterations, result.terminationReason);
+
+        return result;
     }
 
-    private CipherSolution performEpoch(Map<String, Object> precomputedCounterweightData, Cipher cipher, CipherSolution initialSolution, String[] mappingKeys, int samplerIterations, float annealingTemperatureMin, float annealingTemperatureMax, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
+    private EpochResult performEpoch(int epoch, long start, CounterweightContext precomputedCounterweightData, Cipher cipher, CipherSolution initialSolution, int[] mappingKeys, int samplerIterations, CoolingSchedule coolingSchedule, StoppingCriteria stoppingCriteria, MoveGenerator moveGenerator, ProposalBatcher proposalBatcher, RandomGenerator random, CheckpointStore checkpointStore, SolveCheckpoint progress, EpochProgress resume, List<TransformationStep> plaintextTransformationSteps, PlaintextEvaluator plaintextEvaluator) {
         String solutionString = initialSolution.asSingleLineString();
 
         if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
@@ -175,120 +258,85 @@ public class SimulatedAnnealingSolutionOptimizer extends AbstractSolutionOptimiz
         float temperature;
         CipherSolution next = initialSolution;
         long startLetterSampling;
-        char[] solutionCharArray = next.asSingleLineString().toCharArray();
-        var temperatureDifference = (annealingTemperatureMax - annealingTemperatureMin);
-
-        int i;
-        for (i = 0; i < samplerIterations; i++) {
-            long iterationStart = System.currentTimeMillis();
-
-            /*
-             * Set temperature as a ratio of the max temperature to the number of iterations left, offset by the min
-             * temperature so as not to go below it
-             */
-            var ratio = ((samplerIterations - (float) i) / samplerIterations);
-            temperature = (temperatureDifference * ratio) + annealingTemperatureMin;
-
-            startLetterSampling = System.currentTimeMillis();
-            next = runLetterSampler(precomputedCounterweightData, cipher, temperature, next, solutionCharArray, mappingKeys, plaintextTransformationSteps, plaintextEvaluator);
-
-            if (log.isDebugEnabled()) {
-                long now = System.currentTimeMillis();
-                log.debug("Iteration {} complete.  [elapsed={}ms, letterSampling={}ms, temp={}]", (i + 1), (now - iterationStart), (now - startLetterSampling), String.format("%1$,.4f", temperature));
-                cipherSolutionPrinter.print(next, plaintextTransformationSteps);
-            }
+        // The plaintext is held as letter codes and mutated in place for each proposal
+        byte[] solutionLetters = LetterUtils.toLetterCodes(next.asSingleLineString());
+        ScoringSession session = new ScoringSession(plaintextEvaluator, precomputedCounterweightData, cipher, next);
+        float bestScore = resume == null ? (float) next.getScores()[0].getValue() : resume.getBestScore();
+        int iterationsWithoutImprovement = resume == null ? 0 : resume.getIterationsWithoutImprovement();
+
+        if (resume != null && resume.getCoolingScheduleState() != null) {
+            coolingSchedule.restore(resume.getCoolingScheduleState());
         }
 
-        return next;
-    }
-
-    private CipherSolution runLetterSampler(Map<String, Object> precomputedCounterweightData,
-                                            Cipher cipher,
-                                            float temperature,
-                                            CipherSolution solution,
-                                            char[] solutionCharArray,
-                                            String[] mappingKeys,
-                                            List<TransformationStep> plaintextTransformationSteps,
-                                            PlaintextEvaluator plaintextEvaluator) {
-        String nextKey;
+        EpochTerminationReason terminationReason = EpochTerminationReason.COMPLETED;
 
-        // For each cipher symbol type, run the letter sampling
-        for (int i = 0; i < mappingKeys.length; i++) {
-            nextKey = mappingKeys[i];
+        int i;
+        for (i = resume == null ? 0 : resume.getIteration(); i < samplerIterations; i++) {
+            long iterationStart = System.currentTimeMillis();
 
-            char letter = biasedLetterBucket[RANDOM.nextInt(biasedLetterBucket.length)];
+            temperature = coolingSchedule.getTemperature(i);
 
-            char originalMapping = solution.getMappings().get(nextKey);
+            long proposalsBefore = session.getProposalCount();
+            long rollbacksBefore = session.getRollbackCount();
 
-            if (letter == originalMapping) {
-                continue;
+            startLetterSampling = System.currentTimeMillis();
+            if (proposalBatcher == null) {
+                next = runLetterSampler(session, cipher, temperature, next, solutionLetters, mappingKeys, moveGenerator, random, plaintextTransformationSteps);
+            } else {
+                next = runBatchedLetterSampler(session, proposalBatcher, precomputedCounterweightData, cipher, temperature, next, solutionLetters, mappingKeys, moveGenerator, random, plaintextTransformationSteps);
             }
 
-            // TODO: this needs to be refactored in order to support multi objective scoring functions
-            Fitness[] originalScores = solution.getScores();
-            solution.replaceMapping(nextKey, letter);
+            long proposals = session.getProposalCount() - proposalsBefore;
+            long accepted = proposals - (session.getRollbackCount() - rollbacksBefore);
+            float currentScore = (float) next.getScores()[0].getValue();
+            coolingSchedule.onIterationComplete(i, proposals == 0 ? 0f : (float) accepted / (float) proposals, currentScore);
 
-            int[] cipherSymbolIndices = cipher.getCipherSymbolIndicesMap().get(nextKey);
-            for (int cipherSymbolIndex : cipherSymbolIndices) {
-                solutionCharArray[cipherSymbolIndex] = letter;
+            if (stoppingCriteria.isImprovement(currentScore, bestScore)) {
+                bestScore = currentScore;
+                iterationsWithoutImprovement = 0;
+            } else {
+                iterationsWithoutImprovement ++;
             }
 
-            String proposalString = new String(solutionCharArray);
-
-            if (CollectionUtils.isNotEmpty(plaintextTransformationSteps)) {
-                proposalString = plaintextTransformationManager.transform(proposalString, plaintextTransformationSteps);
+            if (log.isDebugEnabled()) {
+                long now = System.currentTimeMillis();
+                log.debug("Iteration {} complete.  [elapsed={}ms, letterSampling={}ms, temp={}]", (i + 1), (now - iterationStart), (now - startLetterSampling), String.format("%1$,.4f", temperature));
+                cipherSolutionPrinter.print(next, plaintextTransformationSteps);
             }
 
-            SolutionScore score = plaintextEvaluator.evaluate(precomputedCounterweightData, cipher, solution, proposalString, nextKey);
-            solution.setScores(score.getScores());
+            EpochTerminationReason reason = stoppingCriteria.check(iterationsWithoutImprovement, System.currentTimeMillis() - start, currentScore, next);
 
-            if (originalScores.length > 1) {
-                throw new IllegalStateException("SimulatedAnnealing currently only supports single-objective scoring functions.");
+            if (reason != null) {
+                terminationReason = reason;
+                i ++;
+                break;
             }
 
-            // TODO: these next few lines need to be refactored in order to support multi objective scoring functions
-            if (!selectNext(temperature, (float) originalScores[0].getValue(), (float) solution.getScores()[0].getValue())) {
-                solution.setScores(new Fitness[] { originalScores[0] });
-                solution.replaceMapping(nextKey, originalMapping);
-
-                float[][] ngramProbabilitiesUpdated = score.getNgramProbabilitiesUpdated();
-                for (int j = 0; j < ngramProbabilitiesUpdated[0].length; j ++) {
-                    // The updated probabilities array is oversized as it's not feasible to predict the array length before building it
-                    // So, once we hit an index that is equal to zero, we are guaranteed to be at the end of the populated part of the array
-                    if (ngramProbabilitiesUpdated[1][j] == 0f) {
-                        break;
-                    }
+            if (progress != null && i + 1 < samplerIterations && checkpointStore.isDue(i + 1)) {
+                // Reseeding from the generator's own output leaves a state which a single long can restore
+                long seed = random.nextLong();
+                random = new SplittableRandom(seed);
 
-                    solution.replaceLogProbability((int) ngramProbabilitiesUpdated[0][j], ngramProbabilitiesUpdated[1][j]);
-                }
-
-                for (int cipherSymbolIndex : cipherSymbolIndices) {
-                    solutionCharArray[cipherSymbolIndex] = originalMapping;
-                }
+                checkpointStore.save(progress.withEpochInProgress(new EpochProgress(i + 1, CheckpointStore.toMappings(cipher, next), bestScore, iterationsWithoutImprovement, System.currentTimeMillis() - start, seed, coolingSchedule.snapshot())));
             }
         }
 
-        return solution;
+        return new EpochResult(epoch, next, System.currentTimeMillis() - start, i, terminationReason);
     }
 
-    private boolean selectNext(float temperature, float solutionScore, float proposalScore) {
-        if (proposalScore >= solutionScore) {
-            return true;
-        }
-
-        // Need to convert to log probabilities in order for the acceptance probability calculation to be useful
-        float acceptanceProbability = (float) Math.exp(((solutionScore - proposalScore) / temperature) * -1f);
-
-        log.debug("Acceptance probability: {}", acceptanceProbability);
-
-        if (acceptanceProbability < 0f) {
-            throw new IllegalStateException("Acceptance probability was calculated to be less than zero.  Please review the math as this should not happen.");
+    private static class EpochResult {
+        private final int epoch;
+        private final CipherSolution best;
+        private final long elapsed;
+        private final int iterations;
+        private final EpochTerminationReason terminationReason;
+
+        private EpochResult(int epoch, CipherSolution best, long elapsed, int iterations, EpochTerminationReason terminationReason) {
+            this.epoch = epoch;
+            this.best = best;
+            this.elapsed = elapsed;
+            this.iterations = iterations;
+            this.terminationReason = terminationReason;
         }
-
-        if (acceptanceProbability > 1f || (float) RANDOM.nextDouble() < acceptanceProbability) {
-            return true;
-        }
-
-        return false;
     }
 }
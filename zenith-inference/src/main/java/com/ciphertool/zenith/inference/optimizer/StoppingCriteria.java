@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+
+import java.util.Map;
+
+/*
+ * Optional conditions which end an epoch before it has run all of its sampler iterations.  Each check is constant time,
+ * apart from the known solution check, which is only made when asked for.
+ */
+public class StoppingCriteria {
+    public static final String STAGNATION_ITERATIONS = "stagnationIterations";
+    public static final String MIN_IMPROVEMENT = "minImprovement";
+    public static final String MAX_EPOCH_MILLIS = "maxEpochMillis";
+    public static final String TARGET_SCORE = "targetScore";
+    public static final String STOP_ON_KNOWN_SOLUTION = "stopOnKnownSolution";
+
+    private final int stagnationIterations;
+    private final float minImprovement;
+    private final long maxEpochMillis;
+    private final float targetScore;
+    private final boolean stopOnKnownSolution;
+    private final double knownSolutionCorrectnessThreshold;
+
+    public StoppingCriteria(Map<String, Object> configuration, double knownSolutionCorrectnessThreshold) {
+        Integer stagnationIterationsValue = (Integer) configuration.get(STAGNATION_ITERATIONS);
+        Float minImprovementValue = (Float) configuration.get(MIN_IMPROVEMENT);
+        Long maxEpochMillisValue = (Long) configuration.get(MAX_EPOCH_MILLIS);
+        Float targetScoreValue = (Float) configuration.get(TARGET_SCORE);
+        Boolean stopOnKnownSolutionValue = (Boolean) configuration.get(STOP_ON_KNOWN_SOLUTION);
+
+        this.stagnationIterations = stagnationIterationsValue == null ? Integer.MAX_VALUE : stagnationIterationsValue;
+        this.minImprovement = minImprovementValue == null ? 0f : minImprovementValue;
+        this.maxEpochMillis = maxEpochMillisValue == null ? Long.MAX_VALUE : maxEpochMillisValue;
+        this.targetScore = targetScoreValue == null ? Float.POSITIVE_INFINITY : targetScoreValue;
+        this.stopOnKnownSolution = stopOnKnownSolutionValue != null && stopOnKnownSolutionValue;
+        this.knownSolutionCorrectnessThreshold = knownSolutionCorrectnessThreshold;
+    }
+
+    /*
+     * Whether a score counts as progress over the best so far.  Gains smaller than minImprovement are treated as a
+     * plateau, and so count towards stagnation.
+     */
+    public boolean isImprovement(float score, float bestScore) {
+        return score - bestScore > minImprovement;
+    }
+
+    /*
+     * Returns the reason the epoch should stop, or null if it should keep going.
+     */
+    public EpochTerminationReason check(int iterationsWithoutImprovement, long elapsedMillis, float score, CipherSolution solution) {
+        if (score >= targetScore) {
+            return EpochTerminationReason.TARGET_SCORE;
+        }
+
+        if (iterationsWithoutImprovement >= stagnationIterations) {
+            return EpochTerminationReason.STAGNATION;
+        }
+
+        if (elapsedMillis >= maxEpochMillis) {
+            return EpochTerminationReason.TIME_BUDGET;
+        }
+
+        if (stopOnKnownSolution && solution.getCipher().hasKnownSolution() && knownSolutionCorrectnessThreshold <= solution.evaluateKnownSolution()) {
+            return EpochTerminationReason.KNOWN_SOLUTION;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * Steers the temperature so that the fraction of accepted proposals follows a target which falls over the course of the
+ * run.  The temperature never leaves the configured min and max.
+ */
+@Component
+public class AdaptiveCoolingSchedule implements CoolingSchedule {
+    private static final float INITIAL_TARGET_ACCEPTANCE_RATE = 0.5f;
+    private static final float FINAL_TARGET_ACCEPTANCE_RATE = 0.01f;
+    private static final float ADJUSTMENT_FACTOR = 1.05f;
+
+    private int samplerIterations;
+    private float temperatureMin;
+    private float temperatureMax;
+    private float temperature;
+
+    @Override
+    public CoolingSchedule getInstance(int samplerIterations, float temperatureMin, float temperatureMax) {
+        AdaptiveCoolingSchedule instance = new AdaptiveCoolingSchedule();
+        instance.samplerIterations = samplerIterations;
+        instance.temperatureMin = temperatureMin;
+        instance.temperatureMax = temperatureMax;
+        instance.temperature = temperatureMax;
+        return instance;
+    }
+
+    @Override
+    public float getTemperature(int iteration) {
+        return temperature;
+    }
+
+    @Override
+    public void onIterationComplete(int iteration, float acceptanceRate, float score) {
+        float progress = (iteration + 1) / (float) samplerIterations;
+        float targetAcceptanceRate = INITIAL_TARGET_ACCEPTANCE_RATE + ((FINAL_TARGET_ACCEPTANCE_RATE - INITIAL_TARGET_ACCEPTANCE_RATE) * progress);
+
+        if (acceptanceRate > targetAcceptanceRate) {
+            temperature /= ADJUSTMENT_FACTOR;
+        } else if (acceptanceRate < targetAcceptanceRate) {
+            temperature *= ADJUSTMENT_FACTOR;
+        }
+
+        temperature = Math.max(temperatureMin, Math.min(temperatureMax, temperature));
+    }
+
+    @Override
+    public double[] snapshot() {
+        return new double[]{temperature};
+    }
+
+    @Override
+    public void restore(double[] state) {
+        temperature = (float) state[0];
+    }
+}
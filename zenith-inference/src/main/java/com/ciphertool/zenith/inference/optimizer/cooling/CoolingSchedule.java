@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+public interface CoolingSchedule {
+    /*
+     * Some schedules adapt to how the sampler is doing, so every epoch gets its own instance.
+     */
+    CoolingSchedule getInstance(int samplerIterations, float temperatureMin, float temperatureMax);
+
+    float getTemperature(int iteration);
+
+    /*
+     * Called after each iteration with the fraction of proposals which were accepted and the score of the current
+     * solution.
+     */
+    default void onIterationComplete(int iteration, float acceptanceRate, float score) {
+    }
+
+    /*
+     * The state which the schedule has built up from onIterationComplete, so that a checkpointed epoch can carry on
+     * where it left off.  Null for schedules which depend only on the iteration.
+     */
+    default double[] snapshot() {
+        return null;
+    }
+
+    /*
+     * Called on a fresh instance with what snapshot returned.
+     */
+    default void restore(double[] state) {
+    }
+}
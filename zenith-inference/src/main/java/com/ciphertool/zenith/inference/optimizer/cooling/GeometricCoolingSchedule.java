@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * Cools by a constant factor each iteration, so that more of the run is spent at the low temperatures where the
+ * solution is refined.
+ */
+@Component
+public class GeometricCoolingSchedule implements CoolingSchedule {
+    private int samplerIterations;
+    private float temperatureMin;
+    private double temperatureRatio;
+
+    @Override
+    public CoolingSchedule getInstance(int samplerIterations, float temperatureMin, float temperatureMax) {
+        if (temperatureMin <= 0f || temperatureMax < temperatureMin) {
+            throw new IllegalArgumentException("GeometricCoolingSchedule requires 0 < annealingTemperatureMin <= annealingTemperatureMax, but got min=" + temperatureMin + " and max=" + temperatureMax + ".");
+        }
+
+        GeometricCoolingSchedule instance = new GeometricCoolingSchedule();
+        instance.samplerIterations = samplerIterations;
+        instance.temperatureMin = temperatureMin;
+        instance.temperatureRatio = (double) temperatureMax / (double) temperatureMin;
+        return instance;
+    }
+
+    @Override
+    public float getTemperature(int iteration) {
+        double ratio = (samplerIterations - (double) iteration) / samplerIterations;
+        return (float) (temperatureMin * Math.pow(temperatureRatio, ratio));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class LinearCoolingSchedule implements CoolingSchedule {
+    private int samplerIterations;
+    private float temperatureMin;
+    private float temperatureDifference;
+
+    @Override
+    public CoolingSchedule getInstance(int samplerIterations, float temperatureMin, float temperatureMax) {
+        LinearCoolingSchedule instance = new LinearCoolingSchedule();
+        instance.samplerIterations = samplerIterations;
+        instance.temperatureMin = temperatureMin;
+        instance.temperatureDifference = temperatureMax - temperatureMin;
+        return instance;
+    }
+
+    @Override
+    public float getTemperature(int iteration) {
+        /*
+         * Set temperature as a ratio of the max temperature to the number of iterations left, offset by the min
+         * temperature so as not to go below it
+         */
+        float ratio = ((samplerIterations - (float) iteration) / samplerIterations);
+        return (temperatureDifference * ratio) + temperatureMin;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * Drops quickly at first and then flattens out, scaled so that it reaches the min temperature on the last iteration.
+ */
+@Component
+public class LogarithmicCoolingSchedule implements CoolingSchedule {
+    private float temperatureMax;
+    private double coolingRate;
+
+    @Override
+    public CoolingSchedule getInstance(int samplerIterations, float temperatureMin, float temperatureMax) {
+        if (temperatureMin <= 0f || temperatureMax < temperatureMin) {
+            throw new IllegalArgumentException("LogarithmicCoolingSchedule requires 0 < annealingTemperatureMin <= annealingTemperatureMax, but got min=" + temperatureMin + " and max=" + temperatureMax + ".");
+        }
+
+        LogarithmicCoolingSchedule instance = new LogarithmicCoolingSchedule();
+        instance.temperatureMax = temperatureMax;
+        instance.coolingRate = ((temperatureMax / (double) temperatureMin) - 1d) / Math.log(1d + samplerIterations);
+        return instance;
+    }
+
+    @Override
+    public float getTemperature(int iteration) {
+        return (float) (temperatureMax / (1d + (coolingRate * Math.log(1d + iteration))));
+    }
+}
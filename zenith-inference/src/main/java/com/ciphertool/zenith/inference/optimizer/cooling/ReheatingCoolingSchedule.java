@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.springframework.stereotype.Component;
+
+/*
+ * Cools linearly, but if the score stops improving for a tenth of the run, heats back up to halfway between the current
+ * and the max temperature and cools linearly from there to the min over the iterations which are left.
+ */
+@Component
+public class ReheatingCoolingSchedule implements CoolingSchedule {
+    private static final int STAGNATION_DIVISOR = 10;
+
+    private int samplerIterations;
+    private float temperatureMin;
+    private float temperatureMax;
+    private int stagnationLimit;
+
+    private int rampStart;
+    private float rampTemperature;
+    private float bestScore = Float.NEGATIVE_INFINITY;
+    private int iterationsWithoutImprovement;
+
+    @Override
+    public CoolingSchedule getInstance(int samplerIterations, float temperatureMin, float temperatureMax) {
+        ReheatingCoolingSchedule instance = new ReheatingCoolingSchedule();
+        instance.samplerIterations = samplerIterations;
+        instance.temperatureMin = temperatureMin;
+        instance.temperatureMax = temperatureMax;
+        instance.stagnationLimit = Math.max(1, samplerIterations / STAGNATION_DIVISOR);
+        instance.rampStart = 0;
+        instance.rampTemperature = temperatureMax;
+        return instance;
+    }
+
+    @Override
+    public float getTemperature(int iteration) {
+        float ratio = ((samplerIterations - (float) iteration) / (samplerIterations - rampStart));
+        return ((rampTemperature - temperatureMin) * ratio) + temperatureMin;
+    }
+
+    @Override
+    public void onIterationComplete(int iteration, float acceptanceRate, float score) {
+        if (score > bestScore) {
+            bestScore = score;
+            iterationsWithoutImprovement = 0;
+            return;
+        }
+
+        iterationsWithoutImprovement ++;
+
+        if (iterationsWithoutImprovement >= stagnationLimit && iteration + 1 < samplerIterations) {
+            rampTemperature = (getTemperature(iteration) + temperatureMax) / 2f;
+            rampStart = iteration + 1;
+            iterationsWithoutImprovement = 0;
+        }
+    }
+
+    @Override
+    public double[] snapshot() {
+        return new double[]{rampStart, rampTemperature, bestScore, iterationsWithoutImprovement};
+    }
+
+    @Override
+    public void restore(double[] state) {
+        rampStart = (int) state[0];
+        rampTemperature = (float) state[1];
+        bestScore = (float) state[2];
+        iterationsWithoutImprovement = (int) state[3];
+    }
+}
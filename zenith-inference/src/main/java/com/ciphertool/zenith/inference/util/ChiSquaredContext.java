@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ChiSquaredContext implements CounterweightContext {
+    /*
+     * One row per letter code, each of length cipher length + 1 and indexed by letter count, laid out contiguously so
+     * that a whole evaluation stays within a single array.
+     */
+    private final float[] chiSquareds;
+    private final int rowLength;
+
+    public float get(int letter, int count) {
+        return chiSquareds[letter * rowLength + count];
+    }
+}
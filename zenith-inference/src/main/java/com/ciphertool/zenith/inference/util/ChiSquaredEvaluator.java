@@ -26,20 +26,13 @@ import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Component
 public class ChiSquaredEvaluator implements CounterweightEvaluator {
-    private static final String PRECOMPUTED_CHI_SQUAREDS_KEY = "precomputedChiSquareds";
-
     @Autowired
     private ArrayMarkovModel letterMarkovModel;
 
     @Override
-    public Map<String, Object> precompute(Cipher cipher) {
-        Map<String, Object> precomputedData = new HashMap<>(3);
-
+    public CounterweightContext precompute(Cipher cipher) {
         // Since we are using only ASCII letters as array indices, we're guaranteed to stay within 256
         int[] englishLetterCounts = new int[256];
 
@@ -48,7 +41,8 @@ public class ChiSquaredEvaluator implements CounterweightEvaluator {
             englishLetterCounts[node.getCumulativeString().charAt(0)] = Math.round(letterProbability * cipher.length());
         }
 
-        float[][] precomputedChiSquareds = new float[256][cipher.length() + 1];
+        int rowLength = cipher.length() + 1;
+        float[] precomputedChiSquareds = new float[LetterUtils.NUMBER_OF_LETTERS * rowLength];
 
         for (int i = 0; i < LanguageConstants.LOWERCASE_LETTERS.length; i ++) {
             for (int j = 0; j <= cipher.length(); j ++) {
@@ -56,22 +50,20 @@ public class ChiSquaredEvaluator implements CounterweightEvaluator {
                 long expectedCount = englishLetterCounts[LanguageConstants.LOWERCASE_LETTERS[i]];
                 float numerator = (float) Math.pow((float) (actualCount - expectedCount), 2.0f);
                 float denominator = Math.max(1f, expectedCount); // Prevent division by zero
-                precomputedChiSquareds[LanguageConstants.LOWERCASE_LETTERS[i]][j] = numerator / denominator;
+                precomputedChiSquareds[i * rowLength + j] = numerator / denominator;
             }
         }
 
-        precomputedData.put(PRECOMPUTED_CHI_SQUAREDS_KEY, precomputedChiSquareds);
-
-        return precomputedData;
+        return new ChiSquaredContext(precomputedChiSquareds, rowLength);
     }
 
     @Override
-    public float evaluate(Map<String, Object> precomputedData, Cipher cipher, String solutionString) {
+    public float evaluate(CounterweightContext precomputedData, Cipher cipher, String solutionString) {
         if (precomputedData == null) {
             precomputedData = precompute(cipher);
         }
 
-        float[][] precomputedChiSquareds = (float[][]) precomputedData.get(PRECOMPUTED_CHI_SQUAREDS_KEY);
+        ChiSquaredContext context = (ChiSquaredContext) precomputedData;
 
         int[] actualLetterCounts = new int[256];
 
@@ -81,7 +73,41 @@ public class ChiSquaredEvaluator implements CounterweightEvaluator {
             actualLetterCounts[solutionString.charAt(i)] ++;
         }
 
-        return computeSum(precomputedChiSquareds, actualLetterCounts);
+        return computeSum(context, actualLetterCounts);
+    }
+
+    @Override
+    public float evaluate(CounterweightContext precomputedData, Cipher cipher, byte[] solutionLetters) {
+        if (precomputedData == null) {
+            precomputedData = precompute(cipher);
+        }
+
+        ChiSquaredContext context = (ChiSquaredContext) precomputedData;
+        float[] precomputedChiSquareds = context.getChiSquareds();
+        int rowLength = context.getRowLength();
+
+        int[] actualLetterCounts = new int[LetterUtils.NUMBER_OF_LETTERS];
+
+        for (byte letter : solutionLetters) {
+            actualLetterCounts[letter] ++;
+        }
+
+        float sum = 0f;
+        for (int i = 0; i < actualLetterCounts.length; i ++) {
+            sum += precomputedChiSquareds[i * rowLength + actualLetterCounts[i]];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public float term(CounterweightContext precomputedData, int letter, int count) {
+        return ((ChiSquaredContext) precomputedData).get(letter, count);
+    }
+
+    @Override
+    public float finish(CounterweightContext precomputedData, double sum) {
+        return (float) sum;
     }
 
     private void resetLetterCounts(int[] actualLetterCounts) {
@@ -113,34 +139,11 @@ public class ChiSquaredEvaluator implements CounterweightEvaluator {
         actualLetterCounts['z'] = 0;
     }
 
-    private float computeSum(float[][] precomputedChiSquareds, int[] actualLetterCounts) {
+    private float computeSum(ChiSquaredContext context, int[] actualLetterCounts) {
         float sum = 0f;
-        sum += precomputedChiSquareds['a'][actualLetterCounts['a']];
-        sum += precomputedChiSquareds['b'][actualLetterCounts['b']];
-        sum += precomputedChiSquareds['c'][actualLetterCounts['c']];
-        sum += precomputedChiSquareds['d'][actualLetterCounts['d']];
-        sum += precomputedChiSquareds['e'][actualLetterCounts['e']];
-        sum += precomputedChiSquareds['f'][actualLetterCounts['f']];
-        sum += precomputedChiSquareds['g'][actualLetterCounts['g']];
-        sum += precomputedChiSquareds['h'][actualLetterCounts['h']];
-        sum += precomputedChiSquareds['i'][actualLetterCounts['i']];
-        sum += precomputedChiSquareds['j'][actualLetterCounts['j']];
-        sum += precomputedChiSquareds['k'][actualLetterCounts['k']];
-        sum += precomputedChiSquareds['l'][actualLetterCounts['l']];
-        sum += precomputedChiSquareds['m'][actualLetterCounts['m']];
-        sum += precomputedChiSquareds['n'][actualLetterCounts['n']];
-        sum += precomputedChiSquareds['o'][actualLetterCounts['o']];
-        sum += precomputedChiSquareds['p'][actualLetterCounts['p']];
-        sum += precomputedChiSquareds['q'][actualLetterCounts['q']];
-        sum += precomputedChiSquareds['r'][actualLetterCounts['r']];
-        sum += precomputedChiSquareds['s'][actualLetterCounts['s']];
-        sum += precomputedChiSquareds['t'][actualLetterCounts['t']];
-        sum += precomputedChiSquareds['u'][actualLetterCounts['u']];
-        sum += precomputedChiSquareds['v'][actualLetterCounts['v']];
-        sum += precomputedChiSquareds['w'][actualLetterCounts['w']];
-        sum += precomputedChiSquareds['x'][actualLetterCounts['x']];
-        sum += precomputedChiSquareds['y'][actualLetterCounts['y']];
-        sum += precomputedChiSquareds['z'][actualLetterCounts['z']];
+        for (int i = 0; i < LanguageConstants.LOWERCASE_LETTERS.length; i ++) {
+            sum += context.get(i, actualLetterCounts[LanguageConstants.LOWERCASE_LETTERS[i]]);
+        }
 
         return sum;
     }
@@ -21,9 +21,21 @@ package com.ciphertool.zenith.inference.util;
 
 import com.ciphertool.zenith.inference.entities.Cipher;
 
-import java.util.Map;
 
 public interface CounterweightEvaluator {
-    Map<String, Object> precompute(Cipher cipher);
-    float evaluate(Map<String, Object> precomputedData, Cipher cipher, String solutionString);
+    CounterweightContext precompute(Cipher cipher);
+    float evaluate(CounterweightContext precomputedData, Cipher cipher, String solutionString);
+
+    /*
+     * Same as above, but reads the plaintext as letter codes, where 'a' is 0 and 'z' is 25.
+     */
+    float evaluate(CounterweightContext precomputedData, Cipher cipher, byte[] solutionLetters);
+
+    /*
+     * The evaluation is a function of a sum of per-letter terms, which lets LetterFrequencies keep a running sum and
+     * update it in O(1) when a symbol's occurrences move from one letter to another.  The letter is a letter code.
+     */
+    float term(CounterweightContext precomputedData, int letter, int count);
+
+    float finish(CounterweightContext precomputedData, double sum);
 }
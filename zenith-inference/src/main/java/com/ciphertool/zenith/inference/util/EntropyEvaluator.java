@@ -22,19 +22,12 @@ package com.ciphertool.zenith.inference.util;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Component
 public class EntropyEvaluator implements CounterweightEvaluator {
-    private static final String PRECOMPUTED_ENTROPIES_KEY = "precomputedEntropies";
-
     private static float BASE = 2f; // Assuming we want the unit of entropy to be 'bit'
 
     @Override
-    public Map<String, Object> precompute(Cipher cipher) {
-        Map<String, Object> precomputedData = new HashMap<>(2);
-
+    public CounterweightContext precompute(Cipher cipher) {
         double[] precomputedEntropies = new double[cipher.length() + 1];
         precomputedEntropies[0] = 0f;
 
@@ -43,20 +36,18 @@ public class EntropyEvaluator implements CounterweightEvaluator {
             precomputedEntropies[i] = Math.abs(MathUtils.logBase(probability, BASE) * probability);
         }
 
-        precomputedData.put(PRECOMPUTED_ENTROPIES_KEY, precomputedEntropies);
-
-        return precomputedData;
+        return new EntropyContext(precomputedEntropies);
     }
 
     @Override
-    public float evaluate(Map<String, Object> precomputedData, Cipher cipher, String solutionString) {
+    public float evaluate(CounterweightContext precomputedData, Cipher cipher, String solutionString) {
         if (precomputedData == null) {
             precomputedData = precompute(cipher);
         }
 
         // Since we are using only ASCII letters as array indices, we're guaranteed to stay within 256
         int[] letterCounts = new int[256];
-        double[] precomputedEntropies = (double[]) precomputedData.get(PRECOMPUTED_ENTROPIES_KEY);
+        double[] precomputedEntropies = ((EntropyContext) precomputedData).getEntropies();
 
         resetLetterCounts(letterCounts);
 
@@ -67,6 +58,37 @@ public class EntropyEvaluator implements CounterweightEvaluator {
         return computeSum(precomputedEntropies, letterCounts);
     }
 
+    @Override
+    public float evaluate(CounterweightContext precomputedData, Cipher cipher, byte[] solutionLetters) {
+        if (precomputedData == null) {
+            precomputedData = precompute(cipher);
+        }
+
+        int[] letterCounts = new int[LetterUtils.NUMBER_OF_LETTERS];
+        double[] precomputedEntropies = ((EntropyContext) precomputedData).getEntropies();
+
+        for (byte letter : solutionLetters) {
+            letterCounts[letter] ++;
+        }
+
+        float sum = 0f;
+        for (int letterCount : letterCounts) {
+            sum += precomputedEntropies[letterCount];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public float term(CounterweightContext precomputedData, int letter, int count) {
+        return (float) (((EntropyContext) precomputedData).getEntropies())[count];
+    }
+
+    @Override
+    public float finish(CounterweightContext precomputedData, double sum) {
+        return (float) sum;
+    }
+
     private void resetLetterCounts(int[] letterCounts) {
         letterCounts['a'] = 0;
         letterCounts['b'] = 0;
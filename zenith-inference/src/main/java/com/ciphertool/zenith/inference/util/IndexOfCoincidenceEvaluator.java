@@ -22,40 +22,30 @@ package com.ciphertool.zenith.inference.util;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Component
 public class IndexOfCoincidenceEvaluator implements CounterweightEvaluator {
-    private static final String PRECOMPUTED_NOMINATOR_VALUES_KEY = "precomputedNominatorValues";
-    private static final String DENOMINATOR_KEY = "denominator";
-
     @Override
-    public Map<String, Object> precompute(Cipher cipher) {
-        Map<String, Object> precomputedData = new HashMap<>(3);
-
+    public CounterweightContext precompute(Cipher cipher) {
         int[] precomputedNominatorValues = new int[cipher.length() + 1];
 
         for (int i = 0; i <= cipher.length(); i ++) {
             precomputedNominatorValues[i] = i * (i - 1);
         }
 
-        precomputedData.put(DENOMINATOR_KEY, (float) cipher.length() * (cipher.length() - 1));
-        precomputedData.put(PRECOMPUTED_NOMINATOR_VALUES_KEY, precomputedNominatorValues);
-
-        return precomputedData;
+        return new IndexOfCoincidenceContext(precomputedNominatorValues, (float) cipher.length() * (cipher.length() - 1));
     }
 
     @Override
-    public float evaluate(Map<String, Object> precomputedData, Cipher cipher, String solutionString) {
+    public float evaluate(CounterweightContext precomputedData, Cipher cipher, String solutionString) {
         if (precomputedData == null) {
             precomputedData = precompute(cipher);
         }
 
         // Since we are using only ASCII letters as array indices, we're guaranteed to stay within 256
         int[] letterCounts = new int[256];
-        int[] precomputedNominatorValues = (int[]) precomputedData.get(PRECOMPUTED_NOMINATOR_VALUES_KEY);
-        float denominator = (float) precomputedData.get(DENOMINATOR_KEY);
+        IndexOfCoincidenceContext context = (IndexOfCoincidenceContext) precomputedData;
+        int[] precomputedNominatorValues = context.getNominatorValues();
+        float denominator = context.getDenominator();
 
         resetLetterCounts(letterCounts);
 
@@ -66,6 +56,39 @@ public class IndexOfCoincidenceEvaluator implements CounterweightEvaluator {
         return (float) buildNumerator(precomputedNominatorValues, letterCounts) / denominator;
     }
 
+    @Override
+    public float evaluate(CounterweightContext precomputedData, Cipher cipher, byte[] solutionLetters) {
+        if (precomputedData == null) {
+            precomputedData = precompute(cipher);
+        }
+
+        int[] letterCounts = new int[LetterUtils.NUMBER_OF_LETTERS];
+        IndexOfCoincidenceContext context = (IndexOfCoincidenceContext) precomputedData;
+        int[] precomputedNominatorValues = context.getNominatorValues();
+        float denominator = context.getDenominator();
+
+        for (byte letter : solutionLetters) {
+            letterCounts[letter] ++;
+        }
+
+        int numerator = 0;
+        for (int letterCount : letterCounts) {
+            numerator += precomputedNominatorValues[letterCount];
+        }
+
+        return (float) numerator / denominator;
+    }
+
+    @Override
+    public float term(CounterweightContext precomputedData, int letter, int count) {
+        return ((IndexOfCoincidenceContext) precomputedData).getNominatorValues()[count];
+    }
+
+    @Override
+    public float finish(CounterweightContext precomputedData, double sum) {
+        return (float) sum / ((IndexOfCoincidenceContext) precomputedData).getDenominator();
+    }
+
     private void resetLetterCounts(int[] letterCounts) {
         letterCounts['a'] = 0;
         letterCounts['b'] = 0;
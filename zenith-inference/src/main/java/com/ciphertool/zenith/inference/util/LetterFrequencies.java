@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.util;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+
+import java.util.Arrays;
+
+/*
+ * Letter counts for a plaintext, along with the running sum of a CounterweightEvaluator's per-letter terms.  When a
+ * single cipher symbol is remapped, all of its occurrences move from one letter to another, so only two counts and two
+ * terms change, and the counterweight can be re-evaluated without rescanning the plaintext.
+ *
+ * Updates stay pending until they are committed or rolled back, so a proposal which remaps several symbols can apply
+ * one update per symbol and still be undone as a whole.  Not thread-safe.
+ */
+public class LetterFrequencies {
+    private final CounterweightEvaluator counterweightEvaluator;
+    private final CounterweightContext precomputedData;
+    private final int[] letterCounts = new int[LetterUtils.NUMBER_OF_LETTERS];
+    private final byte[] letters;
+    private double sum;
+
+    private static final int INITIAL_PENDING_CAPACITY = 4;
+
+    private int[][] pendingIndices = new int[INITIAL_PENDING_CAPACITY][];
+    private int[] pendingFrom = new int[INITIAL_PENDING_CAPACITY];
+    private int[] pendingTo = new int[INITIAL_PENDING_CAPACITY];
+    private int pendingCount;
+
+    public LetterFrequencies(CounterweightEvaluator counterweightEvaluator, CounterweightContext precomputedData, Cipher cipher, byte[] solutionLetters) {
+        this.counterweightEvaluator = counterweightEvaluator;
+        this.precomputedData = precomputedData != null ? precomputedData : counterweightEvaluator.precompute(cipher);
+        this.letters = solutionLetters.clone();
+
+        recount(solutionLetters);
+    }
+
+    public void recount(byte[] solutionLetters) {
+        System.arraycopy(solutionLetters, 0, letters, 0, letters.length);
+
+        for (int i = 0; i < letterCounts.length; i++) {
+            letterCounts[i] = 0;
+        }
+
+        for (byte letter : letters) {
+            letterCounts[letter] ++;
+        }
+
+        sum = 0d;
+        for (int i = 0; i < letterCounts.length; i++) {
+            sum += counterweightEvaluator.term(precomputedData, i, letterCounts[i]);
+        }
+
+        commit();
+    }
+
+    /*
+     * Applies a remapping of the symbol at cipherSymbolIndices, whose new letter has already been written to
+     * solutionLetters.
+     */
+    public void update(byte[] solutionLetters, int[] cipherSymbolIndices) {
+        int from = letters[cipherSymbolIndices[0]];
+        int to = solutionLetters[cipherSymbolIndices[0]];
+
+        if (from == to) {
+            return;
+        }
+
+        move(cipherSymbolIndices, from, to);
+
+        if (pendingCount == pendingFrom.length) {
+            pendingIndices = Arrays.copyOf(pendingIndices, pendingCount * 2);
+            pendingFrom = Arrays.copyOf(pendingFrom, pendingCount * 2);
+            pendingTo = Arrays.copyOf(pendingTo, pendingCount * 2);
+        }
+
+        pendingIndices[pendingCount] = cipherSymbolIndices;
+        pendingFrom[pendingCount] = from;
+        pendingTo[pendingCount] = to;
+        pendingCount ++;
+    }
+
+    private void move(int[] cipherSymbolIndices, int from, int to) {
+        for (int cipherSymbolIndex : cipherSymbolIndices) {
+            letters[cipherSymbolIndex] = (byte) to;
+        }
+
+        adjust(from, -cipherSymbolIndices.length);
+        adjust(to, cipherSymbolIndices.length);
+    }
+
+    private void adjust(int letter, int delta) {
+        sum -= counterweightEvaluator.term(precomputedData, letter, letterCounts[letter]);
+        letterCounts[letter] += delta;
+        sum += counterweightEvaluator.term(precomputedData, letter, letterCounts[letter]);
+    }
+
+    public void commit() {
+        for (int i = 0; i < pendingCount; i++) {
+            pendingIndices[i] = null;
+        }
+
+        pendingCount = 0;
+    }
+
+    public void rollback() {
+        // Undo in reverse, since a later update may have moved the same letters as an earlier one
+        for (int i = pendingCount - 1; i >= 0; i--) {
+            move(pendingIndices[i], pendingTo[i], pendingFrom[i]);
+        }
+
+        commit();
+    }
+
+    public float evaluate() {
+        return counterweightEvaluator.finish(precomputedData, sum);
+    }
+
+    public int getLetterCount(int letter) {
+        return letterCounts[letter];
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.util;
+
+import com.ciphertool.zenith.math.selection.AliasSampler;
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/*
+ * Draws plaintext letters for proposals in constant time.  There is one distribution shared by every cipher symbol, and
+ * optionally a distribution of its own for any symbol, keyed by symbol ID.  Instances are immutable and safe to share.
+ */
+public class LetterSampler {
+    // How much of the probability mass is spread evenly across the letters rather than following the language model
+    public static final float DEFAULT_FLAT_MASS_WEIGHT = 0.8f;
+
+    private final char[] letters;
+    private final AliasSampler letterDistribution;
+    private final AliasSampler[] symbolDistributions;
+
+    public LetterSampler(char[] letters, double[] weights) {
+        this(letters, new AliasSampler(weights), null);
+
+        if (letters.length != weights.length) {
+            throw new IllegalArgumentException("Expected one weight per letter, but got " + weights.length + " weights for " + letters.length + " letters.");
+        }
+    }
+
+    private LetterSampler(char[] letters, AliasSampler letterDistribution, AliasSampler[] symbolDistributions) {
+        this.letters = letters;
+        this.letterDistribution = letterDistribution;
+        this.symbolDistributions = symbolDistributions;
+    }
+
+    /*
+     * Instead of using a uniform distribution or one purely based on English, we flatten out the English letter unigram
+     * probabilities by the flatMassWeight.  This seems to be a good balance for the letter sampler so that it slightly
+     * prefers more likely characters while still allowing for novel characters to be sampled.
+     */
+    public static LetterSampler fromLanguageModel(ArrayMarkovModel letterMarkovModel, float flatMassWeight) {
+        List<TreeNGram> firstOrderNodes = letterMarkovModel.getFirstOrderNodes();
+
+        char[] letters = new char[firstOrderNodes.size()];
+        double[] weights = new double[firstOrderNodes.size()];
+        double flatMass = (1d / firstOrderNodes.size()) * flatMassWeight;
+
+        for (int i = 0; i < firstOrderNodes.size(); i ++) {
+            TreeNGram node = firstOrderNodes.get(i);
+            double letterProbability = (double) node.getCount() / (double) letterMarkovModel.getTotalNGramCount();
+
+            letters[i] = node.getCumulativeString().charAt(0);
+            weights[i] = (letterProbability * (1d - flatMassWeight)) + flatMass;
+        }
+
+        return new LetterSampler(letters, weights);
+    }
+
+    /*
+     * Returns a copy which draws from the given weights, in the same letter order, for each symbol ID with a non-null
+     * row.  Symbols without a row keep using the shared distribution.
+     */
+    public LetterSampler withSymbolWeights(double[][] weightsBySymbolId) {
+        AliasSampler[] distributions = new AliasSampler[weightsBySymbolId.length];
+
+        for (int symbolId = 0; symbolId < weightsBySymbolId.length; symbolId ++) {
+            double[] weights = weightsBySymbolId[symbolId];
+
+            if (weights == null) {
+                continue;
+            }
+
+            if (weights.length != letters.length) {
+                throw new IllegalArgumentException("Expected one weight per letter for symbol ID " + symbolId + ", but got " + weights.length + " weights for " + letters.length + " letters.");
+            }
+
+            distributions[symbolId] = new AliasSampler(weights);
+        }
+
+        return new LetterSampler(letters, letterDistribution, distributions);
+    }
+
+    public char sample(RandomGenerator random) {
+        return letters[letterDistribution.sample(random)];
+    }
+
+    public char sample(int symbolId, RandomGenerator random) {
+        if (symbolDistributions != null && symbolId >= 0 && symbolId < symbolDistributions.length && symbolDistributions[symbolId] != null) {
+            return letters[symbolDistributions[symbolId].sample(random)];
+        }
+
+        return letters[letterDistribution.sample(random)];
+    }
+
+    public char[] getLetters() {
+        return letters.clone();
+    }
+}
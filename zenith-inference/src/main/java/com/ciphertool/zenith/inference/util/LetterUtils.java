@@ -19,7 +19,7 @@
 
 package com.ciphertool.zenith.inference.util;
 
-import java.util.concurrent.ThreadLocalRandom;
+import com.ciphertool.zenith.math.random.RandomSource;
 
 public class LetterUtils {
     public static final int ASCII_OFFSET = 97;
@@ -35,7 +35,7 @@ public class LetterUtils {
          * Get a random number between 1 and 26 (inclusive) for a letter in the English alphabet using the ASCII decimal
          * offset.
          */
-        int randomIndex = (int) (ThreadLocalRandom.current().nextDouble() * NUMBER_OF_LETTERS);
+        int randomIndex = (int) (RandomSource.current().nextDouble() * NUMBER_OF_LETTERS);
 
         return ordinalToChar(randomIndex);
     }
@@ -58,4 +58,36 @@ public class LetterUtils {
 
         return (char) (asciiValue + ASCII_OFFSET);
     }
+
+    /**
+     * Encodes a lower case plaintext string as letter codes, where 'a' is 0 and 'z' is 25.
+     *
+     * @param plaintext the lower case plaintext to encode
+     * @return the letter codes
+     */
+    public static byte[] toLetterCodes(String plaintext) {
+        byte[] letterCodes = new byte[plaintext.length()];
+
+        for (int i = 0; i < letterCodes.length; i++) {
+            letterCodes[i] = (byte) (plaintext.charAt(i) - ASCII_OFFSET);
+        }
+
+        return letterCodes;
+    }
+
+    /**
+     * Decodes letter codes back into a lower case plaintext string.
+     *
+     * @param letterCodes the letter codes to decode
+     * @return the lower case plaintext
+     */
+    public static String fromLetterCodes(byte[] letterCodes) {
+        char[] plaintext = new char[letterCodes.length];
+
+        for (int i = 0; i < letterCodes.length; i++) {
+            plaintext[i] = (char) (letterCodes[i] + ASCII_OFFSET);
+        }
+
+        return new String(plaintext);
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.benchmark;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
+import com.ciphertool.zenith.inference.dao.CipherDao;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.NgramAndIndexOfCoincidencePlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.cache.CachingPlaintextEvaluator;
+import com.ciphertool.zenith.inference.optimizer.AbstractSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.MultiChainSimulatedAnnealingSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.SimulatedAnnealingSolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.SolutionOptimizer;
+import com.ciphertool.zenith.inference.optimizer.cooling.LinearCoolingSchedule;
+import com.ciphertool.zenith.inference.printer.CipherSolutionPrinter;
+import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import com.ciphertool.zenith.model.markov.LogProbabilityQuantization;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BenchmarkHarnessTest {
+    @Test
+    public void given_cipherAndSeeds_when_running_then_replaysEachSeedAndRecordsResults() {
+        Cipher cipher = new Cipher("test", 1, 1);
+        CipherDao cipherDao = mock(CipherDao.class);
+        when(cipherDao.findByCipherName("test")).thenReturn(cipher);
+
+        BenchmarkHarness harness = new BenchmarkHarness();
+        ReflectionTestUtils.setField(harness, "cipherDao", cipherDao);
+
+        PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
+        List<Object> seedsSeen = new ArrayList<>();
+
+        // Stands in for an optimizer which scores two proposals and returns the last
+        SolutionOptimizer optimizer = mock(SolutionOptimizer.class);
+        when(optimizer.optimize(eq(cipher), anyInt(), anyMap(), any(), any(PlaintextEvaluator.class), isNull())).thenAnswer(invocation -> {
+            Map<String, Object> configuration = invocation.getArgument(2);
+            PlaintextEvaluator countingEvaluator = invocation.getArgument(4);
+            seedsSeen.add(configuration.get(AbstractSolutionOptimizer.SEED));
+
+            CipherSolution solution = new CipherSolution(cipher, 1);
+            countingEvaluator.evaluate(null, cipher, solution, "a", null);
+            countingEvaluator.evaluate(null, cipher, solution, "b", null);
+            solution.setScores(new Fitness[]{new MaximizingFitness((Long) configuration.get(AbstractSolutionOptimizer.SEED))});
+
+            return solution;
+        });
+
+        List<BenchmarkResult> results = harness.run(List.of("test"), List.of(1L, 2L), 1, optimizer, Collections.emptyMap(), Collections.emptyList(), evaluator);
+
+        assertEquals(List.of(1L, 2L), seedsSeen);
+        assertEquals(2, results.size());
+
+        BenchmarkResult second = results.get(1);
+        assertEquals("test", second.getCipherName());
+        assertEquals(2L, second.getSeed());
+        assertEquals(2L, second.getEvaluations());
+        assertTrue(second.getEvaluationsPerSecond() > 0d);
+        assertEquals(2.0d, second.getScore(), 0.0d);
+        assertNull(second.getKnownSolutionProportion());
+
+        String csv = harness.toCsv(results);
+        assertTrue(csv.startsWith("cipherName,seed,"));
+        assertEquals(3, csv.split("\n").length);
+    }
+
+    @Test
+    public void given_multiChainOptimizer_when_running_then_findsTheCounterweightedEvaluatorBehindTheCounter() {
+        ArrayMarkovModel model = new ArrayMarkovModel(4, 0.01f);
+        for (String value : new String[]{"then", "hent", "enth", "nthe"}) {
+            TreeNGram ngram = new TreeNGram(value);
+            ngram.setLogProbability(-1.0d);
+            model.addNode(ngram);
+        }
+
+        Cipher cipher = new Cipher("test", 1, 12);
+        cipher.setCiphertext(Arrays.asList("A", "B", "C", "D", "A", "B", "C", "D", "A", "B", "C", "D"));
+        CipherDao cipherDao = mock(CipherDao.class);
+        when(cipherDao.findByCipherName("test")).thenReturn(cipher);
+
+        BenchmarkHarness harness = new BenchmarkHarness();
+        ReflectionTestUtils.setField(harness, "cipherDao", cipherDao);
+
+        MultiChainSimulatedAnnealingSolutionOptimizer optimizer = new MultiChainSimulatedAnnealingSolutionOptimizer();
+        ReflectionTestUtils.setField(optimizer, "letterMarkovModel", model);
+        ReflectionTestUtils.setField(optimizer, "plaintextTransformationManager", mock(PlaintextTransformationManager.class));
+        ReflectionTestUtils.setField(optimizer, "cipherSolutionPrinter", mock(CipherSolutionPrinter.class));
+        ReflectionTestUtils.setField(optimizer, "coolingSchedules", List.of(new LinearCoolingSchedule()));
+        ReflectionTestUtils.setField(optimizer, "letterSampler", new LetterSampler(new char[]{'e', 'h', 'n', 't'}, new double[]{1d, 1d, 1d, 1d}));
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS, 20);
+        configuration.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MIN, 0.01f);
+        configuration.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MAX, 1.0f);
+        configuration.put(MultiChainSimulatedAnnealingSolutionOptimizer.CHAINS, 2);
+
+        PlaintextEvaluator evaluator = new CachingPlaintextEvaluator(new NgramAndIndexOfCoincidencePlaintextEvaluator(model, new IndexOfCoincidenceEvaluator(), Collections.emptyMap()), 1024L * 1024L);
+
+        List<BenchmarkResult> results = harness.run(List.of("test"), List.of(1L, 1L), 1, optimizer, configuration, Collections.emptyList(), evaluator);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).getEvaluations() > 0L);
+        assertFalse(Double.isNaN(results.get(0).getScore()));
+        assertEquals(results.get(0).getScore(), results.get(1).getScore(), 0.0d);
+    }
+
+    @Test
+    public void given_quantizations_when_comparing_then_replaysEachWithTheModelSwitchedAndSwitchesBack() {
+        ArrayMarkovModel model = new ArrayMarkovModel(4, 0.01f);
+        for (String value : new String[]{"then", "hent", "enth", "nthe"}) {
+            TreeNGram ngram = new TreeNGram(value);
+            ngram.setLogProbability(-1.0d);
+            model.addNode(ngram);
+        }
+
+        Cipher cipher = new Cipher("test", 1, 1);
+        cipher.setCiphertext(List.of("A"));
+        cipher.putKnownSolutionMapping("A", "t");
+        CipherDao cipherDao = mock(CipherDao.class);
+        when(cipherDao.findByCipherName("test")).thenReturn(cipher);
+
+        BenchmarkHarness harness = new BenchmarkHarness();
+        ReflectionTestUtils.setField(harness, "cipherDao", cipherDao);
+        ReflectionTestUtils.setField(harness, "knownSolutionCorrectnessThreshold", 0.9d);
+
+        // Solves the cipher only while the full precision table is in use
+        List<LogProbabilityQuantization> quantizationsSeen = new ArrayList<>();
+        SolutionOptimizer optimizer = mock(SolutionOptimizer.class);
+        when(optimizer.optimize(eq(cipher), anyInt(), anyMap(), any(), any(PlaintextEvaluator.class), isNull())).thenAnswer(invocation -> {
+            quantizationsSeen.add(model.getQuantization());
+
+            CipherSolution solution = new CipherSolution(cipher, 1);
+            solution.putMapping("A", model.getQuantization() == LogProbabilityQuantization.NONE ? 't' : 'e');
+            solution.setScores(new Fitness[]{new MaximizingFitness(-1.0d)});
+
+            return solution;
+        });
+
+        Map<LogProbabilityQuantization, List<BenchmarkResult>> results = harness.compareQuantizations(List.of(LogProbabilityQuantization.NONE, LogProbabilityQuantization.CODEBOOK_8), model, List.of("test"), List.of(1L, 2L), 1, optimizer, Collections.emptyMap(), Collections.emptyList(), mock(PlaintextEvaluator.class));
+
+        assertEquals(List.of(LogProbabilityQuantization.NONE, LogProbabilityQuantization.NONE, LogProbabilityQuantization.CODEBOOK_8, LogProbabilityQuantization.CODEBOOK_8), quantizationsSeen);
+        assertEquals(LogProbabilityQuantization.NONE, model.getQuantization());
+        assertTrue(harness.summarize(results.get(LogProbabilityQuantization.NONE)).startsWith("solved=2 of 2 (100.00%)"));
+        assertTrue(harness.summarize(results.get(LogProbabilityQuantization.CODEBOOK_8)).startsWith("solved=0 of 2 (0.00%)"));
+    }
+
+    @Test
+    public void given_unknownCipher_when_running_then_throwsIllegalArgumentException() {
+        BenchmarkHarness harness = new BenchmarkHarness();
+        ReflectionTestUtils.setField(harness, "cipherDao", mock(CipherDao.class));
+
+        SolutionOptimizer optimizer = mock(SolutionOptimizer.class);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> harness.run(List.of("nonexistent"), List.of(1L), 1, optimizer, Collections.emptyMap(), Collections.emptyList(), mock(PlaintextEvaluator.class)));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.benchmark;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CountingPlaintextEvaluatorTest {
+    @Test
+    public void given_instancesFromGetInstance_when_evaluating_then_countsEveryEvaluation() {
+        PlaintextEvaluator delegate = mock(PlaintextEvaluator.class);
+        PlaintextEvaluator delegateInstance = mock(PlaintextEvaluator.class);
+        SolutionScore score = new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(1.0d)});
+
+        when(delegate.getInstance(any())).thenReturn(delegateInstance);
+        when(delegate.evaluate(any(), any(), any(), anyString(), any())).thenReturn(score);
+        when(delegateInstance.evaluate(any(), any(), any(), any(byte[].class), any())).thenReturn(score);
+
+        CountingPlaintextEvaluator evaluator = new CountingPlaintextEvaluator(delegate);
+        PlaintextEvaluator instance = evaluator.getInstance(Collections.emptyMap());
+
+        Cipher cipher = new Cipher("test", 1, 1);
+        CipherSolution solution = new CipherSolution(cipher, 1);
+
+        assertSame(score, evaluator.evaluate(null, cipher, solution, "a", null));
+        assertSame(score, instance.evaluate(null, cipher, solution, new byte[]{0}, null));
+        instance.evaluate(null, cipher, solution, new byte[]{0}, null);
+
+        assertEquals(3L, evaluator.getEvaluations());
+    }
+
+    @Test
+    public void given_batchEvaluator_when_wrapping_then_forwardsBatchesAndCountsEveryProposal() {
+        BatchPlaintextEvaluator delegate = mock(BatchPlaintextEvaluator.class);
+        BatchPlaintextEvaluator delegateInstance = mock(BatchPlaintextEvaluator.class);
+        List<ProposalScore> scores = List.of(new ProposalScore(new float[0], new Fitness[]{new MaximizingFitness(1.0d)}));
+
+        when(delegate.getInstance(any())).thenReturn(delegateInstance);
+        when(delegate.evaluateBatch(any(), any(), anyList())).thenReturn(scores);
+        when(delegateInstance.evaluateBatchAsync(any(), any(), anyList())).thenReturn(CompletableFuture.completedFuture(scores));
+
+        CountingPlaintextEvaluator evaluator = CountingPlaintextEvaluator.wrap(delegate);
+        PlaintextEvaluator instance = evaluator.getInstance(Collections.emptyMap());
+
+        assertTrue(evaluator instanceof BatchPlaintextEvaluator);
+        assertTrue(instance instanceof BatchPlaintextEvaluator);
+
+        Cipher cipher = new Cipher("test", 1, 1);
+
+        assertSame(scores, ((BatchPlaintextEvaluator) evaluator).evaluateBatch(null, cipher, List.of("a", "b")));
+        assertSame(scores, ((BatchPlaintextEvaluator) instance).evaluateBatchAsync(null, cipher, List.of("a", "b", "c")).join());
+
+        assertEquals(5L, evaluator.getEvaluations());
+    }
+
+    @Test
+    public void given_unbatchedEvaluator_when_wrapping_then_doesNotOfferBatches() {
+        assertFalse(CountingPlaintextEvaluator.wrap(mock(PlaintextEvaluator.class)) instanceof BatchPlaintextEvaluator);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.checkpoint;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CheckpointStoreTest {
+    @Test
+    public void given_noCheckpointFile_when_creatingFromConfiguration_then_returnsNull() {
+        assertNull(CheckpointStore.fromConfiguration(new HashMap<>()));
+    }
+
+    @Test
+    public void given_savedCheckpoint_when_loading_then_restoresEveryField(@TempDir Path tempDir) {
+        Cipher cipher = buildCipher("w", "x", "y", "z");
+        CheckpointStore store = new CheckpointStore(tempDir.resolve("run.ckpt"), 10);
+
+        byte[] bestMappings = {'a', 'b', 'c', 'd'};
+        EpochProgress progress = new EpochProgress(20, new byte[]{'d', 'c', 'b', 'a'}, -1.5f, 3, 1234L, 42L, new double[]{0.25d, 7d});
+        // Out of order, as epochs which run concurrently can complete
+        BitSet completedEpochs = new BitSet();
+        completedEpochs.set(0);
+        completedEpochs.set(2);
+
+        store.save(new SolveCheckpoint("SimulatedAnnealingSolutionOptimizer", CheckpointStore.fingerprint(cipher), completedEpochs, 1, 5000L, bestMappings, progress));
+
+        SolveCheckpoint loaded = store.load("SimulatedAnnealingSolutionOptimizer", cipher);
+
+        assertEquals(completedEpochs, loaded.getCompletedEpochs());
+        assertEquals(1, loaded.getFirstIncompleteEpoch());
+        assertEquals(1, loaded.getCorrectSolutions());
+        assertEquals(5000L, loaded.getTotalElapsed());
+        assertArrayEquals(bestMappings, loaded.getBestMappings());
+        assertEquals(20, loaded.getEpochInProgress().getIteration());
+        assertArrayEquals(new byte[]{'d', 'c', 'b', 'a'}, loaded.getEpochInProgress().getMappings());
+        assertEquals(-1.5f, loaded.getEpochInProgress().getBestScore(), 0f);
+        assertEquals(3, loaded.getEpochInProgress().getIterationsWithoutImprovement());
+        assertEquals(1234L, loaded.getEpochInProgress().getElapsed());
+        assertEquals(42L, loaded.getEpochInProgress().getRandomSeed());
+        assertArrayEquals(new double[]{0.25d, 7d}, loaded.getEpochInProgress().getCoolingScheduleState());
+
+        CipherSolution solution = CheckpointStore.toSolution(cipher, 4, loaded.getBestMappings());
+        assertEquals("abcd", solution.asSingleLineString());
+        assertArrayEquals(bestMappings, CheckpointStore.toMappings(cipher, solution));
+
+        store.delete();
+        assertFalse(Files.exists(tempDir.resolve("run.ckpt")));
+    }
+
+    @Test
+    public void given_checkpointForAnotherCipher_when_loading_then_throwsIllegalArgumentException(@TempDir Path tempDir) {
+        CheckpointStore store = new CheckpointStore(tempDir.resolve("run.ckpt"), 0);
+        store.save(new SolveCheckpoint("SimulatedAnnealingSolutionOptimizer", CheckpointStore.fingerprint(buildCipher("w", "x", "y", "z")), new BitSet(), 0, 10L, null, null));
+
+        assertThrows(IllegalArgumentException.class, () -> store.load("SimulatedAnnealingSolutionOptimizer", buildCipher("z", "y", "x", "w")));
+        assertThrows(IllegalArgumentException.class, () -> store.load("GeneticAlgorithmSolutionOptimizer", buildCipher("w", "x", "y", "z")));
+    }
+
+    @Test
+    public void given_interval_when_checkingDue_then_onlyDueOnMultiples() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(CheckpointStore.CHECKPOINT_FILE, "run.ckpt");
+        configuration.put(CheckpointStore.CHECKPOINT_ITERATIONS, 5);
+
+        CheckpointStore store = CheckpointStore.fromConfiguration(configuration);
+
+        assertTrue(store.isDue(10));
+        assertFalse(store.isDue(7));
+        assertFalse(new CheckpointStore(Path.of("run.ckpt"), 0).isDue(10));
+    }
+
+    private Cipher buildCipher(String... ciphertext) {
+        Cipher cipher = new Cipher("test", 1, ciphertext.length);
+        cipher.setCiphertext(List.of(ciphertext));
+
+        return cipher;
+    }
+}
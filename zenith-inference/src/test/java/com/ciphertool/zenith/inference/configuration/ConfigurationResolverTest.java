@@ -30,9 +30,9 @@ import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.optimizer.OnEpochComplete;
 import com.ciphertool.zenith.inference.optimizer.SolutionOptimizer;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -169,7 +169,7 @@ public class ConfigurationResolverTest {
         }
 
         @Override
-        public SolutionScore evaluate(Map<String, Object> precomputedData,
+        public SolutionScore evaluate(CounterweightContext precomputedData,
                                       com.ciphertool.zenith.inference.entities.Cipher cipher,
                                       com.ciphertool.zenith.inference.entities.CipherSolution solution,
                                       String solutionString,
@@ -178,8 +178,8 @@ public class ConfigurationResolverTest {
         }
 
         @Override
-        public Map<String, Object> getPrecomputedCounterweightData(com.ciphertool.zenith.inference.entities.Cipher cipher) {
-            return new HashMap<>();
+        public CounterweightContext getPrecomputedCounterweightData(com.ciphertool.zenith.inference.entities.Cipher cipher) {
+            return null;
         }
 
         @Override
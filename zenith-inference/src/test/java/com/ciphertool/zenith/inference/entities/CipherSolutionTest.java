@@ -148,4 +148,34 @@ public class CipherSolutionTest {
         assertEquals(solution.getMappings(), clone.getMappings());
         assertNull(clone.getScores());
     }
+
+    @Test
+    public void given_symbolIds_when_settingMappings_then_visibleThroughKeyedMappings() {
+        Cipher cipher = new Cipher("test", 1, 3);
+        cipher.setCiphertext(Arrays.asList("A", "B", "A"));
+
+        CipherSolution solution = new CipherSolution(cipher, 2);
+        solution.putMapping("A", 'x');
+        solution.putMapping("B", 'y');
+
+        assertEquals(2, solution.getMappingCount());
+        assertEquals('x', solution.getMapping(cipher.getSymbolId("A")));
+
+        solution.setMapping(cipher.getSymbolId("A"), 'z');
+
+        assertEquals('z', solution.getMappings().get("A"));
+        assertEquals("zyz", solution.asSingleLineString());
+    }
+
+    @Test
+    public void given_unknownSymbolOrNonAsciiPlaintext_when_puttingMapping_then_rejected() {
+        Cipher cipher = new Cipher("test", 1, 1);
+        cipher.setCiphertext(Arrays.asList("A"));
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        solution.putMapping("Q", 'x');
+
+        assertEquals(0, solution.getMappingCount());
+        assertThrows(IllegalArgumentException.class, () -> solution.putMapping("A", '\u00e9'));
+    }
 }
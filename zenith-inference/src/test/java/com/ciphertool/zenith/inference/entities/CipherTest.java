@@ -266,4 +266,25 @@ public class CipherTest {
 
         assertEquals("A B C", cipher.asSingleLineString());
     }
+
+    @Test
+    public void given_ciphertextChanges_when_internedSymbols_then_keepTheirIds() {
+        Cipher cipher = new Cipher("test", 1, 3);
+        cipher.setCiphertext(Arrays.asList("A", "B", "A"));
+
+        assertEquals(2, cipher.getSymbolCount());
+        assertEquals(0, cipher.getSymbolId("A"));
+        assertEquals(1, cipher.getSymbolId("B"));
+        assertEquals(-1, cipher.getSymbolId("C"));
+        assertArrayEquals(new int[] { 0, 2 }, cipher.getCipherSymbolIndices(0));
+
+        cipher.replaceCiphertextCharacter(0, new Ciphertext("C"));
+
+        assertEquals(3, cipher.getSymbolCount());
+        assertEquals(0, cipher.getSymbolId("A"));
+        assertEquals(2, cipher.getSymbolId("C"));
+        assertEquals("C", cipher.getSymbol(2));
+        assertArrayEquals(new int[] { 2 }, cipher.getCipherSymbolIndices(0));
+        assertArrayEquals(new int[] { 0 }, cipher.getCipherSymbolIndices(2));
+    }
 }
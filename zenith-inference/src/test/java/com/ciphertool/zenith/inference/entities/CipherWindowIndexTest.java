@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CipherWindowIndexTest {
+    @Test
+    public void given_overlappingOccurrences_when_building_then_listsEachWindowOnce() {
+        Cipher cipher = buildCipher();
+
+        CipherWindowIndex windowIndex = new CipherWindowIndex(cipher, 4, 2);
+
+        // x is at 5 and 7, so the windows starting at 2, 4 and 6 each contain at least one occurrence
+        assertArrayEquals(new int[] { 2, 4, 6 }, windowIndex.getWindowStarts(cipher.getSymbolId("x")));
+        assertArrayEquals(new int[] { 0 }, windowIndex.getWindowStarts(cipher.getSymbolId("a")));
+    }
+
+    @Test
+    public void given_symbolNearTheEnd_when_building_then_excludesWindowsPastLengthMinusOrder() {
+        Cipher cipher = buildCipher();
+
+        CipherWindowIndex windowIndex = new CipherWindowIndex(cipher, 4, 2);
+
+        // The full evaluation scores windows starting below 12 - 4, so only the window at 6 reaches position 9
+        assertArrayEquals(new int[] { 6 }, windowIndex.getWindowStarts(cipher.getSymbolId("j")));
+        assertArrayEquals(new int[] {}, windowIndex.getWindowStarts(cipher.getSymbolId("l")));
+    }
+
+    @Test
+    public void given_cipher_when_gettingWindowIndex_then_cachesUntilCiphertextChanges() {
+        Cipher cipher = buildCipher();
+
+        CipherWindowIndex first = cipher.getWindowIndex(4, 2);
+
+        assertSame(first, cipher.getWindowIndex(4, 2));
+        assertNotSame(first, cipher.getWindowIndex(5, 2));
+
+        CipherWindowIndex second = cipher.getWindowIndex(4, 2);
+        cipher.replaceCiphertextCharacter(0, new Ciphertext("x"));
+
+        assertNotSame(second, cipher.getWindowIndex(4, 2));
+        assertArrayEquals(new int[] { 0, 2, 4, 6 }, cipher.getWindowIndex(4, 2).getWindowStarts(cipher.getSymbolId("x")));
+
+        // The symbol replaced at 0 keeps its ID, but no longer has any windows
+        assertArrayEquals(new int[] {}, cipher.getWindowIndex(4, 2).getWindowStarts(cipher.getSymbolId("a")));
+    }
+
+    private Cipher buildCipher() {
+        Cipher cipher = new Cipher("test", 1, 12);
+        cipher.setCiphertext(Arrays.asList("a", "b", "c", "d", "e", "x", "g", "x", "i", "j", "k", "l"));
+        return cipher;
+    }
+}
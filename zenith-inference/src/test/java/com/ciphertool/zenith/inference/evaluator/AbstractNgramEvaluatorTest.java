@@ -21,12 +21,14 @@ package com.ciphertool.zenith.inference.evaluator;
 
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.util.LetterUtils;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -80,6 +82,103 @@ public class AbstractNgramEvaluatorTest {
         assertEquals(-2.0f, solution.getLogProbability(0), 0.0001f);
     }
 
+    @Test
+    public void given_oddOrderWithStepSizeOne_when_evaluatingCiphertextKey_then_updatesEveryOverlappingNgram() {
+        ArrayMarkovModel model = new ArrayMarkovModel(3, 0.01f);
+        TreeNGram ngram = new TreeNGram("cde");
+        ngram.setLogProbability(-1.5d);
+        model.addNode(ngram);
+
+        Cipher cipher = buildCipher("test", Arrays.asList("a", "b", "c", "d", "x", "f", "g", "h", "i", "j"));
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        for (int i = 0; i < 7; i++) {
+            solution.addLogProbability(i, 0f);
+        }
+
+        TestNgramEvaluator evaluator = new TestNgramEvaluator(model);
+        evaluator.init();
+
+        float[][] updated = evaluator.evaluate(cipher, solution, "abcdeabcde", "x");
+
+        // With order 3 every window starting within two positions of the symbol overlaps it
+        assertEquals(3, updated[0].length);
+        assertEquals(2f, updated[0][0]);
+        assertEquals(3f, updated[0][1]);
+        assertEquals(4f, updated[0][2]);
+        assertEquals(-1.5f, solution.getLogProbability(2), 0.0001f);
+        assertEquals(model.getUnknownLetterNGramLogProbability(), solution.getLogProbability(3), 0.0001f);
+    }
+
+    @Test
+    public void given_letterCodes_when_evaluating_then_matchesStringEvaluation() {
+        ArrayMarkovModel model = buildModel();
+        Cipher cipher = buildCipher("test", Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l"));
+
+        CipherSolution fromString = new CipherSolution(cipher, 1);
+        CipherSolution fromLetters = new CipherSolution(cipher, 1);
+
+        TestNgramEvaluator evaluator = new TestNgramEvaluator(model);
+        evaluator.init();
+
+        evaluator.evaluate(cipher, fromString, "abcdeabcdezz", null);
+        evaluator.evaluateLetters(cipher, fromLetters, LetterUtils.toLetterCodes("abcdeabcdezz"), null);
+
+        assertArrayEquals(fromString.getLogProbabilities(), fromLetters.getLogProbabilities());
+        assertEquals(-2.0f, fromLetters.getLogProbability(0), 0.0001f);
+    }
+
+    @Test
+    public void given_closelySpacedOccurrences_when_evaluatingCiphertextKey_then_matchesFullEvaluation() {
+        ArrayMarkovModel model = new ArrayMarkovModel(4, 0.01f);
+        TreeNGram ngram = new TreeNGram("axcx");
+        ngram.setLogProbability(-1.0d);
+        model.addNode(ngram);
+
+        Cipher cipher = buildCipher("test", Arrays.asList("a", "b", "c", "d", "e", "x", "g", "x", "i", "j", "k", "l"));
+
+        TestNgramEvaluator evaluator = new TestNgramEvaluator(model);
+        evaluator.init();
+
+        CipherSolution incremental = new CipherSolution(cipher, 1);
+        evaluator.evaluate(cipher, incremental, "abcdeagaijkl", null);
+        evaluator.evaluate(cipher, incremental, "abcdexgxijkl", "x");
+
+        CipherSolution full = new CipherSolution(cipher, 1);
+        evaluator.evaluate(cipher, full, "abcdexgxijkl", null);
+
+        assertArrayEquals(full.getLogProbabilities(), incremental.getLogProbabilities());
+        assertEquals(full.getLogProbability(), incremental.getLogProbability(), 0.0001f);
+    }
+
+    @Test
+    public void given_smallestOrder_when_evaluating_then_scoresEveryWindowAndMatchesIncrementalEvaluation() {
+        ArrayMarkovModel model = new ArrayMarkovModel(ArrayMarkovModel.MIN_ORDER, 0.01f);
+        TreeNGram ngram = new TreeNGram("abx");
+        ngram.setLogProbability(-1.0d);
+        model.addNode(ngram);
+
+        Cipher cipher = buildCipher("test", Arrays.asList("a", "b", "x", "d", "e", "x", "g", "h"));
+
+        TestNgramEvaluator evaluator = new TestNgramEvaluator(model);
+        evaluator.init();
+
+        assertEquals(1, evaluator.getStepSize());
+
+        CipherSolution full = new CipherSolution(cipher, 1);
+        evaluator.evaluate(cipher, full, "abxdexgh", null);
+
+        // With a step size of one, a window starts at every position
+        assertEquals(-1.0f, full.getLogProbability(0), 0.0001f);
+        assertEquals(model.getUnknownLetterNGramLogProbability(), full.getLogProbability(1), 0.0001f);
+        assertEquals(model.getUnknownLetterNGramLogProbability(), full.getLogProbability(4), 0.0001f);
+
+        CipherSolution incremental = new CipherSolution(cipher, 1);
+        evaluator.evaluate(cipher, incremental, "abcdecgh", null);
+        evaluator.evaluate(cipher, incremental, "abxdexgh", "x");
+
+        assertArrayEquals(full.getLogProbabilities(), incremental.getLogProbabilities());
+    }
+
     private ArrayMarkovModel buildModel() {
         ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
         TreeNGram ngram = new TreeNGram("abcde");
@@ -102,5 +201,9 @@ public class AbstractNgramEvaluatorTest {
         float[][] evaluate(Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
             return evaluateLetterNGrams(cipher, solution, solutionString, ciphertextKey);
         }
+
+        float[][] evaluateLetters(Cipher cipher, CipherSolution solution, byte[] solutionLetters, String ciphertextKey) {
+            return evaluateLetterNGrams(cipher, solution, solutionLetters, ciphertextKey);
+        }
     }
 }
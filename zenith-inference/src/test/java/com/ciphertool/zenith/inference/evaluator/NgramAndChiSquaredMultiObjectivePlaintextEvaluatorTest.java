@@ -26,6 +26,7 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.util.ChiSquaredEvaluator;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import org.junit.jupiter.api.Test;
@@ -50,11 +51,11 @@ public class NgramAndChiSquaredMultiObjectivePlaintextEvaluatorTest {
         Cipher cipher = buildCipher();
         CipherSolution solution = new CipherSolution(cipher, 1);
         String solutionString = "abcdeabcde";
-        Map<String, Object> precomputed = Collections.singletonMap("key", "value");
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(chiSquaredEvaluator.evaluate(precomputed, cipher, solutionString)).thenReturn(7.25f);
 
-        NgramAndChiSquaredMultiObjectivePlaintextEvaluator evaluator = new NgramAndChiSquaredMultiObjectivePlaintextEvaluator(model, chiSquaredEvaluator, precomputed);
+        NgramAndChiSquaredMultiObjectivePlaintextEvaluator evaluator = new NgramAndChiSquaredMultiObjectivePlaintextEvaluator(model, chiSquaredEvaluator, Collections.emptyMap());
 
         SolutionScore score = evaluator.evaluate(precomputed, cipher, solution, solutionString, null);
 
@@ -73,7 +74,7 @@ public class NgramAndChiSquaredMultiObjectivePlaintextEvaluatorTest {
         ArrayMarkovModel model = buildModel();
         ChiSquaredEvaluator chiSquaredEvaluator = mock(ChiSquaredEvaluator.class);
         Cipher cipher = buildCipher();
-        Map<String, Object> precomputed = Collections.singletonMap("weight", 1);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(chiSquaredEvaluator.precompute(cipher)).thenReturn(precomputed);
 
@@ -23,6 +23,7 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.util.ChiSquaredEvaluator;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.inference.util.MathUtils;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
@@ -47,11 +48,11 @@ public class NgramAndChiSquaredPlaintextEvaluatorTest {
         Cipher cipher = buildCipher();
         CipherSolution solution = new CipherSolution(cipher, 1);
         String solutionString = "abcdeabcde";
-        Map<String, Object> precomputed = Collections.singletonMap("key", "value");
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(chiSquaredEvaluator.evaluate(precomputed, cipher, solutionString)).thenReturn(2.5f);
 
-        NgramAndChiSquaredPlaintextEvaluator evaluator = new NgramAndChiSquaredPlaintextEvaluator(model, chiSquaredEvaluator, precomputed);
+        NgramAndChiSquaredPlaintextEvaluator evaluator = new NgramAndChiSquaredPlaintextEvaluator(model, chiSquaredEvaluator, Collections.emptyMap());
 
         SolutionScore score = evaluator.evaluate(precomputed, cipher, solution, solutionString, null);
 
@@ -70,7 +71,7 @@ public class NgramAndChiSquaredPlaintextEvaluatorTest {
         ArrayMarkovModel model = buildModel();
         ChiSquaredEvaluator chiSquaredEvaluator = mock(ChiSquaredEvaluator.class);
         Cipher cipher = buildCipher();
-        Map<String, Object> precomputed = Collections.singletonMap("weight", 1);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(chiSquaredEvaluator.precompute(cipher)).thenReturn(precomputed);
 
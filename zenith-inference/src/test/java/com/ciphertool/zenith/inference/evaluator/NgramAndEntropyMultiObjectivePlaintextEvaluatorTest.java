@@ -24,6 +24,7 @@ import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.inference.util.EntropyEvaluator;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
@@ -49,11 +50,11 @@ public class NgramAndEntropyMultiObjectivePlaintextEvaluatorTest {
         Cipher cipher = buildCipher();
         CipherSolution solution = new CipherSolution(cipher, 1);
         String solutionString = "abcdeabcde";
-        Map<String, Object> precomputed = Collections.singletonMap("key", "value");
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(entropyEvaluator.evaluate(precomputed, cipher, solutionString)).thenReturn(3.5f);
 
-        NgramAndEntropyMultiObjectivePlaintextEvaluator evaluator = new NgramAndEntropyMultiObjectivePlaintextEvaluator(model, entropyEvaluator, precomputed);
+        NgramAndEntropyMultiObjectivePlaintextEvaluator evaluator = new NgramAndEntropyMultiObjectivePlaintextEvaluator(model, entropyEvaluator, Collections.emptyMap());
 
         SolutionScore score = evaluator.evaluate(precomputed, cipher, solution, solutionString, null);
 
@@ -72,7 +73,7 @@ public class NgramAndEntropyMultiObjectivePlaintextEvaluatorTest {
         ArrayMarkovModel model = buildModel();
         EntropyEvaluator entropyEvaluator = mock(EntropyEvaluator.class);
         Cipher cipher = buildCipher();
-        Map<String, Object> precomputed = Collections.singletonMap("weight", 1);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(entropyEvaluator.precompute(cipher)).thenReturn(precomputed);
 
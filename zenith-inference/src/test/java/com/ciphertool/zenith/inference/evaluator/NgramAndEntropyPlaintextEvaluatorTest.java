@@ -23,6 +23,7 @@ import com.ciphertool.zenith.genetic.fitness.Fitness;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.inference.util.EntropyEvaluator;
 import com.ciphertool.zenith.inference.util.MathUtils;
 import com.ciphertool.zenith.model.entities.TreeNGram;
@@ -48,11 +49,11 @@ public class NgramAndEntropyPlaintextEvaluatorTest {
         Cipher cipher = buildCipher();
         CipherSolution solution = new CipherSolution(cipher, 1);
         String solutionString = "abcdeabcde";
-        Map<String, Object> precomputed = Collections.singletonMap("key", "value");
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(entropyEvaluator.evaluate(precomputed, cipher, solutionString)).thenReturn(4.0f);
 
-        NgramAndEntropyPlaintextEvaluator evaluator = new NgramAndEntropyPlaintextEvaluator(model, entropyEvaluator, precomputed);
+        NgramAndEntropyPlaintextEvaluator evaluator = new NgramAndEntropyPlaintextEvaluator(model, entropyEvaluator, Collections.emptyMap());
 
         SolutionScore score = evaluator.evaluate(precomputed, cipher, solution, solutionString, null);
 
@@ -71,7 +72,7 @@ public class NgramAndEntropyPlaintextEvaluatorTest {
         ArrayMarkovModel model = buildModel();
         EntropyEvaluator entropyEvaluator = mock(EntropyEvaluator.class);
         Cipher cipher = buildCipher();
-        Map<String, Object> precomputed = Collections.singletonMap("weight", 1);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(entropyEvaluator.precompute(cipher)).thenReturn(precomputed);
 
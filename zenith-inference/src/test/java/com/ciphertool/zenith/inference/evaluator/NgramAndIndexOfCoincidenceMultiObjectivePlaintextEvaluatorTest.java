@@ -25,6 +25,7 @@ import com.ciphertool.zenith.genetic.fitness.MinimizingFitness;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
@@ -50,11 +51,11 @@ public class NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluatorTest {
         Cipher cipher = buildCipher();
         CipherSolution solution = new CipherSolution(cipher, 1);
         String solutionString = "abcdeabcde";
-        Map<String, Object> precomputed = Collections.singletonMap("key", "value");
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(indexEvaluator.evaluate(precomputed, cipher, solutionString)).thenReturn(0.18f);
 
-        NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluator evaluator = new NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluator(model, indexEvaluator, precomputed);
+        NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluator evaluator = new NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluator(model, indexEvaluator, Collections.emptyMap());
 
         SolutionScore score = evaluator.evaluate(precomputed, cipher, solution, solutionString, null);
 
@@ -73,7 +74,7 @@ public class NgramAndIndexOfCoincidenceMultiObjectivePlaintextEvaluatorTest {
         ArrayMarkovModel model = buildModel();
         IndexOfCoincidenceEvaluator indexEvaluator = mock(IndexOfCoincidenceEvaluator.class);
         Cipher cipher = buildCipher();
-        Map<String, Object> precomputed = Collections.singletonMap("weight", 1);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(indexEvaluator.precompute(cipher)).thenReturn(precomputed);
 
@@ -22,6 +22,7 @@ package com.ciphertool.zenith.inference.evaluator;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
 import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
 import com.ciphertool.zenith.inference.util.MathUtils;
 import com.ciphertool.zenith.model.entities.TreeNGram;
@@ -47,11 +48,11 @@ public class NgramAndIndexOfCoincidencePlaintextEvaluatorTest {
         Cipher cipher = buildCipher();
         CipherSolution solution = new CipherSolution(cipher, 1);
         String solutionString = "abcdeabcde";
-        Map<String, Object> precomputed = Collections.singletonMap("key", "value");
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(indexEvaluator.evaluate(precomputed, cipher, solutionString)).thenReturn(0.18f);
 
-        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = new NgramAndIndexOfCoincidencePlaintextEvaluator(model, indexEvaluator, precomputed);
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = new NgramAndIndexOfCoincidencePlaintextEvaluator(model, indexEvaluator, Collections.emptyMap());
 
         SolutionScore score = evaluator.evaluate(precomputed, cipher, solution, solutionString, null);
 
@@ -70,7 +71,7 @@ public class NgramAndIndexOfCoincidencePlaintextEvaluatorTest {
         ArrayMarkovModel model = buildModel();
         IndexOfCoincidenceEvaluator indexEvaluator = mock(IndexOfCoincidenceEvaluator.class);
         Cipher cipher = buildCipher();
-        Map<String, Object> precomputed = Collections.singletonMap("weight", 1);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(indexEvaluator.precompute(cipher)).thenReturn(precomputed);
 
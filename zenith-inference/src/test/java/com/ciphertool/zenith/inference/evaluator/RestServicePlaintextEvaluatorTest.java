@@ -26,19 +26,27 @@ import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.FormlyForm;
 import com.ciphertool.zenith.inference.entities.FormlyFormField;
 import com.ciphertool.zenith.inference.evaluator.model.EvaluationProbability;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
 import com.ciphertool.zenith.inference.evaluator.model.RestServiceEvaluation;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Test;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -96,6 +104,57 @@ public class RestServicePlaintextEvaluatorTest {
         assertEquals(-6.0f, solution.getLogProbability(), 0.000001f);
     }
 
+    @Test
+    public void given_stubService_when_evaluatingBatch_then_returnsOneScorePerSequenceInOrder() throws Exception {
+        List<String> requestBodies = new ArrayList<>();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/eval", exchange -> {
+            requestBodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            byte[] response = ("[{\"probabilities\":[{\"probability\":0.1,\"logProbability\":-1.0},{\"probability\":0.2,\"logProbability\":-2.0}],\"score\":-3.0},"
+                    + "{\"probabilities\":[{\"probability\":0.5,\"logProbability\":-0.5},{\"probability\":0.5,\"logProbability\":-0.5}],\"score\":-1.0}]").getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            HashMap<String, Object> data = new HashMap<>();
+            data.put(RestServicePlaintextEvaluator.REST_SERVICE_URL, "http://localhost:" + server.getAddress().getPort() + "/eval");
+
+            RestServicePlaintextEvaluator evaluator = new RestServicePlaintextEvaluator(new RestTemplate(), data);
+            Cipher cipher = new Cipher("test", 1, 2);
+
+            List<ProposalScore> scores = evaluator.evaluateBatchAsync(null, cipher, Arrays.asList("ab", "ba")).get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, requestBodies.size());
+            assertTrue(requestBodies.get(0).contains("\"sequences\":[\"ab\",\"ba\"]"));
+            assertEquals(2, scores.size());
+            assertArrayEquals(new float[]{-1.0f, -2.0f}, scores.get(0).getLogProbabilities());
+            assertEquals(-3.0d, scores.get(0).getScores()[0].getValue(), 0.000001d);
+            assertEquals(-1.0d, scores.get(1).getScores()[0].getValue(), 0.000001d);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void given_tooFewEvaluations_when_evaluatingBatch_then_throwsIllegalStateException() {
+        RestTemplate restTemplate = mock(RestTemplate.class);
+        HashMap<String, Object> data = new HashMap<>();
+        data.put(RestServicePlaintextEvaluator.REST_SERVICE_URL, "http://localhost:8080/eval");
+
+        RestServicePlaintextEvaluator evaluator = new RestServicePlaintextEvaluator(restTemplate, data);
+
+        when(restTemplate.postForObject(any(), any(), eq(RestServiceEvaluation[].class))).thenReturn(new RestServiceEvaluation[]{new RestServiceEvaluation()});
+
+        assertThrows(IllegalStateException.class, () -> evaluator.evaluateBatch(null, new Cipher("test", 1, 2), Arrays.asList("ab", "ba")));
+    }
+
     @Test
     public void given_validInput_when_getForm_then_returnsRestServiceField() {
         RestServicePlaintextEvaluator evaluator = new RestServicePlaintextEvaluator();
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ScoringSessionTest {
+    @Test
+    public void given_rejectedProposal_when_rollingBack_then_restoresLogProbabilitiesAndScores() {
+        Cipher cipher = buildCipher();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = buildEvaluator();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcdeabcdeab");
+        solution.setScores(evaluator.evaluate(precomputed, cipher, solution, solutionLetters, null).getScores());
+
+        float[] originalLogProbabilities = solution.getLogProbabilities().clone();
+        float originalLogProbability = solution.getLogProbability();
+        Fitness[] originalScores = solution.getScores();
+
+        ScoringSession session = new ScoringSession(evaluator, precomputed, cipher, solution);
+
+        solutionLetters[4] = (byte) LetterUtils.charToOrdinal('z');
+        session.propose(solutionLetters, cipher.getSymbolId("e"));
+
+        assertEquals(3, session.getUndoSize());
+
+        session.rollback();
+
+        assertArrayEquals(originalLogProbabilities, solution.getLogProbabilities());
+        assertEquals(originalLogProbability, solution.getLogProbability(), 0.0001f);
+        assertSame(originalScores, solution.getScores());
+        assertEquals(0, session.getUndoSize());
+    }
+
+    @Test
+    public void given_acceptedProposal_when_committing_then_keepsNewScores() {
+        Cipher cipher = buildCipher();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = buildEvaluator();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcdeabcdeab");
+        solution.setScores(evaluator.evaluate(precomputed, cipher, solution, solutionLetters, null).getScores());
+
+        ScoringSession session = new ScoringSession(evaluator, precomputed, cipher, solution);
+
+        solutionLetters[4] = (byte) LetterUtils.charToOrdinal('z');
+        Fitness[] proposed = session.propose(solutionLetters, cipher.getSymbolId("e"));
+        session.commit();
+
+        assertSame(proposed, solution.getScores());
+        assertEquals(0, session.getUndoSize());
+
+        // Committed state must match a from-scratch evaluation of the same plaintext
+        CipherSolution expected = new CipherSolution(cipher, 1);
+        evaluator.evaluate(precomputed, cipher, expected, solutionLetters, null);
+        assertEquals(expected.getLogProbability(), solution.getLogProbability(), 0.0001f);
+    }
+
+    @Test
+    public void given_committedAndRolledBackProposals_when_counting_then_tracksEach() {
+        Cipher cipher = buildCipher();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = buildEvaluator();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcdeabcdeab");
+        solution.setScores(evaluator.evaluate(precomputed, cipher, solution, solutionLetters, null).getScores());
+
+        ScoringSession session = new ScoringSession(evaluator, precomputed, cipher, solution);
+
+        session.propose(solutionLetters, cipher.getSymbolId("e"));
+        session.commit();
+        session.propose(solutionLetters, cipher.getSymbolId("e"));
+        session.rollback();
+
+        assertEquals(2, session.getProposalCount());
+        assertEquals(1, session.getRollbackCount());
+    }
+
+    @Test
+    public void given_batchScoredProposals_when_acceptingAndRejecting_then_replacesScoresAndCounts() {
+        Cipher cipher = buildCipher();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = buildEvaluator();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcdeabcdeab");
+        solution.setScores(evaluator.evaluate(precomputed, cipher, solution, solutionLetters, null).getScores());
+
+        ScoringSession session = new ScoringSession(evaluator, precomputed, cipher, solution);
+
+        float[] logProbabilities = new float[solution.getLogProbabilities().length];
+        Arrays.fill(logProbabilities, -0.5f);
+        Fitness[] scores = new Fitness[]{new MaximizingFitness(-0.5d * logProbabilities.length)};
+
+        session.reject();
+        session.accept(new ProposalScore(logProbabilities, scores));
+
+        assertArrayEquals(logProbabilities, solution.getLogProbabilities());
+        assertEquals(-0.5f * logProbabilities.length, solution.getLogProbability(), 0.0001f);
+        assertSame(scores, solution.getScores());
+        assertEquals(2, session.getProposalCount());
+        assertEquals(1, session.getRollbackCount());
+
+        // The session carries on with incremental proposals afterwards
+        session.propose(solutionLetters, cipher.getSymbolId("e"));
+        session.rollback();
+        assertSame(scores, solution.getScores());
+    }
+
+    @Test
+    public void given_pendingProposal_when_proposingAgain_then_throws() {
+        Cipher cipher = buildCipher();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = buildEvaluator();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcdeabcdeab");
+
+        ScoringSession session = new ScoringSession(evaluator, precomputed, cipher, solution);
+        session.propose(solutionLetters, -1);
+
+        assertThrows(IllegalStateException.class, () -> session.propose(solutionLetters, cipher.getSymbolId("e")));
+        assertThrows(IllegalStateException.class, () -> {
+            session.commit();
+            session.rollback();
+        });
+    }
+
+    @Test
+    public void given_evaluatorWithoutSessionSupport_when_rollingBack_then_usesUpdatedArray() {
+        Cipher cipher = buildCipher();
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        solution.addLogProbability(0, -1f);
+        solution.addLogProbability(1, -2f);
+
+        PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
+        when(evaluator.evaluate(any(), eq(cipher), eq(solution), any(String.class), anyInt(), any(ScoringSession.class))).thenCallRealMethod();
+        when(evaluator.evaluate(any(), eq(cipher), eq(solution), any(String.class), any())).thenAnswer(invocation -> {
+            solution.replaceLogProbability(1, -5f);
+            return new SolutionScore(new float[][] { { 1f, 0f }, { -2f, 0f } }, new Fitness[] { new MaximizingFitness(1d) });
+        });
+
+        ScoringSession session = new ScoringSession(evaluator, null, cipher, solution);
+        session.propose("abcdeabcdeab", cipher.getSymbolId("e"));
+
+        assertEquals(1, session.getUndoSize());
+
+        session.rollback();
+
+        assertEquals(-1f, solution.getLogProbability(0));
+        assertEquals(-2f, solution.getLogProbability(1));
+    }
+
+    @Test
+    public void given_rolledBackProposal_when_proposingAgain_then_counterweightMatchesFullEvaluation() {
+        Cipher cipher = buildCipher();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = buildEvaluator();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcdeabcdeab");
+        solution.setScores(evaluator.evaluate(precomputed, cipher, solution, solutionLetters, null).getScores());
+
+        ScoringSession session = new ScoringSession(evaluator, precomputed, cipher, solution);
+
+        solutionLetters[4] = (byte) LetterUtils.charToOrdinal('a');
+        session.propose(solutionLetters, cipher.getSymbolId("e"));
+        session.commit();
+
+        solutionLetters[5] = (byte) LetterUtils.charToOrdinal('z');
+        session.propose(solutionLetters, cipher.getSymbolId("f"));
+        session.rollback();
+        solutionLetters[5] = (byte) LetterUtils.charToOrdinal('a');
+
+        solutionLetters[6] = (byte) LetterUtils.charToOrdinal('a');
+        Fitness[] scores = session.propose(solutionLetters, cipher.getSymbolId("g"));
+
+        CipherSolution expectedSolution = new CipherSolution(cipher, 1);
+        Fitness[] expected = evaluator.evaluate(precomputed, cipher, expectedSolution, solutionLetters, null).getScores();
+
+        assertEquals(expected[0].getValue(), scores[0].getValue(), 0.0001d);
+    }
+
+    @Test
+    public void given_swapAcrossTwoSymbols_when_proposingBothKeys_then_matchesFullEvaluationAndRollsBack() {
+        Cipher cipher = buildCipher();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = buildEvaluator();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        CipherSolution solution = new CipherSolution(cipher, 1);
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcdeabcdeab");
+        solution.setScores(evaluator.evaluate(precomputed, cipher, solution, solutionLetters, null).getScores());
+
+        ScoringSession session = new ScoringSession(evaluator, precomputed, cipher, solution);
+
+        // Commit one proposal first so that the letter frequencies are carried between proposals
+        session.propose(solutionLetters, cipher.getSymbolId("a"));
+        session.commit();
+
+        float[] originalLogProbabilities = solution.getLogProbabilities().clone();
+        Fitness[] originalScores = solution.getScores();
+
+        solutionLetters[4] = (byte) LetterUtils.charToOrdinal('a');
+        solutionLetters[5] = (byte) LetterUtils.charToOrdinal('e');
+        Fitness[] scores = session.propose(solutionLetters, new int[] { cipher.getSymbolId("e"), cipher.getSymbolId("f") }, 2);
+
+        CipherSolution expectedSolution = new CipherSolution(cipher, 1);
+        Fitness[] expected = evaluator.evaluate(precomputed, cipher, expectedSolution, solutionLetters, null).getScores();
+
+        assertEquals(expected[0].getValue(), scores[0].getValue(), 0.0001d);
+        assertEquals(expectedSolution.getLogProbability(), solution.getLogProbability(), 0.0001f);
+
+        session.rollback();
+        solutionLetters[4] = (byte) LetterUtils.charToOrdinal('e');
+        solutionLetters[5] = (byte) LetterUtils.charToOrdinal('a');
+
+        assertArrayEquals(originalLogProbabilities, solution.getLogProbabilities());
+        assertSame(originalScores, solution.getScores());
+
+        // The counterweight must also be back where it started
+        Fitness[] reproposed = session.propose(solutionLetters, cipher.getSymbolId("a"));
+        assertEquals(originalScores[0].getValue(), reproposed[0].getValue(), 0.0001d);
+    }
+
+    private NgramAndIndexOfCoincidencePlaintextEvaluator buildEvaluator() {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        TreeNGram unigram = new TreeNGram("a");
+        unigram.setCount(1L);
+        model.addNode(unigram);
+
+        TreeNGram ngram = new TreeNGram("abcde");
+        ngram.setLogProbability(-2.0d);
+        model.addNode(ngram);
+
+        return new NgramAndIndexOfCoincidencePlaintextEvaluator(model, new IndexOfCoincidenceEvaluator(), null);
+    }
+
+    private Cipher buildCipher() {
+        Cipher cipher = new Cipher("test", 1, 12);
+        cipher.setCiphertext(Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h", "i", "j", "k", "l"));
+        return cipher;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingPlaintextEvaluatorTest {
+    @Test
+    public void given_cacheSizeInData_when_gettingInstance_then_wrapsOnlyWhenAsked() {
+        PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
+        PlaintextEvaluator instance = mock(PlaintextEvaluator.class);
+        when(evaluator.getInstance(any())).thenReturn(instance);
+
+        assertSame(instance, CachingPlaintextEvaluator.getInstance(evaluator, new HashMap<>()));
+
+        Map<String, Object> data = new HashMap<>();
+        data.put(CachingPlaintextEvaluator.EVALUATION_CACHE_MEGABYTES, 1);
+
+        assertTrue(CachingPlaintextEvaluator.getInstance(evaluator, data) instanceof CachingPlaintextEvaluator);
+
+        BatchPlaintextEvaluator batchEvaluator = mock(BatchPlaintextEvaluator.class);
+        when(batchEvaluator.getInstance(any())).thenReturn(batchEvaluator);
+
+        assertTrue(CachingPlaintextEvaluator.getInstance(batchEvaluator, data) instanceof BatchPlaintextEvaluator);
+    }
+
+    @Test
+    public void given_repeatedPlaintext_when_evaluating_then_replaysCachedScoreWithoutDelegating() {
+        Cipher cipher = new Cipher("test", 1, 3);
+        cipher.setCiphertext(Arrays.asList("A", "B", "C"));
+
+        PlaintextEvaluator delegate = mock(PlaintextEvaluator.class);
+        when(delegate.evaluate(isNull(), eq(cipher), any(CipherSolution.class), anyString(), isNull())).thenAnswer(invocation -> {
+            CipherSolution solution = invocation.getArgument(2);
+            solution.clearLogProbabilities();
+            solution.addLogProbability(0, -1.0f);
+            solution.addLogProbability(1, -2.0f);
+            solution.addLogProbability(2, -3.0f);
+
+            return new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(-6.0d)});
+        });
+
+        CachingPlaintextEvaluator evaluator = new CachingPlaintextEvaluator(delegate, 1024L * 1024L);
+
+        CipherSolution first = new CipherSolution(cipher, 3);
+        evaluator.evaluate(null, cipher, first, "abc", null);
+
+        CipherSolution second = new CipherSolution(cipher, 3);
+        second.addLogProbability(0, -9.0f);
+        // The same plaintext as letter codes hits the entry cached from the String
+        SolutionScore score = evaluator.evaluate(null, cipher, second, LetterUtils.toLetterCodes("abc"), null);
+
+        verify(delegate, times(1)).evaluate(isNull(), eq(cipher), any(CipherSolution.class), anyString(), isNull());
+        assertEquals(-6.0d, score.getScores()[0].getValue(), 0.0d);
+        assertEquals(-6.0f, second.getLogProbability(), 0.0001f);
+        assertEquals(-2.0f, second.getLogProbability(1), 0.0d);
+        // Every slot is reported as updated, with its value from before the hit
+        assertEquals(-9.0f, score.getNgramProbabilitiesUpdated()[1][0], 0.0d);
+        assertEquals(1L, evaluator.getStatistics().getHits());
+        assertEquals(1L, evaluator.getStatistics().getMisses());
+    }
+
+    @Test
+    public void given_partlyCachedBatch_when_evaluatingBatch_then_sendsOnlyMisses() {
+        Cipher cipher = new Cipher("test", 1, 2);
+        BatchPlaintextEvaluator delegate = mock(BatchPlaintextEvaluator.class);
+
+        when(delegate.evaluateBatch(isNull(), eq(cipher), eq(Collections.singletonList("ab")))).thenReturn(Collections.singletonList(buildScore(-1.0d)));
+        when(delegate.evaluateBatch(isNull(), eq(cipher), eq(Collections.singletonList("ba")))).thenReturn(Collections.singletonList(buildScore(-2.0d)));
+
+        CachingBatchPlaintextEvaluator evaluator = new CachingBatchPlaintextEvaluator(delegate, 1024L * 1024L);
+
+        evaluator.evaluateBatch(null, cipher, Collections.singletonList("ab"));
+        List<ProposalScore> scores = evaluator.evaluateBatch(null, cipher, Arrays.asList("ba", "ab"));
+
+        assertEquals(2, scores.size());
+        assertEquals(-2.0d, scores.get(0).getScores()[0].getValue(), 0.0d);
+        assertEquals(-1.0d, scores.get(1).getScores()[0].getValue(), 0.0d);
+        verify(delegate, times(1)).evaluateBatch(isNull(), eq(cipher), eq(Collections.singletonList("ab")));
+        verify(delegate, times(1)).evaluateBatch(isNull(), eq(cipher), eq(Collections.singletonList("ba")));
+    }
+
+    private ProposalScore buildScore(double value) {
+        return new ProposalScore(new float[]{(float) value}, new Fitness[]{new MaximizingFitness(value)});
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.evaluator.cache;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EvaluationCacheTest {
+    // Each entry built below weighs 128 + 4 * 8 + 24 = 184 bytes, so this holds exactly three
+    private static final long THREE_ENTRIES = 3L * 184L;
+
+    @Test
+    public void given_cachedEvaluation_when_gettingTwice_then_returnsCopiesAndCountsHits() {
+        EvaluationCache cache = new EvaluationCache(THREE_ENTRIES);
+        ProposalScore score = buildScore(-1.0d);
+
+        assertNull(cache.get(1L));
+        cache.put(1L, score);
+
+        ProposalScore first = cache.get(1L);
+        ProposalScore second = cache.get(1L);
+
+        assertEquals(-1.0d, first.getScores()[0].getValue(), 0.0d);
+        assertNotSame(score.getScores()[0], first.getScores()[0]);
+        assertNotSame(first.getLogProbabilities(), second.getLogProbabilities());
+
+        EvaluationCacheStatistics statistics = cache.getStatistics();
+        assertEquals(2L, statistics.getHits());
+        assertEquals(1L, statistics.getMisses());
+        assertEquals(2d / 3d, statistics.getHitRate(), 0.0001d);
+        assertEquals(1, statistics.getSize());
+        assertEquals(184L, statistics.getWeightBytes());
+    }
+
+    @Test
+    public void given_fullCache_when_puttingMoreFrequentKey_then_evictsLeastRecentlyUsed() {
+        EvaluationCache cache = new EvaluationCache(THREE_ENTRIES);
+
+        cache.put(1L, buildScore(-1.0d));
+        cache.put(2L, buildScore(-2.0d));
+        cache.put(3L, buildScore(-3.0d));
+
+        // Key 1 becomes the most recently used, leaving key 2 as the eldest
+        cache.get(1L);
+
+        // Key 4 has been looked up more often than key 2, so it is admitted in its place
+        cache.get(4L);
+        cache.get(4L);
+        cache.put(4L, buildScore(-4.0d));
+
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(1L));
+        assertNotNull(cache.get(3L));
+        assertNotNull(cache.get(4L));
+        assertEquals(1L, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    public void given_fullCache_when_puttingOneOffKey_then_rejectsIt() {
+        EvaluationCache cache = new EvaluationCache(THREE_ENTRIES);
+
+        cache.put(1L, buildScore(-1.0d));
+        cache.put(2L, buildScore(-2.0d));
+        cache.put(3L, buildScore(-3.0d));
+        cache.get(1L);
+        cache.get(2L);
+        cache.get(3L);
+
+        // Never looked up, so less popular than any resident
+        cache.put(4L, buildScore(-4.0d));
+
+        assertEquals(3, cache.getStatistics().getSize());
+        assertEquals(1L, cache.getStatistics().getRejections());
+        assertNull(cache.get(4L));
+    }
+
+    @Test
+    public void given_candidateNeedingTwoVictims_when_secondVictimIsMorePopular_then_evictsNeither() {
+        EvaluationCache cache = new EvaluationCache(THREE_ENTRIES);
+
+        cache.put(1L, buildScore(-1.0d));
+        cache.put(2L, buildScore(-2.0d));
+        cache.get(2L);
+        cache.get(2L);
+        cache.get(2L);
+        cache.put(3L, buildScore(-3.0d));
+
+        // Weighs 128 + 4 * 54 + 24 = 368 bytes, so it only fits in place of both key 1 and key 2
+        cache.get(4L);
+        cache.get(4L);
+        cache.put(4L, new ProposalScore(new float[54], new Fitness[]{new MaximizingFitness(-4.0d)}));
+
+        assertEquals(1L, cache.getStatistics().getRejections());
+        assertEquals(0L, cache.getStatistics().getEvictions());
+        assertEquals(3, cache.getStatistics().getSize());
+        assertEquals(THREE_ENTRIES, cache.getStatistics().getWeightBytes());
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(4L));
+    }
+
+    @Test
+    public void given_cachedKey_when_puttingItAgainInFullCache_then_replacesItWithoutEvicting() {
+        EvaluationCache cache = new EvaluationCache(THREE_ENTRIES);
+
+        cache.put(1L, buildScore(-1.0d));
+        cache.put(2L, buildScore(-2.0d));
+        cache.put(3L, buildScore(-3.0d));
+        cache.put(1L, buildScore(-5.0d));
+
+        assertEquals(0L, cache.getStatistics().getEvictions());
+        assertEquals(THREE_ENTRIES, cache.getStatistics().getWeightBytes());
+        assertEquals(-5.0d, cache.get(1L).getScores()[0].getValue(), 0.0d);
+    }
+
+    @Test
+    public void given_nonPositiveSize_when_constructing_then_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new EvaluationCache(0L));
+    }
+
+    private ProposalScore buildScore(double value) {
+        return new ProposalScore(new float[]{-0.1f, -0.2f, -0.3f, -0.4f, -0.5f, -0.6f, -0.7f, -0.8f}, new Fitness[]{new MaximizingFitness(value)});
+    }
+}
@@ -40,7 +40,7 @@ public class BiasedCipherKeyBreederTest {
     @Test
     public void given_validInput_when_breedUsesBiasedBucket_then_returnsTrue() {
         BiasedCipherKeyBreeder breeder = new BiasedCipherKeyBreeder();
-        ArrayMarkovModel markovModel = new ArrayMarkovModel(1, 1f);
+        ArrayMarkovModel markovModel = new ArrayMarkovModel(3, 1f);
         TreeNGram node = new TreeNGram("a");
         node.setCount(10L);
         markovModel.addNode(node);
@@ -72,7 +72,7 @@ public class CipherKeyGeneDaoTest {
     private CipherKeyGeneDao buildDao() throws Exception {
         CipherKeyGeneDao dao = new CipherKeyGeneDao();
 
-        ArrayMarkovModel model = new ArrayMarkovModel(1, 0.1f);
+        ArrayMarkovModel model = new ArrayMarkovModel(3, 0.1f);
         TreeNGram node = new TreeNGram("a");
         node.setCount(1L);
         node.setLogProbability(-1.0d);
@@ -24,12 +24,14 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -121,4 +123,35 @@ public class CipherKeyChromosomeTest {
         assertNotEquals(left, differentCipher);
         assertNotNull(left);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void given_scoredChromosome_when_replacingGenes_then_tracksOriginalValuesUntilRescored() {
+        CipherKeyChromosome chromosome = new CipherKeyChromosome(null, buildCipher("test"), 2);
+        chromosome.putGene("x", new CipherKeyGene(null, "a"));
+        chromosome.putGene("y", new CipherKeyGene(null, "b"));
+
+        // Nothing is tracked until the chromosome has been scored
+        chromosome.replaceGene("x", new CipherKeyGene(null, "c"));
+        assertTrue(chromosome.getChangedGenes().isEmpty());
+
+        float[] scoredLogProbabilities = new float[] { -1f, -2f };
+        chromosome.setScoredLogProbabilities(scoredLogProbabilities);
+
+        chromosome.replaceGene("x", new CipherKeyGene(null, "d"));
+        chromosome.replaceGene("x", new CipherKeyGene(null, "e"));
+        chromosome.replaceGene("y", new CipherKeyGene(null, "f"));
+        chromosome.replaceGene("y", new CipherKeyGene(null, "b"));
+
+        assertEquals(Map.of("x", "c"), chromosome.getChangedGenes());
+
+        CipherKeyChromosome clone = (CipherKeyChromosome) chromosome.clone();
+        assertSame(scoredLogProbabilities, clone.getScoredLogProbabilities());
+        assertEquals(Map.of("x", "c"), clone.getChangedGenes());
+
+        chromosome.setScoredLogProbabilities(new float[] { -3f, -4f });
+        assertTrue(chromosome.getChangedGenes().isEmpty());
+
+        chromosome.removeGene("y");
+        assertNull(chromosome.getScoredLogProbabilities());
+    }
+}
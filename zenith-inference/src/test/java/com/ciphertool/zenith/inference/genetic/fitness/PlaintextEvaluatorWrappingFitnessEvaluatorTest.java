@@ -23,26 +23,34 @@ import com.ciphertool.zenith.genetic.entities.Genome;
 import com.ciphertool.zenith.genetic.fitness.Fitness;
 import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
 import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.evaluator.NgramAndIndexOfCoincidencePlaintextEvaluator;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.ScoringSession;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
 import com.ciphertool.zenith.inference.genetic.entities.CipherKeyChromosome;
 import com.ciphertool.zenith.inference.genetic.entities.CipherKeyGene;
 import com.ciphertool.zenith.inference.transformer.ciphertext.TransformationStep;
 import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -64,16 +72,16 @@ public class PlaintextEvaluatorWrappingFitnessEvaluatorTest {
 
         Fitness[] scores = new Fitness[] { new MaximizingFitness(1.0d) };
         SolutionScore score = new SolutionScore(new float[2][0], scores);
-        when(evaluator.evaluate(anyMap(), eq(cipher), any(), eq("abc"), isNull())).thenReturn(score);
+        when(evaluator.evaluate(any(), eq(cipher), any(), eq("abc"), isNull())).thenReturn(score);
 
         PlaintextEvaluatorWrappingFitnessEvaluator wrapper = new PlaintextEvaluatorWrappingFitnessEvaluator(
-                Collections.emptyMap(), evaluator, manager, Collections.emptyList());
+                mock(CounterweightContext.class), evaluator, manager, Collections.emptyList());
 
         Fitness[] result = wrapper.evaluate(genome);
 
         assertSame(scores, result);
         verify(manager, never()).transform(any(), any());
-        verify(evaluator).evaluate(anyMap(), eq(cipher), any(), eq("abc"), isNull());
+        verify(evaluator).evaluate(any(), eq(cipher), any(), eq("abc"), isNull());
     }
 
     @Test
@@ -96,15 +104,67 @@ public class PlaintextEvaluatorWrappingFitnessEvaluatorTest {
 
         Fitness[] scores = new Fitness[] { new MaximizingFitness(2.0d) };
         SolutionScore score = new SolutionScore(new float[2][0], scores);
-        when(evaluator.evaluate(anyMap(), eq(cipher), any(), eq("xyz"), isNull())).thenReturn(score);
+        when(evaluator.evaluate(any(), eq(cipher), any(), eq("xyz"), isNull())).thenReturn(score);
 
         PlaintextEvaluatorWrappingFitnessEvaluator wrapper = new PlaintextEvaluatorWrappingFitnessEvaluator(
-                Collections.emptyMap(), evaluator, manager, steps);
+                mock(CounterweightContext.class), evaluator, manager, steps);
 
         Fitness[] result = wrapper.evaluate(genome);
 
         assertSame(scores, result);
         verify(manager).transform("abc", steps);
-        verify(evaluator).evaluate(anyMap(), eq(cipher), any(), eq("xyz"), isNull());
+        verify(evaluator).evaluate(any(), eq(cipher), any(), eq("xyz"), isNull());
+    }
+
+    @Test
+    public void given_mutatedClone_when_evaluate_then_rescoresChangedSymbolsToTheFullScore() {
+        ArrayMarkovModel model = new ArrayMarkovModel(4, 0.01f);
+        for (String value : new String[] { "abcd", "bcde", "cdef", "defg", "efgh", "fghi", "ghij" }) {
+            TreeNGram ngram = new TreeNGram(value);
+            ngram.setLogProbability(-1.0d);
+            model.addNode(ngram);
+        }
+
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = spy(new NgramAndIndexOfCoincidencePlaintextEvaluator(model, new IndexOfCoincidenceEvaluator(), Collections.emptyMap()));
+
+        Cipher cipher = new Cipher("test", 1, 12);
+        cipher.setCiphertext(Arrays.asList("A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L"));
+        String key = "abcdefghijkl";
+
+        PlaintextEvaluatorWrappingFitnessEvaluator wrapper = new PlaintextEvaluatorWrappingFitnessEvaluator(
+                evaluator.getPrecomputedCounterweightData(cipher), evaluator, mock(PlaintextTransformationManager.class), Collections.emptyList());
+
+        Genome parent = buildGenome(cipher, key);
+        parent.setFitnesses(wrapper.evaluate(parent));
+
+        // A clone of the parent with a single mutation, as a child of crossover and mutation would be
+        Genome child = new Genome(true, parent.getFitnesses(), null);
+        CipherKeyChromosome childChromosome = (CipherKeyChromosome) parent.getChromosomes().get(0).clone();
+        childChromosome.setGenome(child);
+        child.addChromosome(childChromosome);
+        childChromosome.replaceGene("E", new CipherKeyGene(null, "z"));
+
+        Fitness[] incremental = wrapper.evaluate(child);
+
+        Genome expected = buildGenome(cipher, "abcdzfghijkl");
+        Fitness[] full = wrapper.evaluate(expected);
+
+        assertEquals(full[0].getValue(), incremental[0].getValue(), 0.0001d);
+        assertArrayEquals(((CipherKeyChromosome) expected.getChromosomes().get(0)).getScoredLogProbabilities(), childChromosome.getScoredLogProbabilities(), 0.0001f);
+        assertTrue(childChromosome.getChangedGenes().isEmpty());
+        verify(evaluator).evaluate(any(), eq(cipher), any(), any(byte[].class), eq(cipher.getSymbolId("E")), any(ScoringSession.class));
+    }
+
+    private Genome buildGenome(Cipher cipher, String key) {
+        Genome genome = new Genome(true, null, null);
+        CipherKeyChromosome chromosome = new CipherKeyChromosome(genome, cipher, key.length());
+
+        for (int i = 0; i < key.length(); i ++) {
+            chromosome.putGene(cipher.getSymbol(i), new CipherKeyGene(chromosome, String.valueOf(key.charAt(i))));
+        }
+
+        genome.addChromosome(chromosome);
+
+        return genome;
     }
 }
\ No newline at end of file
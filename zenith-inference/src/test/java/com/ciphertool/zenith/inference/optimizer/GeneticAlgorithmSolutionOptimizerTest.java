@@ -210,6 +210,15 @@ public class GeneticAlgorithmSolutionOptimizerTest {
             return Collections.emptyList();
         }
 
+        @Override
+        public void reIndexSelector() {
+        }
+
+        @Override
+        public Parents selectParents() {
+            return null;
+        }
+
         @Override
         public void clearIndividuals() {
             individuals.clear();
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.NgramAndIndexOfCoincidencePlaintextEvaluator;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LockstepChainsTest {
+    private static final int[] MAPPING_KEYS = {0, 1, 2, 3, 4, 5};
+
+    @Test
+    public void given_loadedChains_when_proposing_then_scoresMatchTheEvaluator() {
+        ArrayMarkovModel model = buildModel();
+        IndexOfCoincidenceEvaluator indexOfCoincidenceEvaluator = new IndexOfCoincidenceEvaluator();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = new NgramAndIndexOfCoincidencePlaintextEvaluator(model, indexOfCoincidenceEvaluator, Collections.emptyMap());
+        Cipher cipher = buildCipher();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        LockstepChains chains = new LockstepChains(cipher, 2, model, evaluator, precomputed);
+        CipherSolution first = buildSolution(cipher, "thenwa");
+        CipherSolution second = buildSolution(cipher, "abcdef");
+        chains.load(0, first, MAPPING_KEYS);
+        chains.load(1, second, MAPPING_KEYS);
+
+        assertEquals(score(evaluator, precomputed, cipher, first), chains.getScore(0), 0.00001f);
+        assertEquals(score(evaluator, precomputed, cipher, second), chains.getScore(1), 0.00001f);
+
+        // Remap the symbol B, which occurs twice, in the second chain only
+        float proposed = chains.propose(1, 1, LetterUtils.charToOrdinal('h'), cipher.getCipherSymbolIndices(1));
+
+        assertEquals(score(evaluator, precomputed, cipher, chains.toSolution(1, second, MAPPING_KEYS)), proposed, 0.00001f);
+        assertEquals(score(evaluator, precomputed, cipher, first), chains.getScore(0), 0.00001f);
+    }
+
+    @Test
+    public void given_proposal_when_rollingBack_then_restoresTheChainExactly() {
+        ArrayMarkovModel model = buildModel();
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = new NgramAndIndexOfCoincidencePlaintextEvaluator(model, new IndexOfCoincidenceEvaluator(), Collections.emptyMap());
+        Cipher cipher = buildCipher();
+        CounterweightContext precomputed = evaluator.getPrecomputedCounterweightData(cipher);
+
+        LockstepChains chains = new LockstepChains(cipher, 1, model, evaluator, precomputed);
+        CipherSolution solution = buildSolution(cipher, "thenwa");
+        chains.load(0, solution, MAPPING_KEYS);
+
+        float original = chains.getScore(0);
+
+        chains.propose(0, 0, LetterUtils.charToOrdinal('q'), cipher.getCipherSymbolIndices(0));
+        chains.rollback(0, 0, cipher.getCipherSymbolIndices(0));
+
+        assertEquals(original, chains.getScore(0), 0f);
+        assertEquals(LetterUtils.charToOrdinal('t'), chains.getLetter(0, 0));
+
+        // A later proposal starts from the restored windows
+        float proposed = chains.propose(0, 3, LetterUtils.charToOrdinal('s'), cipher.getCipherSymbolIndices(3));
+
+        assertEquals(score(evaluator, precomputed, cipher, chains.toSolution(0, solution, MAPPING_KEYS)), proposed, 0.00001f);
+    }
+
+    private float score(NgramAndIndexOfCoincidencePlaintextEvaluator evaluator, CounterweightContext precomputed, Cipher cipher, CipherSolution solution) {
+        CipherSolution copy = solution.clone();
+
+        return (float) evaluator.evaluate(precomputed, cipher, copy, copy.asSingleLineString(), null).getScores()[0].getValue();
+    }
+
+    private CipherSolution buildSolution(Cipher cipher, String letters) {
+        CipherSolution solution = new CipherSolution(cipher, MAPPING_KEYS.length);
+
+        for (int symbolId : MAPPING_KEYS) {
+            solution.putMapping(cipher.getSymbol(symbolId), letters.charAt(symbolId));
+        }
+
+        return solution;
+    }
+
+    private ArrayMarkovModel buildModel() {
+        ArrayMarkovModel model = new ArrayMarkovModel(4, 0.01f);
+
+        String[] ngrams = {"then", "henw", "enwa", "nwat", "hhen", "thhe"};
+        for (int i = 0; i < ngrams.length; i ++) {
+            TreeNGram ngram = new TreeNGram(ngrams[i]);
+            ngram.setLogProbability(-1.0d - i);
+            model.addNode(ngram);
+        }
+
+        return model;
+    }
+
+    private Cipher buildCipher() {
+        Cipher cipher = new Cipher("test", 1, 12);
+        cipher.setCiphertext(Arrays.asList("A", "B", "C", "D", "E", "F", "A", "B", "C", "D", "E", "A"));
+
+        return cipher;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MoveGeneratorTest {
+    private static final LetterSampler LETTER_SAMPLER = new LetterSampler(new char[]{'a', 'b', 'c'}, new double[]{1d, 1d, 1d});
+
+    @Test
+    public void given_defaultConfiguration_when_proposing_then_remapsOnlyTheAnchorSymbol() {
+        Cipher cipher = buildCipher();
+        CipherSolution solution = buildSolution(cipher);
+        int[] mappingKeys = buildMappingKeys(cipher);
+        MoveGenerator moveGenerator = MoveGenerator.fromConfiguration(new HashMap<>(), LETTER_SAMPLER);
+        SplittableRandom random = new SplittableRandom(5L);
+
+        int x = cipher.getSymbolId("x");
+
+        for (int i = 0; i < 100; i ++) {
+            int moveSize = moveGenerator.propose(solution, mappingKeys, x, random);
+
+            if (moveSize == 0) {
+                continue;
+            }
+
+            assertEquals(1, moveSize);
+            assertEquals(x, moveGenerator.getSymbol(0));
+            assertEquals('a', moveGenerator.getOriginalLetter(0));
+            assertNotEquals('a', moveGenerator.getLetter(0));
+            assertEquals(x, moveGenerator.getSymbols()[0]);
+        }
+    }
+
+    @Test
+    public void given_swapMoves_when_proposing_then_exchangesLettersWithADifferentlyMappedSymbol() {
+        Cipher cipher = buildCipher();
+        CipherSolution solution = buildSolution(cipher);
+        int[] mappingKeys = buildMappingKeys(cipher);
+        MoveGenerator moveGenerator = new MoveGenerator(LETTER_SAMPLER, 1f, 0f, 3, true);
+        SplittableRandom random = new SplittableRandom(7L);
+
+        int x = cipher.getSymbolId("x");
+        int z = cipher.getSymbolId("z");
+
+        for (int i = 0; i < 100; i ++) {
+            int moveSize = moveGenerator.propose(solution, mappingKeys, x, random);
+
+            if (moveSize == 0) {
+                continue;
+            }
+
+            // y shares x's letter, so the only swap which changes anything is with z
+            assertEquals(2, moveSize);
+            assertEquals(x, moveGenerator.getSymbol(0));
+            assertEquals('b', moveGenerator.getLetter(0));
+            assertEquals(z, moveGenerator.getSymbol(1));
+            assertEquals('a', moveGenerator.getLetter(1));
+            assertEquals('b', moveGenerator.getOriginalLetter(1));
+        }
+    }
+
+    @Test
+    public void given_blockMoves_when_proposing_then_carriesSymbolsSharingTheAnchorsLetter() {
+        Cipher cipher = buildCipher();
+        CipherSolution solution = buildSolution(cipher);
+        int[] mappingKeys = buildMappingKeys(cipher);
+        MoveGenerator moveGenerator = new MoveGenerator(LETTER_SAMPLER, 0f, 1f, 3, true);
+        SplittableRandom random = new SplittableRandom(13L);
+
+        int x = cipher.getSymbolId("x");
+        int y = cipher.getSymbolId("y");
+
+        int moveSize = moveGenerator.propose(solution, mappingKeys, x, random);
+
+        assertEquals(2, moveSize);
+        assertEquals(x, moveGenerator.getSymbol(0));
+        assertEquals(y, moveGenerator.getSymbol(1));
+        assertEquals(moveGenerator.getLetter(0), moveGenerator.getLetter(1));
+        assertNotEquals('a', moveGenerator.getLetter(1));
+        assertEquals('a', moveGenerator.getOriginalLetter(1));
+    }
+
+    @Test
+    public void given_invalidProbabilities_when_constructing_then_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new MoveGenerator(LETTER_SAMPLER, 0.6f, 0.6f, 3, false));
+        assertThrows(IllegalArgumentException.class, () -> new MoveGenerator(LETTER_SAMPLER, -0.1f, 0f, 3, false));
+        assertThrows(IllegalArgumentException.class, () -> new MoveGenerator(LETTER_SAMPLER, 0f, 0.5f, 1, false));
+    }
+
+    private Cipher buildCipher() {
+        Cipher cipher = new Cipher("test", 1, 6);
+        cipher.setCiphertext(Arrays.asList("x", "y", "z", "x", "y", "z"));
+        return cipher;
+    }
+
+    // x and y are homophones of 'a', while z maps to 'b'
+    private CipherSolution buildSolution(Cipher cipher) {
+        CipherSolution solution = new CipherSolution(cipher, 3);
+        solution.putMapping("x", 'a');
+        solution.putMapping("y", 'a');
+        solution.putMapping("z", 'b');
+        return solution;
+    }
+
+    private int[] buildMappingKeys(Cipher cipher) {
+        return new int[]{cipher.getSymbolId("x"), cipher.getSymbolId("y"), cipher.getSymbolId("z")};
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.NgramAndIndexOfCoincidencePlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.optimizer.cooling.LinearCoolingSchedule;
+import com.ciphertool.zenith.inference.printer.CipherSolutionPrinter;
+import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.IndexOfCoincidenceEvaluator;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MultiChainSimulatedAnnealingSolutionOptimizerTest {
+    @Test
+    public void given_evaluatorWithoutCounterweight_when_optimizing_then_throwsIllegalArgumentException() {
+        MultiChainSimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer(buildModel());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.optimize(buildCipher(), 1, buildConfig(2), Collections.emptyList(), mock(PlaintextEvaluator.class), null));
+    }
+
+    @Test
+    public void given_checkpointFile_when_optimizing_then_throwsIllegalArgumentException() {
+        MultiChainSimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer(buildModel());
+
+        Map<String, Object> config = buildConfig(2);
+        config.put(CheckpointStore.CHECKPOINT_FILE, "run.ckpt");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.optimize(buildCipher(), 1, config, Collections.emptyList(), mock(PlaintextEvaluator.class), null));
+    }
+
+    @Test
+    public void given_seededChains_when_optimizing_then_returnsBestChainScoredByTheEvaluator() {
+        ArrayMarkovModel model = buildModel();
+        MultiChainSimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer(model);
+        NgramAndIndexOfCoincidencePlaintextEvaluator evaluator = new NgramAndIndexOfCoincidencePlaintextEvaluator(model, new IndexOfCoincidenceEvaluator(), Collections.emptyMap());
+        Cipher cipher = buildCipher();
+
+        Map<String, Object> config = buildConfig(20);
+        config.put(AbstractSolutionOptimizer.SEED, 42L);
+
+        OnEpochComplete callback = mock(OnEpochComplete.class);
+        CipherSolution result = optimizer.optimize(cipher, 1, config, Collections.emptyList(), evaluator, callback);
+        CipherSolution repeated = optimizer.optimize(cipher, 1, config, Collections.emptyList(), evaluator, null);
+
+        CipherSolution rescored = result.clone();
+        float expected = (float) evaluator.evaluate(evaluator.getPrecomputedCounterweightData(cipher), cipher, rescored, rescored.asSingleLineString(), null).getScores()[0].getValue();
+
+        assertEquals(expected, (float) result.getScores()[0].getValue(), 0.00001f);
+        assertEquals(result.asSingleLineString(), repeated.asSingleLineString());
+        verify(callback).fire(1, result, EpochTerminationReason.COMPLETED);
+    }
+
+    private MultiChainSimulatedAnnealingSolutionOptimizer buildOptimizer(ArrayMarkovModel model) {
+        MultiChainSimulatedAnnealingSolutionOptimizer optimizer = new MultiChainSimulatedAnnealingSolutionOptimizer();
+
+        ReflectionTestUtils.setField(optimizer, "letterMarkovModel", model);
+        ReflectionTestUtils.setField(optimizer, "plaintextTransformationManager", mock(PlaintextTransformationManager.class));
+        ReflectionTestUtils.setField(optimizer, "cipherSolutionPrinter", mock(CipherSolutionPrinter.class));
+        ReflectionTestUtils.setField(optimizer, "coolingSchedules", List.of(new LinearCoolingSchedule()));
+        ReflectionTestUtils.setField(optimizer, "letterSampler", new LetterSampler(new char[]{'e', 'h', 'n', 't'}, new double[]{1d, 1d, 1d, 1d}));
+
+        return optimizer;
+    }
+
+    private ArrayMarkovModel buildModel() {
+        ArrayMarkovModel model = new ArrayMarkovModel(4, 0.01f);
+
+        String[] ngrams = {"then", "hent", "enth", "nthe"};
+        for (String value : ngrams) {
+            TreeNGram ngram = new TreeNGram(value);
+            ngram.setLogProbability(-1.0d);
+            model.addNode(ngram);
+        }
+
+        return model;
+    }
+
+    private Map<String, Object> buildConfig(int samplerIterations) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS, samplerIterations);
+        config.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MIN, 0.01f);
+        config.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MAX, 1.0f);
+        config.put(MultiChainSimulatedAnnealingSolutionOptimizer.CHAINS, 4);
+        return config;
+    }
+
+    private Cipher buildCipher() {
+        Cipher cipher = new Cipher("test", 1, 12);
+        cipher.setCiphertext(Arrays.asList("A", "B", "C", "D", "A", "B", "C", "D", "A", "B", "C", "D"));
+
+        return cipher;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.genetic.fitness.Fitness;
+import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.printer.CipherSolutionPrinter;
+import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ParallelTemperingSolutionOptimizerTest {
+    @Test
+    public void given_temperatureRange_when_buildingLadder_then_spacesTemperaturesGeometrically() {
+        float[] temperatures = ParallelTemperingSolutionOptimizer.buildTemperatureLadder(4, 1f, 8f);
+
+        assertArrayEquals(new float[]{1f, 2f, 4f, 8f}, temperatures, 0.0001f);
+    }
+
+    @Test
+    public void given_nonPositiveMinTemperature_when_buildingLadder_then_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> ParallelTemperingSolutionOptimizer.buildTemperatureLadder(4, 0f, 8f));
+    }
+
+    @Test
+    public void given_singleReplica_when_optimizing_then_throwsIllegalArgumentException() throws Exception {
+        ParallelTemperingSolutionOptimizer optimizer = buildOptimizer();
+
+        Map<String, Object> config = buildConfig(1, 0.1f, 1.0f);
+        config.put(ParallelTemperingSolutionOptimizer.REPLICAS, 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.optimize(buildCipher(), 1, config, Collections.emptyList(), mock(PlaintextEvaluator.class), null));
+    }
+
+    @Test
+    public void given_checkpointFile_when_optimizing_then_throwsIllegalArgumentException() throws Exception {
+        ParallelTemperingSolutionOptimizer optimizer = buildOptimizer();
+
+        Map<String, Object> config = buildConfig(1, 0.1f, 1.0f);
+        config.put(CheckpointStore.CHECKPOINT_FILE, "run.ckpt");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.optimize(buildCipher(), 1, config, Collections.emptyList(), mock(PlaintextEvaluator.class), null));
+    }
+
+    @Test
+    public void given_replicas_when_optimizing_then_scoresEveryReplicaAndReturnsBest() throws Exception {
+        ParallelTemperingSolutionOptimizer optimizer = buildOptimizer();
+
+        // Every proposal from a single letter sampler is a no-op, so the mocked evaluator only sees the initial replicas
+        ReflectionTestUtils.setField(optimizer, "letterSampler", new LetterSampler(new char[]{'a'}, new double[]{1d}));
+
+        Cipher cipher = buildCipher();
+        PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
+
+        when(evaluator.getPrecomputedCounterweightData(cipher)).thenReturn(precomputed);
+        when(evaluator.evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), isNull()))
+                .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(1.0d)}))
+                .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(2.0d)}));
+
+        Map<String, Object> config = buildConfig(3, 0.1f, 1.0f);
+        config.put(ParallelTemperingSolutionOptimizer.REPLICAS, 2);
+        config.put(ParallelTemperingSolutionOptimizer.SWAP_INTERVAL, 2);
+
+        OnEpochComplete callback = mock(OnEpochComplete.class);
+        CipherSolution result = optimizer.optimize(cipher, 1, config, Collections.emptyList(), evaluator, callback);
+
+        assertNotNull(result);
+        assertEquals(2.0d, result.getScores()[0].getValue(), 0.0001d);
+        verify(evaluator, times(2)).evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), isNull());
+        verify(callback).fire(1, result, EpochTerminationReason.COMPLETED);
+    }
+
+    private ParallelTemperingSolutionOptimizer buildOptimizer() {
+        ParallelTemperingSolutionOptimizer optimizer = new ParallelTemperingSolutionOptimizer();
+
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+        TreeNGram a = new TreeNGram("a");
+        a.setCount(3);
+        TreeNGram b = new TreeNGram("b");
+        b.setCount(1);
+        model.addNode(a);
+        model.addNode(b);
+
+        TaskExecutor taskExecutor = Runnable::run;
+
+        ReflectionTestUtils.setField(optimizer, "letterMarkovModel", model);
+        ReflectionTestUtils.setField(optimizer, "taskExecutor", taskExecutor);
+        ReflectionTestUtils.setField(optimizer, "plaintextTransformationManager", mock(PlaintextTransformationManager.class));
+        ReflectionTestUtils.setField(optimizer, "cipherSolutionPrinter", mock(CipherSolutionPrinter.class));
+
+        optimizer.init();
+
+        return optimizer;
+    }
+
+    private Map<String, Object> buildConfig(int samplerIterations, float minTemp, float maxTemp) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS, samplerIterations);
+        config.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MIN, minTemp);
+        config.put(SimulatedAnnealingSolutionOptimizer.ANNEALING_TEMPERATURE_MAX, maxTemp);
+        return config;
+    }
+
+    private Cipher buildCipher() {
+        Cipher cipher = new Cipher("test", 1, 4);
+        cipher.setCiphertext(List.of("x", "x", "x", "x"));
+        return cipher;
+    }
+}
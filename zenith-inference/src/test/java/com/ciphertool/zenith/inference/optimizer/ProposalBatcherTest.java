@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import com.ciphertool.zenith.inference.util.LetterUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ProposalBatcherTest {
+    private static final LetterSampler LETTER_SAMPLER = new LetterSampler(new char[]{'a', 'b', 'c'}, new double[]{1d, 1d, 1d});
+
+    @Test
+    public void given_noBatchingOrNonBatchingEvaluator_when_configuring_then_returnsNull() {
+        MoveGenerator moveGenerator = MoveGenerator.fromConfiguration(new HashMap<>(), LETTER_SAMPLER);
+
+        assertNull(ProposalBatcher.fromConfiguration(new HashMap<>(), mock(BatchPlaintextEvaluator.class), moveGenerator));
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(ProposalBatcher.PROPOSAL_BATCH_SIZE, 4);
+
+        assertNull(ProposalBatcher.fromConfiguration(configuration, mock(PlaintextEvaluator.class), moveGenerator));
+        assertNotNull(ProposalBatcher.fromConfiguration(configuration, mock(BatchPlaintextEvaluator.class), moveGenerator));
+    }
+
+    @Test
+    public void given_pipeliningWithoutBatchSizeAboveOne_when_configuring_then_returnsNull() {
+        MoveGenerator moveGenerator = MoveGenerator.fromConfiguration(new HashMap<>(), LETTER_SAMPLER);
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(ProposalBatcher.PIPELINE_PROPOSAL_BATCHES, true);
+
+        assertNull(ProposalBatcher.fromConfiguration(configuration, mock(BatchPlaintextEvaluator.class), moveGenerator));
+
+        configuration.put(ProposalBatcher.PROPOSAL_BATCH_SIZE, 1);
+
+        assertNull(ProposalBatcher.fromConfiguration(configuration, mock(BatchPlaintextEvaluator.class), moveGenerator));
+
+        configuration.put(ProposalBatcher.PROPOSAL_BATCH_SIZE, 2);
+
+        assertTrue(ProposalBatcher.fromConfiguration(configuration, mock(BatchPlaintextEvaluator.class), moveGenerator).isPipelined());
+    }
+
+    @Test
+    public void given_batchSize_when_drawing_then_sendsProposalsAndRestoresLetters() {
+        Cipher cipher = new Cipher("test", 1, 4);
+        cipher.setCiphertext(Arrays.asList("w", "x", "y", "z"));
+
+        CipherSolution solution = new CipherSolution(cipher, 4);
+        for (String symbol : cipher.getCiphertext()) {
+            solution.putMapping(symbol, 'a');
+        }
+
+        int[] mappingKeys = new int[]{cipher.getSymbolId("w"), cipher.getSymbolId("x"), cipher.getSymbolId("y"), cipher.getSymbolId("z")};
+        byte[] solutionLetters = LetterUtils.toLetterCodes(solution.asSingleLineString());
+        byte[] originalLetters = solutionLetters.clone();
+
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(ProposalBatcher.PROPOSAL_BATCH_SIZE, 2);
+        configuration.put(MoveGenerator.AVOID_NO_OP_MOVES, true);
+
+        MoveGenerator moveGenerator = MoveGenerator.fromConfiguration(configuration, LETTER_SAMPLER);
+        BatchPlaintextEvaluator evaluator = mock(BatchPlaintextEvaluator.class);
+        ProposalBatcher proposalBatcher = ProposalBatcher.fromConfiguration(configuration, evaluator, moveGenerator);
+
+        ProposalBatcher.Batch batch = proposalBatcher.draw(1, null, cipher, solution, solutionLetters, mappingKeys, moveGenerator, new SplittableRandom(3L), null, null);
+
+        assertEquals(2, batch.size());
+        assertEquals(1, batch.getMappingIndex(0));
+        assertEquals(2, batch.getMappingIndex(1));
+        assertEquals(3, batch.getEnd());
+        assertArrayEquals(originalLetters, solutionLetters);
+        verify(evaluator).evaluateBatchAsync(any(), eq(cipher), anyList());
+
+        assertNull(proposalBatcher.draw(mappingKeys.length, null, cipher, solution, solutionLetters, mappingKeys, moveGenerator, new SplittableRandom(3L), null, null));
+    }
+}
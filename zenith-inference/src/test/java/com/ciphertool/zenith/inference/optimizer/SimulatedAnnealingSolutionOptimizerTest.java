@@ -21,58 +21,71 @@ package com.ciphertool.zenith.inference.optimizer;
 
 import com.ciphertool.zenith.genetic.fitness.Fitness;
 import com.ciphertool.zenith.genetic.fitness.MaximizingFitness;
+import com.ciphertool.zenith.inference.checkpoint.CheckpointStore;
+import com.ciphertool.zenith.inference.checkpoint.SolveCheckpoint;
 import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
+import com.ciphertool.zenith.inference.entities.FormlyForm;
+import com.ciphertool.zenith.inference.evaluator.BatchPlaintextEvaluator;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.evaluator.model.ProposalScore;
 import com.ciphertool.zenith.inference.evaluator.model.SolutionScore;
+import com.ciphertool.zenith.inference.optimizer.cooling.AdaptiveCoolingSchedule;
+import com.ciphertool.zenith.inference.optimizer.cooling.CoolingSchedule;
+import com.ciphertool.zenith.inference.optimizer.cooling.GeometricCoolingSchedule;
+import com.ciphertool.zenith.inference.optimizer.cooling.LinearCoolingSchedule;
 import com.ciphertool.zenith.inference.printer.CipherSolutionPrinter;
 import com.ciphertool.zenith.inference.transformer.plaintext.PlaintextTransformationManager;
+import com.ciphertool.zenith.inference.util.CounterweightContext;
+import com.ciphertool.zenith.inference.util.LetterSampler;
+import com.ciphertool.zenith.math.random.RandomSource;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskExecutor;
 
 import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNull;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class SimulatedAnnealingSolutionOptimizerTest {
-    private ThreadLocalRandom originalRandom;
-
-    @AfterEach
-    public void tearDown() throws Exception {
-        if (originalRandom != null) {
-            setStaticField(SimulatedAnnealingSolutionOptimizer.class, "RANDOM", originalRandom);
-        }
-    }
+    // Every proposal from a single letter sampler is a no-op, so the mocked evaluators only ever see the initial solutions
+    private static final LetterSampler SINGLE_LETTER_SAMPLER = new LetterSampler(new char[]{'a'}, new double[]{1d});
 
     @Test
     public void given_singleEpoch_when_optimizing_then_returnsSolutionAndFiresCallback() throws Exception {
         SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
 
-        ThreadLocalRandom random = mock(ThreadLocalRandom.class);
-        originalRandom = (ThreadLocalRandom) getStaticField(SimulatedAnnealingSolutionOptimizer.class, "RANDOM");
-        when(random.nextInt(anyInt())).thenReturn(0);
-        setStaticField(SimulatedAnnealingSolutionOptimizer.class, "RANDOM", random);
+        setField(optimizer, "letterSampler", SINGLE_LETTER_SAMPLER);
 
         Cipher cipher = buildCipher();
         PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
-        Map<String, Object> precomputed = Collections.singletonMap("key", "value");
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(evaluator.getPrecomputedCounterweightData(cipher)).thenReturn(precomputed);
         when(evaluator.evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), isNull()))
@@ -86,31 +99,276 @@ public class SimulatedAnnealingSolutionOptimizerTest {
         assertNotNull(result);
         assertEquals(1, result.getMappings().size());
         verify(evaluator).evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), isNull());
-        verify(callback).fire(1, result);
+        verify(callback).fire(1, result, EpochTerminationReason.COMPLETED);
     }
 
     @Test
     public void given_multiObjectiveScores_when_sampling_then_throwsIllegalStateException() throws Exception {
         SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
 
-        ThreadLocalRandom random = mock(ThreadLocalRandom.class);
-        originalRandom = (ThreadLocalRandom) getStaticField(SimulatedAnnealingSolutionOptimizer.class, "RANDOM");
-        when(random.nextInt(anyInt())).thenReturn(0, 1);
-        setStaticField(SimulatedAnnealingSolutionOptimizer.class, "RANDOM", random);
-        setField(optimizer, "biasedLetterBucket", new char[]{'a', 'b'});
+        setField(optimizer, "letterSampler", new LetterSampler(new char[]{'a', 'b'}, new double[]{1d, 1d}));
 
         Cipher cipher = buildCipher();
         PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
-        Map<String, Object> precomputed = new HashMap<>();
+        CounterweightContext precomputed = mock(CounterweightContext.class);
 
         when(evaluator.getPrecomputedCounterweightData(cipher)).thenReturn(precomputed);
         when(evaluator.evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), any()))
                 .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(1.0d), new MaximizingFitness(0.5d)}));
+        when(evaluator.evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), any(byte[].class), any()))
+                .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(1.0d), new MaximizingFitness(0.5d)}));
+
+        Map<String, Object> config = buildConfig(1, 0.1f, 1.0f);
+        // Guarantees that the one symbol is actually remapped, and so scored
+        config.put(MoveGenerator.AVOID_NO_OP_MOVES, true);
+
+        SplittableGenerator previousRandom = RandomSource.begin(42L);
+        try {
+            assertThrows(IllegalStateException.class,
+                    () -> optimizer.optimize(cipher, 1, config, Collections.emptyList(), evaluator, null));
+        } finally {
+            RandomSource.end(previousRandom);
+        }
+    }
+
+    @Test
+    public void given_parallelEpochs_when_optimizing_then_firesEveryEpochAndReturnsOverallBest() throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        TaskExecutor taskExecutor = executorService::execute;
+        setField(optimizer, "taskExecutor", taskExecutor);
+
+        setField(optimizer, "letterSampler", SINGLE_LETTER_SAMPLER);
+
+        Cipher cipher = buildCipher();
+        PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
+
+        when(evaluator.getPrecomputedCounterweightData(cipher)).thenReturn(precomputed);
+        when(evaluator.evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), isNull()))
+                .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(1.0d)}))
+                .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(3.0d)}))
+                .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(2.0d)}));
 
         Map<String, Object> config = buildConfig(1, 0.1f, 1.0f);
+        config.put(SimulatedAnnealingSolutionOptimizer.PARALLEL_EPOCHS, 2);
+
+        OnEpochComplete callback = mock(OnEpochComplete.class);
+
+        CipherSolution result;
+        try {
+            result = optimizer.optimize(cipher, 3, config, Collections.emptyList(), evaluator, callback);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertNotNull(result);
+        assertEquals(3.0d, result.getScores()[0].getValue(), 0.0001d);
+        verify(evaluator, times(3)).evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), isNull());
+        verify(callback).fire(eq(1), any(CipherSolution.class), eq(EpochTerminationReason.COMPLETED));
+        verify(callback).fire(eq(2), any(CipherSolution.class), eq(EpochTerminationReason.COMPLETED));
+        verify(callback).fire(eq(3), any(CipherSolution.class), eq(EpochTerminationReason.COMPLETED));
+    }
+
+    @Test
+    public void given_sameSeed_when_optimizingInParallel_then_reachesSameSolution() throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        TaskExecutor taskExecutor = executorService::execute;
+        setField(optimizer, "taskExecutor", taskExecutor);
 
-        assertThrows(IllegalStateException.class,
-                () -> optimizer.optimize(cipher, 1, config, Collections.emptyList(), evaluator, null));
+        setField(optimizer, "letterSampler", new LetterSampler(new char[]{'a', 'b', 'c', 'd'}, new double[]{1d, 2d, 3d, 4d}));
+
+        Cipher cipher = new Cipher("test", 1, 4);
+        cipher.setCiphertext(List.of("w", "x", "y", "z"));
+
+        PlaintextEvaluator evaluator = new PositionalPlaintextEvaluator();
+
+        Map<String, Object> config = buildConfig(50, 0.1f, 1.0f);
+        config.put(SimulatedAnnealingSolutionOptimizer.PARALLEL_EPOCHS, 2);
+        config.put(AbstractSolutionOptimizer.SEED, 7L);
+
+        CipherSolution first;
+        CipherSolution second;
+        try {
+            first = optimizer.optimize(cipher, 4, config, Collections.emptyList(), evaluator, null);
+            second = optimizer.optimize(cipher, 4, config, Collections.emptyList(), evaluator, null);
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(first.getMappings(), second.getMappings());
+        assertEquals(first.getScores()[0].getValue(), second.getScores()[0].getValue(), 0.0d);
+    }
+
+    @Test
+    public void given_checkpointedRun_when_interruptedAndResumed_then_reachesSameSolutionAsUninterruptedRun(@TempDir Path tempDir) throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+
+        setField(optimizer, "letterSampler", new LetterSampler(new char[]{'a', 'b', 'c', 'd'}, new double[]{1d, 2d, 3d, 4d}));
+
+        Cipher cipher = new Cipher("test", 1, 4);
+        cipher.setCiphertext(List.of("w", "x", "y", "z"));
+
+        Map<String, Object> config = buildConfig(12, 0.1f, 1.0f);
+        config.put(AbstractSolutionOptimizer.SEED, 7L);
+        config.put(CheckpointStore.CHECKPOINT_ITERATIONS, 4);
+
+        Path uninterruptedFile = tempDir.resolve("uninterrupted.ckpt");
+        config.put(CheckpointStore.CHECKPOINT_FILE, uninterruptedFile.toString());
+        CipherSolution uninterrupted = optimizer.optimize(cipher, 3, config, Collections.emptyList(), new PositionalPlaintextEvaluator(), null);
+
+        assertFalse(Files.exists(uninterruptedFile));
+
+        Path interruptedFile = tempDir.resolve("interrupted.ckpt");
+        config.put(CheckpointStore.CHECKPOINT_FILE, interruptedFile.toString());
+
+        // Dies part way through the second epoch, after at least one checkpoint has been written
+        assertThrows(IllegalStateException.class, () -> optimizer.optimize(cipher, 3, config, Collections.emptyList(), new FailingPositionalPlaintextEvaluator(40), null));
+        assertTrue(Files.exists(interruptedFile));
+
+        CipherSolution resumed = optimizer.optimize(cipher, 3, config, Collections.emptyList(), new PositionalPlaintextEvaluator(), null);
+
+        assertEquals(uninterrupted.getMappings(), resumed.getMappings());
+        assertEquals(uninterrupted.getScores()[0].getValue(), resumed.getScores()[0].getValue(), 0.0d);
+        assertFalse(Files.exists(interruptedFile));
+    }
+
+    @Test
+    public void given_checkpointedRunWithAdaptiveSchedule_when_interruptedAndResumed_then_reachesSameSolutionAsUninterruptedRun(@TempDir Path tempDir) throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+
+        setField(optimizer, "letterSampler", new LetterSampler(new char[]{'a', 'b', 'c', 'd'}, new double[]{1d, 2d, 3d, 4d}));
+
+        Cipher cipher = new Cipher("test", 1, 4);
+        cipher.setCiphertext(List.of("w", "x", "y", "z"));
+
+        Map<String, Object> config = buildConfig(40, 0.1f, 1.0f);
+        config.put(SimulatedAnnealingSolutionOptimizer.COOLING_SCHEDULE_NAME, AdaptiveCoolingSchedule.class.getSimpleName());
+        config.put(AbstractSolutionOptimizer.SEED, 7L);
+        config.put(CheckpointStore.CHECKPOINT_ITERATIONS, 4);
+
+        config.put(CheckpointStore.CHECKPOINT_FILE, tempDir.resolve("uninterrupted.ckpt").toString());
+        CipherSolution uninterrupted = optimizer.optimize(cipher, 1, config, Collections.emptyList(), new PositionalPlaintextEvaluator(), null);
+
+        Path interruptedFile = tempDir.resolve("interrupted.ckpt");
+        config.put(CheckpointStore.CHECKPOINT_FILE, interruptedFile.toString());
+
+        // Dies part way through the only epoch, after the schedule has adapted and been checkpointed
+        assertThrows(IllegalStateException.class, () -> optimizer.optimize(cipher, 1, config, Collections.emptyList(), new FailingPositionalPlaintextEvaluator(30), null));
+        assertTrue(Files.exists(interruptedFile));
+
+        CipherSolution resumed = optimizer.optimize(cipher, 1, config, Collections.emptyList(), new PositionalPlaintextEvaluator(), null);
+
+        assertEquals(uninterrupted.getMappings(), resumed.getMappings());
+        assertEquals(uninterrupted.getScores()[0].getValue(), resumed.getScores()[0].getValue(), 0.0d);
+    }
+
+    @Test
+    public void given_parallelCheckpointMissingAnEarlierEpoch_when_resumed_then_runsOnlyTheMissingEpochsWithTheirOwnSplits(@TempDir Path tempDir) throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        TaskExecutor taskExecutor = executorService::execute;
+        setField(optimizer, "taskExecutor", taskExecutor);
+
+        setField(optimizer, "letterSampler", new LetterSampler(new char[]{'a', 'b', 'c', 'd'}, new double[]{1d, 2d, 3d, 4d}));
+
+        Cipher cipher = new Cipher("test", 1, 4);
+        cipher.setCiphertext(List.of("w", "x", "y", "z"));
+
+        Map<String, Object> config = buildConfig(2, 0.1f, 1.0f);
+        config.put(AbstractSolutionOptimizer.SEED, 7L);
+
+        // Run one epoch at a time, so that each epoch's best is seen in epoch order
+        List<CipherSolution> epochBests = new ArrayList<>();
+        optimizer.optimize(cipher, 4, config, Collections.emptyList(), new PositionalPlaintextEvaluator(), (epoch, best, terminationReason) -> epochBests.add(best));
+
+        // As a parallel run would leave it had the second and fourth epochs still been running when it stopped
+        BitSet completedEpochs = new BitSet();
+        completedEpochs.set(0);
+        completedEpochs.set(2);
+
+        Path file = tempDir.resolve("parallel.ckpt");
+        new CheckpointStore(file, 0).save(new SolveCheckpoint("SimulatedAnnealingSolutionOptimizer", CheckpointStore.fingerprint(cipher), completedEpochs, 0, 0L, CheckpointStore.toMappings(cipher, epochBests.get(0)), null));
+
+        config.put(SimulatedAnnealingSolutionOptimizer.PARALLEL_EPOCHS, 2);
+        config.put(CheckpointStore.CHECKPOINT_FILE, file.toString());
+
+        Map<Integer, CipherSolution> resumedBests = new HashMap<>();
+        try {
+            optimizer.optimize(cipher, 4, config, Collections.emptyList(), new PositionalPlaintextEvaluator(), (epoch, best, terminationReason) -> resumedBests.put(epoch, best));
+        } finally {
+            executorService.shutdownNow();
+        }
+
+        assertEquals(Set.of(3, 4), resumedBests.keySet());
+        assertEquals(Set.of(epochBests.get(1).getMappings(), epochBests.get(3).getMappings()), Set.of(resumedBests.get(3).getMappings(), resumedBests.get(4).getMappings()));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    public void given_pipelinedProposalBatches_when_optimizing_then_scoresInBatchesAndKeepsScoresConsistent() throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+
+        setField(optimizer, "letterSampler", new LetterSampler(new char[]{'a', 'b', 'c', 'd'}, new double[]{1d, 2d, 3d, 4d}));
+
+        Cipher cipher = new Cipher("test", 1, 6);
+        cipher.setCiphertext(List.of("u", "v", "w", "x", "y", "z"));
+
+        BatchingPositionalPlaintextEvaluator evaluator = new BatchingPositionalPlaintextEvaluator();
+
+        Map<String, Object> config = buildConfig(20, 0.1f, 1.0f);
+        config.put(ProposalBatcher.PROPOSAL_BATCH_SIZE, 3);
+        config.put(ProposalBatcher.PIPELINE_PROPOSAL_BATCHES, true);
+        config.put(AbstractSolutionOptimizer.SEED, 11L);
+
+        CipherSolution result = optimizer.optimize(cipher, 1, config, Collections.emptyList(), evaluator, null);
+
+        assertFalse(evaluator.batchSizes.isEmpty());
+        assertTrue(evaluator.batchSizes.stream().allMatch(size -> size >= 1 && size <= 3));
+        // Accepted proposals take their scores from the batch, which must agree with scoring the final solution afresh
+        assertEquals(evaluator.evaluate(null, cipher, result, result.asSingleLineString(), null).getScores()[0].getValue(), result.getScores()[0].getValue(), 0.0001d);
+    }
+
+    @Test
+    public void given_unknownCoolingSchedule_when_optimizing_then_throwsIllegalArgumentException() throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+
+        Map<String, Object> config = buildConfig(1, 0.1f, 1.0f);
+        config.put(SimulatedAnnealingSolutionOptimizer.COOLING_SCHEDULE_NAME, "NonexistentCoolingSchedule");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> optimizer.optimize(buildCipher(), 1, config, Collections.emptyList(), mock(PlaintextEvaluator.class), null));
+    }
+
+    @Test
+    public void given_stagnationIterations_when_scoreStopsImproving_then_endsEpochEarlyAndReportsStagnation() throws Exception {
+        SimulatedAnnealingSolutionOptimizer optimizer = buildOptimizer();
+        CountingCoolingSchedule coolingSchedule = new CountingCoolingSchedule();
+        setField(optimizer, "coolingSchedules", List.of(coolingSchedule));
+
+        setField(optimizer, "letterSampler", SINGLE_LETTER_SAMPLER);
+
+        Cipher cipher = buildCipher();
+        PlaintextEvaluator evaluator = mock(PlaintextEvaluator.class);
+        CounterweightContext precomputed = mock(CounterweightContext.class);
+
+        when(evaluator.getPrecomputedCounterweightData(cipher)).thenReturn(precomputed);
+        when(evaluator.evaluate(eq(precomputed), eq(cipher), any(CipherSolution.class), anyString(), isNull()))
+                .thenReturn(new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(1.0d)}));
+
+        Map<String, Object> config = buildConfig(1000, 0.1f, 1.0f);
+        config.put(SimulatedAnnealingSolutionOptimizer.COOLING_SCHEDULE_NAME, CountingCoolingSchedule.class.getSimpleName());
+        config.put(StoppingCriteria.STAGNATION_ITERATIONS, 3);
+
+        OnEpochComplete callback = mock(OnEpochComplete.class);
+        optimizer.optimize(cipher, 1, config, Collections.emptyList(), evaluator, callback);
+
+        assertEquals(3, coolingSchedule.iterations);
+        verify(callback).fire(eq(1), any(CipherSolution.class), eq(EpochTerminationReason.STAGNATION));
     }
 
     private SimulatedAnnealingSolutionOptimizer buildOptimizer() throws Exception {
@@ -127,6 +385,7 @@ public class SimulatedAnnealingSolutionOptimizerTest {
         setField(optimizer, "letterMarkovModel", model);
         setField(optimizer, "plaintextTransformationManager", mock(PlaintextTransformationManager.class));
         setField(optimizer, "cipherSolutionPrinter", mock(CipherSolutionPrinter.class));
+        setField(optimizer, "coolingSchedules", List.of(new LinearCoolingSchedule(), new GeometricCoolingSchedule(), new AdaptiveCoolingSchedule()));
 
         optimizer.init();
 
@@ -154,18 +413,6 @@ public class SimulatedAnnealingSolutionOptimizerTest {
         field.set(target, value);
     }
 
-    private static Object getStaticField(Class<?> target, String fieldName) throws Exception {
-        Field field = target.getDeclaredField(fieldName);
-        field.setAccessible(true);
-        return field.get(null);
-    }
-
-    private static void setStaticField(Class<?> target, String fieldName, Object value) throws Exception {
-        Field field = target.getDeclaredField(fieldName);
-        field.setAccessible(true);
-        field.set(null, value);
-    }
-
     private Map<String, Object> buildConfig(int samplerIterations, float minTemp, float maxTemp) {
         Map<String, Object> config = new HashMap<>();
         config.put(SimulatedAnnealingSolutionOptimizer.SAMPLER_ITERATIONS, samplerIterations);
@@ -179,4 +426,93 @@ public class SimulatedAnnealingSolutionOptimizerTest {
         cipher.setCiphertext(List.of("x", "x", "x", "x"));
         return cipher;
     }
+
+    private static class BatchingPositionalPlaintextEvaluator extends PositionalPlaintextEvaluator implements BatchPlaintextEvaluator {
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public List<ProposalScore> evaluateBatch(CounterweightContext precomputedData, Cipher cipher, List<String> solutionStrings) {
+            batchSizes.add(solutionStrings.size());
+
+            List<ProposalScore> scores = new ArrayList<>(solutionStrings.size());
+            for (String solutionString : solutionStrings) {
+                scores.add(new ProposalScore(new float[0], evaluate(precomputedData, cipher, null, solutionString, null).getScores()));
+            }
+
+            return scores;
+        }
+    }
+
+    // Scores depend on the letters and their positions, so that different proposals score differently
+    private static class PositionalPlaintextEvaluator implements PlaintextEvaluator {
+        @Override
+        public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+            double score = 0d;
+
+            for (int i = 0; i < solutionString.length(); i++) {
+                score += (solutionString.charAt(i) - 'a' + 1) * (i % 2 == 0 ? 1d : -0.5d);
+            }
+
+            return new SolutionScore(new float[2][0], new Fitness[]{new MaximizingFitness(score)});
+        }
+
+        @Override
+        public CounterweightContext getPrecomputedCounterweightData(Cipher cipher) {
+            return null;
+        }
+
+        @Override
+        public PlaintextEvaluator getInstance(Map<String, Object> data) {
+            return this;
+        }
+
+        @Override
+        public FormlyForm getForm() {
+            return null;
+        }
+
+        @Override
+        public int getOrder() {
+            return 0;
+        }
+
+        @Override
+        public String getHelpText() {
+            return null;
+        }
+    }
+
+    private static class FailingPositionalPlaintextEvaluator extends PositionalPlaintextEvaluator {
+        private int remaining;
+
+        private FailingPositionalPlaintextEvaluator(int evaluations) {
+            this.remaining = evaluations;
+        }
+
+        @Override
+        public SolutionScore evaluate(CounterweightContext precomputedData, Cipher cipher, CipherSolution solution, String solutionString, String ciphertextKey) {
+            if (remaining == 0) {
+                throw new IllegalStateException("Simulated failure.");
+            }
+
+            remaining --;
+
+            return super.evaluate(precomputedData, cipher, solution, solutionString, ciphertextKey);
+        }
+    }
+
+    private static class CountingCoolingSchedule implements CoolingSchedule {
+        private int iterations;
+
+        @Override
+        public CoolingSchedule getInstance(int samplerIterations, float temperatureMin, float temperatureMax) {
+            return this;
+        }
+
+        @Override
+        public float getTemperature(int iteration) {
+            iterations ++;
+            return 1f;
+        }
+    }
 }
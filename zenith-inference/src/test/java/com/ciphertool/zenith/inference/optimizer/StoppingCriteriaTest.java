@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import com.ciphertool.zenith.inference.entities.CipherSolution;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StoppingCriteriaTest {
+    @Test
+    public void given_noCriteria_when_checking_then_neverStops() {
+        StoppingCriteria criteria = new StoppingCriteria(new HashMap<>(), 0.9d);
+
+        assertNull(criteria.check(Integer.MAX_VALUE - 1, Long.MAX_VALUE - 1, Float.MAX_VALUE, buildSolution()));
+    }
+
+    @Test
+    public void given_stagnationIterations_when_checking_then_stopsOnceReached() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(StoppingCriteria.STAGNATION_ITERATIONS, 5);
+        StoppingCriteria criteria = new StoppingCriteria(configuration, 0.9d);
+
+        assertNull(criteria.check(4, 0L, 0f, buildSolution()));
+        assertEquals(EpochTerminationReason.STAGNATION, criteria.check(5, 0L, 0f, buildSolution()));
+    }
+
+    @Test
+    public void given_minImprovement_when_checkingImprovement_then_treatsSmallGainsAsPlateau() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(StoppingCriteria.MIN_IMPROVEMENT, 0.5f);
+        StoppingCriteria criteria = new StoppingCriteria(configuration, 0.9d);
+
+        assertFalse(criteria.isImprovement(-10.25f, -10.5f));
+        assertTrue(criteria.isImprovement(-9.5f, -10.5f));
+    }
+
+    @Test
+    public void given_maxEpochMillis_when_checking_then_stopsOnceExceeded() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(StoppingCriteria.MAX_EPOCH_MILLIS, 100L);
+        StoppingCriteria criteria = new StoppingCriteria(configuration, 0.9d);
+
+        assertNull(criteria.check(0, 99L, 0f, buildSolution()));
+        assertEquals(EpochTerminationReason.TIME_BUDGET, criteria.check(0, 100L, 0f, buildSolution()));
+    }
+
+    @Test
+    public void given_targetScore_when_checking_then_stopsOnceReached() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(StoppingCriteria.TARGET_SCORE, -100f);
+        StoppingCriteria criteria = new StoppingCriteria(configuration, 0.9d);
+
+        assertNull(criteria.check(0, 0L, -101f, buildSolution()));
+        assertEquals(EpochTerminationReason.TARGET_SCORE, criteria.check(0, 0L, -100f, buildSolution()));
+    }
+
+    @Test
+    public void given_stopOnKnownSolution_when_solutionMatches_then_stops() {
+        Map<String, Object> configuration = new HashMap<>();
+        configuration.put(StoppingCriteria.STOP_ON_KNOWN_SOLUTION, true);
+        StoppingCriteria criteria = new StoppingCriteria(configuration, 0.9d);
+
+        Cipher cipher = new Cipher("test", 1, 2);
+        cipher.setCiphertext(List.of("x", "y"));
+        cipher.putKnownSolutionMapping("x", "a");
+        cipher.putKnownSolutionMapping("y", "b");
+
+        CipherSolution solution = new CipherSolution(cipher, 2);
+        solution.putMapping("x", 'a');
+        solution.putMapping("y", 'c');
+
+        assertNull(criteria.check(0, 0L, 0f, solution));
+
+        solution.replaceMapping("y", 'b');
+
+        assertEquals(EpochTerminationReason.KNOWN_SOLUTION, criteria.check(0, 0L, 0f, solution));
+    }
+
+    private CipherSolution buildSolution() {
+        Cipher cipher = new Cipher("test", 1, 1);
+        cipher.setCiphertext(List.of("x"));
+        return new CipherSolution(cipher, 1);
+    }
+}
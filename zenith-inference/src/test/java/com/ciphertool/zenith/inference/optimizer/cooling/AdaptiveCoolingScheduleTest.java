@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveCoolingScheduleTest {
+    @Test
+    public void given_acceptanceAboveTarget_when_iterationCompletes_then_coolsButNotBelowMin() {
+        CoolingSchedule schedule = new AdaptiveCoolingSchedule().getInstance(100, 1f, 2f);
+
+        assertEquals(2f, schedule.getTemperature(0), 0.0001f);
+
+        schedule.onIterationComplete(0, 1f, 0f);
+        assertTrue(schedule.getTemperature(1) < 2f);
+
+        for (int i = 1; i < 100; i ++) {
+            schedule.onIterationComplete(i, 1f, 0f);
+        }
+
+        assertEquals(1f, schedule.getTemperature(100), 0.0001f);
+    }
+
+    @Test
+    public void given_acceptanceBelowTarget_when_iterationCompletes_then_heatsButNotAboveMax() {
+        CoolingSchedule schedule = new AdaptiveCoolingSchedule().getInstance(100, 1f, 2f);
+
+        for (int i = 0; i < 20; i ++) {
+            schedule.onIterationComplete(i, 1f, 0f);
+        }
+
+        float cooled = schedule.getTemperature(20);
+
+        schedule.onIterationComplete(20, 0f, 0f);
+        assertTrue(schedule.getTemperature(21) > cooled);
+
+        for (int i = 21; i < 100; i ++) {
+            schedule.onIterationComplete(i, 0f, 0f);
+        }
+
+        assertEquals(2f, schedule.getTemperature(100), 0.0001f);
+    }
+
+    @Test
+    public void given_snapshot_when_restoringFreshInstance_then_keepsTheAdaptedTemperature() {
+        CoolingSchedule schedule = new AdaptiveCoolingSchedule().getInstance(100, 1f, 2f);
+
+        for (int i = 0; i < 5; i ++) {
+            schedule.onIterationComplete(i, 1f, 0f);
+        }
+
+        CoolingSchedule restored = new AdaptiveCoolingSchedule().getInstance(100, 1f, 2f);
+        restored.restore(schedule.snapshot());
+
+        assertTrue(restored.getTemperature(5) < 2f);
+        assertEquals(schedule.getTemperature(5), restored.getTemperature(5), 0.0f);
+    }
+}
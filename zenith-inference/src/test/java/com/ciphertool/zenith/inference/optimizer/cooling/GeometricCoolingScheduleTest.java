@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class GeometricCoolingScheduleTest {
+    @Test
+    public void given_range_when_gettingTemperature_then_fallsByAConstantFactor() {
+        CoolingSchedule schedule = new GeometricCoolingSchedule().getInstance(2, 1f, 4f);
+
+        assertEquals(4f, schedule.getTemperature(0), 0.0001f);
+        assertEquals(2f, schedule.getTemperature(1), 0.0001f);
+        assertEquals(1f, schedule.getTemperature(2), 0.0001f);
+    }
+
+    @Test
+    public void given_zeroMinTemperature_when_gettingInstance_then_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new GeometricCoolingSchedule().getInstance(10, 0f, 4f));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogarithmicCoolingScheduleTest {
+    @Test
+    public void given_range_when_gettingTemperature_then_startsAtMaxAndReachesMinOnTheLastIteration() {
+        CoolingSchedule schedule = new LogarithmicCoolingSchedule().getInstance(100, 1f, 10f);
+
+        assertEquals(10f, schedule.getTemperature(0), 0.0001f);
+        assertEquals(1f, schedule.getTemperature(100), 0.0001f);
+
+        // Most of the drop happens early on
+        assertTrue(schedule.getTemperature(10) - schedule.getTemperature(20) > schedule.getTemperature(80) - schedule.getTemperature(90));
+    }
+
+    @Test
+    public void given_zeroMinTemperature_when_gettingInstance_then_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new LogarithmicCoolingSchedule().getInstance(10, 0f, 4f));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.optimizer.cooling;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ReheatingCoolingScheduleTest {
+    @Test
+    public void given_improvingScores_when_gettingTemperature_then_coolsLinearly() {
+        CoolingSchedule schedule = new ReheatingCoolingSchedule().getInstance(10, 0f, 10f);
+
+        for (int i = 0; i < 5; i ++) {
+            assertEquals(10f - i, schedule.getTemperature(i), 0.0001f);
+            schedule.onIterationComplete(i, 0.5f, i);
+        }
+
+        assertEquals(5f, schedule.getTemperature(5), 0.0001f);
+    }
+
+    @Test
+    public void given_stagnantScore_when_iterationCompletes_then_reheatsAndCoolsToMinOverRemainingIterations() {
+        CoolingSchedule schedule = new ReheatingCoolingSchedule().getInstance(10, 0f, 10f);
+
+        schedule.onIterationComplete(0, 0.5f, 1f);
+        assertEquals(9f, schedule.getTemperature(1), 0.0001f);
+
+        // A tenth of the run without improving is enough to trigger a reheat
+        schedule.onIterationComplete(1, 0.5f, 1f);
+
+        assertEquals(9.5f, schedule.getTemperature(2), 0.0001f);
+        assertEquals(0f, schedule.getTemperature(10), 0.0001f);
+    }
+
+    @Test
+    public void given_snapshotAfterReheat_when_restoringFreshInstance_then_carriesOnFromTheSameState() {
+        CoolingSchedule schedule = new ReheatingCoolingSchedule().getInstance(10, 0f, 10f);
+
+        schedule.onIterationComplete(0, 0.5f, 1f);
+        schedule.onIterationComplete(1, 0.5f, 1f);
+
+        CoolingSchedule restored = new ReheatingCoolingSchedule().getInstance(10, 0f, 10f);
+        restored.restore(schedule.snapshot());
+
+        assertEquals(schedule.getTemperature(2), restored.getTemperature(2), 0.0f);
+
+        // Neither has improved on its best score, so both reheat again at the same point
+        for (int i = 2; i < 4; i ++) {
+            schedule.onIterationComplete(i, 0.5f, 1f);
+            restored.onIterationComplete(i, 0.5f, 1f);
+        }
+
+        assertEquals(schedule.getTemperature(4), restored.getTemperature(4), 0.0f);
+    }
+}
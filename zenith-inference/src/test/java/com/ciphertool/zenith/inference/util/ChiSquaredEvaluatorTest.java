@@ -25,7 +25,6 @@ import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -49,14 +48,14 @@ public class ChiSquaredEvaluatorTest {
 
         Cipher cipher = new Cipher("test", 1, 4);
 
-        Map<String, Object> precomputed = evaluator.precompute(cipher);
+        CounterweightContext precomputed = evaluator.precompute(cipher);
         float result = evaluator.evaluate(precomputed, cipher, "aaaa");
 
         assertEquals(4f, result, 0.0001f);
     }
 
     private ArrayMarkovModel buildLetterModel() {
-        ArrayMarkovModel model = new ArrayMarkovModel(1, 0.01f);
+        ArrayMarkovModel model = new ArrayMarkovModel(3, 0.01f);
 
         TreeNGram a = new TreeNGram("a");
         a.setCount(2L);
@@ -81,4 +80,17 @@ public class ChiSquaredEvaluatorTest {
             throw new AssertionError("Unable to set letterMarkovModel for ChiSquaredEvaluator.", exception);
         }
     }
+
+    @Test
+    public void given_letterCodes_when_evaluating_then_matchesStringEvaluation() {
+        ChiSquaredEvaluator evaluator = new ChiSquaredEvaluator();
+        setLetterMarkovModel(evaluator, buildLetterModel());
+
+        Cipher cipher = new Cipher("test", 1, 4);
+
+        CounterweightContext precomputed = evaluator.precompute(cipher);
+
+        assertEquals(evaluator.evaluate(precomputed, cipher, "aaaa"), evaluator.evaluate(precomputed, cipher, LetterUtils.toLetterCodes("aaaa")), 0.0001f);
+        assertEquals(evaluator.evaluate(precomputed, cipher, "aabc"), evaluator.evaluate(precomputed, cipher, LetterUtils.toLetterCodes("aabc")), 0.0001f);
+    }
 }
@@ -46,4 +46,16 @@ public class EntropyEvaluatorTest {
 
         assertEquals(1f, result, 0.0001f);
     }
+
+    @Test
+    public void given_letterCodes_when_evaluating_then_matchesStringEvaluation() {
+        EntropyEvaluator evaluator = new EntropyEvaluator();
+
+        Cipher cipher = new Cipher("test", 1, 8);
+
+        float expected = evaluator.evaluate(null, cipher, "aabbbczz");
+        float result = evaluator.evaluate(null, cipher, LetterUtils.toLetterCodes("aabbbczz"));
+
+        assertEquals(expected, result, 0.0001f);
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.util;
+
+import com.ciphertool.zenith.inference.entities.Cipher;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LetterFrequenciesTest {
+    @Test
+    public void given_remappedSymbol_when_updating_then_matchesFullIndexOfCoincidence() {
+        Cipher cipher = buildCipher();
+        IndexOfCoincidenceEvaluator evaluator = new IndexOfCoincidenceEvaluator();
+        CounterweightContext precomputed = evaluator.precompute(cipher);
+
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcabcdd");
+        LetterFrequencies frequencies = new LetterFrequencies(evaluator, precomputed, cipher, solutionLetters);
+
+        assertEquals(evaluator.evaluate(precomputed, cipher, solutionLetters), frequencies.evaluate(), 0.0001f);
+
+        remap(solutionLetters, cipher, "x", 'd');
+        frequencies.update(solutionLetters, cipher.getCipherSymbolIndicesMap().get("x"));
+
+        assertEquals(evaluator.evaluate(precomputed, cipher, solutionLetters), frequencies.evaluate(), 0.0001f);
+        assertEquals(4, frequencies.getLetterCount(LetterUtils.charToOrdinal('d')));
+        assertEquals(0, frequencies.getLetterCount(LetterUtils.charToOrdinal('a')));
+    }
+
+    @Test
+    public void given_rolledBackUpdate_when_evaluating_then_restoresPreviousEntropy() {
+        Cipher cipher = buildCipher();
+        EntropyEvaluator evaluator = new EntropyEvaluator();
+        CounterweightContext precomputed = evaluator.precompute(cipher);
+
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcabcdd");
+        LetterFrequencies frequencies = new LetterFrequencies(evaluator, precomputed, cipher, solutionLetters);
+        float original = frequencies.evaluate();
+
+        remap(solutionLetters, cipher, "y", 'c');
+        frequencies.update(solutionLetters, cipher.getCipherSymbolIndicesMap().get("y"));
+
+        assertEquals(evaluator.evaluate(precomputed, cipher, solutionLetters), frequencies.evaluate(), 0.0001f);
+
+        frequencies.rollback();
+
+        assertEquals(original, frequencies.evaluate(), 0.0001f);
+        assertEquals(2, frequencies.getLetterCount(LetterUtils.charToOrdinal('b')));
+    }
+
+    @Test
+    public void given_swappedSymbols_when_rollingBack_then_restoresOriginalCounts() {
+        Cipher cipher = buildCipher();
+        IndexOfCoincidenceEvaluator evaluator = new IndexOfCoincidenceEvaluator();
+        CounterweightContext precomputed = evaluator.precompute(cipher);
+
+        byte[] solutionLetters = LetterUtils.toLetterCodes("abcabcdd");
+        LetterFrequencies frequencies = new LetterFrequencies(evaluator, precomputed, cipher, solutionLetters);
+        float original = frequencies.evaluate();
+
+        // Swap the letters of x and w, one update per symbol
+        remap(solutionLetters, cipher, "x", 'd');
+        frequencies.update(solutionLetters, cipher.getCipherSymbolIndicesMap().get("x"));
+        remap(solutionLetters, cipher, "w", 'a');
+        frequencies.update(solutionLetters, cipher.getCipherSymbolIndicesMap().get("w"));
+
+        assertEquals(evaluator.evaluate(precomputed, cipher, solutionLetters), frequencies.evaluate(), 0.0001f);
+
+        frequencies.rollback();
+
+        assertEquals(original, frequencies.evaluate(), 0.0001f);
+        assertEquals(2, frequencies.getLetterCount(LetterUtils.charToOrdinal('a')));
+        assertEquals(2, frequencies.getLetterCount(LetterUtils.charToOrdinal('d')));
+    }
+
+    private void remap(byte[] solutionLetters, Cipher cipher, String symbol, char letter) {
+        for (int index : cipher.getCipherSymbolIndicesMap().get(symbol)) {
+            solutionLetters[index] = (byte) LetterUtils.charToOrdinal(letter);
+        }
+    }
+
+    private Cipher buildCipher() {
+        Cipher cipher = new Cipher("test", 1, 8);
+        cipher.setCiphertext(Arrays.asList("x", "y", "z", "x", "y", "z", "w", "w"));
+        return cipher;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.inference.util;
+
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import com.ciphertool.zenith.model.markov.ArrayMarkovModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LetterSamplerTest {
+    @Test
+    public void given_languageModel_when_sampling_then_followsFlattenedUnigramDistribution() {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+        TreeNGram a = new TreeNGram("a");
+        a.setCount(3);
+        TreeNGram b = new TreeNGram("b");
+        b.setCount(1);
+        model.addNode(a);
+        model.addNode(b);
+
+        LetterSampler sampler = LetterSampler.fromLanguageModel(model, 0.8f);
+        SplittableRandom random = new SplittableRandom(11L);
+
+        int samples = 200000;
+        int count = 0;
+        for (int i = 0; i < samples; i ++) {
+            if (sampler.sample(random) == 'a') {
+                count ++;
+            }
+        }
+
+        // 0.8 of the mass is spread evenly and the remaining 0.2 follows the 3:1 unigram counts
+        assertEquals(0.55d, count / (double) samples, 0.005d);
+        assertArrayEquals(new char[]{'a', 'b'}, sampler.getLetters());
+    }
+
+    @Test
+    public void given_symbolWeights_when_sampling_then_usesSymbolDistributionAndFallsBackOtherwise() {
+        LetterSampler sampler = new LetterSampler(new char[]{'a', 'b'}, new double[]{1d, 0d})
+                .withSymbolWeights(new double[][]{null, {0d, 1d}});
+        SplittableRandom random = new SplittableRandom(3L);
+
+        for (int i = 0; i < 100; i ++) {
+            assertEquals('a', sampler.sample(0, random));
+            assertEquals('b', sampler.sample(1, random));
+            assertEquals('a', sampler.sample(2, random));
+        }
+    }
+
+    @Test
+    public void given_mismatchedWeights_when_constructing_then_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new LetterSampler(new char[]{'a', 'b'}, new double[]{1d}));
+
+        LetterSampler sampler = new LetterSampler(new char[]{'a', 'b'}, new double[]{1d, 1d});
+        assertThrows(IllegalArgumentException.class, () -> sampler.withSymbolWeights(new double[][]{{1d}}));
+    }
+}
@@ -108,4 +108,15 @@ public class LetterUtilsTest {
             assertTrue(String.valueOf(c).matches("[a-z]"));
         }
     }
+
+    @Test
+    public void given_validInput_when_convertingToAndFromLetterCodes_then_roundTrips() {
+        byte[] letterCodes = LetterUtils.toLetterCodes("azby");
+
+        assertEquals(0, letterCodes[0]);
+        assertEquals(25, letterCodes[1]);
+        assertEquals(1, letterCodes[2]);
+        assertEquals(24, letterCodes[3]);
+        assertEquals("azby", LetterUtils.fromLetterCodes(letterCodes));
+    }
 }
@@ -24,39 +24,123 @@ import com.ciphertool.zenith.model.entities.TreeNGram;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
-public class ArrayMarkovModel {
-    static final int NGRAM_ARRAY_LENGTH = 26 * 26 * 26 * 26 * 26;
-    private static final int FOURTH_POWER = 26 * 26 * 26 * 26;
-    private static final int THIRD_POWER = 26 * 26 * 26;
-    private static final int SECOND_POWER = 26 * 26;
+/*
+ * Letter n-gram model supporting orders from MIN_ORDER up to MAX_ORDER.  Orders up to MAX_DENSE_ORDER are held in a dense table with
+ * one entry per possible n-gram (26^5 floats is about 47MB), while higher orders, whose dense tables would run to
+ * gigabytes, are held in a SparseLogProbabilityTable keyed by the same base-26 index.
+ */
+public class ArrayMarkovModel implements AutoCloseable {
+    // Evaluators step through windows half an order apart, so lower orders would never advance
+    public static final int MIN_ORDER = 3;
+    public static final int MAX_ORDER = 8;
+    public static final int MAX_DENSE_ORDER = 5;
+    private static final int ALPHABET_SIZE = 26;
     private static final int ASCII_OFFSET = 97;
+    private static final long[] POWERS = new long[MAX_ORDER + 1];
+
+    static {
+        POWERS[0] = 1L;
+
+        for (int i = 1; i < POWERS.length; i++) {
+            POWERS[i] = POWERS[i - 1] * ALPHABET_SIZE;
+        }
+    }
+
     private AtomicInteger totalNodes = new AtomicInteger(0);
     private int order;
     private float unknownLetterNGramProbability;
     private float unknownLetterNGramLogProbability;
     private List<TreeNGram> firstOrderNodes = new ArrayList<>();
-    private float[] nGramLogProbabilities = new float[NGRAM_ARRAY_LENGTH];
+    // Exactly one of these is set, depending on whether the order is dense
+    private LogProbabilityTable nGramLogProbabilities;
+    private SparseLogProbabilityTable sparseNGramLogProbabilities;
+    // Kept while useQuantization() has a quantized copy of the table in use, so that it can be switched back
+    private LogProbabilityTable fullPrecisionNGramLogProbabilities;
+    // VectorNGramWindowScorer is only compiled with the vector profile, and must not be loaded unless the module is present
+    private static final String VECTOR_SCORER_CLASS = "com.ciphertool.zenith.model.markov.VectorNGramWindowScorer";
+
+    private NGramWindowScorer windowScorer = this::scoreWindowsScalar;
+    private boolean vectorized;
 
     public ArrayMarkovModel(int order, float unknownLetterNGramProbability) {
+        this(order, unknownLetterNGramProbability, LogProbabilityStorage.HEAP);
+    }
+
+    public ArrayMarkovModel(int order, float unknownLetterNGramProbability, LogProbabilityStorage storage) {
+        this(order, unknownLetterNGramProbability, storage, 0);
+    }
+
+    /*
+     * The expected number of n-grams is only used to presize the sparse table for higher orders.
+     */
+    public ArrayMarkovModel(int order, float unknownLetterNGramProbability, LogProbabilityStorage storage, int expectedNGrams) {
+        validateOrder(order);
+
         this.order = order;
 
         this.unknownLetterNGramProbability = unknownLetterNGramProbability;
         this.unknownLetterNGramLogProbability = (float) Math.log(unknownLetterNGramProbability);
-        Arrays.fill(nGramLogProbabilities, this.unknownLetterNGramLogProbability);
+
+        if (!isDense(order)) {
+            // The sparse table is always held on the heap
+            this.sparseNGramLogProbabilities = new SparseLogProbabilityTable(expectedNGrams, this.unknownLetterNGramLogProbability);
+        } else if (storage == LogProbabilityStorage.OFF_HEAP) {
+            this.nGramLogProbabilities = new OffHeapLogProbabilityTable(denseLength(order), this.unknownLetterNGramLogProbability);
+        } else {
+            // There is no file to map yet when building from scratch, so MAPPED also starts out on the heap
+            this.nGramLogProbabilities = new HeapLogProbabilityTable(denseLength(order), this.unknownLetterNGramLogProbability);
+        }
     }
 
-    ArrayMarkovModel(int order, float unknownLetterNGramProbability, List<TreeNGram> firstOrderNodes, float[] nGramLogProbabilities, int totalNodes) {
+    ArrayMarkovModel(int order, float unknownLetterNGramProbability, List<TreeNGram> firstOrderNodes, LogProbabilityTable nGramLogProbabilities, int totalNodes) {
+        this(order, unknownLetterNGramProbability, firstOrderNodes, totalNodes);
+
+        if (!isDense(order) || nGramLogProbabilities.length() != denseLength(order)) {
+            throw new IllegalArgumentException("Expected nGramLogProbabilities size=" + denseLength(order) + " but was=" + nGramLogProbabilities.length());
+        }
+
+        // The table is adopted as-is rather than copied, as it may be backed by a memory-mapped file
+        this.nGramLogProbabilities = nGramLogProbabilities;
+    }
+
+    ArrayMarkovModel(int order, float unknownLetterNGramProbability, List<TreeNGram> firstOrderNodes, SparseLogProbabilityTable sparseNGramLogProbabilities, int totalNodes) {
+        this(order, unknownLetterNGramProbability, firstOrderNodes, totalNodes);
+
+        if (isDense(order)) {
+            throw new IllegalArgumentException("Expected a dense table for order=" + order);
+        }
+
+        this.sparseNGramLogProbabilities = sparseNGramLogProbabilities;
+    }
+
+    private ArrayMarkovModel(int order, float unknownLetterNGramProbability, List<TreeNGram> firstOrderNodes, int totalNodes) {
+        validateOrder(order);
+
         this.order = order;
         this.unknownLetterNGramProbability = unknownLetterNGramProbability;
         this.unknownLetterNGramLogProbability = (float) Math.log(unknownLetterNGramProbability);
+        this.firstOrderNodes = new ArrayList<>(firstOrderNodes);
+        this.totalNodes.set(totalNodes);
+    }
 
-        if (nGramLogProbabilities.length != NGRAM_ARRAY_LENGTH) {
-            throw new IllegalArgumentException("Expected nGramLogProbabilities size=" + NGRAM_ARRAY_LENGTH + " but was=" + nGramLogProbabilities.length);
+    private static void validateOrder(int order) {
+        if (order < MIN_ORDER || order > MAX_ORDER) {
+            throw new IllegalArgumentException("Markov order must be between " + MIN_ORDER + " and " + MAX_ORDER + " but was=" + order);
         }
+    }
 
-        this.firstOrderNodes = new ArrayList<>(firstOrderNodes);
-        this.nGramLogProbabilities = Arrays.copyOf(nGramLogProbabilities, nGramLogProbabilities.length);
-        this.totalNodes.set(totalNodes);
+    public static boolean isDense(int order) {
+        return order <= MAX_DENSE_ORDER;
+    }
+
+    static int denseLength(int order) {
+        int length = 1;
+
+        for (int i = 0; i < order; i++) {
+            length *= ALPHABET_SIZE;
+        }
+
+        return length;
     }
 
     public long getTotalNGramCount() {
@@ -77,10 +161,18 @@ public class ArrayMarkovModel {
         return totalNodes.get();
     }
 
-    float[] getNGramLogProbabilities() {
+    LogProbabilityTable getNGramLogProbabilities() {
         return nGramLogProbabilities;
     }
 
+    SparseLogProbabilityTable getSparseNGramLogProbabilities() {
+        return sparseNGramLogProbabilities;
+    }
+
+    public boolean isSparse() {
+        return sparseNGramLogProbabilities != null;
+    }
+
     public void addNode(TreeNGram nodeToAdd) {
         if (nodeToAdd.getCumulativeString().length() == 1) {
             firstOrderNodes.add(nodeToAdd);
@@ -92,28 +184,238 @@ public class ArrayMarkovModel {
     private void addToNDArray(TreeNGram treeNGram) {
         String ngram = treeNGram.getCumulativeString();
 
-        int arrayIndex = computeArrayIndex(ngram);
+        if (ngram.length() != order) {
+            throw new IllegalArgumentException("Expected an n-gram of order=" + order + " but was='" + ngram + "'.");
+        }
+
+        long arrayIndex = computeArrayIndex(ngram);
+
+        if (sparseNGramLogProbabilities != null) {
+            if (sparseNGramLogProbabilities.contains(arrayIndex)) {
+                throw new IllegalStateException("Unable to add the same ngram twice='" + ngram + "'.");
+            }
+
+            totalNodes.incrementAndGet();
+            sparseNGramLogProbabilities.put(arrayIndex, (float) treeNGram.getLogProbability());
+            return;
+        }
 
-        if (nGramLogProbabilities[arrayIndex] != unknownLetterNGramLogProbability) {
+        if (nGramLogProbabilities.get((int) arrayIndex) != unknownLetterNGramLogProbability) {
             throw new IllegalStateException("Unable to add the same ngram twice='" + ngram + "'.");
         }
 
         totalNodes.incrementAndGet();
-        nGramLogProbabilities[arrayIndex] = (float) treeNGram.getLogProbability();
+        nGramLogProbabilities.set((int) arrayIndex, (float) treeNGram.getLogProbability());
     }
 
     public float findExact(String ngram) {
-        return nGramLogProbabilities[computeArrayIndex(ngram)];
+        return findByArrayIndex(computeArrayIndex(ngram));
+    }
+
+    public float findExact(char[] buf, int offset) {
+        return findByArrayIndex(computeArrayIndex(buf, offset));
+    }
+
+    /*
+     * Looks up the n-gram starting at offset in a buffer of letter codes, where 'a' is 0 and 'z' is 25.
+     */
+    public float findExact(byte[] letterCodes, int offset) {
+        return findByArrayIndex(computeArrayIndex(letterCodes, offset));
+    }
+
+    public float findByArrayIndex(long arrayIndex) {
+        if (sparseNGramLogProbabilities != null) {
+            return sparseNGramLogProbabilities.get(arrayIndex);
+        }
+
+        return nGramLogProbabilities.get((int) arrayIndex);
+    }
+
+    public long computeArrayIndex(String ngram) {
+        long index = 0;
+
+        for (int i = 0; i < order; i++) {
+            index = (index * ALPHABET_SIZE) + (ngram.charAt(i) - ASCII_OFFSET);
+        }
+
+        return index;
+    }
+
+    public long computeArrayIndex(char[] buf, int offset) {
+        long index = 0;
+
+        for (int i = offset; i < offset + order; i++) {
+            index = (index * ALPHABET_SIZE) + (buf[i] - ASCII_OFFSET);
+        }
+
+        return index;
+    }
+
+    public long computeArrayIndex(byte[] letterCodes, int offset) {
+        long index = 0;
+
+        for (int i = offset; i < offset + order; i++) {
+            index = (index * ALPHABET_SIZE) + letterCodes[i];
+        }
+
+        return index;
+    }
+
+    /*
+     * Given the index of the window starting at offset - distance, computes the index of the window starting at offset
+     * by dropping the leading letters and shifting in only the trailing ones, rather than rereading the whole window.
+     */
+    public long rollArrayIndex(long previousIndex, char[] buf, int offset, int distance) {
+        if (distance >= order) {
+            return computeArrayIndex(buf, offset);
+        }
+
+        long index = previousIndex % POWERS[order - distance];
+
+        for (int i = offset + order - distance; i < offset + order; i++) {
+            index = (index * ALPHABET_SIZE) + (buf[i] - ASCII_OFFSET);
+        }
+
+        return index;
+    }
+
+    public long rollArrayIndex(long previousIndex, byte[] letterCodes, int offset, int distance) {
+        if (distance >= order) {
+            return computeArrayIndex(letterCodes, offset);
+        }
+
+        long index = previousIndex % POWERS[order - distance];
+
+        for (int i = offset + order - distance; i < offset + order; i++) {
+            index = (index * ALPHABET_SIZE) + letterCodes[i];
+        }
+
+        return index;
+    }
+
+    /*
+     * Scores every window starting at a multiple of stepSize, as described by NGramWindowScorer.
+     */
+    public float scoreWindows(byte[] letterCodes, int stepSize, float[] logProbabilities) {
+        return windowScorer.score(letterCodes, stepSize, logProbabilities);
+    }
+
+    private float scoreWindowsScalar(byte[] letterCodes, int stepSize, float[] logProbabilities) {
+        int stringLengthMinusOrder = letterCodes.length - order;
+
+        float sum = 0f;
+        int k = 0;
+        long arrayIndex = -1L;
+        for (int i = 0; i < stringLengthMinusOrder; i += stepSize) {
+            arrayIndex = arrayIndex < 0 ? computeArrayIndex(letterCodes, i) : rollArrayIndex(arrayIndex, letterCodes, i, stepSize);
+            logProbabilities[k] = findByArrayIndex(arrayIndex);
+            sum += logProbabilities[k];
+            k ++;
+        }
+
+        return sum;
+    }
+
+    /*
+     * Switches scoreWindows() to the JDK Vector API, which requires a build with the vector profile, the
+     * jdk.incubator.vector module to be added to the JVM and a dense table held on the heap.  Returns false, leaving the
+     * scalar scorer in place, if any of these is missing.
+     */
+    public boolean vectorize() {
+        if (sparseNGramLogProbabilities != null || nGramLogProbabilities.array() == null) {
+            return false;
+        }
+
+        NGramWindowScorer vectorScorer = newVectorScorer(nGramLogProbabilities.array());
+
+        if (vectorScorer == null) {
+            return false;
+        }
+
+        windowScorer = vectorScorer;
+        vectorized = true;
+
+        return true;
     }
 
-    public int computeArrayIndex(String ngram) {
-        int i = ((ngram.charAt(0) - ASCII_OFFSET) * FOURTH_POWER);
-        int j = ((ngram.charAt(1) - ASCII_OFFSET) * THIRD_POWER);
-        int k = ((ngram.charAt(2) - ASCII_OFFSET) * SECOND_POWER);
-        int l = ((ngram.charAt(3) - ASCII_OFFSET) * 26);
-        int m = (ngram.charAt(4) - ASCII_OFFSET);
+    private NGramWindowScorer newVectorScorer(float[] logProbabilities) {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
 
-        return i + j + k + l + m;
+        try {
+            return (NGramWindowScorer) Class.forName(VECTOR_SCORER_CLASS).getDeclaredConstructor(int.class, float[].class).newInstance(order, logProbabilities);
+        } catch (ReflectiveOperationException e) {
+            // Not built with the vector profile
+            return null;
+        }
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    /*
+     * Returns a copy of this model whose log probabilities are quantized to a smaller table.  This model is left as-is,
+     * so that the two can be compared with QuantizationReport before this one is closed.
+     */
+    public ArrayMarkovModel quantize(LogProbabilityQuantization quantization) {
+        if (sparseNGramLogProbabilities != null) {
+            throw new UnsupportedOperationException("Quantization is only supported for orders up to " + MAX_DENSE_ORDER + " but was=" + order);
+        }
+
+        return new ArrayMarkovModel(order, unknownLetterNGramProbability, firstOrderNodes, quantizeTable(nGramLogProbabilities, quantization), totalNodes.get());
+    }
+
+    /*
+     * Switches this model in place to a quantized copy of its full precision table, or back to the original with NONE,
+     * so that everything already holding the model scores with it.  That lets the benchmark compare the solve rates of
+     * each quantization within one run.  It must not be called while anything is scoring with the model.
+     */
+    public void useQuantization(LogProbabilityQuantization quantization) {
+        if (sparseNGramLogProbabilities != null) {
+            throw new UnsupportedOperationException("Quantization is only supported for orders up to " + MAX_DENSE_ORDER + " but was=" + order);
+        }
+
+        if (fullPrecisionNGramLogProbabilities == null) {
+            if (nGramLogProbabilities.getQuantization() != LogProbabilityQuantization.NONE) {
+                throw new IllegalStateException("The model was loaded with quantization=" + nGramLogProbabilities.getQuantization() + ", so there is no full precision table to switch from.");
+            }
+
+            fullPrecisionNGramLogProbabilities = nGramLogProbabilities;
+        }
+
+        LogProbabilityTable replaced = nGramLogProbabilities;
+
+        nGramLogProbabilities = quantization == LogProbabilityQuantization.NONE ? fullPrecisionNGramLogProbabilities : quantizeTable(fullPrecisionNGramLogProbabilities, quantization);
+
+        if (replaced != fullPrecisionNGramLogProbabilities) {
+            replaced.close();
+        }
+
+        // Only a full precision table on the heap can be vectorized
+        if (vectorized) {
+            NGramWindowScorer vectorScorer = nGramLogProbabilities.array() != null ? newVectorScorer(nGramLogProbabilities.array()) : null;
+            windowScorer = vectorScorer != null ? vectorScorer : this::scoreWindowsScalar;
+        }
+    }
+
+    private LogProbabilityTable quantizeTable(LogProbabilityTable source, LogProbabilityQuantization quantization) {
+        if (quantization == LogProbabilityQuantization.FIXED_POINT_16) {
+            return FixedPointLogProbabilityTable.quantize(source);
+        } else if (quantization == LogProbabilityQuantization.CODEBOOK_8) {
+            return CodebookLogProbabilityTable.quantize(source, unknownLetterNGramLogProbability);
+        }
+
+        throw new IllegalArgumentException("Unsupported quantization=" + quantization);
+    }
+
+    public LogProbabilityQuantization getQuantization() {
+        if (sparseNGramLogProbabilities != null) {
+            return LogProbabilityQuantization.NONE;
+        }
+
+        return nGramLogProbabilities.getQuantization();
     }
 
     public int getOrder() {
@@ -127,4 +429,15 @@ public class ArrayMarkovModel {
     public float getUnknownLetterNGramLogProbability() {
         return unknownLetterNGramLogProbability;
     }
+
+    @Override
+    public void close() {
+        if (nGramLogProbabilities != null) {
+            nGramLogProbabilities.close();
+        }
+
+        if (fullPrecisionNGramLogProbabilities != null && fullPrecisionNGramLogProbabilities != nGramLogProbabilities) {
+            fullPrecisionNGramLogProbabilities.close();
+        }
+    }
 }
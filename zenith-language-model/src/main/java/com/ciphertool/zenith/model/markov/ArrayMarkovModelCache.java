@@ -22,10 +22,14 @@ package com.ciphertool.zenith.model.markov;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -34,18 +38,55 @@ import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
+/*
+ * Version 3 of the cache format is laid out so that the n-gram log probability table can be memory-mapped in place:
+ *
+ *   [header: magic, version, order, maxNGramsToKeep, unknownProbability, totalNodes, first-order nodes, table length,
+ *            bits per entry, dequantization parameters, table offset]
+ *   [zero padding up to the table offset, which is aligned to TABLE_ALIGNMENT]
+ *   [table: little-endian floats, shorts or bytes, depending on the bits per entry]
+ *
+ * For orders too large for a dense table, the table length is instead the capacity of the SparseLogProbabilityTable,
+ * and the table section holds its little-endian long keys followed by its little-endian float values.  Sparse tables
+ * are never quantized and are always copied onto the heap.
+ *
+ * The header is written big-endian via DataOutputStream, while the table is written little-endian to match the native
+ * byte order of the hosts we run on, so that reads from the mapped region do not need to swap bytes.
+ *
+ * The dequantization parameters are the offset and scale for 16-bit fixed point tables, and the 256-entry codebook for
+ * 8-bit tables.  Only unquantized tables honor the requested LogProbabilityStorage; quantized tables are always copied
+ * onto the heap.
+ */
 public final class ArrayMarkovModelCache {
     // 4-byte file signature used to verify the cache file is a Zenith Markov Model Cache ("ZMMC").
     private static final int MAGIC = 0x5A4D4D43;
-    private static final int VERSION = 1;
+    private static final int VERSION = 3;
+    private static final int TABLE_ALIGNMENT = 4096;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
 
     private ArrayMarkovModelCache() {}
 
     public static ArrayMarkovModel readIfValid(Path path, int expectedOrder, int expectedMaxNGramsToKeep) throws IOException {
+        return readIfValid(path, expectedOrder, expectedMaxNGramsToKeep, LogProbabilityStorage.MAPPED);
+    }
+
+    public static ArrayMarkovModel readIfValid(Path path, int expectedOrder, int expectedMaxNGramsToKeep, LogProbabilityStorage storage) throws IOException {
+        return readIfValid(path, expectedOrder, expectedMaxNGramsToKeep, storage, LogProbabilityQuantization.NONE);
+    }
+
+    public static ArrayMarkovModel readIfValid(Path path, int expectedOrder, int expectedMaxNGramsToKeep, LogProbabilityStorage storage, LogProbabilityQuantization expectedQuantization) throws IOException {
         if (path == null || !Files.exists(path)) {
             return null;
         }
 
+        int order;
+        float unknownProbability;
+        int totalNodes;
+        List<TreeNGram> firstOrderNodes;
+        int arrayLength;
+        float[] dequantizationParameters;
+        long tableOffset;
+
         try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
             int magic = inputStream.readInt();
             if (magic != MAGIC) {
@@ -57,12 +98,12 @@ public final class ArrayMarkovModelCache {
                 return null;
             }
 
-            int order = inputStream.readInt();
+            order = inputStream.readInt();
             int maxNGramsToKeep = inputStream.readInt();
-            float unknownProbability = inputStream.readFloat();
-            int totalNodes = inputStream.readInt();
+            unknownProbability = inputStream.readFloat();
+            totalNodes = inputStream.readInt();
             int firstOrderCount = inputStream.readInt();
-            List<TreeNGram> firstOrderNodes = new ArrayList<>(firstOrderCount);
+            firstOrderNodes = new ArrayList<>(firstOrderCount);
 
             if (order != expectedOrder || maxNGramsToKeep != expectedMaxNGramsToKeep) {
                 return null;
@@ -79,17 +120,68 @@ public final class ArrayMarkovModelCache {
                 firstOrderNodes.add(node);
             }
 
-            int arrayLength = inputStream.readInt();
-            if (arrayLength != ArrayMarkovModel.NGRAM_ARRAY_LENGTH) {
+            arrayLength = inputStream.readInt();
+            boolean validLength = ArrayMarkovModel.isDense(order) ? arrayLength == ArrayMarkovModel.denseLength(order) : arrayLength > 0 && Integer.bitCount(arrayLength) == 1;
+            if (!validLength) {
+                return null;
+            }
+
+            int bitsPerEntry = inputStream.readInt();
+            if (bitsPerEntry != expectedQuantization.getBitsPerEntry()) {
+                return null;
+            }
+
+            dequantizationParameters = new float[inputStream.readInt()];
+            for (int i = 0; i < dequantizationParameters.length; i++) {
+                dequantizationParameters[i] = inputStream.readFloat();
+            }
+
+            tableOffset = inputStream.readLong();
+        }
+
+        boolean sparse = !ArrayMarkovModel.isDense(order);
+        long tableSize = sparse ? (long) arrayLength * (Long.BYTES + Float.BYTES) : (long) arrayLength * expectedQuantization.getBitsPerEntry() / 8;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < tableOffset + tableSize) {
+                // The file was truncated, e.g. by a partial copy
                 return null;
             }
 
-            float[] nGramLogProbabilities = new float[arrayLength];
-            for (int i = 0; i < arrayLength; i++) {
-                nGramLogProbabilities[i] = inputStream.readFloat();
+            // The mapping remains valid after the channel is closed
+            MappedByteBuffer mappedTable = channel.map(FileChannel.MapMode.READ_ONLY, tableOffset, tableSize);
+
+            if (sparse) {
+                long[] keys = new long[arrayLength];
+                float[] values = new float[arrayLength];
+
+                mappedTable.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(keys);
+                mappedTable.position(arrayLength * Long.BYTES);
+                mappedTable.asFloatBuffer().get(values);
+
+                SparseLogProbabilityTable sparseTable = new SparseLogProbabilityTable(keys, values, (float) Math.log(unknownProbability));
+                return new ArrayMarkovModel(order, unknownProbability, firstOrderNodes, sparseTable, totalNodes);
+            }
+
+            LogProbabilityTable table;
+
+            if (expectedQuantization == LogProbabilityQuantization.FIXED_POINT_16) {
+                short[] codes = new short[arrayLength];
+                mappedTable.order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(codes);
+                table = new FixedPointLogProbabilityTable(codes, dequantizationParameters[0], dequantizationParameters[1]);
+            } else if (expectedQuantization == LogProbabilityQuantization.CODEBOOK_8) {
+                byte[] codes = new byte[arrayLength];
+                mappedTable.get(codes);
+                table = new CodebookLogProbabilityTable(codes, dequantizationParameters);
+            } else if (storage == LogProbabilityStorage.HEAP) {
+                table = HeapLogProbabilityTable.copyOf(mappedTable);
+            } else if (storage == LogProbabilityStorage.OFF_HEAP) {
+                table = OffHeapLogProbabilityTable.copyOf(mappedTable);
+            } else {
+                table = new MappedLogProbabilityTable(mappedTable);
             }
 
-            return new ArrayMarkovModel(order, unknownProbability, firstOrderNodes, nGramLogProbabilities, totalNodes);
+            return new ArrayMarkovModel(order, unknownProbability, firstOrderNodes, table, totalNodes);
         }
     }
 
@@ -105,7 +197,12 @@ public final class ArrayMarkovModelCache {
 
         Path tempPath = path.resolveSibling(path.getFileName().toString() + ".tmp");
 
-        try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)))) {
+        LogProbabilityTable nGramLogProbabilities = model.getNGramLogProbabilities();
+        SparseLogProbabilityTable sparseNGramLogProbabilities = model.getSparseNGramLogProbabilities();
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream outputStream = new DataOutputStream(headerBytes)) {
             outputStream.writeInt(MAGIC);
             outputStream.writeInt(VERSION);
             outputStream.writeInt(model.getOrder());
@@ -122,10 +219,36 @@ public final class ArrayMarkovModelCache {
                 outputStream.writeDouble(node.getLogProbability());
             }
 
-            float[] nGramLogProbabilities = model.getNGramLogProbabilities();
-            outputStream.writeInt(nGramLogProbabilities.length);
-            for (float nGramLogProbability : nGramLogProbabilities) {
-                outputStream.writeFloat(nGramLogProbability);
+            if (sparseNGramLogProbabilities != null) {
+                outputStream.writeInt(sparseNGramLogProbabilities.capacity());
+            } else {
+                outputStream.writeInt(nGramLogProbabilities.length());
+            }
+
+            outputStream.writeInt(model.getQuantization().getBitsPerEntry());
+
+            float[] dequantizationParameters = sparseNGramLogProbabilities != null ? new float[0] : getDequantizationParameters(nGramLogProbabilities);
+            outputStream.writeInt(dequantizationParameters.length);
+            for (float parameter : dequantizationParameters) {
+                outputStream.writeFloat(parameter);
+            }
+
+            long headerLength = headerBytes.size() + Long.BYTES;
+            long tableOffset = ((headerLength + TABLE_ALIGNMENT - 1) / TABLE_ALIGNMENT) * TABLE_ALIGNMENT;
+            outputStream.writeLong(tableOffset);
+
+            for (long i = headerLength; i < tableOffset; i++) {
+                outputStream.writeByte(0);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.wrap(headerBytes.toByteArray()));
+
+            if (sparseNGramLogProbabilities != null) {
+                writeSparseTable(channel, sparseNGramLogProbabilities);
+            } else {
+                writeTable(channel, nGramLogProbabilities);
             }
         }
 
@@ -135,4 +258,80 @@ public final class ArrayMarkovModelCache {
             Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
         }
     }
+
+    private static float[] getDequantizationParameters(LogProbabilityTable table) {
+        if (table.getQuantization() == LogProbabilityQuantization.FIXED_POINT_16) {
+            FixedPointLogProbabilityTable fixedPointTable = (FixedPointLogProbabilityTable) table;
+            return new float[] { fixedPointTable.getOffset(), fixedPointTable.getScale() };
+        } else if (table.getQuantization() == LogProbabilityQuantization.CODEBOOK_8) {
+            return ((CodebookLogProbabilityTable) table).getCodebook();
+        }
+
+        return new float[0];
+    }
+
+    private static void writeTable(FileChannel channel, LogProbabilityTable table) throws IOException {
+        if (table.getQuantization() == LogProbabilityQuantization.CODEBOOK_8) {
+            writeFully(channel, ByteBuffer.wrap(((CodebookLogProbabilityTable) table).getCodes()));
+            return;
+        }
+
+        short[] codes = null;
+        if (table.getQuantization() == LogProbabilityQuantization.FIXED_POINT_16) {
+            codes = ((FixedPointLogProbabilityTable) table).getCodes();
+        }
+
+        int entryBytes = table.getQuantization().getBitsPerEntry() / 8;
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < table.length(); i++) {
+            if (buffer.remaining() < entryBytes) {
+                buffer.flip();
+                writeFully(channel, buffer);
+                buffer.clear();
+            }
+
+            if (codes != null) {
+                buffer.putShort(codes[i]);
+            } else {
+                buffer.putFloat(table.get(i));
+            }
+        }
+
+        buffer.flip();
+        writeFully(channel, buffer);
+    }
+
+    private static void writeSparseTable(FileChannel channel, SparseLogProbabilityTable table) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (long key : table.getKeys()) {
+            if (buffer.remaining() < Long.BYTES) {
+                buffer.flip();
+                writeFully(channel, buffer);
+                buffer.clear();
+            }
+
+            buffer.putLong(key);
+        }
+
+        for (float value : table.getValues()) {
+            if (buffer.remaining() < Float.BYTES) {
+                buffer.flip();
+                writeFully(channel, buffer);
+                buffer.clear();
+            }
+
+            buffer.putFloat(value);
+        }
+
+        buffer.flip();
+        writeFully(channel, buffer);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import java.util.Arrays;
+
+/*
+ * Stores each log probability as an 8-bit index into a 256-entry codebook.  Code 0 is reserved for the unknown n-gram
+ * log probability, which fills the vast majority of the table and so must decode exactly.  The remaining 255 entries
+ * are fitted to the known log probabilities with a one-dimensional Lloyd (k-means) pass, which places more entries
+ * where the values are dense than an evenly spaced grid would.
+ *
+ * Quantized tables are read-only and are always held on the heap.
+ */
+public class CodebookLogProbabilityTable implements LogProbabilityTable {
+    static final int CODEBOOK_SIZE = 256;
+    private static final int LLOYD_ITERATIONS = 16;
+
+    private final byte[] codes;
+    private final float[] codebook;
+
+    CodebookLogProbabilityTable(byte[] codes, float[] codebook) {
+        if (codebook.length != CODEBOOK_SIZE) {
+            throw new IllegalArgumentException("Expected codebook size=" + CODEBOOK_SIZE + " but was=" + codebook.length);
+        }
+
+        this.codes = codes;
+        this.codebook = codebook;
+    }
+
+    public static CodebookLogProbabilityTable quantize(LogProbabilityTable source, float unknownLogProbability) {
+        int knownCount = 0;
+        for (int i = 0; i < source.length(); i++) {
+            if (source.get(i) != unknownLogProbability) {
+                knownCount++;
+            }
+        }
+
+        float[] known = new float[knownCount];
+        int next = 0;
+        for (int i = 0; i < source.length(); i++) {
+            float value = source.get(i);
+
+            if (value != unknownLogProbability) {
+                known[next++] = value;
+            }
+        }
+
+        Arrays.sort(known);
+
+        float[] centroids = fitCentroids(known, CODEBOOK_SIZE - 1);
+
+        float[] codebook = new float[CODEBOOK_SIZE];
+        codebook[0] = unknownLogProbability;
+        System.arraycopy(centroids, 0, codebook, 1, centroids.length);
+
+        byte[] codes = new byte[source.length()];
+        for (int i = 0; i < codes.length; i++) {
+            float value = source.get(i);
+
+            if (value != unknownLogProbability) {
+                codes[i] = (byte) (nearest(centroids, value) + 1);
+            }
+        }
+
+        return new CodebookLogProbabilityTable(codes, codebook);
+    }
+
+    private static float[] fitCentroids(float[] sortedValues, int size) {
+        float[] centroids = new float[size];
+
+        if (sortedValues.length == 0) {
+            return centroids;
+        }
+
+        // Seed from evenly spaced quantiles
+        for (int i = 0; i < size; i++) {
+            int index = (int) (((long) (2 * i + 1) * sortedValues.length) / (2L * size));
+            centroids[i] = sortedValues[index];
+        }
+
+        double[] sums = new double[size];
+        int[] counts = new int[size];
+
+        for (int iteration = 0; iteration < LLOYD_ITERATIONS; iteration++) {
+            Arrays.fill(sums, 0d);
+            Arrays.fill(counts, 0);
+
+            // Both the values and the centroids are sorted, so each centroid claims a contiguous run of values
+            int centroid = 0;
+            for (float value : sortedValues) {
+                while (centroid < size - 1 && (centroids[centroid] + centroids[centroid + 1]) / 2f < value) {
+                    centroid++;
+                }
+
+                sums[centroid] += value;
+                counts[centroid]++;
+            }
+
+            boolean changed = false;
+            for (int i = 0; i < size; i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+
+                float mean = (float) (sums[i] / counts[i]);
+
+                if (mean != centroids[i]) {
+                    centroids[i] = mean;
+                    changed = true;
+                }
+            }
+
+            if (!changed) {
+                break;
+            }
+        }
+
+        return centroids;
+    }
+
+    private static int nearest(float[] sortedCentroids, float value) {
+        int insertionPoint = Arrays.binarySearch(sortedCentroids, value);
+
+        if (insertionPoint >= 0) {
+            return insertionPoint;
+        }
+
+        insertionPoint = -(insertionPoint + 1);
+
+        if (insertionPoint == 0) {
+            return 0;
+        }
+
+        if (insertionPoint == sortedCentroids.length) {
+            return sortedCentroids.length - 1;
+        }
+
+        float below = value - sortedCentroids[insertionPoint - 1];
+        float above = sortedCentroids[insertionPoint] - value;
+
+        return below <= above ? insertionPoint - 1 : insertionPoint;
+    }
+
+    @Override
+    public float get(int index) {
+        return codebook[codes[index] & 0xFF];
+    }
+
+    @Override
+    public void set(int index, float logProbability) {
+        throw new UnsupportedOperationException("Quantized log probability tables are read-only.");
+    }
+
+    @Override
+    public int length() {
+        return codes.length;
+    }
+
+    @Override
+    public LogProbabilityQuantization getQuantization() {
+        return LogProbabilityQuantization.CODEBOOK_8;
+    }
+
+    byte[] getCodes() {
+        return codes;
+    }
+
+    float[] getCodebook() {
+        return codebook;
+    }
+}
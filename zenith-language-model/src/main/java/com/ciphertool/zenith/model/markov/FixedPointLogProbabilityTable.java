@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+/*
+ * Stores each log probability as an unsigned 16-bit code, decoded as offset + code * scale.  The offset is the minimum
+ * value in the table, which is always the unknown n-gram log probability, so unknown n-grams decode exactly.
+ *
+ * Quantized tables are read-only and are always held on the heap, as at half the size of the float table there is
+ * little to be gained from mapping them.
+ */
+public class FixedPointLogProbabilityTable implements LogProbabilityTable {
+    private static final int MAX_CODE = 0xFFFF;
+
+    private final short[] codes;
+    private final float offset;
+    private final float scale;
+
+    FixedPointLogProbabilityTable(short[] codes, float offset, float scale) {
+        this.codes = codes;
+        this.offset = offset;
+        this.scale = scale;
+    }
+
+    public static FixedPointLogProbabilityTable quantize(LogProbabilityTable source) {
+        float min = Float.POSITIVE_INFINITY;
+        float max = Float.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < source.length(); i++) {
+            float value = source.get(i);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        float scale = max > min ? (max - min) / MAX_CODE : 1f;
+
+        short[] codes = new short[source.length()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = (short) Math.round((source.get(i) - min) / scale);
+        }
+
+        return new FixedPointLogProbabilityTable(codes, min, scale);
+    }
+
+    @Override
+    public float get(int index) {
+        return offset + (codes[index] & MAX_CODE) * scale;
+    }
+
+    @Override
+    public void set(int index, float logProbability) {
+        throw new UnsupportedOperationException("Quantized log probability tables are read-only.");
+    }
+
+    @Override
+    public int length() {
+        return codes.length;
+    }
+
+    @Override
+    public LogProbabilityQuantization getQuantization() {
+        return LogProbabilityQuantization.FIXED_POINT_16;
+    }
+
+    short[] getCodes() {
+        return codes;
+    }
+
+    float getOffset() {
+        return offset;
+    }
+
+    float getScale() {
+        return scale;
+    }
+}
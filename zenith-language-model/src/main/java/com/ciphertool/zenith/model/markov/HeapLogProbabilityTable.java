@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.util.Arrays;
+
+public class HeapLogProbabilityTable implements LogProbabilityTable {
+    private final float[] logProbabilities;
+
+    public HeapLogProbabilityTable(int length, float initialValue) {
+        logProbabilities = new float[length];
+        Arrays.fill(logProbabilities, initialValue);
+    }
+
+    private HeapLogProbabilityTable(float[] logProbabilities) {
+        this.logProbabilities = logProbabilities;
+    }
+
+    public static HeapLogProbabilityTable copyOf(MappedByteBuffer mappedBuffer) {
+        float[] logProbabilities = new float[mappedBuffer.capacity() / Float.BYTES];
+
+        mappedBuffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(logProbabilities);
+
+        return new HeapLogProbabilityTable(logProbabilities);
+    }
+
+    @Override
+    public float get(int index) {
+        return logProbabilities[index];
+    }
+
+    @Override
+    public void set(int index, float logProbability) {
+        logProbabilities[index] = logProbability;
+    }
+
+    @Override
+    public int length() {
+        return logProbabilities.length;
+    }
+
+    @Override
+    public float[] array() {
+        return logProbabilities;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+public enum LogProbabilityQuantization {
+    /*
+     * Log probabilities are stored as 32-bit floats.
+     */
+    NONE(32),
+
+    /*
+     * Log probabilities are stored as unsigned 16-bit codes spread evenly between the minimum and maximum value in the
+     * table.
+     */
+    FIXED_POINT_16(16),
+
+    /*
+     * Log probabilities are stored as 8-bit indexes into a 256-entry codebook fitted to the distribution of the table.
+     */
+    CODEBOOK_8(8);
+
+    private final int bitsPerEntry;
+
+    LogProbabilityQuantization(int bitsPerEntry) {
+        this.bitsPerEntry = bitsPerEntry;
+    }
+
+    public int getBitsPerEntry() {
+        return bitsPerEntry;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+public enum LogProbabilityStorage {
+    /*
+     * Cached models are memory-mapped directly from the cache file.  Models built from the CSV are held on the heap.
+     */
+    MAPPED,
+
+    /*
+     * The table is held in a float[] on the heap.
+     */
+    HEAP,
+
+    /*
+     * The table is held in an Arena-scoped MemorySegment outside of the heap, so the garbage collector never has to
+     * mark or copy it.
+     */
+    OFF_HEAP
+}
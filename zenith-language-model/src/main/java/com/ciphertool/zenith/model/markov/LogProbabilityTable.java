@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+/*
+ * Backing store for the dense n-gram log probability array of an ArrayMarkovModel.  Implementations must support
+ * concurrent reads, since a single model is shared across all solver threads.
+ */
+public interface LogProbabilityTable extends AutoCloseable {
+    float get(int index);
+
+    void set(int index, float logProbability);
+
+    int length();
+
+    default LogProbabilityQuantization getQuantization() {
+        return LogProbabilityQuantization.NONE;
+    }
+
+    /*
+     * The backing array, for tables held as plain floats on the heap, or null otherwise.
+     */
+    default float[] array() {
+        return null;
+    }
+
+    /*
+     * Releases any memory held outside of the heap.  The table must not be read after it is closed.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+
+/*
+ * Read-only table backed directly by a memory-mapped region of the model cache file.  Nothing is copied onto the heap,
+ * and every JVM mapping the same file shares the same page cache copy of the data.
+ */
+public class MappedLogProbabilityTable implements LogProbabilityTable {
+    private final FloatBuffer logProbabilities;
+
+    public MappedLogProbabilityTable(MappedByteBuffer mappedBuffer) {
+        // Absolute gets on a FloatBuffer do not touch its position, so a single view is safe to share across threads
+        this.logProbabilities = mappedBuffer.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    }
+
+    @Override
+    public float get(int index) {
+        return logProbabilities.get(index);
+    }
+
+    @Override
+    public void set(int index, float logProbability) {
+        throw new UnsupportedOperationException("Unable to modify a memory-mapped log probability table.");
+    }
+
+    @Override
+    public int length() {
+        return logProbabilities.capacity();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+/*
+ * Scores every n-gram window of a plaintext in one pass, for full re-scores.  Implementations must be thread-safe,
+ * since a single model is shared across all solver threads.
+ */
+public interface NGramWindowScorer {
+    /*
+     * Looks up the windows starting at each multiple of stepSize below letterCodes.length - order, writing the log
+     * probability of the k-th window to logProbabilities[k], and returns their sum.  Letter codes are 'a' = 0 to 'z' = 25.
+     */
+    float score(byte[] letterCodes, int stepSize, float[] logProbabilities);
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+
+public class OffHeapLogProbabilityTable implements LogProbabilityTable {
+    private final Arena arena;
+    private final MemorySegment logProbabilities;
+    private final int length;
+
+    public OffHeapLogProbabilityTable(int length, float initialValue) {
+        this(length);
+
+        for (long i = 0; i < length; i++) {
+            logProbabilities.setAtIndex(ValueLayout.JAVA_FLOAT, i, initialValue);
+        }
+    }
+
+    private OffHeapLogProbabilityTable(int length) {
+        // A shared arena is required since the model is read concurrently by every solver thread
+        this.arena = Arena.ofShared();
+        this.logProbabilities = arena.allocate((long) length * Float.BYTES, Float.BYTES);
+        this.length = length;
+    }
+
+    public static OffHeapLogProbabilityTable copyOf(MappedByteBuffer mappedBuffer) {
+        OffHeapLogProbabilityTable table = new OffHeapLogProbabilityTable(mappedBuffer.capacity() / Float.BYTES);
+
+        // The cache file is little-endian, whereas the segment is read in native order, so let the copy swap if needed
+        MemorySegment.copy(MemorySegment.ofBuffer(mappedBuffer), ValueLayout.JAVA_FLOAT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN), 0L,
+                table.logProbabilities, ValueLayout.JAVA_FLOAT, 0L, table.length);
+
+        return table;
+    }
+
+    @Override
+    public float get(int index) {
+        return logProbabilities.getAtIndex(ValueLayout.JAVA_FLOAT, index);
+    }
+
+    @Override
+    public void set(int index, float logProbability) {
+        logProbabilities.setAtIndex(ValueLayout.JAVA_FLOAT, index, logProbability);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
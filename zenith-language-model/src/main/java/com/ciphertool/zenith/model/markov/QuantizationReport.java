@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/*
+ * Summarizes how far a quantized model's log probabilities drift from the original model's.  Only n-grams which were
+ * actually observed are measured, since unknown n-grams decode exactly under every quantization.
+ */
+@Getter
+@AllArgsConstructor
+public class QuantizationReport {
+    private LogProbabilityQuantization quantization;
+    private int knownNGrams;
+    private double maxAbsoluteError;
+    private double meanAbsoluteError;
+    private long originalBytes;
+    private long quantizedBytes;
+
+    public static QuantizationReport compare(ArrayMarkovModel original, ArrayMarkovModel quantized) {
+        LogProbabilityTable originalTable = original.getNGramLogProbabilities();
+        LogProbabilityTable quantizedTable = quantized.getNGramLogProbabilities();
+        float unknownLogProbability = original.getUnknownLetterNGramLogProbability();
+
+        int knownNGrams = 0;
+        double maxAbsoluteError = 0d;
+        double totalAbsoluteError = 0d;
+
+        for (int i = 0; i < originalTable.length(); i++) {
+            float expected = originalTable.get(i);
+
+            if (expected == unknownLogProbability) {
+                continue;
+            }
+
+            double error = Math.abs((double) quantizedTable.get(i) - expected);
+            maxAbsoluteError = Math.max(maxAbsoluteError, error);
+            totalAbsoluteError += error;
+            knownNGrams++;
+        }
+
+        double meanAbsoluteError = knownNGrams == 0 ? 0d : totalAbsoluteError / knownNGrams;
+
+        return new QuantizationReport(quantized.getQuantization(), knownNGrams, maxAbsoluteError, meanAbsoluteError,
+                (long) originalTable.length() * original.getQuantization().getBitsPerEntry() / 8,
+                (long) quantizedTable.length() * quantized.getQuantization().getBitsPerEntry() / 8);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("quantization=%s, knownNGrams=%d, maxAbsoluteError=%.6f, meanAbsoluteError=%.6f, tableBytes=%d->%d",
+                quantization, knownNGrams, maxAbsoluteError, meanAbsoluteError, originalBytes, quantizedBytes);
+    }
+}
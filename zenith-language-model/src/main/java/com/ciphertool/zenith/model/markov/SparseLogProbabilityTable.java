@@ -0,0 +1,170 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import java.util.Arrays;
+
+/*
+ * Open-addressing hash table from base-26 n-gram keys to log probabilities, used for Markov orders whose dense table
+ * would not fit in memory.  Only the n-grams that were kept take up space; every other key reads as the missing value.
+ *
+ * Writes are not thread-safe, as the table is only written while the model is being built.  Reads are safe to share
+ * across threads once building has finished.
+ */
+public class SparseLogProbabilityTable {
+    static final long EMPTY_KEY = -1L;
+    private static final int MIN_CAPACITY = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final float missingValue;
+    private long[] keys;
+    private float[] values;
+    private int mask;
+    private int size;
+
+    public SparseLogProbabilityTable(int expectedSize, float missingValue) {
+        this.missingValue = missingValue;
+
+        // Keep the load factor at or below one half so that probe sequences stay short
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+
+        allocate(capacity);
+    }
+
+    SparseLogProbabilityTable(long[] keys, float[] values, float missingValue) {
+        if (keys.length != values.length || Integer.bitCount(keys.length) != 1) {
+            throw new IllegalArgumentException("Expected keys and values of the same power of two length but were keys=" + keys.length + ", values=" + values.length);
+        }
+
+        this.missingValue = missingValue;
+        this.keys = keys;
+        this.values = values;
+        this.mask = keys.length - 1;
+
+        for (long key : keys) {
+            if (key != EMPTY_KEY) {
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        values = new float[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * HASH_MULTIPLIER) >>> 32) & mask;
+    }
+
+    public float get(long key) {
+        int slot = slot(key);
+
+        while (true) {
+            long existing = keys[slot];
+
+            if (existing == key) {
+                return values[slot];
+            }
+
+            if (existing == EMPTY_KEY) {
+                return missingValue;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public boolean contains(long key) {
+        int slot = slot(key);
+
+        while (true) {
+            long existing = keys[slot];
+
+            if (existing == key) {
+                return true;
+            }
+
+            if (existing == EMPTY_KEY) {
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public void put(long key, float value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must be non-negative but was=" + key);
+        }
+
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+
+        int slot = slot(key);
+
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (keys[slot] == EMPTY_KEY) {
+            keys[slot] = key;
+            size++;
+        }
+
+        values[slot] = value;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+
+        allocate(capacity);
+        size = 0;
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    long[] getKeys() {
+        return keys;
+    }
+
+    float[] getValues() {
+        return values;
+    }
+}
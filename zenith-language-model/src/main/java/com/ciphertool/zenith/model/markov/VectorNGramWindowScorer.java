@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/*
+ * Scores windows with the JDK Vector API.  Each lane is one window: the window indices are built a letter position at a
+ * time with strided gathers, then the log probabilities are gathered from the dense table and summed across lanes.
+ * Only loaded once ArrayMarkovModel has confirmed that the jdk.incubator.vector module is present.
+ *
+ * The lane-wise sum is associated differently from a sequential one, so the total may differ from the scalar scorer in
+ * the last few bits.
+ */
+final class VectorNGramWindowScorer implements NGramWindowScorer {
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = VectorSpecies.of(int.class, FLOAT_SPECIES.vectorShape());
+    private static final int LANES = FLOAT_SPECIES.length();
+
+    private final int order;
+    private final float[] logProbabilities;
+
+    // The evaluators all step half an order at a time, so those strides are built once, and any others per call
+    private final int stepSize;
+    private final int[] strides;
+
+    // Every full re-score runs through here, so each thread keeps its buffers rather than allocating them per call
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    VectorNGramWindowScorer(int order, float[] logProbabilities) {
+        this.order = order;
+        this.logProbabilities = logProbabilities;
+        this.stepSize = order / 2;
+        this.strides = strides(stepSize);
+    }
+
+    private static int[] strides(int stepSize) {
+        int[] strides = new int[LANES];
+        for (int lane = 0; lane < LANES; lane ++) {
+            strides[lane] = lane * stepSize;
+        }
+
+        return strides;
+    }
+
+    @Override
+    public float score(byte[] letterCodes, int stepSize, float[] windowLogProbabilities) {
+        int stringLengthMinusOrder = letterCodes.length - order;
+
+        if (stringLengthMinusOrder <= 0) {
+            return 0f;
+        }
+
+        int windows = (stringLengthMinusOrder + stepSize - 1) / stepSize;
+        int vectorWindows = windows - (windows % LANES);
+
+        Scratch buffers = scratch.get();
+        int[] letters = buffers.letters(letterCodes.length);
+        for (int i = 0; i < letterCodes.length; i ++) {
+            letters[i] = letterCodes[i];
+        }
+
+        int[] laneStrides = stepSize == this.stepSize ? strides : strides(stepSize);
+        int[] windowIndices = buffers.windowIndices;
+
+        FloatVector sum = FloatVector.zero(FLOAT_SPECIES);
+        for (int k = 0; k < vectorWindows; k += LANES) {
+            int start = k * stepSize;
+            IntVector index = IntVector.zero(INT_SPECIES);
+
+            for (int i = 0; i < order; i ++) {
+                index = index.mul(26).add(IntVector.fromArray(INT_SPECIES, letters, start + i, laneStrides, 0));
+            }
+
+            index.intoArray(windowIndices, 0);
+
+            FloatVector window = FloatVector.fromArray(FLOAT_SPECIES, logProbabilities, 0, windowIndices, 0);
+            window.intoArray(windowLogProbabilities, k);
+            sum = sum.add(window);
+        }
+
+        float total = sum.reduceLanes(VectorOperators.ADD);
+
+        for (int k = vectorWindows; k < windows; k ++) {
+            int index = 0;
+            for (int i = k * stepSize; i < k * stepSize + order; i ++) {
+                index = (index * 26) + letters[i];
+            }
+
+            windowLogProbabilities[k] = logProbabilities[index];
+            total += windowLogProbabilities[k];
+        }
+
+        return total;
+    }
+
+    private static final class Scratch {
+        private int[] letters = new int[0];
+        private final int[] windowIndices = new int[LANES];
+
+        // Only grows, so a longer plaintext costs one allocation per thread
+        private int[] letters(int length) {
+            if (letters.length < length) {
+                letters = new int[length];
+            }
+
+            return letters;
+        }
+    }
+}
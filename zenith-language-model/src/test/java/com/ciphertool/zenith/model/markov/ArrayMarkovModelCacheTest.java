@@ -23,14 +23,20 @@ import com.ciphertool.zenith.model.entities.TreeNGram;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class ArrayMarkovModelCacheTest {
     @TempDir
@@ -112,4 +118,143 @@ public class ArrayMarkovModelCacheTest {
 
         assertNull(loaded);
     }
+
+    @Test
+    public void given_readIsMemoryMapped_when_invoked_then_expected() throws IOException {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        TreeNGram ngram = new TreeNGram("zyxwv");
+        ngram.setCount(3);
+        ngram.setLogProbability(-4.25d);
+        model.addNode(ngram);
+
+        Path cachePath = tempDir.resolve("zenith-model.array.bin");
+        ArrayMarkovModelCache.write(cachePath, model, 123);
+
+        ArrayMarkovModel loaded = ArrayMarkovModelCache.readIfValid(cachePath, 5, 123);
+
+        assertNotNull(loaded);
+        assertEquals(MappedLogProbabilityTable.class, loaded.getNGramLogProbabilities().getClass());
+        assertEquals(-4.25f, loaded.findExact("zyxwv"));
+        assertEquals(model.getUnknownLetterNGramLogProbability(), loaded.findExact("aaaaa"));
+
+        TreeNGram toAdd = new TreeNGram("abcde");
+        toAdd.setLogProbability(-1.0d);
+
+        assertThrows(UnsupportedOperationException.class, () -> loaded.addNode(toAdd));
+    }
+
+    @Test
+    public void given_readInvalidWhenVersionChanges_when_invoked_then_expected() throws IOException {
+        Path cachePath = tempDir.resolve("zenith-model-v1.bin");
+
+        try (DataOutputStream outputStream = new DataOutputStream(Files.newOutputStream(cachePath))) {
+            outputStream.writeInt(0x5A4D4D43);
+            outputStream.writeInt(1);
+            outputStream.writeInt(5);
+            outputStream.writeInt(100);
+        }
+
+        ArrayMarkovModel loaded = ArrayMarkovModelCache.readIfValid(cachePath, 5, 100);
+
+        assertNull(loaded);
+    }
+
+    @Test
+    public void given_readInvalidWhenTruncated_when_invoked_then_expected() throws IOException {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        Path cachePath = tempDir.resolve("zenith-model-truncated.bin");
+        ArrayMarkovModelCache.write(cachePath, model, 100);
+
+        try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - Float.BYTES);
+        }
+
+        ArrayMarkovModel loaded = ArrayMarkovModelCache.readIfValid(cachePath, 5, 100);
+
+        assertNull(loaded);
+    }
+
+    @Test
+    public void given_readWithStorage_when_invoked_then_expected() throws IOException {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        TreeNGram ngram = new TreeNGram("abcde");
+        ngram.setCount(3);
+        ngram.setLogProbability(-2.5d);
+        model.addNode(ngram);
+
+        Path cachePath = tempDir.resolve("zenith-model.array.bin");
+        ArrayMarkovModelCache.write(cachePath, model, 123);
+
+        ArrayMarkovModel heapLoaded = ArrayMarkovModelCache.readIfValid(cachePath, 5, 123, LogProbabilityStorage.HEAP);
+
+        assertEquals(HeapLogProbabilityTable.class, heapLoaded.getNGramLogProbabilities().getClass());
+        assertEquals(-2.5f, heapLoaded.findExact("abcde"));
+
+        try (ArrayMarkovModel offHeapLoaded = ArrayMarkovModelCache.readIfValid(cachePath, 5, 123, LogProbabilityStorage.OFF_HEAP)) {
+            assertEquals(OffHeapLogProbabilityTable.class, offHeapLoaded.getNGramLogProbabilities().getClass());
+            assertEquals(-2.5f, offHeapLoaded.findExact("abcde"));
+            assertEquals(model.getUnknownLetterNGramLogProbability(), offHeapLoaded.findExact("zzzzz"));
+        }
+    }
+
+    @Test
+    public void given_writeAndReadQuantized_when_invoked_then_expected() throws IOException {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        TreeNGram ngram = new TreeNGram("abcde");
+        ngram.setCount(3);
+        ngram.setLogProbability(-2.5d);
+        model.addNode(ngram);
+
+        for (LogProbabilityQuantization quantization : new LogProbabilityQuantization[] { LogProbabilityQuantization.FIXED_POINT_16, LogProbabilityQuantization.CODEBOOK_8 }) {
+            ArrayMarkovModel quantized = model.quantize(quantization);
+
+            Path cachePath = tempDir.resolve("zenith-model-" + quantization + ".bin");
+            ArrayMarkovModelCache.write(cachePath, quantized, 123);
+
+            assertNull(ArrayMarkovModelCache.readIfValid(cachePath, 5, 123));
+
+            ArrayMarkovModel loaded = ArrayMarkovModelCache.readIfValid(cachePath, 5, 123, LogProbabilityStorage.MAPPED, quantization);
+
+            assertNotNull(loaded);
+            assertEquals(quantization, loaded.getQuantization());
+            assertEquals(quantized.findExact("abcde"), loaded.findExact("abcde"));
+            assertEquals(model.getUnknownLetterNGramLogProbability(), loaded.findExact("zzzzz"));
+        }
+    }
+
+    @Test
+    public void given_readInvalidWhenQuantizationChanges_when_invoked_then_expected() throws IOException {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        Path cachePath = tempDir.resolve("zenith-model.array.bin");
+        ArrayMarkovModelCache.write(cachePath, model, 123);
+
+        assertNull(ArrayMarkovModelCache.readIfValid(cachePath, 5, 123, LogProbabilityStorage.MAPPED, LogProbabilityQuantization.FIXED_POINT_16));
+        assertNull(ArrayMarkovModelCache.readIfValid(cachePath, 5, 123, LogProbabilityStorage.MAPPED, LogProbabilityQuantization.CODEBOOK_8));
+    }
+
+    @Test
+    public void given_writeAndReadSparse_when_invoked_then_expected() throws IOException {
+        ArrayMarkovModel model = new ArrayMarkovModel(7, 0.01f, LogProbabilityStorage.HEAP, 2);
+
+        TreeNGram ngram = new TreeNGram("abcdefg");
+        ngram.setCount(3);
+        ngram.setLogProbability(-2.5d);
+        model.addNode(ngram);
+
+        Path cachePath = tempDir.resolve("zenith-model-sparse.bin");
+        ArrayMarkovModelCache.write(cachePath, model, 123);
+
+        ArrayMarkovModel loaded = ArrayMarkovModelCache.readIfValid(cachePath, 7, 123);
+
+        assertNotNull(loaded);
+        assertTrue(loaded.isSparse());
+        assertEquals(1, loaded.getMapSize());
+        assertEquals(-2.5f, loaded.findExact("abcdefg"));
+        assertEquals(model.getUnknownLetterNGramLogProbability(), loaded.findExact("gfedcba"));
+    }
 }
@@ -22,8 +22,12 @@ package com.ciphertool.zenith.model.markov;
 import com.ciphertool.zenith.model.entities.TreeNGram;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 public class ArrayMarkovModelTest {
     @Test
@@ -66,7 +70,7 @@ public class ArrayMarkovModelTest {
 
     @Test
     public void given_getTotalNGramCount_when_invoked_then_expected() {
-        ArrayMarkovModel model = new ArrayMarkovModel(1, 0.01f);
+        ArrayMarkovModel model = new ArrayMarkovModel(3, 0.01f);
 
         TreeNGram a = new TreeNGram("a");
         a.setCount(2L);
@@ -105,4 +109,206 @@ public class ArrayMarkovModelTest {
         ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
         assertEquals(5, model.getOrder());
     }
+
+    @Test
+    public void given_offHeapStorage_when_addNodeAndFindExact_then_expected() {
+        try (ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f, LogProbabilityStorage.OFF_HEAP)) {
+            TreeNGram ngram = new TreeNGram("abcde");
+            ngram.setLogProbability(-2.5d);
+
+            model.addNode(ngram);
+
+            assertEquals(1, model.getMapSize());
+            assertEquals(-2.5f, model.findExact("abcde"), 0.0001f);
+            assertEquals(model.getUnknownLetterNGramLogProbability(), model.findExact("zzzzz"), 0.0001f);
+        }
+    }
+
+    @Test
+    public void given_denseOrderOtherThanFive_when_addNodeAndFindExact_then_expected() {
+        ArrayMarkovModel model = new ArrayMarkovModel(3, 0.01f);
+
+        TreeNGram ngram = new TreeNGram("the");
+        ngram.setLogProbability(-1.25d);
+        model.addNode(ngram);
+
+        assertFalse(model.isSparse());
+        assertEquals(26 * 26 - 1, model.computeArrayIndex("azz"));
+        assertEquals(-1.25f, model.findExact("the"), 0.0001f);
+        assertEquals(model.getUnknownLetterNGramLogProbability(), model.findExact("zzz"), 0.0001f);
+    }
+
+    @Test
+    public void given_sparseOrder_when_addNodeAndFindExact_then_expected() {
+        ArrayMarkovModel model = new ArrayMarkovModel(8, 0.01f);
+
+        TreeNGram ngram = new TreeNGram("zzzzzzzz");
+        ngram.setLogProbability(-3.5d);
+        model.addNode(ngram);
+
+        TreeNGram duplicate = new TreeNGram("zzzzzzzz");
+        duplicate.setLogProbability(-1.0d);
+
+        assertTrue(model.isSparse());
+        assertEquals(208827064575L, model.computeArrayIndex("zzzzzzzz"));
+        assertEquals(1, model.getMapSize());
+        assertEquals(-3.5f, model.findExact("zzzzzzzz"), 0.0001f);
+        assertEquals(model.getUnknownLetterNGramLogProbability(), model.findExact("aaaaaaaa"), 0.0001f);
+        assertThrows(IllegalStateException.class, () -> model.addNode(duplicate));
+        assertThrows(UnsupportedOperationException.class, () -> model.quantize(LogProbabilityQuantization.FIXED_POINT_16));
+    }
+
+    @Test
+    public void given_orderOutOfRange_when_constructing_then_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new ArrayMarkovModel(0, 0.01f));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayMarkovModel(ArrayMarkovModel.MIN_ORDER - 1, 0.01f));
+        assertThrows(IllegalArgumentException.class, () -> new ArrayMarkovModel(ArrayMarkovModel.MAX_ORDER + 1, 0.01f));
+    }
+
+    @Test
+    public void given_nGramOfWrongOrder_when_addNode_then_throws() {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        TreeNGram ngram = new TreeNGram("abc");
+        ngram.setLogProbability(-1.0d);
+
+        assertThrows(IllegalArgumentException.class, () -> model.addNode(ngram));
+    }
+
+    @Test
+    public void given_charBuffer_when_findExact_then_matchesStringLookup() {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, 0.01f);
+
+        TreeNGram ngram = new TreeNGram("abcde");
+        ngram.setLogProbability(-2.5d);
+        model.addNode(ngram);
+
+        char[] buf = "xxabcdexx".toCharArray();
+
+        assertEquals(model.computeArrayIndex("abcde"), model.computeArrayIndex(buf, 2));
+        assertEquals(-2.5f, model.findExact(buf, 2), 0.0001f);
+        assertEquals(model.getUnknownLetterNGramLogProbability(), model.findExact(buf, 0), 0.0001f);
+    }
+
+    @Test
+    public void given_rollArrayIndex_when_invoked_then_matchesFullComputation() {
+        char[] buf = "thequickbrownfoxjumpsoverthelazydog".toCharArray();
+
+        for (int order = ArrayMarkovModel.MIN_ORDER; order <= ArrayMarkovModel.MAX_ORDER; order++) {
+            ArrayMarkovModel model = new ArrayMarkovModel(order, 0.01f);
+
+            for (int distance = 1; distance <= order + 1; distance++) {
+                long arrayIndex = model.computeArrayIndex(buf, 0);
+
+                for (int offset = distance; offset + order <= buf.length; offset += distance) {
+                    arrayIndex = model.rollArrayIndex(arrayIndex, buf, offset, distance);
+
+                    assertEquals(model.computeArrayIndex(buf, offset), arrayIndex, "order=" + order + ", distance=" + distance + ", offset=" + offset);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void given_vectorizedModel_when_scoringWindows_then_matchesScalarScoring() {
+        ArrayMarkovModel scalar = buildWindowModel();
+        ArrayMarkovModel vectorized = buildWindowModel();
+
+        // Only built and run with the vector profile
+        assumeTrue(vectorized.vectorize());
+        assertTrue(vectorized.isVectorized());
+        assertFalse(scalar.isVectorized());
+
+        byte[] letterCodes = new byte[101];
+        for (int i = 0; i < letterCodes.length; i ++) {
+            letterCodes[i] = (byte) ("ahovz".charAt(i % 5) - 'a');
+        }
+
+        for (int stepSize = 1; stepSize <= 3; stepSize ++) {
+            float[] expected = new float[letterCodes.length];
+            float[] actual = new float[letterCodes.length];
+
+            float expectedSum = scalar.scoreWindows(letterCodes, stepSize, expected);
+            float actualSum = vectorized.scoreWindows(letterCodes, stepSize, actual);
+
+            assertEquals(expectedSum, actualSum, 0.001f);
+            for (int i = 0; i < expected.length; i ++) {
+                assertEquals(expected[i], actual[i]);
+            }
+        }
+    }
+
+    @Test
+    public void given_vectorizedModel_when_scoringShorterTextAfterLonger_then_ignoresLeftoverScratch() {
+        ArrayMarkovModel scalar = buildWindowModel();
+        ArrayMarkovModel vectorized = buildWindowModel();
+        assumeTrue(vectorized.vectorize());
+
+        int stepSize = vectorized.getOrder() / 2;
+
+        for (int length : new int[] { 101, 37, 64 }) {
+            byte[] letterCodes = new byte[length];
+            for (int i = 0; i < letterCodes.length; i ++) {
+                letterCodes[i] = (byte) ("zvoha".charAt((i * 3) % 5) - 'a');
+            }
+
+            float[] expected = new float[letterCodes.length];
+            float[] actual = new float[letterCodes.length];
+
+            assertEquals(scalar.scoreWindows(letterCodes, stepSize, expected), vectorized.scoreWindows(letterCodes, stepSize, actual), 0.001f);
+            assertArrayEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void given_tableNotOnHeap_when_vectorize_then_keepsScalarScoring() {
+        ArrayMarkovModel offHeap = new ArrayMarkovModel(5, 0.01f, LogProbabilityStorage.OFF_HEAP);
+        ArrayMarkovModel sparse = new ArrayMarkovModel(6, 0.01f);
+
+        assertFalse(offHeap.vectorize());
+        assertFalse(sparse.vectorize());
+        assertFalse(offHeap.isVectorized());
+
+        offHeap.close();
+    }
+
+    @Test
+    public void given_fullPrecisionModel_when_usingQuantization_then_scoresWithQuantizedTableUntilSwitchedBack() {
+        ArrayMarkovModel model = buildWindowModel();
+
+        model.useQuantization(LogProbabilityQuantization.FIXED_POINT_16);
+
+        assertEquals(LogProbabilityQuantization.FIXED_POINT_16, model.getQuantization());
+        assertEquals(-3.0f, model.findExact("ovza"), 0.001f);
+
+        model.useQuantization(LogProbabilityQuantization.CODEBOOK_8);
+
+        assertEquals(LogProbabilityQuantization.CODEBOOK_8, model.getQuantization());
+        assertEquals(model.getUnknownLetterNGramLogProbability(), model.findExact("zzzz"), 0.0f);
+
+        model.useQuantization(LogProbabilityQuantization.NONE);
+
+        assertEquals(LogProbabilityQuantization.NONE, model.getQuantization());
+        assertEquals(-3.0f, model.findExact("ovza"), 0.0f);
+    }
+
+    @Test
+    public void given_modelLoadedQuantized_when_usingQuantization_then_throwsIllegalStateException() {
+        ArrayMarkovModel quantized = buildWindowModel().quantize(LogProbabilityQuantization.CODEBOOK_8);
+
+        assertThrows(IllegalStateException.class, () -> quantized.useQuantization(LogProbabilityQuantization.NONE));
+    }
+
+    private ArrayMarkovModel buildWindowModel() {
+        ArrayMarkovModel model = new ArrayMarkovModel(4, 0.01f);
+
+        String[] ngrams = { "ahov", "hovz", "ovza", "vzah", "zaho" };
+        for (int i = 0; i < ngrams.length; i ++) {
+            TreeNGram ngram = new TreeNGram(ngrams[i]);
+            ngram.setLogProbability(-1.0d - i);
+            model.addNode(ngram);
+        }
+
+        return model;
+    }
 }
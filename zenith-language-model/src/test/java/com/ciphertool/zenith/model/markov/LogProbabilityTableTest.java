@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LogProbabilityTableTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void given_heapTable_when_setAndGet_then_expected() {
+        HeapLogProbabilityTable table = new HeapLogProbabilityTable(10, -5f);
+
+        table.set(3, -1.5f);
+
+        assertEquals(10, table.length());
+        assertEquals(-1.5f, table.get(3));
+        assertEquals(-5f, table.get(4));
+    }
+
+    @Test
+    public void given_mappedTable_when_get_then_readsLittleEndianFloats() throws Exception {
+        Path tablePath = tempDir.resolve("table.bin");
+
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putFloat(-1f).putFloat(-2f).putFloat(-3f);
+        Files.write(tablePath, buffer.array());
+
+        MappedLogProbabilityTable table;
+        try (FileChannel channel = FileChannel.open(tablePath, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            table = new MappedLogProbabilityTable(mapped);
+        }
+
+        assertEquals(3, table.length());
+        assertEquals(-1f, table.get(0));
+        assertEquals(-3f, table.get(2));
+        assertThrows(UnsupportedOperationException.class, () -> table.set(0, 0f));
+    }
+
+    @Test
+    public void given_offHeapTable_when_setAndGet_then_expected() {
+        try (OffHeapLogProbabilityTable table = new OffHeapLogProbabilityTable(10, -5f)) {
+            table.set(9, -1.5f);
+
+            assertEquals(10, table.length());
+            assertEquals(-1.5f, table.get(9));
+            assertEquals(-5f, table.get(0));
+        }
+    }
+
+    @Test
+    public void given_offHeapTableIsClosed_when_get_then_throws() {
+        OffHeapLogProbabilityTable table = new OffHeapLogProbabilityTable(10, -5f);
+
+        table.close();
+
+        assertThrows(IllegalStateException.class, () -> table.get(0));
+    }
+
+    @Test
+    public void given_copyOfMappedBuffer_when_get_then_expected() throws Exception {
+        Path tablePath = tempDir.resolve("table.bin");
+
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putFloat(-1f).putFloat(-2f).putFloat(-3f);
+        Files.write(tablePath, buffer.array());
+
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(tablePath, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        HeapLogProbabilityTable heapTable = HeapLogProbabilityTable.copyOf(mapped);
+
+        assertEquals(3, heapTable.length());
+        assertEquals(-2f, heapTable.get(1));
+
+        try (OffHeapLogProbabilityTable offHeapTable = OffHeapLogProbabilityTable.copyOf(mapped)) {
+            assertEquals(3, offHeapTable.length());
+            assertEquals(-2f, offHeapTable.get(1));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import com.ciphertool.zenith.model.entities.TreeNGram;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuantizationReportTest {
+    private static final float UNKNOWN_PROBABILITY = 0.0000001f;
+
+    private static ArrayMarkovModel buildModel() {
+        ArrayMarkovModel model = new ArrayMarkovModel(5, UNKNOWN_PROBABILITY);
+        Random random = new Random(42L);
+
+        for (int i = 0; i < 5000; i++) {
+            char[] letters = new char[5];
+            int index = random.nextInt(ArrayMarkovModel.denseLength(5));
+
+            for (int j = 4; j >= 0; j--) {
+                letters[j] = (char) ('a' + (index % 26));
+                index /= 26;
+            }
+
+            String ngram = new String(letters);
+
+            if (model.findExact(ngram) != model.getUnknownLetterNGramLogProbability()) {
+                continue;
+            }
+
+            TreeNGram node = new TreeNGram(ngram);
+            node.setLogProbability(-2d - random.nextDouble() * 12d);
+            model.addNode(node);
+        }
+
+        return model;
+    }
+
+    @Test
+    public void given_fixedPoint16_when_comparing_then_errorWithinHalfStep() {
+        ArrayMarkovModel model = buildModel();
+        ArrayMarkovModel quantized = model.quantize(LogProbabilityQuantization.FIXED_POINT_16);
+
+        QuantizationReport report = QuantizationReport.compare(model, quantized);
+
+        float range = -2f - model.getUnknownLetterNGramLogProbability();
+
+        assertEquals(LogProbabilityQuantization.FIXED_POINT_16, report.getQuantization());
+        assertEquals(model.getMapSize(), report.getKnownNGrams());
+        assertTrue(report.getMaxAbsoluteError() <= (range / 65535d) / 2d + 0.00001d);
+        assertEquals(report.getOriginalBytes() / 2, report.getQuantizedBytes());
+        assertEquals(model.getUnknownLetterNGramLogProbability(), quantized.findExact("aaaaa"));
+    }
+
+    @Test
+    public void given_codebook8_when_comparing_then_errorIsSmall() {
+        ArrayMarkovModel model = buildModel();
+        ArrayMarkovModel quantized = model.quantize(LogProbabilityQuantization.CODEBOOK_8);
+
+        QuantizationReport report = QuantizationReport.compare(model, quantized);
+
+        assertEquals(LogProbabilityQuantization.CODEBOOK_8, report.getQuantization());
+        // 255 codebook entries over a 12 nat range should land within a fraction of an evenly spaced step
+        assertTrue(report.getMaxAbsoluteError() < 12d / 255d);
+        assertTrue(report.getMeanAbsoluteError() < report.getMaxAbsoluteError());
+        assertEquals(report.getOriginalBytes() / 4, report.getQuantizedBytes());
+        assertEquals(model.getUnknownLetterNGramLogProbability(), quantized.findExact("aaaaa"));
+    }
+
+    @Test
+    public void given_quantizedModel_when_addingNode_then_throws() {
+        ArrayMarkovModel quantized = buildModel().quantize(LogProbabilityQuantization.FIXED_POINT_16);
+
+        TreeNGram node = new TreeNGram("aaaaa");
+        node.setLogProbability(-1d);
+
+        assertThrows(UnsupportedOperationException.class, () -> quantized.addNode(node));
+    }
+
+    @Test
+    public void given_none_when_quantizing_then_throws() {
+        assertThrows(IllegalArgumentException.class, () -> buildModel().quantize(LogProbabilityQuantization.NONE));
+    }
+}
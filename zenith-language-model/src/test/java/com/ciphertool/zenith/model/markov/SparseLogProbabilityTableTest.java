@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.model.markov;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SparseLogProbabilityTableTest {
+    @Test
+    public void given_putAndGet_when_invoked_then_expected() {
+        SparseLogProbabilityTable table = new SparseLogProbabilityTable(4, -10f);
+
+        table.put(0L, -1f);
+        table.put(208827064575L, -2f);
+
+        assertEquals(2, table.size());
+        assertEquals(-1f, table.get(0L));
+        assertEquals(-2f, table.get(208827064575L));
+        assertEquals(-10f, table.get(12345L));
+        assertTrue(table.contains(0L));
+        assertFalse(table.contains(12345L));
+    }
+
+    @Test
+    public void given_putExistingKey_when_invoked_then_overwrites() {
+        SparseLogProbabilityTable table = new SparseLogProbabilityTable(4, -10f);
+
+        table.put(7L, -1f);
+        table.put(7L, -3f);
+
+        assertEquals(1, table.size());
+        assertEquals(-3f, table.get(7L));
+    }
+
+    @Test
+    public void given_moreEntriesThanExpected_when_put_then_grows() {
+        SparseLogProbabilityTable table = new SparseLogProbabilityTable(0, -10f);
+        int initialCapacity = table.capacity();
+
+        for (long key = 0; key < 1000; key++) {
+            table.put(key * 31L, -key);
+        }
+
+        assertEquals(1000, table.size());
+        assertTrue(table.capacity() > initialCapacity);
+        assertTrue(table.size() * 2 <= table.capacity());
+
+        for (long key = 0; key < 1000; key++) {
+            assertEquals((float) -key, table.get(key * 31L));
+        }
+    }
+
+    @Test
+    public void given_negativeKey_when_put_then_throws() {
+        SparseLogProbabilityTable table = new SparseLogProbabilityTable(4, -10f);
+
+        assertThrows(IllegalArgumentException.class, () -> table.put(-1L, -1f));
+    }
+
+    @Test
+    public void given_keysAndValues_when_constructing_then_countsSize() {
+        SparseLogProbabilityTable original = new SparseLogProbabilityTable(8, -10f);
+        original.put(3L, -1f);
+        original.put(5L, -2f);
+
+        SparseLogProbabilityTable copy = new SparseLogProbabilityTable(original.getKeys(), original.getValues(), -10f);
+
+        assertEquals(2, copy.size());
+        assertEquals(-2f, copy.get(5L));
+        assertEquals(-10f, copy.get(4L));
+    }
+}
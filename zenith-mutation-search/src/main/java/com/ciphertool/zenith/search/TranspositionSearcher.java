@@ -24,10 +24,12 @@ import com.ciphertool.zenith.inference.entities.Cipher;
 import com.ciphertool.zenith.inference.entities.CipherSolution;
 import com.ciphertool.zenith.inference.entities.config.ApplicationConfiguration;
 import com.ciphertool.zenith.inference.evaluator.PlaintextEvaluator;
+import com.ciphertool.zenith.inference.optimizer.AbstractSolutionOptimizer;
 import com.ciphertool.zenith.inference.optimizer.SolutionOptimizer;
 import com.ciphertool.zenith.inference.statistics.CiphertextCycleCountEvaluator;
 import com.ciphertool.zenith.inference.statistics.CiphertextRepeatingBigramEvaluator;
 import com.ciphertool.zenith.inference.transformer.ciphertext.UnwrapTranspositionCipherTransformer;
+import com.ciphertool.zenith.math.random.RandomSource;
 import com.ciphertool.zenith.search.evaluator.CiphertextLanguageModelEvaluator;
 import com.ciphertool.zenith.search.evaluator.CiphertextRowLevelEntropyEvaluator;
 import com.ciphertool.zenith.search.model.EpochResults;
@@ -42,7 +44,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
 @Component
 public class TranspositionSearcher {
@@ -118,29 +120,39 @@ public class TranspositionSearcher {
         SolutionOptimizer solutionOptimizer = ConfigurationResolver.resolveSolutionOptimizer(applicationConfiguration, optimizers);
         PlaintextEvaluator plaintextEvaluator = ConfigurationResolver.resolvePlaintextEvaluator(applicationConfiguration, plaintextEvaluators);
 
-        for (int keyLength = keyLengthMin; keyLength <= keyLengthMax; keyLength++) {
-            bestSolutionsPerKeyLength.put(keyLength, new ArrayList<>(epochs));
+        /*
+         * The whole search draws from one random source, so the seed is taken out of the configuration passed on to
+         * the optimizer; otherwise each inner solve would restart from the same seed.
+         */
+        SplittableGenerator previousRandom = RandomSource.begin((Long) configuration.remove(AbstractSolutionOptimizer.SEED));
 
-            for (int epoch = 1; epoch <= epochs; epoch++) {
-                CipherSolution cipherProposal = new CipherSolution(cipher, ARBITRARY_INITIAL_LIST_SIZE);
+        try {
+            for (int keyLength = keyLengthMin; keyLength <= keyLengthMax; keyLength++) {
+                bestSolutionsPerKeyLength.put(keyLength, new ArrayList<>(epochs));
 
-                List<Integer> transpositionKeyIndicesSource = new ArrayList<>(keyLength);
-                for (int i = 0; i < keyLength; i++) {
-                    transpositionKeyIndicesSource.add(i);
-                }
+                for (int epoch = 1; epoch <= epochs; epoch++) {
+                    CipherSolution cipherProposal = new CipherSolution(cipher, ARBITRARY_INITIAL_LIST_SIZE);
 
-                List<Integer> transpositionKeyIndices = new ArrayList<>(keyLength);
-                for (int i = 0; i < keyLength; i++) {
-                    transpositionKeyIndices.add(transpositionKeyIndicesSource.remove(ThreadLocalRandom.current().nextInt(transpositionKeyIndicesSource.size())));
-                }
+                    List<Integer> transpositionKeyIndicesSource = new ArrayList<>(keyLength);
+                    for (int i = 0; i < keyLength; i++) {
+                        transpositionKeyIndicesSource.add(i);
+                    }
 
-                cipherProposal.setCipher(cipher);
+                    List<Integer> transpositionKeyIndices = new ArrayList<>(keyLength);
+                    for (int i = 0; i < keyLength; i++) {
+                        transpositionKeyIndices.add(transpositionKeyIndicesSource.remove(RandomSource.current().nextInt(transpositionKeyIndicesSource.size())));
+                    }
 
-                log.info("Epoch {} of {}.  Running sampler for {} iterations.", epoch, epochs, samplerIterations);
+                    cipherProposal.setCipher(cipher);
 
-                EpochResults epochResults = performEpoch(configuration, solutionOptimizer, plaintextEvaluator, epoch, applicationConfiguration.getEpochs(), cipherProposal, transpositionKeyIndices, keyLength);
-                bestSolutionsPerKeyLength.get(keyLength).add(epochResults);
+                    log.info("Epoch {} of {}.  Running sampler for {} iterations.", epoch, epochs, samplerIterations);
+
+                    EpochResults epochResults = performEpoch(configuration, solutionOptimizer, plaintextEvaluator, epoch, applicationConfiguration.getEpochs(), cipherProposal, transpositionKeyIndices, keyLength);
+                    bestSolutionsPerKeyLength.get(keyLength).add(epochResults);
+                }
             }
+        } finally {
+            RandomSource.end(previousRandom);
         }
 
         log.info("Total time elapsed: {}ms.", (System.currentTimeMillis() - start));
@@ -201,8 +213,8 @@ public class TranspositionSearcher {
     private CipherSolution runSampler(Map<String, Object> configuration, SolutionOptimizer optimizer, PlaintextEvaluator plaintextEvaluator, int samplerEpochs, Double temperature, CipherSolution solution, List<Integer> transpositionKeyIndices) {
         CipherSolution proposal;
         CipherSolution best = solution;
-        int first = ThreadLocalRandom.current().nextInt(transpositionKeyIndices.size());
-        int second = ThreadLocalRandom.current().nextInt(transpositionKeyIndices.size());
+        int first = RandomSource.current().nextInt(transpositionKeyIndices.size());
+        int second = RandomSource.current().nextInt(transpositionKeyIndices.size());
 
         if (first == second) {
             return best;
@@ -250,7 +262,7 @@ public class TranspositionSearcher {
             throw new IllegalStateException("Acceptance probability was calculated to be less than zero.  Please review the math as this should not happen.");
         }
 
-        if (acceptanceProbability > 1d || ThreadLocalRandom.current().nextDouble() < acceptanceProbability.doubleValue()) {
+        if (acceptanceProbability > 1d || RandomSource.current().nextDouble() < acceptanceProbability.doubleValue()) {
             return proposal;
         }
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.math.random;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/*
+ * The random numbers for a single optimizer run.  A run binds a root generator to the thread which starts it, and each
+ * task it hands to another thread carries a generator split from its submitter's, so no two threads ever share state.
+ * Splits happen on the submitting thread in submission order, so a run started from a seed draws the same numbers
+ * regardless of how its tasks are scheduled.
+ *
+ * Hot loops should take the generator from current() once and pass it down, rather than looking it up per draw.
+ * Outside of a run, current() falls back to ThreadLocalRandom.
+ */
+public class RandomSource {
+    private static final ThreadLocal<SplittableGenerator> CURRENT = new ThreadLocal<>();
+
+    private RandomSource() {
+    }
+
+    public static RandomGenerator current() {
+        SplittableGenerator random = CURRENT.get();
+
+        return random != null ? random : ThreadLocalRandom.current();
+    }
+
+    /*
+     * Binds a root generator for a run to the calling thread, and returns whatever was bound before so that it can be
+     * handed back to end().  Without a seed, a run nested inside another splits from the enclosing run's generator.
+     */
+    public static SplittableGenerator begin(Long seed) {
+        SplittableGenerator previous = CURRENT.get();
+
+        if (seed != null) {
+            CURRENT.set(new SplittableRandom(seed));
+        } else {
+            CURRENT.set(split());
+        }
+
+        return previous;
+    }
+
+    public static void end(SplittableGenerator previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /*
+     * Returns a generator split from the calling thread's, for work which will run elsewhere and keep its own
+     * generator, such as a chain or a replica.
+     */
+    public static SplittableGenerator split() {
+        SplittableGenerator random = CURRENT.get();
+
+        return random != null ? random.split() : new SplittableRandom();
+    }
+
+    /*
+     * Wraps a task so that it runs with a generator split from the calling thread's, whichever thread it ends up on.
+     */
+    public static <T> Callable<T> forTask(Callable<T> task) {
+        SplittableGenerator random = split();
+
+        return () -> {
+            SplittableGenerator previous = CURRENT.get();
+            CURRENT.set(random);
+
+            try {
+                return task.call();
+            } finally {
+                end(previous);
+            }
+        };
+    }
+
+    public static Runnable forTask(Runnable task) {
+        SplittableGenerator random = split();
+
+        return () -> {
+            SplittableGenerator previous = CURRENT.get();
+            CURRENT.set(random);
+
+            try {
+                task.run();
+            } finally {
+                end(previous);
+            }
+        };
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.math.selection;
+
+import com.ciphertool.zenith.math.random.RandomSource;
+
+import java.util.random.RandomGenerator;
+
+/*
+ * Samples indices from a fixed discrete distribution in constant time, using Vose's version of Walker's alias method.
+ * The tables are built once up front, after which sampling allocates nothing and takes one bounded integer and one
+ * double from the random generator.  Instances are immutable, and so safe to share between threads.
+ */
+public class AliasSampler {
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    /*
+     * The weights are relative and need not sum to one, but must be finite, non-negative and not all zero.
+     */
+    public AliasSampler(double[] weights) {
+        if (weights == null || weights.length == 0) {
+            throw new IllegalArgumentException("Unable to build an alias table from a null or empty distribution.");
+        }
+
+        int size = weights.length;
+        double sum = 0d;
+
+        for (double weight : weights) {
+            if (weight < 0d || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weights must be finite and non-negative, but found " + weight + ".");
+            }
+
+            sum += weight;
+        }
+
+        if (sum == 0d) {
+            throw new IllegalArgumentException("At least one weight must be greater than zero.");
+        }
+
+        probabilities = new double[size];
+        aliases = new int[size];
+
+        // Scale so that the average column holds exactly one unit of probability
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < size; i ++) {
+            scaled[i] = weights[i] * size / sum;
+
+            if (scaled[i] < 1d) {
+                small[smallCount ++] = i;
+            } else {
+                large[largeCount ++] = i;
+            }
+        }
+
+        // Top up each under-full column from an over-full one, which is then put back according to what it has left
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[-- smallCount];
+            int more = large[-- largeCount];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1d;
+
+            if (scaled[more] < 1d) {
+                small[smallCount ++] = more;
+            } else {
+                large[largeCount ++] = more;
+            }
+        }
+
+        // Whatever remains is full, give or take rounding error
+        while (largeCount > 0) {
+            int more = large[-- largeCount];
+            probabilities[more] = 1d;
+            aliases[more] = more;
+        }
+
+        while (smallCount > 0) {
+            int less = small[-- smallCount];
+            probabilities[less] = 1d;
+            aliases[less] = less;
+        }
+    }
+
+    public int sample() {
+        return sample(RandomSource.current());
+    }
+
+    public int sample(RandomGenerator random) {
+        int column = random.nextInt(probabilities.length);
+
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    public int size() {
+        return probabilities.length;
+    }
+}
@@ -19,6 +19,7 @@
 
 package com.ciphertool.zenith.math.selection;
 
+import com.ciphertool.zenith.math.random.RandomSource;
 import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,7 +27,6 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class RouletteSampler<T extends Probability> {
     private Logger log = LoggerFactory.getLogger(getClass());
@@ -108,7 +108,7 @@ public class RouletteSampler<T extends Probability> {
     }
 
     public int getNextIndex() {
-        return getNextIndex(ThreadLocalRandom.current().nextDouble());
+        return getNextIndex(RandomSource.current().nextDouble());
     }
 
     protected synchronized int getNextIndex(double magicNumber) {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.math.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class RandomSourceTest {
+    @Test
+    public void given_noRun_when_gettingCurrent_then_fallsBackToThreadLocalRandom() {
+        assertSame(ThreadLocalRandom.current(), RandomSource.current());
+    }
+
+    @Test
+    public void given_sameSeed_when_drawing_then_repeatsTheSameNumbers() {
+        assertEquals(draw(42L), draw(42L));
+    }
+
+    @Test
+    public void given_tasksOnOtherThreads_when_seeded_then_drawsMatchAcrossRuns() throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+        try {
+            assertEquals(drawInTasks(7L, executorService), drawInTasks(7L, executorService));
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void given_nestedRun_when_ending_then_restoresEnclosingGenerator() {
+        SplittableGenerator outer = RandomSource.begin(1L);
+
+        try {
+            SplittableGenerator enclosing = (SplittableGenerator) RandomSource.current();
+            SplittableGenerator previous = RandomSource.begin(null);
+
+            assertSame(enclosing, previous);
+            assertNotSame(enclosing, RandomSource.current());
+
+            RandomSource.end(previous);
+
+            assertSame(enclosing, RandomSource.current());
+        } finally {
+            RandomSource.end(outer);
+        }
+    }
+
+    private long draw(long seed) {
+        SplittableGenerator previous = RandomSource.begin(seed);
+
+        try {
+            return RandomSource.current().nextLong();
+        } finally {
+            RandomSource.end(previous);
+        }
+    }
+
+    private long drawInTasks(long seed, ExecutorService executorService) throws Exception {
+        SplittableGenerator previous = RandomSource.begin(seed);
+
+        try {
+            Callable<Long> first = RandomSource.forTask(() -> RandomSource.current().nextLong());
+            Callable<Long> second = RandomSource.forTask(() -> RandomSource.current().nextLong());
+
+            // Run in reverse so that the order in which tasks execute differs from the order they were created in
+            long secondResult = executorService.submit(second).get();
+            long firstResult = executorService.submit(first).get();
+
+            return firstResult * 31 + secondResult;
+        } finally {
+            RandomSource.end(previous);
+        }
+    }
+}
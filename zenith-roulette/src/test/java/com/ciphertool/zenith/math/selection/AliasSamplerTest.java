@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2026 George Belden
+ *
+ * This file is part of Zenith.
+ *
+ * Zenith is free software: you can redistribute it and/or modify it under
+ * the terms of the GNU General Public License as published by the Free Software
+ * Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ *
+ * Zenith is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU General Public License for more
+ * details.
+ *
+ * You should have received a copy of the GNU General Public License along with
+ * Zenith. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.ciphertool.zenith.math.selection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class AliasSamplerTest {
+    @Test
+    public void given_weights_when_sampling_then_frequenciesMatchDistribution() {
+        double[] weights = new double[]{0.5d, 0.25d, 0.125d, 0.125d, 0d};
+        AliasSampler sampler = new AliasSampler(weights);
+        SplittableRandom random = new SplittableRandom(42L);
+
+        int samples = 400000;
+        int[] counts = new int[weights.length];
+
+        for (int i = 0; i < samples; i ++) {
+            counts[sampler.sample(random)] ++;
+        }
+
+        for (int i = 0; i < weights.length; i ++) {
+            assertEquals(weights[i], counts[i] / (double) samples, 0.005d);
+        }
+    }
+
+    @Test
+    public void given_unnormalizedWeights_when_sampling_then_treatsThemAsRelative() {
+        AliasSampler sampler = new AliasSampler(new double[]{3d, 1d});
+        SplittableRandom random = new SplittableRandom(7L);
+
+        int samples = 200000;
+        int zeros = 0;
+
+        for (int i = 0; i < samples; i ++) {
+            if (sampler.sample(random) == 0) {
+                zeros ++;
+            }
+        }
+
+        assertEquals(0.75d, zeros / (double) samples, 0.005d);
+        assertEquals(2, sampler.size());
+    }
+
+    @Test
+    public void given_singleWeight_when_sampling_then_alwaysReturnsIt() {
+        AliasSampler sampler = new AliasSampler(new double[]{2d});
+
+        for (int i = 0; i < 100; i ++) {
+            assertEquals(0, sampler.sample());
+        }
+    }
+
+    @Test
+    public void given_invalidWeights_when_constructing_then_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{0d, 0d}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{1d, -1d}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasSampler(new double[]{1d, Double.NaN}));
+    }
+}
@@ -20,4 +20,5 @@
 export interface EpochCompleteResponse {
   epochsCompleted: number;
   epochsTotal: number;
+  terminationReason?: string;
 }
@@ -42,6 +42,7 @@ export class SolutionService {
             epochData {
               epochsCompleted
               epochsTotal
+              terminationReason
             }
             solutionData {
               plaintext